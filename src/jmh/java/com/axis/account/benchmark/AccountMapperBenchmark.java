@@ -0,0 +1,112 @@
+package com.axis.account.benchmark;
+
+import com.axis.account.dto.AccountDTO;
+import com.axis.account.dto.BatchEntryDTO;
+import com.axis.account.dto.TransactionDTO;
+import com.axis.account.dto.TransactionPage;
+import com.axis.account.mapper.AccountMapper;
+import com.axis.account.mapper.AccountMapperImpl;
+import com.axis.account.model.Transaction;
+import com.axis.account.web.request.AccountCreationRequest;
+import com.axis.account.web.request.BatchEntryRequest;
+import com.axis.account.web.response.TransactionHistoryResponse;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Accounts POJOs mapping cost. Run with {@code mvn verify -Pjmh}.
+ *
+ * @author Mahmoud Shtayeh
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AccountMapperBenchmark {
+    /**
+     * Number of entries of the mapped batch
+     */
+    private static final int BATCH_ENTRIES = 1_000;
+
+    /**
+     * Number of transactions of the mapped history page
+     */
+    private static final int PAGE_SIZE = 50;
+
+    /**
+     * Mapper under benchmark
+     */
+    private final AccountMapper accountMapper = new AccountMapperImpl();
+
+    /**
+     * Mapped account creation request
+     */
+    private AccountCreationRequest creationRequest;
+
+    /**
+     * Mapped batch request entries
+     */
+    private List<BatchEntryRequest> batchEntries;
+
+    /**
+     * Mapped history page
+     */
+    private TransactionPage historyPage;
+
+    /**
+     * Build the mapped objects
+     */
+    @Setup
+    public void setUp() {
+        creationRequest = new AccountCreationRequest("benchmark@axis.com", BigDecimal.TEN, null);
+        batchEntries = new ArrayList<>(BATCH_ENTRIES);
+        for (int index = 0; index < BATCH_ENTRIES; index++) {
+            batchEntries.add(new BatchEntryRequest(UUID.randomUUID(), Transaction.TransactionType.DEPOSIT,
+                    BigDecimal.TEN));
+        }
+        final List<TransactionDTO> transactions = new ArrayList<>(PAGE_SIZE);
+        for (int index = 0; index < PAGE_SIZE; index++) {
+            transactions.add(new TransactionDTO(UUID.randomUUID(), Transaction.TransactionType.DEPOSIT,
+                    BigDecimal.TEN, LocalDateTime.now()));
+        }
+        historyPage = new TransactionPage(transactions, "cursor");
+    }
+
+    /**
+     * Map an account creation request
+     *
+     * @return Account DTO
+     */
+    @Benchmark
+    public AccountDTO toDTO() {
+        return accountMapper.toDTO(creationRequest);
+    }
+
+    /**
+     * Map a batch request entries
+     *
+     * @return Batch entries DTOs
+     */
+    @Benchmark
+    public List<BatchEntryDTO> toBatchEntries() {
+        return accountMapper.toBatchEntries(batchEntries);
+    }
+
+    /**
+     * Map a history page
+     *
+     * @return History response
+     */
+    @Benchmark
+    public TransactionHistoryResponse toHistoryResponse() {
+        return accountMapper.toHistoryResponse(historyPage);
+    }
+}
@@ -0,0 +1,104 @@
+package com.axis.account.benchmark;
+
+import com.axis.account.AccountApplication;
+import com.axis.account.dto.AccountDTO;
+import com.axis.account.service.AccountService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Account service hot paths, per balance concurrency strategy, against the local database
+ * ({@code docker compose up -d}). Run with {@code mvn verify -Pjmh}.
+ *
+ * @author Mahmoud Shtayeh
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AccountServiceBenchmark {
+    /**
+     * Balance concurrency strategy under benchmark
+     */
+    @Param({"ATOMIC", "PESSIMISTIC", "OPTIMISTIC"})
+    private String strategy;
+
+    /**
+     * Application context, without the web layer
+     */
+    private ConfigurableApplicationContext context;
+
+    /**
+     * Service under benchmark
+     */
+    private AccountService accountService;
+
+    /**
+     * Benchmarked account, funded enough to never run out
+     */
+    private UUID accountId;
+
+    /**
+     * Start the application with the benchmarked strategy, and open the benchmarked account
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(AccountApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("axis.account.concurrency.strategy=" + strategy,
+                        "spring.jpa.show-sql=false",
+                        "logging.level.root=WARN")
+                .run();
+        accountService = context.getBean(AccountService.class);
+        accountId = accountService.openAccount(AccountDTO.builder()
+                .username("benchmark@axis.com")
+                .balance(BigDecimal.valueOf(Long.MAX_VALUE))
+                .build());
+    }
+
+    /**
+     * Stop the application
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    /**
+     * Deposit a unit
+     *
+     * @return the deposit transaction ID
+     */
+    @Benchmark
+    public UUID deposit() {
+        return accountService.deposit(accountId, BigDecimal.ONE);
+    }
+
+    /**
+     * Withdraw a unit
+     *
+     * @return the withdrawal transaction ID
+     */
+    @Benchmark
+    public UUID withdraw() {
+        return accountService.withdraw(accountId, BigDecimal.ONE);
+    }
+
+    /**
+     * Check the balance, mostly served by the balance cache as in production
+     *
+     * @return the account balance
+     */
+    @Benchmark
+    public BigDecimal checkBalance() {
+        return accountService.checkBalance(accountId);
+    }
+}
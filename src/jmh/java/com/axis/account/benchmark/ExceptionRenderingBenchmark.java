@@ -0,0 +1,82 @@
+package com.axis.account.benchmark;
+
+import com.axis.account.config.MessageSourceConfig;
+import com.axis.account.exception.AccountNotFoundException;
+import com.axis.account.exception.ErrorRenderer;
+import com.axis.account.exception.GlobalExceptionAdvisor;
+import com.axis.account.exception.InsufficientFundsException;
+import com.axis.account.exception.InvalidTransactionException;
+import com.axis.account.web.RestResponse;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.ResponseEntity;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Business errors cost, from throwing the exception to its rendered, localized response.
+ * Run with {@code mvn verify -Pjmh}.
+ *
+ * @author Mahmoud Shtayeh
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExceptionRenderingBenchmark {
+    /**
+     * Advisor under benchmark, resolving messages as the application does
+     */
+    private final GlobalExceptionAdvisor advisor =
+            new GlobalExceptionAdvisor(new ErrorRenderer(new MessageSourceConfig().messageSource()));
+
+    /**
+     * Account of the rendered errors
+     */
+    private final UUID accountId = UUID.randomUUID();
+
+    /**
+     * Render an unknown account error
+     *
+     * @return rendered response
+     */
+    @Benchmark
+    public ResponseEntity<RestResponse<Void>> accountNotFound() {
+        try {
+            throw new AccountNotFoundException(accountId);
+        } catch (final AccountNotFoundException exception) {
+            return advisor.handleException(exception);
+        }
+    }
+
+    /**
+     * Render an insufficient funds error, formatting its arguments
+     *
+     * @return rendered response
+     */
+    @Benchmark
+    public ResponseEntity<RestResponse<Void>> insufficientFunds() {
+        try {
+            throw new InsufficientFundsException(accountId, BigDecimal.TEN, BigDecimal.ONE);
+        } catch (final InsufficientFundsException exception) {
+            return advisor.handleException(exception);
+        }
+    }
+
+    /**
+     * Render a broken business rule error
+     *
+     * @return rendered response
+     */
+    @Benchmark
+    public ResponseEntity<RestResponse<Void>> invalidTransaction() {
+        try {
+            throw new InvalidTransactionException("error.transfer.sameAccount");
+        } catch (final InvalidTransactionException exception) {
+            return advisor.handleException(exception);
+        }
+    }
+}
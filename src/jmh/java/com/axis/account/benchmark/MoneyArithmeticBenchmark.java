@@ -0,0 +1,91 @@
+package com.axis.account.benchmark;
+
+import com.axis.account.money.Money;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Balance arithmetic of a deposit followed by a covered withdrawal, on {@link BigDecimal} vs {@link Money} minor
+ * units. Run with {@code mvn verify -Pjmh -Djmh.includes=MoneyArithmeticBenchmark}, adding the {@code gc} profiler
+ * for the allocation rates.
+ *
+ * @author Mahmoud Shtayeh
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoneyArithmeticBenchmark {
+    /**
+     * Currency of the amounts
+     */
+    private static final Currency USD = Currency.getInstance("USD");
+
+    /**
+     * Decimal balance, mutated by every operation
+     */
+    private BigDecimal decimalBalance;
+
+    /**
+     * Decimal transaction amount
+     */
+    private BigDecimal decimalAmount;
+
+    /**
+     * Minor units balance, mutated by every operation
+     */
+    private Money moneyBalance;
+
+    /**
+     * Minor units transaction amount
+     */
+    private Money moneyAmount;
+
+    /**
+     * Fund the balances
+     */
+    @Setup
+    public void setUp() {
+        decimalBalance = new BigDecimal("1000000.00");
+        decimalAmount = new BigDecimal("12.34");
+        moneyBalance = Money.of(decimalBalance, USD);
+        moneyAmount = Money.of(decimalAmount, USD);
+    }
+
+    /**
+     * Deposit then withdraw on decimal amounts
+     *
+     * @return the balance
+     */
+    @Benchmark
+    public BigDecimal bigDecimal() {
+        if (decimalAmount.signum() > 0) {
+            decimalBalance = decimalBalance.add(decimalAmount);
+        }
+        if (decimalBalance.compareTo(decimalAmount) >= 0) {
+            decimalBalance = decimalBalance.subtract(decimalAmount);
+        }
+        return decimalBalance;
+    }
+
+    /**
+     * Deposit then withdraw on minor units
+     *
+     * @return the balance
+     */
+    @Benchmark
+    public Money minorUnits() {
+        if (moneyAmount.isPositive()) {
+            moneyBalance = moneyBalance.plus(moneyAmount);
+        }
+        if (moneyBalance.compareTo(moneyAmount) >= 0) {
+            moneyBalance = moneyBalance.minus(moneyAmount);
+        }
+        return moneyBalance;
+    }
+}
@@ -0,0 +1,114 @@
+package com.axis.account.benchmark;
+
+import com.axis.account.model.Transaction;
+import com.axis.account.web.ApiError;
+import com.axis.account.web.RestResponse;
+import com.axis.account.web.response.AccountBalanceResponse;
+import com.axis.account.web.response.TransactionHistoryEntryResponse;
+import com.axis.account.web.response.TransactionHistoryResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON serialization cost of the REST responses, with a Jackson mapper configured as the web layer's.
+ * Run with {@code mvn verify -Pjmh}.
+ *
+ * @author Mahmoud Shtayeh
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RestResponseSerializationBenchmark {
+    /**
+     * Number of transactions of the serialized history page
+     */
+    private static final int PAGE_SIZE = 50;
+
+    /**
+     * JSON serializer under benchmark
+     */
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    /**
+     * Serialized balance response
+     */
+    private RestResponse<AccountBalanceResponse> balanceResponse;
+
+    /**
+     * Serialized history page response
+     */
+    private RestResponse<TransactionHistoryResponse> historyResponse;
+
+    /**
+     * Serialized error response
+     */
+    private RestResponse<Void> errorResponse;
+
+    /**
+     * Build the serialized responses
+     */
+    @Setup
+    public void setUp() {
+        balanceResponse = RestResponse.ok(AccountBalanceResponse.builder()
+                .balance(new BigDecimal("1000.00"))
+                .build());
+        balanceResponse.setExecutionTime("1ms");
+
+        final List<TransactionHistoryEntryResponse> transactions = new ArrayList<>(PAGE_SIZE);
+        for (int index = 0; index < PAGE_SIZE; index++) {
+            transactions.add(new TransactionHistoryEntryResponse(UUID.randomUUID(),
+                    Transaction.TransactionType.DEPOSIT, new BigDecimal("10.00"), LocalDateTime.now()));
+        }
+        historyResponse = RestResponse.ok(new TransactionHistoryResponse(transactions, "cursor"));
+
+        errorResponse = RestResponse.error(ApiError.builder()
+                .message("Account with ID: " + UUID.randomUUID() + ", NOT FOUND")
+                .timestamp(LocalDateTime.now())
+                .build());
+    }
+
+    /**
+     * Serialize a balance response
+     *
+     * @return JSON bytes
+     * @throws JsonProcessingException if serialization fails
+     */
+    @Benchmark
+    public byte[] balance() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(balanceResponse);
+    }
+
+    /**
+     * Serialize a history page response
+     *
+     * @return JSON bytes
+     * @throws JsonProcessingException if serialization fails
+     */
+    @Benchmark
+    public byte[] history() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(historyResponse);
+    }
+
+    /**
+     * Serialize an error response
+     *
+     * @return JSON bytes
+     * @throws JsonProcessingException if serialization fails
+     */
+    @Benchmark
+    public byte[] error() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(errorResponse);
+    }
+}
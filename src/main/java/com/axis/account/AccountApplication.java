@@ -4,6 +4,7 @@ import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 
 /**
  * Axis financial account main class
@@ -11,6 +12,7 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
  * @author Mahmoud Shtayeh
  */
 @SpringBootApplication
+@ConfigurationPropertiesScan
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public class AccountApplication {
     /**
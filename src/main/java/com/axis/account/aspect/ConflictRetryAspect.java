@@ -0,0 +1,70 @@
+package com.axis.account.aspect;
+
+import com.axis.account.config.ConcurrencyProperties;
+import com.axis.account.exception.DBFailureException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Aspect re-executing {@link RetryOnConflict} operations failing on a concurrency conflict.
+ * Runs before the transaction advice, so that every attempt commits or rolls back on its own.
+ *
+ * @author Mahmoud Shtayeh
+ */
+@Slf4j
+@Aspect
+@Component
+@RequiredArgsConstructor
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ConflictRetryAspect {
+    /**
+     * Upper bound of the randomized back-off between two attempts, per attempt
+     */
+    private static final long MAX_BACKOFF_MICROS_PER_ATTEMPT = 500L;
+
+    /**
+     * Balance mutation concurrency configuration
+     */
+    private final ConcurrencyProperties concurrencyProperties;
+
+    /**
+     * Advice that retries the operation on concurrency conflicts, with a short randomized back-off.
+     * Operations joining an already running transaction are not retried, the outermost one is.
+     *
+     * @param joinPoint join point for advice.
+     * @return the operation result.
+     * @throws Throwable throws any exception out of the operation.
+     */
+    @Around("@annotation(com.axis.account.aspect.RetryOnConflict)")
+    public Object retryOnConflict(final ProceedingJoinPoint joinPoint) throws Throwable {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return joinPoint.proceed();
+        }
+
+        final int maxAttempts = Math.max(1, concurrencyProperties.maxAttempts());
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return joinPoint.proceed();
+            } catch (final ConcurrencyFailureException exception) {
+                if (attempt >= maxAttempts) {
+                    log.warn("Conflict: {}() | Attempts exhausted: {}", joinPoint.getSignature().getName(), attempt);
+                    throw new DBFailureException("error.transaction.concurrentModification");
+                }
+                LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(
+                        ThreadLocalRandom.current().nextLong(attempt * MAX_BACKOFF_MICROS_PER_ATTEMPT)));
+            }
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.axis.account.aspect;
+
+import com.axis.account.coalescing.DepositCoalescer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Aspect routing deposits to the {@link DepositCoalescer} when coalescing is enabled.
+ * Runs within the conflict retry, and before the transaction advice, so that depositors waiting for their group
+ * neither open a transaction nor borrow a connection.
+ *
+ * @author Mahmoud Shtayeh
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class DepositCoalescingAspect {
+    /**
+     * Deposits group commit
+     */
+    private final DepositCoalescer depositCoalescer;
+
+    /**
+     * Advice that hands the deposit over to the coalescer, instead of executing it on its own.
+     * Deposits joining an already running transaction are executed within it, not coalesced.
+     *
+     * @param joinPoint join point for advice.
+     * @param accountId the unique identifier of the account into which the amount is to be deposited
+     * @param amount    the amount to be deposited into the account
+     * @return the unique identifier of the transaction created for the deposit
+     * @throws Throwable throws any exception out of the deposit.
+     */
+    @Around("execution(java.util.UUID com.axis.account.service.AccountService.deposit(java.util.UUID, java.math.BigDecimal))"
+            + " && args(accountId, amount)")
+    public Object coalesceDeposit(final ProceedingJoinPoint joinPoint,
+                                  final UUID accountId,
+                                  final BigDecimal amount) throws Throwable {
+        if (!depositCoalescer.isEnabled() || TransactionSynchronizationManager.isActualTransactionActive()) {
+            return joinPoint.proceed();
+        }
+        return depositCoalescer.deposit(accountId, amount);
+    }
+}
@@ -1,43 +1,70 @@
 package com.axis.account.aspect;
 
+import com.axis.account.config.ApiMetricsProperties;
+import com.axis.account.logging.RequestLogEvent;
+import com.axis.account.logging.RequestLogger;
+import com.axis.account.metrics.ApiLatencyMetrics;
 import com.axis.account.web.RestResponse;
 import jakarta.servlet.http.HttpServletRequest;
-import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Pointcut;
+import org.aspectj.lang.reflect.MethodSignature;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 
-import java.text.MessageFormat;
-import java.time.Duration;
-import java.time.LocalDateTime;
-import java.util.Locale;
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Aspect for REST APIs,
- * Log in Request and out Response,
- * Set total execution milliseconds of the API.
+ * Record the API latency, and set its total execution milliseconds,
+ * Log the sampled requests, off the request thread.
  *
  * @author Mahmoud Shtayeh
  */
-@Slf4j
 @Aspect
 @Component
+@Profile("!reactive")
 public class RestAspect {
     /**
      * Rest API Http request
      */
     private final HttpServletRequest request;
 
+    /**
+     * Per-endpoint latency recorder
+     */
+    private final ApiLatencyMetrics apiLatencyMetrics;
+
+    /**
+     * REST APIs latency metrics configuration
+     */
+    private final ApiMetricsProperties apiMetricsProperties;
+
+    /**
+     * Sampled, structured request logger
+     */
+    private final RequestLogger requestLogger;
+
     /**
      * Inject Http request if exists
      *
-     * @param request Rest API Http request
+     * @param request              Rest API Http request
+     * @param apiLatencyMetrics    Per-endpoint latency recorder
+     * @param apiMetricsProperties REST APIs latency metrics configuration
+     * @param requestLogger        Sampled, structured request logger
      */
-    public RestAspect(@Autowired(required = false) final HttpServletRequest request) {
+    public RestAspect(@Autowired(required = false) final HttpServletRequest request,
+                      final ApiLatencyMetrics apiLatencyMetrics,
+                      final ApiMetricsProperties apiMetricsProperties,
+                      final RequestLogger requestLogger) {
         this.request = request;
+        this.apiLatencyMetrics = apiLatencyMetrics;
+        this.apiMetricsProperties = apiMetricsProperties;
+        this.requestLogger = requestLogger;
     }
 
     /**
@@ -74,7 +101,8 @@ public class RestAspect {
     }
 
     /**
-     * Advice that Specify the API total execution time.
+     * Advice that records the API latency, specifies its total execution time on the response when enabled,
+     * and hands the sampled requests over to the request logger.
      *
      * @param joinPoint join point for advice.
      * @return API response with execution time specified.
@@ -82,29 +110,43 @@ public class RestAspect {
      */
     @Around("isRestAPI()")
     public Object specifyTotalExecutionTime(final ProceedingJoinPoint joinPoint) throws Throwable {
-        final LocalDateTime startTime = LocalDateTime.now();
-        if (log.isInfoEnabled()) {
-            log.info("Enter: {}-- {} | " +
-                            "Method: {}() | " +
-                            "Start Time: {} | " +
-                            "Argument[s]: [{}]", request.getMethod().toUpperCase(Locale.ENGLISH),
-                    request.getRequestURI(), joinPoint.getSignature().getName(), startTime, joinPoint.getArgs());
-        }
+        final long startNanos = System.nanoTime();
+        final Method endpoint = ((MethodSignature) joinPoint.getSignature()).getMethod();
 
-        final RestResponse<?> apiResponse = (RestResponse<?>) joinPoint.proceed();
+        final RestResponse<?> apiResponse;
+        try {
+            apiResponse = (RestResponse<?>) joinPoint.proceed();
+        } catch (final Throwable throwable) {
+            final long elapsedNanos = System.nanoTime() - startNanos;
+            apiLatencyMetrics.record(endpoint, elapsedNanos, false);
+            logRequest(joinPoint, endpoint, throwable, false, elapsedNanos);
+            throw throwable;
+        }
 
-        final LocalDateTime endTime = LocalDateTime.now();
-        final long executionMillis = Duration.between(startTime, endTime).toMillis();
-        apiResponse.setExecutionTime(MessageFormat.format("{0}ms", executionMillis));
-        if (log.isInfoEnabled()) {
-            log.info("Exit: {}-- {} | " +
-                            "Method: {}() | " +
-                            "End Time: {} | " +
-                            "Response: {} | " +
-                            "Total Execution Time: {}ms", request.getMethod().toUpperCase(Locale.ENGLISH),
-                    request.getRequestURI(), joinPoint.getSignature().getName(), endTime, apiResponse,
-                    Duration.between(startTime, endTime).toMillis());
+        final long elapsedNanos = System.nanoTime() - startNanos;
+        apiLatencyMetrics.record(endpoint, elapsedNanos, true);
+        if (apiMetricsProperties.executionTimeField()) {
+            apiResponse.setExecutionTime(TimeUnit.NANOSECONDS.toMillis(elapsedNanos) + "ms");
         }
+        logRequest(joinPoint, endpoint, apiResponse, true, elapsedNanos);
         return apiResponse;
     }
-}
\ No newline at end of file
+
+    /**
+     * Hand the request over to the request logger, when sampled.
+     * Only the request line is read here, arguments and response are rendered by the logger.
+     *
+     * @param joinPoint    join point of the endpoint call
+     * @param endpoint     the endpoint method
+     * @param response     the endpoint response, or its failure
+     * @param success      whether the endpoint returned normally
+     * @param elapsedNanos the request latency, in nanoseconds
+     */
+    private void logRequest(final ProceedingJoinPoint joinPoint, final Method endpoint, final Object response,
+                            final boolean success, final long elapsedNanos) {
+        if (requestLogger.isSampled(endpoint.getName())) {
+            requestLogger.log(new RequestLogEvent(request.getMethod(), request.getRequestURI(), endpoint.getName(),
+                    joinPoint.getArgs(), response, success, elapsedNanos));
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.axis.account.aspect;
+
+import java.lang.annotation.*;
+
+/**
+ * Marks a transactional operation to be re-executed, in a fresh transaction,
+ * when it fails on a concurrency conflict (stale version, lock failure, or deadlock).
+ *
+ * @author Mahmoud Shtayeh
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RetryOnConflict {
+}
@@ -0,0 +1,70 @@
+package com.axis.account.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.stereotype.Component;
+
+import java.util.Currency;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Local cache of accounts currencies, checking amounts against their minor unit without a query.
+ * <p>
+ * An account currency never changes once opened, so entries are never evicted on writes, only dropped by size.
+ * Unknown accounts are not cached, so that an account opened later is still found.
+ *
+ * @author Mahmoud Shtayeh
+ */
+@Component
+public class AccountCurrencyCache {
+    /**
+     * Most accounts currencies kept in memory
+     */
+    private static final long MAXIMUM_SIZE = 100_000;
+
+    /**
+     * Cached currencies, by account ID
+     */
+    private final Cache<UUID, Currency> currencies = Caffeine.newBuilder()
+            .maximumSize(MAXIMUM_SIZE)
+            .build();
+
+    /**
+     * Retrieve the currency of an account, loading it on a miss
+     *
+     * @param accountId the unique identifier of the account
+     * @param loader    reads the account currency from the database, empty if the account does not exist
+     * @return the account currency, empty if the account does not exist
+     */
+    public Optional<Currency> get(final UUID accountId, final Function<UUID, Optional<Currency>> loader) {
+        final Currency cached = currencies.getIfPresent(accountId);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        final Optional<Currency> currency = loader.apply(accountId);
+        currency.ifPresent(loaded -> currencies.put(accountId, loaded));
+        return currency;
+    }
+
+    /**
+     * Retrieve the cached currency of an account
+     *
+     * @param accountId the unique identifier of the account
+     * @return the account currency, empty if not cached
+     */
+    public Optional<Currency> getIfPresent(final UUID accountId) {
+        return Optional.ofNullable(currencies.getIfPresent(accountId));
+    }
+
+    /**
+     * Cache the currency of an account
+     *
+     * @param accountId the unique identifier of the account
+     * @param currency  the account currency
+     */
+    public void put(final UUID accountId, final Currency currency) {
+        currencies.put(accountId, currency);
+    }
+}
@@ -0,0 +1,369 @@
+package com.axis.account.cache;
+
+import com.axis.account.config.AccountFilterProperties;
+import com.axis.account.exception.AccountNotFoundException;
+import com.axis.account.repository.AccountRepository;
+import com.axis.account.util.AssertUtil;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Bloom filter of the existing accounts IDs, rejecting definitely unknown IDs without a query.
+ * <p>
+ * The filter is sized once for {@code expected-accounts} at the target false positive rate, and never answers
+ * "unknown" for an account it has seen: opened accounts are added before their transaction commits, and every
+ * rebuild streams all the account IDs into a new filter, then merges the current one in, so that accounts opened
+ * while rebuilding are kept. Rebuilds pick up accounts opened by other instances, or through the reactive API;
+ * until the first one completes, nothing is rejected. Accounts opened elsewhere since the last completed rebuild
+ * started are not in the filter yet, so UUIDv7 IDs whose timestamp is later than that start, minus the
+ * {@code clock-skew} margin, are always passed to the database. Bits are set with atomic word updates, so lookups
+ * and additions take no lock.
+ * <p>
+ * Published metrics: {@code axis.account.filter.rejections}, IDs rejected without a query;
+ * {@code axis.account.filter.false.positives}, IDs passed by the filter then not found, the observed false positive
+ * rate being {@code false.positives / (false.positives + rejections)}; {@code axis.account.filter.fpp}, the false
+ * positive probability estimated from the bits set; and {@code axis.account.filter.memory}, the bits size in bytes.
+ *
+ * @author Mahmoud Shtayeh
+ */
+@Slf4j
+@Component
+public class AccountIdFilter {
+    /**
+     * Version of the time-ordered IDs, carrying their generation timestamp
+     */
+    private static final int UUID_VERSION_7 = 7;
+
+    /**
+     * Shift of the 48 bits epoch milliseconds timestamp, at the top of a UUIDv7 most significant bits
+     */
+    private static final int UUID_TIMESTAMP_SHIFT = 16;
+
+    /**
+     * Existing accounts filter configuration
+     */
+    private final AccountFilterProperties properties;
+
+    /**
+     * Streams the existing accounts IDs
+     */
+    private final AccountRepository accountRepository;
+
+    /**
+     * Read-only transaction, streaming the accounts IDs through a cursor
+     */
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * IDs rejected without a query
+     */
+    private final Counter rejections;
+
+    /**
+     * IDs passed by the filter, then not found
+     */
+    private final Counter falsePositives;
+
+    /**
+     * Current filter bits
+     */
+    private volatile Bits bits;
+
+    /**
+     * Filter bits being rebuilt, also receiving the opened accounts, {@code null} between rebuilds
+     */
+    private volatile Bits rebuilding;
+
+    /**
+     * Whether the filter was built once, and may reject IDs
+     */
+    private volatile boolean ready;
+
+    /**
+     * Epoch milliseconds from which UUIDv7 IDs may be missing from the filter, and are always passed:
+     * the last completed rebuild start, minus the clock skew margin
+     */
+    private volatile long recentSince;
+
+    /**
+     * Build an empty filter and bind its metrics to the metrics registry
+     *
+     * @param properties         Existing accounts filter configuration
+     * @param accountRepository  Accounts repository
+     * @param transactionManager Transaction manager
+     * @param meterRegistry      Metrics registry
+     */
+    public AccountIdFilter(final AccountFilterProperties properties, final AccountRepository accountRepository,
+                           final PlatformTransactionManager transactionManager, final MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.accountRepository = accountRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.bits = Bits.sized(properties.expectedAccounts(), properties.falsePositiveProbability());
+        this.rejections = Counter.builder("axis.account.filter.rejections")
+                .description("Unknown account IDs rejected without a query")
+                .register(meterRegistry);
+        this.falsePositives = Counter.builder("axis.account.filter.false.positives")
+                .description("Account IDs passed by the filter, then not found")
+                .register(meterRegistry);
+        Gauge.builder("axis.account.filter.fpp", this, filter -> filter.bits.falsePositiveProbability())
+                .description("False positive probability, estimated from the bits set")
+                .register(meterRegistry);
+        Gauge.builder("axis.account.filter.memory", this, filter -> filter.bits.bytes())
+                .description("Filter bits size")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Rebuild the filter from all the accounts IDs, merging the current filter in, and swap it in whole.
+     * A failing rebuild keeps the current filter.
+     */
+    @PostConstruct
+    @Scheduled(fixedDelayString = "${axis.account.account-filter.refresh-interval:PT5M}",
+            initialDelayString = "${axis.account.account-filter.refresh-interval:PT5M}")
+    public void rebuild() {
+        if (!properties.enabled()) {
+            return;
+        }
+        final long startedAt = System.currentTimeMillis();
+        final Bits building = Bits.sized(properties.expectedAccounts(), properties.falsePositiveProbability());
+        rebuilding = building;
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                try (Stream<UUID> accountIds = accountRepository.streamAllIds()) {
+                    accountIds.forEach(building::add);
+                }
+            });
+            final Bits previous = bits;
+            bits = building;
+            building.merge(previous);
+            recentSince = startedAt - properties.clockSkew().toMillis();
+            ready = true;
+            log.info("Account filter: rebuilt, {} bytes, estimated false positive probability {}",
+                    building.bytes(), building.falsePositiveProbability());
+        } catch (final DataAccessException exception) {
+            log.warn("Account filter: rebuild failed, keeping the current filter | {}", exception.getMessage());
+        } finally {
+            rebuilding = null;
+        }
+    }
+
+    /**
+     * Add an opened account, before its transaction commits
+     *
+     * @param accountId the unique identifier of the account
+     */
+    public void add(final UUID accountId) {
+        final Bits current = bits;
+        current.add(accountId);
+        final Bits building = rebuilding;
+        if (building != null) {
+            building.add(accountId);
+        }
+        final Bits swapped = bits;
+        if (swapped != current) {
+            swapped.add(accountId);
+        }
+    }
+
+    /**
+     * Whether an account may exist, {@code false} meaning it definitely does not.
+     * IDs generated since the last completed rebuild started may belong to accounts opened elsewhere, and always pass.
+     *
+     * @param accountId the unique identifier of the account
+     * @return {@code false} if the account does not exist, {@code true} if it may
+     */
+    public boolean mightContain(final UUID accountId) {
+        if (!properties.enabled() || !ready || isRecent(accountId) || bits.mightContain(accountId)) {
+            return true;
+        }
+        rejections.increment();
+        return false;
+    }
+
+    /**
+     * Look an account up, unless its ID is definitely unknown, counting the lookups the filter failed to spare
+     *
+     * @param accountId the unique identifier of the account
+     * @param lookup    reads the account, throwing {@link AccountNotFoundException} if it does not exist
+     * @param <T>       the lookup result type
+     * @return the lookup result
+     * @throws AccountNotFoundException if the account with the specified ID does not exist
+     */
+    public <T> T screen(final UUID accountId, final Supplier<T> lookup) {
+        AssertUtil.isTrue(mightContain(accountId), () -> new AccountNotFoundException(accountId));
+        try {
+            return lookup.get();
+        } catch (final AccountNotFoundException exception) {
+            recordFalsePositive();
+            throw exception;
+        }
+    }
+
+    /**
+     * Count an ID passed by the filter, then not found
+     */
+    public void recordFalsePositive() {
+        if (properties.enabled() && ready) {
+            falsePositives.increment();
+        }
+    }
+
+    /**
+     * Whether an ID is a UUIDv7 generated after the last completed rebuild started, minus the clock skew margin
+     *
+     * @param accountId the unique identifier of the account
+     * @return {@code true} if the account may have been opened elsewhere since the last completed rebuild
+     */
+    private boolean isRecent(final UUID accountId) {
+        return accountId.version() == UUID_VERSION_7
+                && accountId.getMostSignificantBits() >>> UUID_TIMESTAMP_SHIFT >= recentSince;
+    }
+
+    /**
+     * Bits of a Bloom filter, addressed by double hashing of the account IDs
+     *
+     * @author Mahmoud Shtayeh
+     */
+    private static final class Bits {
+        /**
+         * Bit words
+         */
+        private final AtomicLongArray words;
+
+        /**
+         * Number of bits
+         */
+        private final long size;
+
+        /**
+         * Number of bits set per ID
+         */
+        private final int hashes;
+
+        /**
+         * Number of bits set
+         */
+        private final LongAdder setBits = new LongAdder();
+
+        /**
+         * Build empty bits
+         *
+         * @param size   number of bits, a multiple of {@link Long#SIZE}
+         * @param hashes number of bits set per ID
+         */
+        private Bits(final long size, final int hashes) {
+            this.words = new AtomicLongArray(Math.toIntExact(size / Long.SIZE));
+            this.size = size;
+            this.hashes = hashes;
+        }
+
+        /**
+         * Build empty bits of the optimal size and number of hashes for a number of IDs and a false positive rate
+         *
+         * @param expectedIds              expected number of IDs
+         * @param falsePositiveProbability target false positive rate
+         * @return the empty bits
+         */
+        private static Bits sized(final long expectedIds, final double falsePositiveProbability) {
+            final double optimalSize = -expectedIds * Math.log(falsePositiveProbability) / (Math.log(2) * Math.log(2));
+            final long size = Math.max(Long.SIZE, (long) Math.ceil(optimalSize / Long.SIZE) * Long.SIZE);
+            return new Bits(size, Math.max(1, (int) Math.round((double) size / expectedIds * Math.log(2))));
+        }
+
+        /**
+         * Set the bits of an ID
+         *
+         * @param id the ID
+         */
+        private void add(final UUID id) {
+            final long hash1 = mix(id.getMostSignificantBits() ^ mix(id.getLeastSignificantBits()));
+            final long hash2 = mix(id.getLeastSignificantBits() + hash1) | 1L;
+            for (int hash = 0; hash < hashes; hash++) {
+                final long bit = Math.floorMod(hash1 + hash * hash2, size);
+                final int word = (int) (bit >>> 6);
+                final long mask = 1L << bit;
+                if ((words.get(word) & mask) == 0
+                        && (words.getAndAccumulate(word, mask, (value, set) -> value | set) & mask) == 0) {
+                    setBits.increment();
+                }
+            }
+        }
+
+        /**
+         * Whether all the bits of an ID are set
+         *
+         * @param id the ID
+         * @return {@code false} if the ID was never added, {@code true} if it may have been
+         */
+        private boolean mightContain(final UUID id) {
+            final long hash1 = mix(id.getMostSignificantBits() ^ mix(id.getLeastSignificantBits()));
+            final long hash2 = mix(id.getLeastSignificantBits() + hash1) | 1L;
+            for (int hash = 0; hash < hashes; hash++) {
+                final long bit = Math.floorMod(hash1 + hash * hash2, size);
+                if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Set the bits set in other bits of the same size
+         *
+         * @param other the merged bits
+         */
+        private void merge(final Bits other) {
+            for (int word = 0; word < words.length(); word++) {
+                final long otherWord = other.words.get(word);
+                final long previous = words.getAndAccumulate(word, otherWord, (value, set) -> value | set);
+                setBits.add(Long.bitCount(otherWord & ~previous));
+            }
+        }
+
+        /**
+         * Probability that an unknown ID has all its bits set
+         *
+         * @return the estimated false positive probability
+         */
+        private double falsePositiveProbability() {
+            return Math.pow((double) setBits.sum() / size, hashes);
+        }
+
+        /**
+         * Size of the bit words
+         *
+         * @return the bits size, in bytes
+         */
+        private long bytes() {
+            return size / Byte.SIZE;
+        }
+
+        /**
+         * Spread the bits of a hash, the MurmurHash3 finalizer
+         *
+         * @param hash the hash
+         * @return the mixed hash
+         */
+        private static long mix(final long hash) {
+            long mixed = (hash ^ (hash >>> 33)) * 0xff51afd7ed558ccdL;
+            mixed = (mixed ^ (mixed >>> 33)) * 0xc4ceb9fe1a85ec53L;
+            return mixed ^ (mixed >>> 33);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.axis.account.cache;
+
+import com.axis.account.config.BalanceCacheProperties;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+/**
+ * Read-through local cache of accounts balances.
+ * <p>
+ * Writers evict the balances they mutate once their transaction completes. A balance is loaded into
+ * an in-flight future installed before reading the database, so an eviction racing with a load removes
+ * that future too, and a balance read before a commit is never cached past it. Loads run on the caller
+ * thread, outside any cache lock. Hits, misses, and evictions are published as {@code cache.*} metrics
+ * tagged {@code cache=balances}.
+ *
+ * @author Mahmoud Shtayeh
+ */
+@Component
+public class BalanceCache {
+    /**
+     * Metrics name of the cache
+     */
+    public static final String CACHE_NAME = "balances";
+
+    /**
+     * Whether balances are cached
+     */
+    private final boolean enabled;
+
+    /**
+     * Cached balances, or in-flight loads, by account ID
+     */
+    private final AsyncCache<UUID, BigDecimal> balances;
+
+    /**
+     * Build the balances cache and bind its statistics to the metrics registry
+     *
+     * @param properties    Balance cache configuration
+     * @param meterRegistry Metrics registry
+     */
+    public BalanceCache(final BalanceCacheProperties properties, final MeterRegistry meterRegistry) {
+        this.enabled = properties.enabled();
+        this.balances = Caffeine.newBuilder()
+                .maximumSize(properties.maximumSize())
+                .expireAfterWrite(properties.ttl())
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, balances, CACHE_NAME);
+    }
+
+    /**
+     * Retrieve the balance of an account, loading it on a miss
+     *
+     * @param accountId the unique identifier of the account
+     * @param loader    reads the committed balance from the database
+     * @return the account balance
+     */
+    public BigDecimal get(final UUID accountId, final Function<UUID, BigDecimal> loader) {
+        if (!enabled) {
+            return loader.apply(accountId);
+        }
+
+        final CompletableFuture<BigDecimal> cached = balances.getIfPresent(accountId);
+        if (cached != null) {
+            return await(cached);
+        }
+
+        final CompletableFuture<BigDecimal> loading = new CompletableFuture<>();
+        final CompletableFuture<BigDecimal> racing = balances.asMap().putIfAbsent(accountId, loading);
+        if (racing != null) {
+            return await(racing);
+        }
+        try {
+            final BigDecimal balance = loader.apply(accountId);
+            loading.complete(balance);
+            return balance;
+        } catch (final RuntimeException exception) {
+            balances.asMap().remove(accountId, loading);
+            loading.completeExceptionally(exception);
+            throw exception;
+        }
+    }
+
+    /**
+     * Evict the balance of an account once the current transaction completes,
+     * or immediately when no transaction is active
+     *
+     * @param accountId the unique identifier of the mutated account
+     */
+    public void evictOnCompletion(final UUID accountId) {
+        evictOnCompletion(List.of(accountId));
+    }
+
+    /**
+     * Evict the balances of many accounts once the current transaction completes,
+     * or immediately when no transaction is active
+     *
+     * @param accountIds the unique identifiers of the mutated accounts
+     */
+    public void evictOnCompletion(final Collection<UUID> accountIds) {
+        if (!enabled) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            balances.synchronous().invalidateAll(accountIds);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(final int status) {
+                balances.synchronous().invalidateAll(accountIds);
+            }
+        });
+    }
+
+    /**
+     * Wait for a cached or in-flight balance, surfacing the loader failure as is
+     *
+     * @param balance cached or in-flight balance
+     * @return the balance
+     */
+    private static BigDecimal await(final CompletableFuture<BigDecimal> balance) {
+        try {
+            return balance.join();
+        } catch (final CompletionException exception) {
+            if (exception.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw exception;
+        }
+    }
+}
@@ -0,0 +1,376 @@
+package com.axis.account.coalescing;
+
+import com.axis.account.cache.AccountCurrencyCache;
+import com.axis.account.cache.AccountIdFilter;
+import com.axis.account.cache.BalanceCache;
+import com.axis.account.config.DepositCoalescingProperties;
+import com.axis.account.config.MoneyProperties;
+import com.axis.account.exception.AccountNotFoundException;
+import com.axis.account.exception.DBFailureException;
+import com.axis.account.exception.InvalidTransactionException;
+import com.axis.account.ledger.EventSourcedLedger;
+import com.axis.account.model.Transaction;
+import com.axis.account.repository.AccountRepository;
+import com.axis.account.repository.DailyBalanceCheckpointRepository;
+import com.axis.account.repository.TransactionRepository;
+import com.axis.account.util.AssertUtil;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Group commit of concurrent deposits to the same account.
+ * <p>
+ * The first deposit to an account opens a group and leads it: while another group of the account is committing, it
+ * waits for the coalescing window, then it closes the group, credits the account once with the group total and
+ * inserts all the group transactions as one batch, within a single database transaction. Deposits arriving meanwhile
+ * join the open group and wait for its commit. A deposit into an account with no group committing commits at once,
+ * so that uncontended deposits never wait for the window. Every depositor gets its own transaction ID, or the group
+ * failure. Waiting depositors hold no database connection.
+ * Group sizes are published as the {@code axis.deposit.coalescing.group.size} metric.
+ *
+ * @author Mahmoud Shtayeh
+ */
+@Component
+public class DepositCoalescer {
+    /**
+     * Group sizes metric name
+     */
+    public static final String METRIC_NAME = "axis.deposit.coalescing.group.size";
+
+    /**
+     * Axis accounts repository
+     */
+    private final AccountRepository accountRepository;
+
+    /**
+     * Axis accounts' Transactions repository
+     */
+    private final TransactionRepository transactionRepository;
+
+    /**
+     * Accounts daily balance checkpoints repository
+     */
+    private final DailyBalanceCheckpointRepository dailyBalanceCheckpointRepository;
+
+    /**
+     * Writes every group within its own transaction
+     */
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Auditor provider, for the balance credit bypassing the JPA auditing listener
+     */
+    private final AuditorAware<String> auditorAware;
+
+    /**
+     * Local accounts balance cache
+     */
+    private final BalanceCache balanceCache;
+
+    /**
+     * Existing accounts filter, rejecting unknown accounts before they join a group
+     */
+    private final AccountIdFilter accountIdFilter;
+
+    /**
+     * Accounts currencies, rejecting amounts finer than their minor unit before they join a group
+     */
+    private final AccountCurrencyCache accountCurrencyCache;
+
+    /**
+     * Accounts currencies configuration, checking amounts against their minor unit
+     */
+    private final MoneyProperties moneyProperties;
+
+    /**
+     * Transactions ledger, snapshotted after every group when event-sourced
+     */
+    private final EventSourcedLedger eventSourcedLedger;
+
+    /**
+     * Deposits group commit configuration
+     */
+    private final DepositCoalescingProperties properties;
+
+    /**
+     * Sizes of the written groups
+     */
+    private final DistributionSummary groupSizes;
+
+    /**
+     * Open groups, by account ID
+     */
+    private final ConcurrentMap<UUID, Group> groups = new ConcurrentHashMap<>();
+
+    /**
+     * Number of groups committing, by account ID, absent when none
+     */
+    private final ConcurrentMap<UUID, Integer> committingGroups = new ConcurrentHashMap<>();
+
+    /**
+     * Build the coalescer, writing groups through a transaction of their own
+     *
+     * @param accountRepository                Axis accounts repository
+     * @param transactionRepository            Axis accounts' Transactions repository
+     * @param dailyBalanceCheckpointRepository Accounts daily balance checkpoints repository
+     * @param transactionManager               Transaction manager
+     * @param auditorAware                     Auditor provider
+     * @param balanceCache                     Local accounts balance cache
+     * @param accountIdFilter                  Existing accounts filter
+     * @param accountCurrencyCache             Accounts currencies
+     * @param moneyProperties                  Accounts currencies configuration
+     * @param eventSourcedLedger               Transactions ledger
+     * @param properties                       Deposits group commit configuration
+     * @param meterRegistry                    Metrics registry
+     */
+    public DepositCoalescer(final AccountRepository accountRepository,
+                            final TransactionRepository transactionRepository,
+                            final DailyBalanceCheckpointRepository dailyBalanceCheckpointRepository,
+                            final PlatformTransactionManager transactionManager,
+                            final AuditorAware<String> auditorAware,
+                            final BalanceCache balanceCache,
+                            final AccountIdFilter accountIdFilter,
+                            final AccountCurrencyCache accountCurrencyCache,
+                            final MoneyProperties moneyProperties,
+                            final EventSourcedLedger eventSourcedLedger,
+                            final DepositCoalescingProperties properties,
+                            final MeterRegistry meterRegistry) {
+        this.accountRepository = accountRepository;
+        this.transactionRepository = transactionRepository;
+        this.dailyBalanceCheckpointRepository = dailyBalanceCheckpointRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.auditorAware = auditorAware;
+        this.balanceCache = balanceCache;
+        this.accountIdFilter = accountIdFilter;
+        this.accountCurrencyCache = accountCurrencyCache;
+        this.moneyProperties = moneyProperties;
+        this.eventSourcedLedger = eventSourcedLedger;
+        this.properties = properties;
+        this.groupSizes = DistributionSummary.builder(METRIC_NAME)
+                .description("Deposits written by one group commit")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Whether deposits are coalesced
+     *
+     * @return {@code true} when enabled
+     */
+    public boolean isEnabled() {
+        return properties.enabled();
+    }
+
+    /**
+     * Deposit into an account, within the open group of the account, or a new one led by this deposit, which waits
+     * for the window only while another group of the account is committing. Deposits into accounts the filter knows
+     * nothing of, or finer than the account currency minor unit, are rejected without joining a group.
+     *
+     * @param accountId the unique identifier of the account into which the amount is to be deposited
+     * @param amount    the amount to be deposited into the account
+     * @return the unique identifier of the transaction created for the deposit, once its group committed
+     * @throws AccountNotFoundException    if the account with the specified ID does not exist
+     * @throws DBFailureException          if the transactions fail to save or their IDs are not generated
+     * @throws InvalidTransactionException if the amount is finer than the account currency minor unit
+     */
+    public UUID deposit(final UUID accountId, final BigDecimal amount) {
+        AssertUtil.isTrue(accountIdFilter.mightContain(accountId), () -> new AccountNotFoundException(accountId));
+        if (moneyProperties.requiresCurrencyCheck(amount)) {
+            accountCurrencyCache.get(accountId, accountRepository::findCurrencyById)
+                    .ifPresent(currency -> moneyProperties.checkAmount(amount, currency));
+        }
+        final PendingDeposit deposit = new PendingDeposit(amount, new CompletableFuture<>());
+        Group group;
+        boolean leader;
+        while (true) {
+            group = groups.computeIfAbsent(accountId, id -> new Group());
+            final int position = group.join(deposit, properties.maxGroupSize());
+            if (position >= 0) {
+                leader = position == 0;
+                break;
+            }
+            groups.remove(accountId, group);
+        }
+
+        if (leader) {
+            if (committingGroups.containsKey(accountId)) {
+                LockSupport.parkNanos(properties.window().toNanos());
+            }
+            groups.remove(accountId, group);
+            committingGroups.merge(accountId, 1, Integer::sum);
+            try {
+                commit(accountId, group.close());
+            } finally {
+                committingGroups.computeIfPresent(accountId,
+                        (id, committing) -> committing > 1 ? committing - 1 : null);
+            }
+        }
+        return await(deposit.transactionId());
+    }
+
+    /**
+     * Write a closed group, then hand every depositor its transaction ID, or the group failure.
+     * Any failure, errors included, completes the deposits not completed yet, so that no depositor waits forever.
+     *
+     * @param accountId the unique identifier of the account
+     * @param deposits  the group deposits, in arrival order
+     */
+    private void commit(final UUID accountId, final List<PendingDeposit> deposits) {
+        try {
+            groupSizes.record(deposits.size());
+            final List<UUID> transactionIds = transactionTemplate.execute(status -> write(accountId, deposits));
+            for (int index = 0; index < deposits.size(); index++) {
+                deposits.get(index).transactionId().complete(transactionIds.get(index));
+            }
+        } catch (final Throwable failure) {
+            deposits.forEach(deposit -> deposit.transactionId().completeExceptionally(failure));
+            if (failure instanceof Error error) {
+                throw error;
+            }
+        }
+    }
+
+    /**
+     * Credit the account with the group total, insert the group transactions as one batch,
+     * and add them to the account daily checkpoint
+     *
+     * @param accountId the unique identifier of the account
+     * @param deposits  the group deposits, in arrival order
+     * @return the unique identifiers of the recorded transactions, in the deposits order
+     * @throws AccountNotFoundException if the account with the specified ID does not exist
+     * @throws DBFailureException       if the transactions fail to save or their IDs are not generated
+     */
+    private List<UUID> write(final UUID accountId, final List<PendingDeposit> deposits) {
+        balanceCache.evictOnCompletion(accountId);
+        final BigDecimal total = deposits.stream()
+                .map(PendingDeposit::amount)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        final int creditedAccounts = accountRepository.creditBalance(accountId, total,
+                auditorAware.getCurrentAuditor().orElse(null), LocalDateTime.now());
+        AssertUtil.isTrue(creditedAccounts > 0, () -> new AccountNotFoundException(accountId));
+        final Currency currency = accountCurrencyCache.get(accountId, accountRepository::findCurrencyById)
+                .orElseThrow(() -> new AccountNotFoundException(accountId));
+
+        final List<Transaction> transactions = new ArrayList<>(deposits.size());
+        for (final PendingDeposit deposit : deposits) {
+            transactions.add(Transaction.builder()
+                    .account(accountRepository.getReferenceById(accountId))
+                    .amount(deposit.amount())
+                    .currency(currency)
+                    .type(Transaction.TransactionType.DEPOSIT)
+                    .build());
+        }
+        final List<Transaction> savedTransactions = transactionRepository.saveAll(transactions);
+        final List<UUID> transactionIds = new ArrayList<>(deposits.size());
+        for (final Transaction transaction : savedTransactions) {
+            AssertUtil.notNull(transaction.getId(), () -> new DBFailureException("error.transaction.idNotGenerated"));
+            transactionIds.add(transaction.getId());
+        }
+        dailyBalanceCheckpointRepository.recordTransactions(transactionIds);
+        eventSourcedLedger.snapshotIfDue(savedTransactions.getLast());
+        return transactionIds;
+    }
+
+    /**
+     * Wait for the group commit, surfacing its failure as is
+     *
+     * @param transactionId the deposit transaction ID, once committed
+     * @return the transaction ID
+     */
+    private static UUID await(final CompletableFuture<UUID> transactionId) {
+        try {
+            return transactionId.join();
+        } catch (final CompletionException exception) {
+            if (exception.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (exception.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw exception;
+        }
+    }
+
+    /**
+     * A deposit waiting for its group commit
+     *
+     * @param amount        the amount to be deposited
+     * @param transactionId completed with the deposit transaction ID, or the group failure
+     * @author Mahmoud Shtayeh
+     */
+    private record PendingDeposit(BigDecimal amount, CompletableFuture<UUID> transactionId) {
+    }
+
+    /**
+     * Deposits to the same account, written at once
+     *
+     * @author Mahmoud Shtayeh
+     */
+    private static final class Group {
+        /**
+         * Guards the deposits, parks waiting virtual threads without pinning their carriers
+         */
+        private final ReentrantLock lock = new ReentrantLock();
+
+        /**
+         * Joined deposits, in arrival order
+         */
+        private final List<PendingDeposit> deposits = new ArrayList<>();
+
+        /**
+         * Whether the group stopped accepting deposits
+         */
+        private boolean closed;
+
+        /**
+         * Join the group, unless closed or full
+         *
+         * @param deposit      the joining deposit
+         * @param maxGroupSize maximum number of deposits in the group
+         * @return the deposit position in the group, {@code -1} when not joined
+         */
+        private int join(final PendingDeposit deposit, final int maxGroupSize) {
+            lock.lock();
+            try {
+                if (closed || deposits.size() >= maxGroupSize) {
+                    return -1;
+                }
+                deposits.add(deposit);
+                return deposits.size() - 1;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Stop accepting deposits
+         *
+         * @return the joined deposits
+         */
+        private List<PendingDeposit> close() {
+            lock.lock();
+            try {
+                closed = true;
+                return deposits;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.axis.account.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Existing accounts Bloom filter configuration
+ *
+ * @param enabled                  Whether unknown account IDs are rejected without a query
+ * @param expectedAccounts         Number of accounts the filter is sized for, its false positive rate rising past it
+ * @param falsePositiveProbability Target false positive rate at the expected number of accounts
+ * @param refreshInterval          How often the filter is rebuilt, picking up accounts opened by other instances
+ * @param clockSkew                Margin before the last rebuild start from which UUIDv7 IDs are always passed,
+ *                                 covering clock skew between instances and accounts committed during the rebuild
+ * @author Mahmoud Shtayeh
+ */
+@ConfigurationProperties(prefix = "axis.account.account-filter")
+public record AccountFilterProperties(
+        @DefaultValue("true")
+        boolean enabled,
+
+        @DefaultValue("1000000")
+        long expectedAccounts,
+
+        @DefaultValue("0.01")
+        double falsePositiveProbability,
+
+        @DefaultValue("PT5M")
+        Duration refreshInterval,
+
+        @DefaultValue("PT1M")
+        Duration clockSkew
+) {
+}
@@ -0,0 +1,21 @@
+package com.axis.account.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * REST APIs latency metrics configuration
+ *
+ * @param percentiles        Latency percentiles published per endpoint, e.g. {@code 0.5, 0.99, 0.999}
+ * @param executionTimeField Whether every response also carries its execution time in {@code executionTime}
+ * @author Mahmoud Shtayeh
+ */
+@ConfigurationProperties(prefix = "axis.account.api-metrics")
+public record ApiMetricsProperties(
+        @DefaultValue({"0.5", "0.99", "0.999"})
+        double[] percentiles,
+
+        @DefaultValue("true")
+        boolean executionTimeField
+) {
+}
@@ -0,0 +1,27 @@
+package com.axis.account.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Local accounts balance cache configuration
+ *
+ * @param enabled     Whether balances are cached, otherwise every check reads the database
+ * @param maximumSize Maximum number of cached balances, least valuable ones are evicted (W-TinyLFU)
+ * @param ttl         How long a balance stays cached after being loaded
+ * @author Mahmoud Shtayeh
+ */
+@ConfigurationProperties(prefix = "axis.account.balance-cache")
+public record BalanceCacheProperties(
+        @DefaultValue("true")
+        boolean enabled,
+
+        @DefaultValue("100000")
+        long maximumSize,
+
+        @DefaultValue("5m")
+        Duration ttl
+) {
+}
@@ -0,0 +1,18 @@
+package com.axis.account.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Balance striping configuration, spreading the balance of designated hot accounts over many stripe rows
+ *
+ * @param enabled Whether deposits and withdrawals of striped accounts go to a random stripe first,
+ *                otherwise they mutate the account row, stripes being only swept when it falls short
+ * @author Mahmoud Shtayeh
+ */
+@ConfigurationProperties(prefix = "axis.account.balance-striping")
+public record BalanceStripingProperties(
+        @DefaultValue("false")
+        boolean enabled
+) {
+}
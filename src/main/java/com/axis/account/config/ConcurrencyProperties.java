@@ -0,0 +1,48 @@
+package com.axis.account.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Balance mutation concurrency configuration
+ *
+ * @param strategy    Strategy used to protect deposits and withdrawals against lost updates
+ * @param maxAttempts Maximum attempts of a money movement failing on a concurrency conflict
+ * @author Mahmoud Shtayeh
+ */
+@ConfigurationProperties(prefix = "axis.account.concurrency")
+public record ConcurrencyProperties(
+        @DefaultValue("ATOMIC")
+        Strategy strategy,
+
+        @DefaultValue("5")
+        int maxAttempts
+) {
+    /**
+     * Supported balance mutation strategies.
+     *
+     * @author Mahmoud Shtayeh
+     */
+    public enum Strategy {
+        /**
+         * Load the account, mutate it, and let the {@code @Version} check reject stale writes
+         */
+        OPTIMISTIC,
+
+        /**
+         * Load the account through {@code SELECT ... FOR NO KEY UPDATE}, serializing writers on the row lock
+         */
+        PESSIMISTIC,
+
+        /**
+         * Mutate the balance with a single conditional {@code UPDATE}, never loading the account
+         */
+        ATOMIC,
+
+        /**
+         * Append to the transactions ledger under the account row lock, deriving balances from the latest snapshot
+         * plus the transactions since, the account balance being kept as a projection only
+         */
+        EVENT_SOURCED
+    }
+}
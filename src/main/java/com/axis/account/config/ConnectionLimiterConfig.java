@@ -0,0 +1,45 @@
+package com.axis.account.config;
+
+import com.axis.account.jdbc.ConnectionLimitingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.NoArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * Database connections limiter configuration, wrapping the Hikari pool
+ * so that its borrowers never outnumber its connections
+ *
+ * @author Mahmoud Shtayeh
+ */
+@Configuration
+@NoArgsConstructor
+public class ConnectionLimiterConfig {
+    /**
+     * Wrap the pooled data source into a connection limiting one, when enabled,
+     * by default when running on virtual threads
+     *
+     * @param properties  Connections limiter configuration, resolved lazily
+     * @param environment Application environment, telling whether virtual threads are enabled
+     * @return data source post processor
+     */
+    @Bean
+    public static BeanPostProcessor connectionLimiterPostProcessor(
+            final ObjectProvider<ConnectionLimiterProperties> properties, final Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(final Object bean, final String beanName) {
+                if (!(bean instanceof HikariDataSource pool)
+                        || !properties.getObject().enabled(Threading.VIRTUAL.isActive(environment))) {
+                    return bean;
+                }
+                return new ConnectionLimitingDataSource(pool, pool.getMaximumPoolSize(),
+                        properties.getObject().maxWaiting(), properties.getObject().acquireTimeout());
+            }
+        };
+    }
+}
@@ -0,0 +1,36 @@
+package com.axis.account.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Database connections limiter configuration, admitting as many concurrent borrowers as the pool has connections
+ *
+ * @param enabled        Whether connection borrowers are limited, by default only on virtual threads, where it is
+ *                       essential. Platform threads are bounded by the server pool, and already queue in Hikari
+ * @param maxWaiting     Maximum number of borrowers waiting for a connection, further ones fail fast
+ * @param acquireTimeout How long a borrower waits for a connection before failing
+ * @author Mahmoud Shtayeh
+ */
+@ConfigurationProperties(prefix = "axis.account.connection-limiter")
+public record ConnectionLimiterProperties(
+        Boolean enabled,
+
+        @DefaultValue("10000")
+        int maxWaiting,
+
+        @DefaultValue("30s")
+        Duration acquireTimeout
+) {
+    /**
+     * Whether connection borrowers are limited
+     *
+     * @param virtualThreads whether requests run on virtual threads
+     * @return the configured choice, else whether requests run on virtual threads
+     */
+    public boolean enabled(final boolean virtualThreads) {
+        return enabled != null ? enabled : virtualThreads;
+    }
+}
@@ -0,0 +1,28 @@
+package com.axis.account.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Deposits group commit configuration, merging concurrent deposits to the same account into one write
+ *
+ * @param enabled      Whether concurrent deposits to the same account are coalesced
+ * @param window       How long the first deposit of a group waits for others to join it, before writing them all,
+ *                     while another group of the account is committing
+ * @param maxGroupSize Maximum number of deposits written at once, further ones start a new group
+ * @author Mahmoud Shtayeh
+ */
+@ConfigurationProperties(prefix = "axis.account.deposit-coalescing")
+public record DepositCoalescingProperties(
+        @DefaultValue("false")
+        boolean enabled,
+
+        @DefaultValue("2ms")
+        Duration window,
+
+        @DefaultValue("500")
+        int maxGroupSize
+) {
+}
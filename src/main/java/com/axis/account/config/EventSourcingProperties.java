@@ -0,0 +1,18 @@
+package com.axis.account.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Event-sourced ledger configuration, used by the {@code EVENT_SOURCED} concurrency strategy
+ *
+ * @param snapshotInterval Number of transactions of an account between two balance snapshots,
+ *                         bounding the transactions read to derive a balance
+ * @author Mahmoud Shtayeh
+ */
+@ConfigurationProperties(prefix = "axis.account.event-sourcing")
+public record EventSourcingProperties(
+        @DefaultValue("100")
+        int snapshotInterval
+) {
+}
@@ -0,0 +1,28 @@
+package com.axis.account.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.math.RoundingMode;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Foreign exchange rates table configuration
+ *
+ * @param file            Rates file of {@code BASE/QUOTE=rate} lines, read instead of the {@code fx_rate} table when set
+ * @param refreshInterval How often the rates are reloaded
+ * @param rounding        Rounding of the converted amounts to the minor unit of their currency
+ * @author Mahmoud Shtayeh
+ */
+@ConfigurationProperties(prefix = "axis.account.fx-rates")
+public record FxRateProperties(
+        Path file,
+
+        @DefaultValue("PT1M")
+        Duration refreshInterval,
+
+        @DefaultValue("HALF_EVEN")
+        RoundingMode rounding
+) {
+}
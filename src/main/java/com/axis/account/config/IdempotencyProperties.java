@@ -0,0 +1,23 @@
+package com.axis.account.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Money movements idempotency configuration
+ *
+ * @param cacheSize Maximum number of keys kept in memory, in front of the persisted keys
+ * @param ttl       How long a key is honored, both in memory and persisted
+ * @author Mahmoud Shtayeh
+ */
+@ConfigurationProperties(prefix = "axis.account.idempotency")
+public record IdempotencyProperties(
+        @DefaultValue("100000")
+        int cacheSize,
+
+        @DefaultValue("24h")
+        Duration ttl
+) {
+}
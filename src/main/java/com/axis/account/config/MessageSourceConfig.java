@@ -1,14 +1,15 @@
 package com.axis.account.config;
 
+import com.axis.account.i18n.MessageCatalog;
 import lombok.NoArgsConstructor;
 import org.springframework.context.MessageSource;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.context.support.ReloadableResourceBundleMessageSource;
 import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
 import org.springframework.web.servlet.LocaleResolver;
 import org.springframework.web.servlet.i18n.AcceptHeaderLocaleResolver;
 
+import java.nio.charset.Charset;
 import java.util.Locale;
 
 /**
@@ -30,17 +31,13 @@ public class MessageSourceConfig {
     public static final String DEFAULT_ENCODING = "UTF-8";
 
     /**
-     * Message source bean
+     * Message source bean, loaded once at startup and reloaded through the {@code messages} actuator endpoint
      *
-     * @return ReloadableResourceBundleMessageSource
+     * @return MessageCatalog
      */
     @Bean
-    public MessageSource messageSource() {
-        final ReloadableResourceBundleMessageSource messageSource = new ReloadableResourceBundleMessageSource();
-        messageSource.setBasename(BASE_NAME);
-        messageSource.setDefaultEncoding(DEFAULT_ENCODING);
-        messageSource.setCacheSeconds(3600); // Refresh cache once per hour
-        return messageSource;
+    public MessageCatalog messageSource() {
+        return new MessageCatalog(BASE_NAME, Charset.forName(DEFAULT_ENCODING));
     }
 
     /**
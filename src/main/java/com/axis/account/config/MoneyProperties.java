@@ -0,0 +1,94 @@
+package com.axis.account.config;
+
+import com.axis.account.exception.InvalidTransactionException;
+import com.axis.account.util.AssertUtil;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+
+/**
+ * Accounts currencies configuration: the default currency of new accounts, and the checks of amounts against the
+ * minor unit of their account currency
+ *
+ * @param currency Default currency of the accounts
+ * @author Mahmoud Shtayeh
+ */
+@ConfigurationProperties(prefix = "axis.account.money")
+public record MoneyProperties(
+        @DefaultValue("USD")
+        Currency currency
+) {
+    /**
+     * Most fraction digits of an account currency, those of the stored balances and amounts
+     */
+    private static final int MAX_FRACTION_DIGITS = 2;
+
+    /**
+     * Resolve the currency of a new account
+     *
+     * @param currencyCode ISO 4217 currency code, {@code null} for the default currency
+     * @return the account currency
+     * @throws InvalidTransactionException if the code is unknown, or its currency has finer minor units
+     *                                     than the stored amounts
+     */
+    public Currency accountCurrency(final String currencyCode) {
+        if (currencyCode == null) {
+            return currency;
+        }
+        final Currency accountCurrency;
+        try {
+            accountCurrency = Currency.getInstance(currencyCode);
+        } catch (final IllegalArgumentException exception) {
+            throw new InvalidTransactionException("error.account.invalidCurrency");
+        }
+        if (accountCurrency.getDefaultFractionDigits() < 0
+                || accountCurrency.getDefaultFractionDigits() > MAX_FRACTION_DIGITS) {
+            throw new InvalidTransactionException("error.account.unsupportedCurrency");
+        }
+        return accountCurrency;
+    }
+
+    /**
+     * Tell whether an amount must be checked against its account currency minor unit.
+     * Whole amounts fit every currency, and need no currency lookup.
+     *
+     * @param amount the amount to be moved, {@code null} being left to the amount validation
+     * @return whether the amount has fraction digits
+     * @throws InvalidTransactionException if the amount has finer fraction digits than the stored amounts
+     */
+    public boolean requiresCurrencyCheck(final BigDecimal amount) {
+        if (amount == null) {
+            return false;
+        }
+        final int scale = amount.stripTrailingZeros().scale();
+        AssertUtil.isTrue(scale <= MAX_FRACTION_DIGITS,
+                () -> new InvalidTransactionException("error.transaction.invalidAmountScale"));
+        return scale > 0;
+    }
+
+    /**
+     * Tell whether an amount is expressed in whole minor units of its account currency, trailing zeros being
+     * ignored, so that {@code 10.00} is a valid JPY amount and {@code 10.55} is not
+     *
+     * @param amount   the amount to be moved, {@code null} being left to the amount validation
+     * @param currency the account currency
+     * @return whether the amount fits the currency minor unit
+     */
+    public boolean fitsMinorUnit(final BigDecimal amount, final Currency currency) {
+        return amount == null || amount.stripTrailingZeros().scale() <= currency.getDefaultFractionDigits();
+    }
+
+    /**
+     * Check that an amount is expressed in whole minor units of its account currency
+     *
+     * @param amount   the amount to be moved, {@code null} being left to the amount validation
+     * @param currency the account currency
+     * @throws InvalidTransactionException if the amount has finer fraction digits than the currency minor unit
+     */
+    public void checkAmount(final BigDecimal amount, final Currency currency) {
+        AssertUtil.isTrue(fitsMinorUnit(amount, currency),
+                () -> new InvalidTransactionException("error.transaction.invalidAmountScale"));
+    }
+}
@@ -0,0 +1,101 @@
+package com.axis.account.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.r2dbc.spi.ConnectionFactory;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+/**
+ * Non-blocking API configuration, active with the {@code reactive} profile.
+ * JPA keeps owning the schema, so its data source, which Boot backs off from once an R2DBC connection factory
+ * exists, and both transaction managers are declared explicitly, the JPA one staying the default of
+ * {@code @Transactional}.
+ *
+ * @author Mahmoud Shtayeh
+ */
+@Configuration
+@NoArgsConstructor
+@Profile("reactive")
+@EnableConfigurationProperties(DataSourceProperties.class)
+public class ReactiveConfig {
+    /**
+     * Serve on Netty event loops, rather than on the Tomcat servlet adapter
+     *
+     * @return Netty server factory
+     */
+    @Bean
+    public NettyReactiveWebServerFactory reactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    /**
+     * Blocking, JDBC, data source of the JPA side
+     *
+     * @param dataSourceProperties {@code spring.datasource} configuration
+     * @return Hikari pool
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSource(final DataSourceProperties dataSourceProperties) {
+        return dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+    }
+
+    /**
+     * Blocking, JPA, transaction manager
+     *
+     * @param entityManagerFactory JPA entity manager factory
+     * @return default transaction manager
+     */
+    @Bean
+    @Primary
+    public JpaTransactionManager transactionManager(final EntityManagerFactory entityManagerFactory) {
+        return new JpaTransactionManager(entityManagerFactory);
+    }
+
+    /**
+     * Non-blocking, R2DBC, transaction manager
+     *
+     * @param connectionFactory R2DBC connection pool
+     * @return reactive transaction manager
+     */
+    @Bean
+    public R2dbcTransactionManager reactiveTransactionManager(final ConnectionFactory connectionFactory) {
+        return new R2dbcTransactionManager(connectionFactory);
+    }
+
+    /**
+     * Demarcates the non-blocking transactions
+     *
+     * @param reactiveTransactionManager reactive transaction manager
+     * @return transactional operator
+     */
+    @Bean
+    public TransactionalOperator transactionalOperator(final R2dbcTransactionManager reactiveTransactionManager) {
+        return TransactionalOperator.create(reactiveTransactionManager);
+    }
+
+    /**
+     * Non-blocking database client
+     *
+     * @param connectionFactory R2DBC connection pool
+     * @return database client
+     */
+    @Bean
+    public DatabaseClient databaseClient(final ConnectionFactory connectionFactory) {
+        return DatabaseClient.create(connectionFactory);
+    }
+}
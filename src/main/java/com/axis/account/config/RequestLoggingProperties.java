@@ -0,0 +1,53 @@
+package com.axis.account.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.Map;
+
+/**
+ * REST APIs request logging configuration
+ *
+ * @param mode          Where request logs are written, if at all
+ * @param bufferSize    Capacity of the ring buffer between request threads and the logging thread,
+ *                      events arriving while it is full are dropped
+ * @param sampleRate    Fraction of the requests logged, of endpoints without their own rate
+ * @param endpointRates Fraction of the requests logged, by endpoint method name (e.g. {@code checkBalance: 0.01})
+ * @author Mahmoud Shtayeh
+ */
+@ConfigurationProperties(prefix = "axis.account.request-logging")
+public record RequestLoggingProperties(
+        @DefaultValue("ASYNC")
+        Mode mode,
+
+        @DefaultValue("8192")
+        int bufferSize,
+
+        @DefaultValue("1.0")
+        double sampleRate,
+
+        @DefaultValue
+        Map<String, Double> endpointRates
+) {
+    /**
+     * Supported request logging modes.
+     *
+     * @author Mahmoud Shtayeh
+     */
+    public enum Mode {
+        /**
+         * Do not log requests
+         */
+        OFF,
+
+        /**
+         * Format and write request logs on the request thread
+         */
+        SYNC,
+
+        /**
+         * Hand request logs over to a single logging thread, never blocking the request thread
+         */
+        ASYNC
+    }
+}
@@ -0,0 +1,16 @@
+package com.axis.account.config;
+
+import lombok.NoArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Background jobs scheduling configuration
+ *
+ * @author Mahmoud Shtayeh
+ */
+@Configuration
+@NoArgsConstructor
+@EnableScheduling
+public class SchedulingConfig {
+}
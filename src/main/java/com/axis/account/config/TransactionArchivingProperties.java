@@ -0,0 +1,31 @@
+package com.axis.account.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.nio.file.Path;
+
+/**
+ * Cold transactions archival configuration, moving old monthly partitions to compressed columnar files
+ *
+ * @param enabled         Whether the monthly partitions past the retention get archived
+ * @param retentionMonths Number of months before the current one whose partitions stay in the database
+ * @param directory       Directory of the archive files
+ * @param blockSize       Number of transactions per compressed block, bounding the heap of writing and reading
+ * @author Mahmoud Shtayeh
+ */
+@ConfigurationProperties(prefix = "axis.account.transaction-archiving")
+public record TransactionArchivingProperties(
+        @DefaultValue("false")
+        boolean enabled,
+
+        @DefaultValue("12")
+        int retentionMonths,
+
+        @DefaultValue("archive")
+        Path directory,
+
+        @DefaultValue("4096")
+        int blockSize
+) {
+}
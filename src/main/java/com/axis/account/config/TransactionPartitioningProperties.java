@@ -0,0 +1,22 @@
+package com.axis.account.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Transaction table monthly partitions maintenance configuration
+ *
+ * @param premadeMonths   Number of months ahead of the current one whose partitions are created in advance
+ * @param retentionMonths Number of months before the current one whose partitions stay attached,
+ *                        older partitions being detached as standalone tables, zero keeping them all
+ * @author Mahmoud Shtayeh
+ */
+@ConfigurationProperties(prefix = "axis.account.transaction-partitioning")
+public record TransactionPartitioningProperties(
+        @DefaultValue("3")
+        int premadeMonths,
+
+        @DefaultValue("0")
+        int retentionMonths
+) {
+}
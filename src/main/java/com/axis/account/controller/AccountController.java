@@ -1,23 +1,42 @@
 package com.axis.account.controller;
 
+import com.axis.account.dto.BatchEntryResult;
+import com.axis.account.dto.StatementFormat;
 import com.axis.account.mapper.AccountMapper;
 import com.axis.account.service.AccountService;
+import com.axis.account.service.IdempotencyService;
+import com.axis.account.service.StatementService;
 import com.axis.account.web.RestResponse;
 import com.axis.account.web.request.AccountCreationRequest;
+import com.axis.account.web.request.BalanceStripingRequest;
+import com.axis.account.web.request.TransactionBatchRequest;
+import com.axis.account.web.request.TransactionHistoryRequest;
 import com.axis.account.web.request.TransactionRequest;
+import com.axis.account.web.request.TransferRequest;
 import com.axis.account.web.response.AccountBalanceResponse;
 import com.axis.account.web.response.AccountCreationResponse;
+import com.axis.account.web.response.TransactionBatchResponse;
+import com.axis.account.web.response.TransactionHistoryResponse;
 import com.axis.account.web.response.TransactionResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
+import java.util.function.Supplier;
 
 /**
  * APIs for managing Axis financial accounts.
@@ -25,10 +44,16 @@ import java.util.UUID;
  * @author Mahmoud Shtayeh
  */
 @RestController
+@Profile("!reactive")
 @RequiredArgsConstructor
 @RequestMapping("/api/v1/accounts")
 @Tag(name = "Accounts API", description = "Manage Axis financial accounts")
 public class AccountController {
+    /**
+     * Header carrying the client supplied idempotency key of a money movement
+     */
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
     /**
      * Axis accounts services provider
      */
@@ -39,6 +64,16 @@ public class AccountController {
      */
     private final AccountMapper accountMapper;
 
+    /**
+     * Money movements idempotency services provider
+     */
+    private final IdempotencyService idempotencyService;
+
+    /**
+     * Account statements services provider
+     */
+    private final StatementService statementService;
+
     /**
      * Open an account in Axis
      *
@@ -57,26 +92,91 @@ public class AccountController {
     }
 
     /**
-     * Retrieves the current balance of the specified account.
+     * Retrieves the current balance of the specified account, or its balance as of a past timestamp.
      *
      * @param accountId Unique identifier of the account whose balance is to be retrieved.
-     * @return A {@code RestResponse} containing an {@code AccountBalanceResponse} with the current balance of the account.
+     * @param asOf      optional timestamp the balance is retrieved as of, the current balance when missing
+     * @return A {@code RestResponse} containing an {@code AccountBalanceResponse} with the balance of the account.
      */
-    @Operation(summary = "Check Account Balance", description = "Retrieve the current balance of the specified account")
+    @Operation(summary = "Check Account Balance", description = "Retrieve the current, or past, balance of the specified account")
     @ApiResponse(responseCode = "200", description = "Account balance retrieved successfully")
     @GetMapping("{accountId}/balance")
-    public RestResponse<AccountBalanceResponse> checkBalance(@PathVariable final UUID accountId) {
-        final BigDecimal balance = accountService.checkBalance(accountId);
+    public RestResponse<AccountBalanceResponse> checkBalance(@PathVariable final UUID accountId,
+                                                             @RequestParam(required = false)
+                                                             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                             final LocalDateTime asOf) {
+        final BigDecimal balance = asOf == null
+                ? accountService.checkBalance(accountId)
+                : accountService.checkBalanceAsOf(accountId, asOf);
         return RestResponse.ok(AccountBalanceResponse.builder()
                 .balance(balance)
                 .build());
     }
 
+    /**
+     * Spreads the balance of the specified hot account over more stripes, so that concurrent deposits
+     * and withdrawals contend on different rows.
+     *
+     * @param accountId Unique identifier of the account whose balance is to be striped.
+     * @param request   the striping request containing the number of stripes
+     */
+    @Operation(summary = "Stripe Account Balance", description = "Spread a hot account balance over many stripes")
+    @ApiResponse(responseCode = "204", description = "Account balance striped successfully")
+    @PutMapping("{accountId}/stripes")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void stripeBalance(@PathVariable final UUID accountId, @Valid final BalanceStripingRequest request) {
+        accountService.stripeBalance(accountId, request.stripes());
+    }
+
+    /**
+     * Retrieves a page of the specified account transactions, newest first.
+     *
+     * @param accountId Unique identifier of the account whose transactions are to be retrieved.
+     * @param request   the page request containing the cursor returned by the previous page, and the page size
+     * @return A {@code RestResponse} containing a {@code TransactionHistoryResponse} with the page transactions
+     * and the cursor of the next page.
+     */
+    @Operation(summary = "Account Transaction History", description = "Retrieve the specified account transactions, newest first")
+    @ApiResponse(responseCode = "200", description = "Account transactions retrieved successfully")
+    @GetMapping("{accountId}/transactions")
+    public RestResponse<TransactionHistoryResponse> history(@PathVariable final UUID accountId,
+                                                            @Valid final TransactionHistoryRequest request) {
+        return RestResponse.ok(accountMapper.toHistoryResponse(
+                accountService.history(accountId, request.cursor(), request.limitOrDefault())));
+    }
+
+    /**
+     * Streams the whole ledger of the specified account, oldest first, as a downloadable statement.
+     * Transactions are written as they are read, so the statement size is not bounded by memory.
+     *
+     * @param accountId Unique identifier of the account whose statement is to be exported.
+     * @param format    the statement format, NDJSON by default
+     * @param response  the response the statement is written to
+     * @throws IOException if writing the statement fails
+     */
+    @Operation(summary = "Export Account Statement", description = "Stream the specified account transactions as NDJSON or CSV")
+    @ApiResponse(responseCode = "200", description = "Account statement exported successfully")
+    @GetMapping("{accountId}/statement")
+    public void exportStatement(@PathVariable final UUID accountId,
+                                @RequestParam(defaultValue = "NDJSON") final StatementFormat format,
+                                final HttpServletResponse response) throws IOException {
+        statementService.export(accountId, format, () -> {
+            response.setContentType(format.getMediaType());
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                    .filename(accountId + "." + format.getExtension())
+                    .build()
+                    .toString());
+            return response.getOutputStream();
+        });
+    }
+
     /**
      * Deposits a specified amount into the account identified by the given account ID.
      *
-     * @param accountId the unique identifier of the account into which the deposit is to be made
-     * @param request   the deposit request containing the amount to be deposited
+     * @param accountId      the unique identifier of the account into which the deposit is to be made
+     * @param request        the deposit request containing the amount to be deposited
+     * @param idempotencyKey optional client key, repeating it returns the original transaction
+     *                       instead of depositing again
      * @return a {@code RestResponse} containing a {@code DepositResponse} with the transaction ID of the completed deposit
      */
     @Operation(summary = "Deposit to Account", description = "Deposit to an account in Axis")
@@ -84,8 +184,12 @@ public class AccountController {
     @PostMapping("/{accountId}/deposits")
     @ResponseStatus(HttpStatus.CREATED)
     public RestResponse<TransactionResponse> deposit(@PathVariable final UUID accountId,
-                                                     final TransactionRequest request) {
-        final UUID transactionId = accountService.deposit(accountId, request.amount());
+                                                     final TransactionRequest request,
+                                                     @RequestHeader(name = IDEMPOTENCY_KEY_HEADER, required = false)
+                                                     final String idempotencyKey) {
+        final UUID transactionId = executeIdempotently(idempotencyKey,
+                describe("deposit", accountId, null, request.amount()),
+                () -> accountService.deposit(accountId, request.amount()));
         return RestResponse.ok(TransactionResponse.builder()
                 .transactionId(transactionId)
                 .build());
@@ -94,8 +198,10 @@ public class AccountController {
     /**
      * Performs a withdrawal from the specified account.
      *
-     * @param accountId the unique identifier of the account from which the withdrawal is to be made
-     * @param request   the withdrawal request containing the amount to be withdrawn
+     * @param accountId      the unique identifier of the account from which the withdrawal is to be made
+     * @param request        the withdrawal request containing the amount to be withdrawn
+     * @param idempotencyKey optional client key, repeating it returns the original transaction
+     *                       instead of withdrawing again
      * @return a {@code RestResponse} containing a {@code TransactionResponse} with the transaction ID of the completed withdrawal
      */
     @Operation(summary = "Withdraw from Account", description = "Withdraw from an account in Axis")
@@ -103,10 +209,87 @@ public class AccountController {
     @PostMapping("/{accountId}/withdraws")
     @ResponseStatus(HttpStatus.CREATED)
     public RestResponse<TransactionResponse> withdraw(@PathVariable final UUID accountId,
-                                                      final TransactionRequest request) {
-        final UUID transactionId = accountService.withdraw(accountId, request.amount());
+                                                      final TransactionRequest request,
+                                                      @RequestHeader(name = IDEMPOTENCY_KEY_HEADER, required = false)
+                                                      final String idempotencyKey) {
+        final UUID transactionId = executeIdempotently(idempotencyKey,
+                describe("withdraw", accountId, null, request.amount()),
+                () -> accountService.withdraw(accountId, request.amount()));
         return RestResponse.ok(TransactionResponse.builder()
                 .transactionId(transactionId)
                 .build());
     }
+
+    /**
+     * Transfers a specified amount from the specified account to another one, atomically.
+     *
+     * @param accountId      the unique identifier of the account from which the amount is to be transferred
+     * @param request        the transfer request containing the target account and the amount to be transferred
+     * @param idempotencyKey optional client key, repeating it returns the original transaction
+     *                       instead of transferring again
+     * @return a {@code RestResponse} containing a {@code TransactionResponse} with the transaction ID
+     * debiting the source account
+     */
+    @Operation(summary = "Transfer from Account", description = "Transfer from an account to another in Axis")
+    @ApiResponse(responseCode = "201", description = "Transfer created successfully")
+    @PostMapping("/{accountId}/transfers")
+    @ResponseStatus(HttpStatus.CREATED)
+    public RestResponse<TransactionResponse> transfer(@PathVariable final UUID accountId,
+                                                      @Valid final TransferRequest request,
+                                                      @RequestHeader(name = IDEMPOTENCY_KEY_HEADER, required = false)
+                                                      final String idempotencyKey) {
+        final UUID transactionId = executeIdempotently(idempotencyKey,
+                describe("transfer", accountId, request.targetAccountId(), request.amount()),
+                () -> accountService.transfer(accountId, request.targetAccountId(), request.amount()));
+        return RestResponse.ok(TransactionResponse.builder()
+                .transactionId(transactionId)
+                .build());
+    }
+
+    /**
+     * Applies a batch of deposits and withdrawals, in order, within a single database transaction.
+     *
+     * @param request the batch request containing the deposits and withdrawals to apply
+     * @return a {@code RestResponse} containing a {@code TransactionBatchResponse} with the outcome of every entry
+     */
+    @Operation(summary = "Apply Transactions Batch", description = "Apply many deposits and withdrawals at once")
+    @ApiResponse(responseCode = "200", description = "Batch applied, see every entry outcome")
+    @PostMapping("/transactions/batch")
+    public RestResponse<TransactionBatchResponse> applyBatch(@RequestBody @Valid final TransactionBatchRequest request) {
+        final List<BatchEntryResult> results = accountService.applyBatch(accountMapper.toBatchEntries(request.entries()));
+        return RestResponse.ok(TransactionBatchResponse.builder()
+                .entries(accountMapper.toBatchEntryResponses(results))
+                .build());
+    }
+
+    /**
+     * Execute the money movement once per idempotency key, when supplied
+     *
+     * @param idempotencyKey optional client supplied idempotency key
+     * @param request        description of the money movement, the key is bound to
+     * @param operation      money movement, returning the unique identifier of its transaction
+     * @return the unique identifier of the transaction
+     */
+    private UUID executeIdempotently(final String idempotencyKey, final String request,
+                                     final Supplier<UUID> operation) {
+        return idempotencyKey == null
+                ? operation.get()
+                : idempotencyService.execute(idempotencyKey, request, operation);
+    }
+
+    /**
+     * Describe a money movement by its operation, accounts and amount, equal amounts of different scales
+     * being described alike
+     *
+     * @param operation       money movement operation
+     * @param accountId       the unique identifier of the account the movement is requested on
+     * @param targetAccountId the unique identifier of the credited account of a transfer, null otherwise
+     * @param amount          the amount to be moved
+     * @return the money movement description
+     */
+    private static String describe(final String operation, final UUID accountId, final UUID targetAccountId,
+                                   final BigDecimal amount) {
+        return String.join("|", operation, String.valueOf(accountId), String.valueOf(targetAccountId),
+                amount == null ? "null" : amount.stripTrailingZeros().toPlainString());
+    }
 }
@@ -0,0 +1,161 @@
+package com.axis.account.controller;
+
+import com.axis.account.mapper.AccountMapper;
+import com.axis.account.service.ReactiveAccountService;
+import com.axis.account.web.RestResponse;
+import com.axis.account.web.request.AccountCreationRequest;
+import com.axis.account.web.request.TransactionHistoryRequest;
+import com.axis.account.web.request.TransactionRequest;
+import com.axis.account.web.request.TransferRequest;
+import com.axis.account.web.response.AccountBalanceResponse;
+import com.axis.account.web.response.AccountCreationResponse;
+import com.axis.account.web.response.TransactionHistoryResponse;
+import com.axis.account.web.response.TransactionResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+/**
+ * Non-blocking APIs for managing Axis financial accounts, mirroring {@link AccountController}
+ * when running with the {@code reactive} profile.
+ *
+ * @author Mahmoud Shtayeh
+ */
+@RestController
+@Profile("reactive")
+@RequiredArgsConstructor
+@RequestMapping("/api/v1/accounts")
+@Tag(name = "Accounts API", description = "Manage Axis financial accounts")
+public class ReactiveAccountController {
+    /**
+     * Axis accounts non-blocking services provider
+     */
+    private final ReactiveAccountService accountService;
+
+    /**
+     * Axis account POJOs mapper
+     */
+    private final AccountMapper accountMapper;
+
+    /**
+     * Open an account in Axis
+     *
+     * @param request Account open request
+     * @return ApiResponse contains the account ID
+     */
+    @Operation(summary = "Open Account", description = "Open an account in Axis")
+    @ApiResponse(responseCode = "201", description = "Account created successfully")
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public Mono<RestResponse<AccountCreationResponse>> openAccount(@RequestBody @Valid final AccountCreationRequest request) {
+        return accountService.openAccount(accountMapper.toDTO(request))
+                .map(accountId -> RestResponse.ok(AccountCreationResponse.builder()
+                        .accountId(accountId)
+                        .build()));
+    }
+
+    /**
+     * Retrieves the current balance of the specified account.
+     *
+     * @param accountId Unique identifier of the account whose balance is to be retrieved.
+     * @return A {@code RestResponse} containing an {@code AccountBalanceResponse} with the current balance of the account.
+     */
+    @Operation(summary = "Check Account Balance", description = "Retrieve the current balance of the specified account")
+    @ApiResponse(responseCode = "200", description = "Account balance retrieved successfully")
+    @GetMapping("{accountId}/balance")
+    public Mono<RestResponse<AccountBalanceResponse>> checkBalance(@PathVariable final UUID accountId) {
+        return accountService.checkBalance(accountId)
+                .map(balance -> RestResponse.ok(AccountBalanceResponse.builder()
+                        .balance(balance)
+                        .build()));
+    }
+
+    /**
+     * Retrieves a page of the specified account transactions, newest first.
+     *
+     * @param accountId Unique identifier of the account whose transactions are to be retrieved.
+     * @param request   the page request containing the cursor returned by the previous page, and the page size
+     * @return A {@code RestResponse} containing a {@code TransactionHistoryResponse} with the page transactions
+     * and the cursor of the next page.
+     */
+    @Operation(summary = "Account Transaction History", description = "Retrieve the specified account transactions, newest first")
+    @ApiResponse(responseCode = "200", description = "Account transactions retrieved successfully")
+    @GetMapping("{accountId}/transactions")
+    public Mono<RestResponse<TransactionHistoryResponse>> history(@PathVariable final UUID accountId,
+                                                                  @Valid final TransactionHistoryRequest request) {
+        return accountService.history(accountId, request.cursor(), request.limitOrDefault())
+                .map(page -> RestResponse.ok(accountMapper.toHistoryResponse(page)));
+    }
+
+    /**
+     * Deposits a specified amount into the account identified by the given account ID.
+     *
+     * @param accountId the unique identifier of the account into which the deposit is to be made
+     * @param request   the deposit request containing the amount to be deposited
+     * @return a {@code RestResponse} containing a {@code TransactionResponse} with the transaction ID of the completed deposit
+     */
+    @Operation(summary = "Deposit to Account", description = "Deposit to an account in Axis")
+    @ApiResponse(responseCode = "201", description = "Deposit created successfully")
+    @PostMapping("/{accountId}/deposits")
+    @ResponseStatus(HttpStatus.CREATED)
+    public Mono<RestResponse<TransactionResponse>> deposit(@PathVariable final UUID accountId,
+                                                           final TransactionRequest request) {
+        return accountService.deposit(accountId, request.amount())
+                .map(ReactiveAccountController::toTransactionResponse);
+    }
+
+    /**
+     * Performs a withdrawal from the specified account.
+     *
+     * @param accountId the unique identifier of the account from which the withdrawal is to be made
+     * @param request   the withdrawal request containing the amount to be withdrawn
+     * @return a {@code RestResponse} containing a {@code TransactionResponse} with the transaction ID of the completed withdrawal
+     */
+    @Operation(summary = "Withdraw from Account", description = "Withdraw from an account in Axis")
+    @ApiResponse(responseCode = "201", description = "Withdraw created successfully")
+    @PostMapping("/{accountId}/withdraws")
+    @ResponseStatus(HttpStatus.CREATED)
+    public Mono<RestResponse<TransactionResponse>> withdraw(@PathVariable final UUID accountId,
+                                                            final TransactionRequest request) {
+        return accountService.withdraw(accountId, request.amount())
+                .map(ReactiveAccountController::toTransactionResponse);
+    }
+
+    /**
+     * Transfers a specified amount from the specified account to another one, atomically.
+     *
+     * @param accountId the unique identifier of the account from which the amount is to be transferred
+     * @param request   the transfer request containing the target account and the amount to be transferred
+     * @return a {@code RestResponse} containing a {@code TransactionResponse} with the transaction ID
+     * debiting the source account
+     */
+    @Operation(summary = "Transfer from Account", description = "Transfer from an account to another in Axis")
+    @ApiResponse(responseCode = "201", description = "Transfer created successfully")
+    @PostMapping("/{accountId}/transfers")
+    @ResponseStatus(HttpStatus.CREATED)
+    public Mono<RestResponse<TransactionResponse>> transfer(@PathVariable final UUID accountId,
+                                                            @Valid final TransferRequest request) {
+        return accountService.transfer(accountId, request.targetAccountId(), request.amount())
+                .map(ReactiveAccountController::toTransactionResponse);
+    }
+
+    /**
+     * Wrap the unique identifier of a completed money movement
+     *
+     * @param transactionId the unique identifier of the transaction
+     * @return a {@code RestResponse} containing a {@code TransactionResponse}
+     */
+    private static RestResponse<TransactionResponse> toTransactionResponse(final UUID transactionId) {
+        return RestResponse.ok(TransactionResponse.builder()
+                .transactionId(transactionId)
+                .build());
+    }
+}
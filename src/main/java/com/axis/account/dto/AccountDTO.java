@@ -7,6 +7,7 @@ import java.math.BigDecimal;
 @Builder
 public record AccountDTO(
         String username,
-        BigDecimal balance
+        BigDecimal balance,
+        String currency
 ) {
 }
\ No newline at end of file
@@ -0,0 +1,23 @@
+package com.axis.account.dto;
+
+import com.axis.account.model.Transaction;
+import lombok.Builder;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * A single deposit or withdrawal of a transactions batch
+ *
+ * @param accountId the unique identifier of the account
+ * @param type      the transaction type
+ * @param amount    the transaction amount
+ * @author Mahmoud Shtayeh
+ */
+@Builder
+public record BatchEntryDTO(
+        UUID accountId,
+        Transaction.TransactionType type,
+        BigDecimal amount
+) {
+}
@@ -0,0 +1,29 @@
+package com.axis.account.dto;
+
+import lombok.Builder;
+
+import java.util.UUID;
+
+/**
+ * Outcome of a single entry of a transactions batch
+ *
+ * @param accountId     the unique identifier of the account
+ * @param status        the entry outcome
+ * @param transactionId the unique identifier of the recorded transaction, when applied
+ * @author Mahmoud Shtayeh
+ */
+@Builder
+public record BatchEntryResult(
+        UUID accountId,
+        Status status,
+        UUID transactionId
+) {
+    /**
+     * Outcome of a batch entry.
+     *
+     * @author Mahmoud Shtayeh
+     */
+    public enum Status {
+        APPLIED, ACCOUNT_NOT_FOUND, INSUFFICIENT_FUNDS, UNSUPPORTED_TYPE, INVALID_AMOUNT
+    }
+}
@@ -0,0 +1,40 @@
+package com.axis.account.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Transactions of an account folded into a balance
+ *
+ * @param events  number of folded transactions
+ * @param balance sum of the folded transactions, credits added and debits subtracted
+ * @author Mahmoud Shtayeh
+ */
+public record LedgerFold(
+        long events,
+        BigDecimal balance
+) {
+    /**
+     * Nothing folded
+     */
+    public static final LedgerFold EMPTY = new LedgerFold(0L, BigDecimal.ZERO);
+
+    /**
+     * Normalize the sum of no transaction to zero
+     *
+     * @param events  number of folded transactions
+     * @param balance sum of the folded transactions, {@code null} when none
+     */
+    public LedgerFold {
+        balance = balance == null ? BigDecimal.ZERO : balance;
+    }
+
+    /**
+     * Fold further transactions on top of this one
+     *
+     * @param next the transactions following this fold
+     * @return both folds combined
+     */
+    public LedgerFold plus(final LedgerFold next) {
+        return new LedgerFold(events + next.events(), balance.add(next.balance()));
+    }
+}
@@ -0,0 +1,33 @@
+package com.axis.account.dto;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Account statement export format
+ *
+ * @author Mahmoud Shtayeh
+ */
+@Getter
+@RequiredArgsConstructor
+public enum StatementFormat {
+    /**
+     * One JSON transaction per line
+     */
+    NDJSON("application/x-ndjson", "ndjson"),
+
+    /**
+     * Comma separated transactions, after a header line
+     */
+    CSV("text/csv", "csv");
+
+    /**
+     * Response media type
+     */
+    private final String mediaType;
+
+    /**
+     * Exported file extension
+     */
+    private final String extension;
+}
@@ -0,0 +1,65 @@
+package com.axis.account.dto;
+
+import com.axis.account.exception.InvalidTransactionException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Keyset position within an account ledger: the {@code (createdDate, id)} of the last transaction of a page.
+ * Exchanged with clients as an opaque URL-safe token.
+ *
+ * @param createdDate the last seen transaction timestamp
+ * @param id          the last seen transaction unique identifier, breaking timestamp ties
+ * @author Mahmoud Shtayeh
+ */
+public record TransactionCursor(
+        LocalDateTime createdDate,
+        UUID id
+) {
+    /**
+     * Separates the cursor components in the token
+     */
+    private static final char SEPARATOR = '_';
+
+    /**
+     * Position right after the given transaction
+     *
+     * @param transaction the last transaction of a page
+     * @return the cursor of the next page
+     */
+    public static TransactionCursor after(final TransactionDTO transaction) {
+        return new TransactionCursor(transaction.createdDate(), transaction.id());
+    }
+
+    /**
+     * Decode a client supplied token
+     *
+     * @param token opaque cursor token
+     * @return the decoded cursor
+     * @throws InvalidTransactionException if the token is malformed
+     */
+    public static TransactionCursor decode(final String token) {
+        try {
+            final String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            final int separator = value.indexOf(SEPARATOR);
+            return new TransactionCursor(LocalDateTime.parse(value.substring(0, separator)),
+                    UUID.fromString(value.substring(separator + 1)));
+        } catch (final IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException exception) {
+            throw new InvalidTransactionException("error.history.invalidCursor");
+        }
+    }
+
+    /**
+     * Encode the cursor into an opaque token
+     *
+     * @return opaque cursor token
+     */
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((createdDate.toString() + SEPARATOR + id).getBytes(StandardCharsets.UTF_8));
+    }
+}
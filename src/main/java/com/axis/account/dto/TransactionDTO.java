@@ -0,0 +1,26 @@
+package com.axis.account.dto;
+
+import com.axis.account.model.Transaction;
+import lombok.Builder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Account ledger entry, read without loading the transaction entity
+ *
+ * @param id          the unique identifier of the transaction
+ * @param type        the transaction type
+ * @param amount      the transaction amount
+ * @param createdDate the transaction timestamp
+ * @author Mahmoud Shtayeh
+ */
+@Builder
+public record TransactionDTO(
+        UUID id,
+        Transaction.TransactionType type,
+        BigDecimal amount,
+        LocalDateTime createdDate
+) {
+}
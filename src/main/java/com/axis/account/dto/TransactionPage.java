@@ -0,0 +1,19 @@
+package com.axis.account.dto;
+
+import lombok.Builder;
+
+import java.util.List;
+
+/**
+ * A page of an account ledger, newest first
+ *
+ * @param transactions the page transactions
+ * @param nextCursor   position of the next (older) page, {@code null} on the last page
+ * @author Mahmoud Shtayeh
+ */
+@Builder
+public record TransactionPage(
+        List<TransactionDTO> transactions,
+        String nextCursor
+) {
+}
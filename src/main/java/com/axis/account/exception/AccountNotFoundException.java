@@ -7,6 +7,7 @@ import java.util.UUID;
 
 /**
  * Exception thrown when an account with the specified identifier cannot be found.
+ * Captures no stack trace, unknown accounts being a regular outcome of the requests.
  *
  * @author Mahmoud Shtayeh
  */
@@ -22,4 +23,14 @@ public class AccountNotFoundException extends RuntimeException {
      * The unique identifier of the account that was not found.
      */
     private final UUID accountId;
+
+    /**
+     * Skip the stack trace capture, the exception being thrown on business paths and rendered from its fields only
+     *
+     * @return this exception
+     */
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,149 @@
+package com.axis.account.exception;
+
+import com.axis.account.web.ApiError;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.context.MessageSource;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.text.Format;
+import java.text.MessageFormat;
+import java.text.NumberFormat;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.Locale;
+
+/**
+ * Localized errors renderer, compiling every message format once.
+ * <p>
+ * Messages are resolved from the messages catalog on every error, a lock-free lookup, so that a catalog reload
+ * applies at once. Messages without arguments are rendered as resolved; messages with arguments through a
+ * {@link MessageFormat} compiled on first use, instead of reparsing the pattern per error, its number arguments
+ * formatted by number formats built once too. Compiled formats are shared, so formatting holds their lock. They are
+ * cached by pattern, so a reloaded message gets a format of its own, in a bounded cache dropping the old ones.
+ *
+ * @author Mahmoud Shtayeh
+ */
+@Component
+public class ErrorRenderer {
+    /**
+     * Most cached templates, messages with arguments times bundles, and reloaded messages
+     */
+    private static final int MAXIMUM_TEMPLATES = 1_024;
+
+    /**
+     * I18n supported messages source
+     */
+    private final MessageSource messageSource;
+
+    /**
+     * Errors timestamps clock, resolving the default time zone once
+     */
+    private final Clock clock = Clock.systemDefaultZone();
+
+    /**
+     * Compiled templates, by message pattern
+     */
+    private final Cache<String, Template> templates = Caffeine.newBuilder()
+            .maximumSize(MAXIMUM_TEMPLATES)
+            .build();
+
+    /**
+     * Build the renderer
+     *
+     * @param messageSource I18n supported messages source
+     */
+    public ErrorRenderer(final MessageSource messageSource) {
+        this.messageSource = messageSource;
+    }
+
+    /**
+     * Render an error in the current locale, timestamped now
+     *
+     * @param key       message key
+     * @param arguments message arguments, if any
+     * @return the rendered error
+     * @throws org.springframework.context.NoSuchMessageException if the key is unknown
+     */
+    public ApiError error(final String key, final Object... arguments) {
+        return ApiError.builder()
+                .message(message(key, LocaleContextHolder.getLocale(), arguments))
+                .timestamp(LocalDateTime.now(clock))
+                .build();
+    }
+
+    /**
+     * Render a message
+     *
+     * @param key       message key
+     * @param locale    message locale
+     * @param arguments message arguments, if any
+     * @return the rendered message
+     * @throws org.springframework.context.NoSuchMessageException if the key is unknown
+     */
+    public String message(final String key, final Locale locale, final Object... arguments) {
+        final String message = messageSource.getMessage(key, null, locale);
+        return arguments.length == 0 ? message : templates.get(message, Template::new).format(arguments);
+    }
+
+    /**
+     * Message pattern, and its format compiled on first use
+     *
+     * @author Mahmoud Shtayeh
+     */
+    private static final class Template {
+        /**
+         * Message pattern
+         */
+        private final String message;
+
+        /**
+         * Compiled format, {@code null} until first used
+         */
+        private MessageFormat format;
+
+        /**
+         * Arguments formatted by a number format built once, by argument index
+         */
+        private boolean[] numberArguments;
+
+        /**
+         * Build a template
+         *
+         * @param message message pattern
+         */
+        private Template(final String message) {
+            this.message = message;
+        }
+
+        /**
+         * Format the message arguments, compiling the format on first use, in the default locale as
+         * {@link MessageFormat#format(String, Object...)} does.
+         * Number arguments without a format of their own get the number format {@link MessageFormat} would build
+         * for every call; arguments changing type since are formatted by a format compiled for the call.
+         *
+         * @param arguments message arguments
+         * @return the formatted message
+         */
+        private synchronized String format(final Object[] arguments) {
+            if (format == null) {
+                format = new MessageFormat(message);
+                final Format[] formats = format.getFormatsByArgumentIndex();
+                numberArguments = new boolean[formats.length];
+                for (int index = 0; index < Math.min(formats.length, arguments.length); index++) {
+                    if (formats[index] == null && arguments[index] instanceof Number) {
+                        format.setFormatByArgumentIndex(index, NumberFormat.getInstance(format.getLocale()));
+                        numberArguments[index] = true;
+                    }
+                }
+            }
+            for (int index = 0; index < numberArguments.length; index++) {
+                if (numberArguments[index] && !(index < arguments.length && arguments[index] instanceof Number)) {
+                    return new MessageFormat(message).format(arguments);
+                }
+            }
+            return format.format(arguments);
+        }
+    }
+}
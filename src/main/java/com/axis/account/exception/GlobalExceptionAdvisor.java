@@ -3,18 +3,15 @@ package com.axis.account.exception;
 import com.axis.account.web.ApiError;
 import com.axis.account.web.RestResponse;
 import lombok.RequiredArgsConstructor;
-import org.springframework.context.MessageSource;
-import org.springframework.context.i18n.LocaleContextHolder;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
 
-import java.text.MessageFormat;
-import java.time.LocalDateTime;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 
@@ -27,9 +24,9 @@ import java.util.Objects;
 @RequiredArgsConstructor
 public class GlobalExceptionAdvisor {
     /**
-     * I18n supported messages source
+     * Localized errors renderer
      */
-    private final MessageSource messageSource;
+    private final ErrorRenderer errorRenderer;
 
     /**
      * UnKnown exceptions handler
@@ -41,14 +38,9 @@ public class GlobalExceptionAdvisor {
     @ExceptionHandler(Exception.class)
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
     public <T> ResponseEntity<RestResponse<T>> handleException(final Exception exception) {
-        final String message = messageSource
-                .getMessage(exception.getMessage(), null, LocaleContextHolder.getLocale());
         return ResponseEntity
                 .status(HttpStatus.INTERNAL_SERVER_ERROR)
-                .body(RestResponse.error(ApiError.builder()
-                        .message(message)
-                        .timestamp(LocalDateTime.now())
-                        .build()));
+                .body(RestResponse.error(errorRenderer.error(exception.getMessage())));
     }
 
     /**
@@ -61,17 +53,21 @@ public class GlobalExceptionAdvisor {
     @ExceptionHandler(MethodArgumentNotValidException.class)
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public <T> ResponseEntity<RestResponse<T>> handleValidationException(final MethodArgumentNotValidException exception) {
-        final List<ApiError> apiErrors = new ArrayList<>();
-        exception.getBindingResult().getAllErrors().forEach(apiError -> apiErrors.add(ApiError.builder()
-                .message(messageSource.getMessage(Objects.requireNonNull(apiError.getDefaultMessage()),
-                        null, LocaleContextHolder.getLocale()))
-                .timestamp(LocalDateTime.now())
-                .build()));
-        return ResponseEntity
-                .status(HttpStatus.BAD_REQUEST)
-                .body(RestResponse.<T>builder()
-                        .errors(apiErrors)
-                        .build());
+        return validationErrors(exception.getBindingResult());
+    }
+
+    /**
+     * WebExchangeBindException exception handler, the non-blocking APIs counterpart of
+     * {@link MethodArgumentNotValidException}
+     *
+     * @param exception WebExchangeBindException exception
+     * @param <T>       the type of the payload in the {@link RestResponse}.
+     * @return ApiResponse wrapping the error user-friendly details
+     */
+    @ExceptionHandler(WebExchangeBindException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public <T> ResponseEntity<RestResponse<T>> handleValidationException(final WebExchangeBindException exception) {
+        return validationErrors(exception.getBindingResult());
     }
 
     /**
@@ -84,14 +80,9 @@ public class GlobalExceptionAdvisor {
     @ExceptionHandler(AccountNotFoundException.class)
     @ResponseStatus(HttpStatus.NOT_FOUND)
     public <T> ResponseEntity<RestResponse<T>> handleException(final AccountNotFoundException exception) {
-        final String message = messageSource
-                .getMessage("error.account.notFound", null, LocaleContextHolder.getLocale());
         return ResponseEntity
                 .status(HttpStatus.NOT_FOUND)
-                .body(RestResponse.error(ApiError.builder()
-                        .message(MessageFormat.format(message, exception.getAccountId()))
-                        .timestamp(LocalDateTime.now())
-                        .build()));
+                .body(RestResponse.error(errorRenderer.error("error.account.notFound", exception.getAccountId())));
     }
 
     /**
@@ -106,14 +97,59 @@ public class GlobalExceptionAdvisor {
     @ExceptionHandler(InsufficientFundsException.class)
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public <T> ResponseEntity<RestResponse<T>> handleException(final InsufficientFundsException exception) {
-        final String message = messageSource
-                .getMessage("error.transaction.insufficientFunds", null, LocaleContextHolder.getLocale());
         return ResponseEntity
                 .status(HttpStatus.BAD_REQUEST)
-                .body(RestResponse.error(ApiError.builder()
-                        .message(MessageFormat.format(message,
-                                exception.getAccountId(), exception.getBalance(), exception.getAmount()))
-                        .timestamp(LocalDateTime.now())
-                        .build()));
+                .body(RestResponse.error(errorRenderer.error("error.transaction.insufficientFunds",
+                        exception.getAccountId(), exception.getBalance(), exception.getAmount())));
+    }
+
+    /**
+     * Handles {@link InvalidTransactionException} thrown when a transaction breaks a business rule.
+     *
+     * @param exception the {@link InvalidTransactionException} to handle, holding the broken rule message key.
+     * @param <T>       the type of the payload in the {@link RestResponse}.
+     * @return a {@link ResponseEntity} containing a {@link RestResponse} with error details
+     * and a {@code BAD_REQUEST} HTTP status.
+     */
+    @ExceptionHandler(InvalidTransactionException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public <T> ResponseEntity<RestResponse<T>> handleException(final InvalidTransactionException exception) {
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body(RestResponse.error(errorRenderer.error(exception.getMessage())));
+    }
+
+    /**
+     * Handles {@link IdempotencyKeyReusedException} thrown when an idempotency key is repeated with another request.
+     *
+     * @param exception the {@link IdempotencyKeyReusedException} to handle, holding the reused key.
+     * @param <T>       the type of the payload in the {@link RestResponse}.
+     * @return a {@link ResponseEntity} containing a {@link RestResponse} with error details
+     * and an {@code UNPROCESSABLE_ENTITY} HTTP status.
+     */
+    @ExceptionHandler(IdempotencyKeyReusedException.class)
+    @ResponseStatus(HttpStatus.UNPROCESSABLE_ENTITY)
+    public <T> ResponseEntity<RestResponse<T>> handleException(final IdempotencyKeyReusedException exception) {
+        return ResponseEntity
+                .status(HttpStatus.UNPROCESSABLE_ENTITY)
+                .body(RestResponse.error(errorRenderer.error("error.idempotency.keyReused", exception.getKey())));
+    }
+
+    /**
+     * Render the binding errors of an invalid request
+     *
+     * @param bindingResult the request binding result
+     * @param <T>           the type of the payload in the {@link RestResponse}.
+     * @return ApiResponse wrapping the errors user-friendly details
+     */
+    private <T> ResponseEntity<RestResponse<T>> validationErrors(final BindingResult bindingResult) {
+        final List<ApiError> apiErrors = bindingResult.getAllErrors().stream()
+                .map(error -> errorRenderer.error(Objects.requireNonNull(error.getDefaultMessage())))
+                .toList();
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body(RestResponse.<T>builder()
+                        .errors(apiErrors)
+                        .build());
     }
 }
\ No newline at end of file
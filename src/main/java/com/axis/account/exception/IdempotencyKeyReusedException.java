@@ -0,0 +1,36 @@
+package com.axis.account.exception;
+
+import lombok.*;
+
+import java.io.Serial;
+
+/**
+ * Exception thrown when an idempotency key is repeated with a different request than the one it is bound to,
+ * such as another operation, account or amount.
+ * Captures no stack trace, reused keys being a regular outcome of the requests.
+ *
+ * @author Mahmoud Shtayeh
+ */
+@Getter
+@Builder
+@ToString
+@RequiredArgsConstructor
+public class IdempotencyKeyReusedException extends RuntimeException {
+    @Serial
+    private static final long serialVersionUID = 4328744L;
+
+    /**
+     * The reused idempotency key
+     */
+    private final String key;
+
+    /**
+     * Skip the stack trace capture, the exception being thrown on business paths and rendered from its fields only
+     *
+     * @return this exception
+     */
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
@@ -13,6 +13,7 @@ import java.util.UUID;
  * Exception thrown when a transaction is attempted on an account with insufficient funds.
  * This exception captures details about the account, the requested transaction amount,
  * and the current balance of the account at the time of the exception.
+ * Captures no stack trace, insufficient funds being a regular outcome of the requests.
  *
  * @author Mahmoud Shtayeh
  */
@@ -38,4 +39,14 @@ public class InsufficientFundsException extends RuntimeException {
      * Represents the current balance of an account involved in an insufficient funds exception.
      */
     private final BigDecimal balance;
+
+    /**
+     * Skip the stack trace capture, the exception being thrown on business paths and rendered from its fields only
+     *
+     * @return this exception
+     */
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,33 @@
+package com.axis.account.exception;
+
+import java.io.Serial;
+
+/**
+ * Exception thrown when a requested transaction breaks a business rule, other than insufficient funds.
+ * Captures no stack trace, broken rules being a regular outcome of the requests.
+ *
+ * @author Mahmoud Shtayeh
+ */
+public class InvalidTransactionException extends RuntimeException {
+    @Serial
+    private static final long serialVersionUID = 4328743L;
+
+    /**
+     * Constructs a new InvalidTransactionException with a specified detail message.
+     *
+     * @param message the detail message key that explains the broken rule
+     */
+    public InvalidTransactionException(final String message) {
+        super(message);
+    }
+
+    /**
+     * Skip the stack trace capture, the exception being thrown on business paths and rendered from its message only
+     *
+     * @return this exception
+     */
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
@@ -0,0 +1,300 @@
+package com.axis.account.i18n;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.MessageSource;
+import org.springframework.context.MessageSourceResolvable;
+import org.springframework.context.NoSuchMessageException;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+
+/**
+ * Messages catalog, loaded once into an immutable snapshot indexed by locale.
+ * <p>
+ * Every bundle of the base name ({@code messages.properties}, {@code messages_ar.properties}, ...) gets a slot, and
+ * every message code maps to an array of its messages by slot, the fallbacks (language, then default bundle) being
+ * resolved when loading. A lookup is then two map reads and an array access, without any lock or file check.
+ * Request locales without a bundle of their own, nor of their language, get the default bundle.
+ * {@link #reload()} loads a new snapshot and swaps it in whole, lookups reading either the old or the new one.
+ *
+ * @author Mahmoud Shtayeh
+ */
+@Slf4j
+public class MessageCatalog implements MessageSource {
+    /**
+     * Bundles files extension
+     */
+    private static final String EXTENSION = ".properties";
+
+    /**
+     * Slot of the default bundle
+     */
+    private static final int DEFAULT_SLOT = 0;
+
+    /**
+     * Bundles base name, such as {@code classpath:messages/messages}
+     */
+    private final String baseName;
+
+    /**
+     * Bundles encoding
+     */
+    private final Charset encoding;
+
+    /**
+     * Current catalog
+     */
+    private volatile Snapshot snapshot;
+
+    /**
+     * Load the catalog
+     *
+     * @param baseName bundles base name, such as {@code classpath:messages/messages}
+     * @param encoding bundles encoding
+     * @throws UncheckedIOException if a bundle cannot be read
+     */
+    public MessageCatalog(final String baseName, final Charset encoding) {
+        this.baseName = baseName;
+        this.encoding = encoding;
+        this.snapshot = load();
+    }
+
+    /**
+     * Load the bundles again, and swap the catalog in whole, keeping the current one on failure
+     *
+     * @return the locales of the loaded bundles, the default bundle being {@link Locale#ROOT}
+     * @throws UncheckedIOException if a bundle cannot be read
+     */
+    public List<Locale> reload() {
+        final Snapshot loaded = load();
+        snapshot = loaded;
+        return loaded.locales();
+    }
+
+    /**
+     * Resolve a message, formatting its arguments if any
+     *
+     * @param code           message code
+     * @param args           message arguments, if any
+     * @param defaultMessage message rendered when the code is unknown
+     * @param locale         requested locale
+     * @return the message, or the default message when the code is unknown
+     */
+    @Override
+    public String getMessage(final String code, final Object[] args, final String defaultMessage,
+                             final Locale locale) {
+        final String message = snapshot.find(code, locale);
+        if (message == null) {
+            return defaultMessage == null ? null : format(defaultMessage, args, locale);
+        }
+        return format(message, args, locale);
+    }
+
+    /**
+     * Resolve a message, formatting its arguments if any
+     *
+     * @param code   message code
+     * @param args   message arguments, if any
+     * @param locale requested locale
+     * @return the message
+     * @throws NoSuchMessageException if the code is unknown
+     */
+    @Override
+    public String getMessage(final String code, final Object[] args, final Locale locale) {
+        final String message = snapshot.find(code, locale);
+        if (message == null) {
+            throw new NoSuchMessageException(code, locale);
+        }
+        return format(message, args, locale);
+    }
+
+    /**
+     * Resolve the message of the first known code of a resolvable, resolving its resolvable arguments too
+     *
+     * @param resolvable message codes, arguments and default message
+     * @param locale     requested locale
+     * @return the message, or the default message when no code is known
+     * @throws NoSuchMessageException if no code is known, and there is no default message
+     */
+    @Override
+    public String getMessage(final MessageSourceResolvable resolvable, final Locale locale) {
+        final Object[] args = resolvable.getArguments() == null ? null : resolvable.getArguments().clone();
+        if (args != null) {
+            for (int index = 0; index < args.length; index++) {
+                if (args[index] instanceof MessageSourceResolvable argument) {
+                    args[index] = getMessage(argument, locale);
+                }
+            }
+        }
+        final String[] codes = resolvable.getCodes();
+        if (codes != null) {
+            final Snapshot current = snapshot;
+            for (final String code : codes) {
+                final String message = current.find(code, locale);
+                if (message != null) {
+                    return format(message, args, locale);
+                }
+            }
+        }
+        if (resolvable.getDefaultMessage() != null) {
+            return format(resolvable.getDefaultMessage(), args, locale);
+        }
+        throw new NoSuchMessageException(codes == null || codes.length == 0 ? "" : codes[codes.length - 1], locale);
+    }
+
+    /**
+     * Format a message, rendered as is without arguments
+     *
+     * @param message message pattern
+     * @param args    message arguments, if any
+     * @param locale  requested locale
+     * @return the formatted message
+     */
+    private static String format(final String message, final Object[] args, final Locale locale) {
+        if (args == null || args.length == 0) {
+            return message;
+        }
+        return new MessageFormat(message, locale == null ? Locale.getDefault() : locale).format(args);
+    }
+
+    /**
+     * Read every bundle of the base name into a catalog
+     *
+     * @return the loaded catalog
+     * @throws UncheckedIOException if a bundle cannot be read
+     */
+    private Snapshot load() {
+        final String fileName = StringUtils.getFilename(baseName);
+        final Map<Locale, Properties> bundles = new HashMap<>();
+        try {
+            for (final Resource resource : new PathMatchingResourcePatternResolver()
+                    .getResources(baseName + "*" + EXTENSION)) {
+                final String bundleName = Objects.requireNonNull(resource.getFilename());
+                final String suffix = bundleName.substring(fileName.length(), bundleName.length() - EXTENSION.length());
+                if (!suffix.isEmpty() && !suffix.startsWith("_")) {
+                    continue;
+                }
+                final Properties bundle = new Properties();
+                try (Reader reader = new InputStreamReader(resource.getInputStream(), encoding)) {
+                    bundle.load(reader);
+                }
+                bundles.put(suffix.isEmpty() ? Locale.ROOT : StringUtils.parseLocale(suffix.substring(1)), bundle);
+            }
+        } catch (final IOException exception) {
+            throw new UncheckedIOException("Messages bundles cannot be read: " + baseName, exception);
+        }
+        final Snapshot loaded = Snapshot.of(bundles);
+        log.info("Messages catalog: {} messages loaded, for {}", loaded.messages().size(), loaded.locales());
+        return loaded;
+    }
+
+    /**
+     * Immutable catalog
+     *
+     * @param locales           locales of the bundles, by slot
+     * @param slotsByLocale     slots of the bundles, by locale
+     * @param slotsByLanguage   slots of the language-only bundles, by language
+     * @param messages          messages, by code, then by slot
+     * @author Mahmoud Shtayeh
+     */
+    private record Snapshot(
+            List<Locale> locales,
+            Map<Locale, Integer> slotsByLocale,
+            Map<String, Integer> slotsByLanguage,
+            Map<String, String[]> messages
+    ) {
+        /**
+         * Index bundles, resolving the message of every code for every bundle
+         *
+         * @param bundles bundles, by locale, the default one being {@link Locale#ROOT}
+         * @return the catalog
+         */
+        private static Snapshot of(final Map<Locale, Properties> bundles) {
+            final List<Locale> locales = new ArrayList<>();
+            locales.add(Locale.ROOT);
+            bundles.keySet().stream()
+                    .filter(locale -> !Locale.ROOT.equals(locale))
+                    .sorted((first, second) -> first.toString().compareTo(second.toString()))
+                    .forEach(locales::add);
+            final Map<Locale, Integer> slotsByLocale = new HashMap<>();
+            final Map<String, Integer> slotsByLanguage = new HashMap<>();
+            for (int slot = 0; slot < locales.size(); slot++) {
+                slotsByLocale.put(locales.get(slot), slot);
+                if (slot != DEFAULT_SLOT && locales.get(slot).getCountry().isEmpty()
+                        && locales.get(slot).getVariant().isEmpty()) {
+                    slotsByLanguage.put(locales.get(slot).getLanguage(), slot);
+                }
+            }
+
+            final Map<String, String[]> messages = new HashMap<>();
+            bundles.values().forEach(bundle -> bundle.stringPropertyNames()
+                    .forEach(code -> messages.computeIfAbsent(code, unused -> new String[locales.size()])));
+            messages.forEach((code, bySlot) -> {
+                for (int slot = 0; slot < locales.size(); slot++) {
+                    final Locale locale = locales.get(slot);
+                    String message = property(bundles.get(locale), code);
+                    if (message == null && !locale.getCountry().isEmpty()) {
+                        message = property(bundles.get(Locale.of(locale.getLanguage())), code);
+                    }
+                    bySlot[slot] = message == null ? property(bundles.get(Locale.ROOT), code) : message;
+                }
+            });
+            return new Snapshot(List.copyOf(locales), Map.copyOf(slotsByLocale), Map.copyOf(slotsByLanguage),
+                    Map.copyOf(messages));
+        }
+
+        /**
+         * Find the message of a code, for the bundle of the locale, of its language, or the default bundle
+         *
+         * @param code   message code
+         * @param locale requested locale, {@code null} for the default bundle
+         * @return the message, {@code null} if the code is unknown to the bundle and its fallbacks
+         */
+        private String find(final String code, final Locale locale) {
+            final String[] bySlot = code == null ? null : messages.get(code);
+            return bySlot == null ? null : bySlot[slot(locale)];
+        }
+
+        /**
+         * Slot of the bundle of a locale, of its language, or the default bundle
+         *
+         * @param locale requested locale, {@code null} for the default bundle
+         * @return the bundle slot
+         */
+        private int slot(final Locale locale) {
+            if (locale == null) {
+                return DEFAULT_SLOT;
+            }
+            Integer slot = slotsByLocale.get(locale);
+            if (slot == null) {
+                slot = slotsByLanguage.get(locale.getLanguage());
+            }
+            return slot == null ? DEFAULT_SLOT : slot;
+        }
+
+        /**
+         * Read a property of a possibly missing bundle
+         *
+         * @param bundle bundle, if any
+         * @param code   message code
+         * @return the message, if any
+         */
+        private static String property(final Properties bundle, final String code) {
+            return bundle == null ? null : bundle.getProperty(code);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.axis.account.i18n;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Messages catalog actuator endpoint, its {@code reload} operation reloading the messages bundles.
+ * <p>
+ * It is exposed over JMX only. Exposing it over the web publishes {@code POST /actuator/messages}, which is only to be
+ * done on an internal management port, or behind access control.
+ *
+ * @author Mahmoud Shtayeh
+ */
+@Component
+@RequiredArgsConstructor
+@Endpoint(id = "messages")
+public class MessageCatalogEndpoint {
+    /**
+     * Messages catalog
+     */
+    private final MessageCatalog messageCatalog;
+
+    /**
+     * Reload the messages bundles, swapping the catalog in whole
+     *
+     * @return the language tags of the loaded bundles, {@code und} being the default bundle
+     * @throws java.io.UncheckedIOException if a bundle cannot be read, the current catalog being kept
+     */
+    @WriteOperation
+    public List<String> reload() {
+        return messageCatalog.reload().stream().map(Locale::toLanguageTag).toList();
+    }
+}
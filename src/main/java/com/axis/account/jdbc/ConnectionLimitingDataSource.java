@@ -0,0 +1,141 @@
+package com.axis.account.jdbc;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Data source admitting at most as many concurrent connection borrowers as the pool has connections.
+ * <p>
+ * Borrowers queue, in arrival order, on a fair semaphore that parks virtual threads without pinning their carriers,
+ * instead of thousands of them contending inside the pool. A permit is held from borrowing a connection until
+ * closing it, the connection being wrapped into a plain delegating one. Borrowers beyond the waiting limit, or waiting
+ * longer than the acquire timeout, fail fast with a {@link SQLTransientConnectionException}.
+ *
+ * @author Mahmoud Shtayeh
+ */
+public class ConnectionLimitingDataSource extends DelegatingDataSource {
+    /**
+     * One permit per pooled connection
+     */
+    private final Semaphore permits;
+
+    /**
+     * Maximum number of waiting borrowers
+     */
+    private final int maxWaiting;
+
+    /**
+     * Maximum wait of a borrower, in nanoseconds
+     */
+    private final long acquireTimeoutNanos;
+
+    /**
+     * Number of borrowers waiting for a permit
+     */
+    private final AtomicInteger waiting = new AtomicInteger();
+
+    /**
+     * Limit the connection borrowers of a pooled data source
+     *
+     * @param targetDataSource pooled data source
+     * @param maxConnections   pool size
+     * @param maxWaiting       maximum number of waiting borrowers
+     * @param acquireTimeout   maximum wait of a borrower
+     */
+    public ConnectionLimitingDataSource(final DataSource targetDataSource, final int maxConnections,
+                                        final int maxWaiting, final Duration acquireTimeout) {
+        super(targetDataSource);
+        this.permits = new Semaphore(maxConnections, true);
+        this.maxWaiting = maxWaiting;
+        this.acquireTimeoutNanos = acquireTimeout.toNanos();
+    }
+
+    /**
+     * Borrow a connection, once admitted
+     *
+     * @return a connection releasing its permit on close
+     * @throws SQLException if not admitted, or if the pool fails
+     */
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        return borrow(() -> super.getConnection());
+    }
+
+    /**
+     * Borrow a connection of a specific user, once admitted
+     *
+     * @param username the database user
+     * @param password the user password
+     * @return a connection releasing its permit on close
+     * @throws SQLException if not admitted, or if the pool fails
+     */
+    @Override
+    public Connection getConnection(final String username, final String password) throws SQLException {
+        acquire();
+        return borrow(() -> super.getConnection(username, password));
+    }
+
+    /**
+     * Wait for a permit, unless too many borrowers already wait
+     *
+     * @throws SQLTransientConnectionException if not admitted
+     */
+    private void acquire() throws SQLTransientConnectionException {
+        if (!permits.tryAcquire()) {
+            try {
+                if (waiting.incrementAndGet() > maxWaiting) {
+                    throw new SQLTransientConnectionException("Too many requests waiting for a database connection");
+                }
+                if (!permits.tryAcquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS)) {
+                    throw new SQLTransientConnectionException("Timed out waiting for a database connection");
+                }
+            } catch (final InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                throw new SQLTransientConnectionException("Interrupted waiting for a database connection", exception);
+            } finally {
+                waiting.decrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Borrow a connection holding a permit, wrapping it to release the permit once closed
+     *
+     * @param pool borrows the pooled connection
+     * @return the wrapped connection
+     * @throws SQLException if the pool fails, releasing the permit
+     */
+    private Connection borrow(final Borrower pool) throws SQLException {
+        try {
+            return new PermitReleasingConnection(pool.borrow(), permits);
+        } catch (final SQLException | RuntimeException exception) {
+            permits.release();
+            throw exception;
+        }
+    }
+
+    /**
+     * Borrows a connection from the pool
+     *
+     * @author Mahmoud Shtayeh
+     */
+    @FunctionalInterface
+    private interface Borrower {
+        /**
+         * Borrow a connection
+         *
+         * @return the pooled connection
+         * @throws SQLException if the pool fails
+         */
+        Connection borrow() throws SQLException;
+    }
+}
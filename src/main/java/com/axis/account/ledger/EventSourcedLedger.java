@@ -0,0 +1,184 @@
+package com.axis.account.ledger;
+
+import com.axis.account.config.ConcurrencyProperties;
+import com.axis.account.config.EventSourcingProperties;
+import com.axis.account.dto.LedgerFold;
+import com.axis.account.model.BalanceSnapshot;
+import com.axis.account.model.Transaction;
+import com.axis.account.repository.AccountRepository;
+import com.axis.account.repository.BalanceSnapshotRepository;
+import com.axis.account.repository.TransactionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Append-only transactions ledger, authoritative over the account balance with the {@code EVENT_SOURCED} strategy.
+ * <p>
+ * A balance is the latest snapshot plus the transactions following it, read through the
+ * {@code (account_id, created_date, id)} index, so at most about {@code snapshot-interval} transactions are read
+ * whatever the account history length. Transactions of an account are appended under its row lock, so their
+ * {@code (created_date, id)} positions grow with their commit order, and a snapshot is taken every
+ * {@code snapshot-interval} transactions by the appending transaction itself.
+ *
+ * @author Mahmoud Shtayeh
+ */
+@Component
+@RequiredArgsConstructor
+public class EventSourcedLedger {
+    /**
+     * Ledger position preceding every transaction, folded from when an account has no snapshot yet
+     */
+    private static final LocalDateTime GENESIS_DATE = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    /**
+     * Transaction identifier preceding every other one, at the genesis position
+     */
+    private static final UUID GENESIS_ID = new UUID(0L, 0L);
+
+    /**
+     * Transaction types adding to the balance, the others subtracting from it
+     */
+    private static final Set<Transaction.TransactionType> CREDIT_TYPES =
+            EnumSet.of(Transaction.TransactionType.DEPOSIT, Transaction.TransactionType.TRANSFER_IN);
+
+    /**
+     * Axis accounts repository
+     */
+    private final AccountRepository accountRepository;
+
+    /**
+     * Axis accounts' Transactions repository
+     */
+    private final TransactionRepository transactionRepository;
+
+    /**
+     * Balance snapshots repository
+     */
+    private final BalanceSnapshotRepository balanceSnapshotRepository;
+
+    /**
+     * Balance mutation concurrency configuration
+     */
+    private final ConcurrencyProperties concurrencyProperties;
+
+    /**
+     * Event-sourced ledger configuration
+     */
+    private final EventSourcingProperties eventSourcingProperties;
+
+    /**
+     * Whether the ledger is authoritative, with the {@code EVENT_SOURCED} strategy
+     *
+     * @return {@code true} when event-sourced
+     */
+    public boolean isEnabled() {
+        return concurrencyProperties.strategy() == ConcurrencyProperties.Strategy.EVENT_SOURCED;
+    }
+
+    /**
+     * Derive the balance of an account from its ledger, as of a timestamp
+     *
+     * @param accountId the unique identifier of the account
+     * @param asOf      latest transaction timestamp to account for
+     * @return the number of transactions since the account opening, and the balance they sum up to
+     */
+    public LedgerFold balanceAsOf(final UUID accountId, final LocalDateTime asOf) {
+        final Optional<BalanceSnapshot> snapshot = latestSnapshot(accountId, asOf);
+        return snapshot.map(EventSourcedLedger::toFold)
+                .orElse(LedgerFold.EMPTY)
+                .plus(foldAfter(accountId, snapshot, asOf));
+    }
+
+    /**
+     * Snapshot the account balance right after an appended transaction, when the transactions following the latest
+     * snapshot reached the snapshot interval. Must run within the appending transaction, holding the account row lock.
+     *
+     * @param transaction the last transaction appended to the account
+     */
+    public void snapshotIfDue(final Transaction transaction) {
+        if (!isEnabled()) {
+            return;
+        }
+        final UUID accountId = transaction.getAccount().getId();
+        final Optional<BalanceSnapshot> snapshot = latestSnapshot(accountId, transaction.getCreatedDate());
+        final LedgerFold sinceSnapshot = foldAfter(accountId, snapshot, transaction.getCreatedDate());
+        if (sinceSnapshot.events() < eventSourcingProperties.snapshotInterval()) {
+            return;
+        }
+
+        final LedgerFold balance = snapshot.map(EventSourcedLedger::toFold)
+                .orElse(LedgerFold.EMPTY)
+                .plus(sinceSnapshot);
+        balanceSnapshotRepository.save(BalanceSnapshot.builder()
+                .account(transaction.getAccount())
+                .balance(balance.balance())
+                .events(balance.events())
+                .lastTransactionId(transaction.getId())
+                .lastTransactionDate(transaction.getCreatedDate())
+                .build());
+    }
+
+    /**
+     * Snapshot the account balance right after a given transaction, whatever the snapshot interval,
+     * so that the ledger stays whole once the transactions up to it leave the database
+     *
+     * @param accountId           the unique identifier of the account
+     * @param lastTransactionId   the unique identifier of the last transaction to cover
+     * @param lastTransactionDate the timestamp of the last transaction to cover
+     */
+    public void snapshotAt(final UUID accountId, final UUID lastTransactionId,
+                           final LocalDateTime lastTransactionDate) {
+        final LedgerFold balance = balanceAsOf(accountId, lastTransactionDate);
+        balanceSnapshotRepository.save(BalanceSnapshot.builder()
+                .account(accountRepository.getReferenceById(accountId))
+                .balance(balance.balance())
+                .events(balance.events())
+                .lastTransactionId(lastTransactionId)
+                .lastTransactionDate(lastTransactionDate)
+                .build());
+    }
+
+    /**
+     * Read the latest snapshot of an account taken up to a timestamp
+     *
+     * @param accountId the unique identifier of the account
+     * @param asOf      latest last folded transaction timestamp
+     * @return the latest snapshot, if any
+     */
+    private Optional<BalanceSnapshot> latestSnapshot(final UUID accountId, final LocalDateTime asOf) {
+        return balanceSnapshotRepository.findLatest(accountId, asOf, Limit.of(1)).stream().findFirst();
+    }
+
+    /**
+     * Fold the transactions of an account following a snapshot, or all of them without a snapshot, up to a timestamp
+     *
+     * @param accountId the unique identifier of the account
+     * @param snapshot  the snapshot to fold from, if any
+     * @param asOf      latest transaction timestamp to fold
+     * @return the folded transactions
+     */
+    private LedgerFold foldAfter(final UUID accountId, final Optional<BalanceSnapshot> snapshot,
+                                 final LocalDateTime asOf) {
+        return transactionRepository.foldAfter(accountId,
+                snapshot.map(BalanceSnapshot::getLastTransactionDate).orElse(GENESIS_DATE),
+                snapshot.map(BalanceSnapshot::getLastTransactionId).orElse(GENESIS_ID),
+                asOf, CREDIT_TYPES);
+    }
+
+    /**
+     * View a snapshot as the fold of the transactions it covers
+     *
+     * @param snapshot the balance snapshot
+     * @return the snapshot events and balance
+     */
+    private static LedgerFold toFold(final BalanceSnapshot snapshot) {
+        return new LedgerFold(snapshot.getEvents(), snapshot.getBalance());
+    }
+}
@@ -0,0 +1,25 @@
+package com.axis.account.logging;
+
+/**
+ * A completed REST API request, captured on the request thread and formatted on the logging thread.
+ * Only references are captured, so arguments and response are rendered as they were when the request completed.
+ *
+ * @param httpMethod   the request HTTP method
+ * @param uri          the request URI
+ * @param endpoint     the endpoint method name
+ * @param arguments    the endpoint arguments
+ * @param response     the endpoint response, or its failure
+ * @param success      whether the endpoint returned normally
+ * @param elapsedNanos the request latency, in nanoseconds
+ * @author Mahmoud Shtayeh
+ */
+public record RequestLogEvent(
+        String httpMethod,
+        String uri,
+        String endpoint,
+        Object[] arguments,
+        Object response,
+        boolean success,
+        long elapsedNanos
+) {
+}
@@ -0,0 +1,173 @@
+package com.axis.account.logging;
+
+import com.axis.account.config.RequestLoggingProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Sampled, structured REST API request logger.
+ * <p>
+ * Requests are sampled per endpoint first, so unsampled ones cost a random draw. In {@code ASYNC} mode, sampled
+ * events are offered to a bounded ring buffer and rendered by a single logging thread: request threads never
+ * format arguments nor wait on appenders, and when the buffer is full the event is dropped and counted in
+ * {@code axis.request.log.dropped}. Events carry key-value pairs for structured log formats
+ * ({@code logging.structured.format.console}), and a {@code key=value} message for the plain one.
+ *
+ * @author Mahmoud Shtayeh
+ */
+@Slf4j
+@Component
+public class RequestLogger {
+    /**
+     * Logging thread name
+     */
+    private static final String THREAD_NAME = "request-logger";
+
+    /**
+     * Maximum number of events written per drain of the buffer
+     */
+    private static final int DRAIN_BATCH_SIZE = 1024;
+
+    /**
+     * Nap of the logging thread on an empty buffer
+     */
+    private static final long IDLE_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    /**
+     * Request logging configuration
+     */
+    private final RequestLoggingProperties properties;
+
+    /**
+     * Ring buffer between request threads and the logging thread, {@code ASYNC} mode only
+     */
+    private final BlockingQueue<RequestLogEvent> buffer;
+
+    /**
+     * Events dropped on a full buffer
+     */
+    private final Counter dropped;
+
+    /**
+     * Logging thread, {@code ASYNC} mode only
+     */
+    private final Thread worker;
+
+    /**
+     * Build the request logger, starting its logging thread in {@code ASYNC} mode
+     *
+     * @param properties    Request logging configuration
+     * @param meterRegistry Metrics registry
+     */
+    public RequestLogger(final RequestLoggingProperties properties, final MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.dropped = Counter.builder("axis.request.log.dropped")
+                .description("Request log events dropped on a full buffer")
+                .register(meterRegistry);
+        if (properties.mode() == RequestLoggingProperties.Mode.ASYNC) {
+            this.buffer = new ArrayBlockingQueue<>(properties.bufferSize());
+            this.worker = Thread.ofPlatform().name(THREAD_NAME).daemon().start(this::drain);
+        } else {
+            this.buffer = null;
+            this.worker = null;
+        }
+    }
+
+    /**
+     * Whether a request to the endpoint is to be logged, deciding its sampling
+     *
+     * @param endpoint the endpoint method name
+     * @return {@code true} if the request is to be logged
+     */
+    public boolean isSampled(final String endpoint) {
+        if (properties.mode() == RequestLoggingProperties.Mode.OFF || !log.isInfoEnabled()) {
+            return false;
+        }
+        final double rate = properties.endpointRates().getOrDefault(endpoint, properties.sampleRate());
+        return rate >= 1.0 || ThreadLocalRandom.current().nextDouble() < rate;
+    }
+
+    /**
+     * Log a sampled request, without blocking in {@code ASYNC} mode
+     *
+     * @param event the completed request
+     */
+    public void log(final RequestLogEvent event) {
+        if (buffer == null) {
+            write(event);
+        } else if (!buffer.offer(event)) {
+            dropped.increment();
+        }
+    }
+
+    /**
+     * Stop the logging thread, once the buffered events are written
+     *
+     * @throws InterruptedException if interrupted while waiting for the logging thread
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (worker != null) {
+            worker.interrupt();
+            worker.join(TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+
+    /**
+     * Logging thread loop, writing the buffered events in batches then napping while the buffer is empty,
+     * so request threads never have to wake it up; writes the remaining events once interrupted
+     */
+    private void drain() {
+        final List<RequestLogEvent> batch = new ArrayList<>(DRAIN_BATCH_SIZE);
+        while (!Thread.currentThread().isInterrupted()) {
+            if (buffer.drainTo(batch, DRAIN_BATCH_SIZE) == 0) {
+                LockSupport.parkNanos(IDLE_NANOS);
+            } else {
+                batch.forEach(RequestLogger::write);
+                batch.clear();
+            }
+        }
+        buffer.drainTo(batch);
+        batch.forEach(RequestLogger::write);
+    }
+
+    /**
+     * Render and write a request event, on a single line whatever its outcome
+     *
+     * @param event the completed request
+     */
+    private static void write(final RequestLogEvent event) {
+        try {
+            final long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(event.elapsedNanos());
+            final String arguments = Arrays.toString(event.arguments());
+            final String outcome = event.success() ? "SUCCESS" : "ERROR";
+            // Rendered ahead, so that a failure is not taken for the logged exception and the event stays one line
+            final String response = String.valueOf(event.response());
+            log.atInfo()
+                    .addKeyValue("httpMethod", event.httpMethod())
+                    .addKeyValue("uri", event.uri())
+                    .addKeyValue("endpoint", event.endpoint())
+                    .addKeyValue("outcome", outcome)
+                    .addKeyValue("elapsedMs", elapsedMillis)
+                    .addKeyValue("arguments", arguments)
+                    .addKeyValue("response", response)
+                    .log("httpMethod={} uri={} endpoint={} outcome={} elapsedMs={} arguments={} response={}",
+                            event.httpMethod(), event.uri(), event.endpoint(), outcome, elapsedMillis, arguments,
+                            response);
+        } catch (final RuntimeException exception) {
+            log.warn("Request log event of {} could not be written", event.endpoint(), exception);
+        }
+    }
+}
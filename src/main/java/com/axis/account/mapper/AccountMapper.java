@@ -1,9 +1,20 @@
 package com.axis.account.mapper;
 
 import com.axis.account.dto.AccountDTO;
+import com.axis.account.dto.BatchEntryDTO;
+import com.axis.account.dto.BatchEntryResult;
+import com.axis.account.dto.TransactionDTO;
+import com.axis.account.dto.TransactionPage;
 import com.axis.account.model.Account;
 import com.axis.account.web.request.AccountCreationRequest;
+import com.axis.account.web.request.BatchEntryRequest;
+import com.axis.account.web.response.BatchEntryResponse;
+import com.axis.account.web.response.TransactionHistoryEntryResponse;
+import com.axis.account.web.response.TransactionHistoryResponse;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+import java.util.List;
 
 /**
  * Axis accounts mapper
@@ -21,10 +32,44 @@ public interface AccountMapper {
     AccountDTO toDTO(AccountCreationRequest request);
 
     /**
-     * Map Axis account details out of DTO to Entity
+     * Map Axis account details out of DTO to Entity, the currency being resolved by the service
      *
      * @param accountDTO Axis account details
      * @return Axis account
      */
+    @Mapping(target = "currency", ignore = true)
     Account toEntity(AccountDTO accountDTO);
+
+    /**
+     * Map transactions batch request entries to DTOs
+     *
+     * @param requests Transactions batch request entries
+     * @return Transactions batch entries
+     */
+    List<BatchEntryDTO> toBatchEntries(List<BatchEntryRequest> requests);
+
+    /**
+     * Map transactions batch entries outcome to responses
+     *
+     * @param results Transactions batch entries outcome
+     * @return Transactions batch entries responses
+     */
+    List<BatchEntryResponse> toBatchEntryResponses(List<BatchEntryResult> results);
+
+    /**
+     * Map an account ledger page to response
+     *
+     * @param page Account ledger page
+     * @return Account transaction history response
+     */
+    TransactionHistoryResponse toHistoryResponse(TransactionPage page);
+
+    /**
+     * Map an account ledger entry to response
+     *
+     * @param transaction Account ledger entry
+     * @return Account transaction history entry response
+     */
+    @Mapping(target = "transactionId", source = "id")
+    TransactionHistoryEntryResponse toHistoryEntryResponse(TransactionDTO transaction);
 }
\ No newline at end of file
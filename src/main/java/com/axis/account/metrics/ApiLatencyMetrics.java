@@ -0,0 +1,109 @@
+package com.axis.account.metrics;
+
+import com.axis.account.config.ApiMetricsProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-endpoint latency recorder of the REST APIs.
+ * <p>
+ * Every endpoint gets a success and an error {@link Timer}, registered on its first call then reused, so recording
+ * a latency allocates nothing. Timers keep lock-free, time-windowed HDR histograms, from which the configured
+ * percentiles are published as {@code axis.api.latency.percentile{phi=...}}.
+ *
+ * @author Mahmoud Shtayeh
+ */
+@Component
+public class ApiLatencyMetrics {
+    /**
+     * Endpoints latency metric name
+     */
+    public static final String METRIC_NAME = "axis.api.latency";
+
+    /**
+     * Index of the successful calls timer
+     */
+    private static final int SUCCESS = 0;
+
+    /**
+     * Index of the failed calls timer
+     */
+    private static final int ERROR = 1;
+
+    /**
+     * Metrics registry
+     */
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Published latency percentiles
+     */
+    private final double[] percentiles;
+
+    /**
+     * Success and error timers, by endpoint
+     */
+    private final ConcurrentMap<Method, Timer[]> timers = new ConcurrentHashMap<>();
+
+    /**
+     * Build the latency recorder
+     *
+     * @param meterRegistry Metrics registry
+     * @param properties    REST APIs latency metrics configuration
+     */
+    public ApiLatencyMetrics(final MeterRegistry meterRegistry, final ApiMetricsProperties properties) {
+        this.meterRegistry = meterRegistry;
+        this.percentiles = properties.percentiles();
+    }
+
+    /**
+     * Record the latency of an endpoint call
+     *
+     * @param endpoint     the endpoint method
+     * @param elapsedNanos the call latency, in nanoseconds
+     * @param success      whether the call returned normally
+     */
+    public void record(final Method endpoint, final long elapsedNanos, final boolean success) {
+        Timer[] endpointTimers = timers.get(endpoint);
+        if (endpointTimers == null) {
+            endpointTimers = timers.computeIfAbsent(endpoint, this::register);
+        }
+        endpointTimers[success ? SUCCESS : ERROR].record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Register the success and error timers of an endpoint
+     *
+     * @param endpoint the endpoint method
+     * @return the endpoint success and error timers
+     */
+    private Timer[] register(final Method endpoint) {
+        final Timer[] endpointTimers = new Timer[2];
+        endpointTimers[SUCCESS] = register(endpoint, "SUCCESS");
+        endpointTimers[ERROR] = register(endpoint, "ERROR");
+        return endpointTimers;
+    }
+
+    /**
+     * Register an endpoint timer
+     *
+     * @param endpoint the endpoint method
+     * @param outcome  the calls outcome
+     * @return the endpoint timer
+     */
+    private Timer register(final Method endpoint, final String outcome) {
+        return Timer.builder(METRIC_NAME)
+                .description("REST API endpoints latency")
+                .tag("class", endpoint.getDeclaringClass().getSimpleName())
+                .tag("method", endpoint.getName())
+                .tag("outcome", outcome)
+                .publishPercentiles(percentiles)
+                .register(meterRegistry);
+    }
+}
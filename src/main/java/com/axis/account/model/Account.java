@@ -6,6 +6,7 @@ import lombok.*;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.Currency;
 import java.util.List;
 import java.util.UUID;
 
@@ -23,10 +24,10 @@ import java.util.UUID;
 @Entity
 public class Account extends Auditable {
     /**
-     * DB generated UUID
+     * Time-ordered UUID version 7
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedId
     private UUID id;
 
     /**
@@ -43,9 +44,28 @@ public class Account extends Auditable {
     @PositiveOrZero(message = "error.account.invalidBalance")
     private BigDecimal balance;
 
+    /**
+     * Currency of the balance and of the account transactions, set once on opening
+     */
+    @Column(nullable = false, updatable = false, length = 3)
+    private Currency currency;
+
+    /**
+     * Number of balance stripes sharing the account balance, {@code null} when the balance is held by this row only
+     */
+    private Integer stripes;
+
+    /**
+     * Optimistic locking version, bumped on every balance mutation
+     */
+    @Version
+    private Long version;
+
     /**
      * Represents the list of transactions associated with the account.
+     * Never traversed to read the ledger, which is paged through {@code TransactionRepository}.
      */
+    @ToString.Exclude
     @OneToMany(mappedBy = "account", cascade = CascadeType.ALL)
     private List<Transaction> transactions = new ArrayList<>();
 }
\ No newline at end of file
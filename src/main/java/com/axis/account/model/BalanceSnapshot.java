@@ -0,0 +1,63 @@
+package com.axis.account.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Balance of an event-sourced account folded up to, and including, one of its transactions
+ *
+ * @author Mahmoud Shtayeh
+ */
+@Getter
+@Setter
+@Builder
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(indexes = @Index(name = "idx_balance_snapshot_account_position",
+        columnList = "account_id, lastTransactionDate, lastTransactionId"))
+public class BalanceSnapshot {
+    /**
+     * Time-ordered UUID version 7
+     */
+    @Id
+    @TimeOrderedId
+    private UUID id;
+
+    /**
+     * The snapshot account
+     */
+    @ToString.Exclude
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "account_id", nullable = false, updatable = false)
+    private Account account;
+
+    /**
+     * Account balance right after the last folded transaction
+     */
+    @Column(nullable = false, updatable = false)
+    private BigDecimal balance;
+
+    /**
+     * Number of transactions folded since the account opening
+     */
+    @Column(nullable = false, updatable = false)
+    private long events;
+
+    /**
+     * The unique identifier of the last folded transaction
+     */
+    @Column(nullable = false, updatable = false)
+    private UUID lastTransactionId;
+
+    /**
+     * Timestamp of the last folded transaction
+     */
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime lastTransactionDate;
+}
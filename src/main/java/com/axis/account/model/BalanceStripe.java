@@ -0,0 +1,54 @@
+package com.axis.account.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * A share of a striped account balance.
+ * The account balance is its own row balance plus the balances of all its stripes.
+ *
+ * @author Mahmoud Shtayeh
+ */
+@Getter
+@Setter
+@Builder
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_balance_stripe_account_stripe",
+        columnNames = {"account_id", "stripe"}))
+public class BalanceStripe {
+    /**
+     * Time-ordered UUID version 7
+     */
+    @Id
+    @TimeOrderedId
+    private UUID id;
+
+    /**
+     * The striped account
+     */
+    @ToString.Exclude
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "account_id", nullable = false, updatable = false)
+    private Account account;
+
+    /**
+     * Stripe index, from zero to the account number of stripes, exclusive
+     */
+    @Column(nullable = false, updatable = false)
+    private int stripe;
+
+    /**
+     * Stripe balance, never negative
+     */
+    @NotNull(message = "error.account.missingBalance")
+    @PositiveOrZero(message = "error.account.invalidBalance")
+    private BigDecimal balance;
+}
@@ -0,0 +1,59 @@
+package com.axis.account.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Net balance movement of an account over one day, by the transactions dated that day.
+ * Movements of striped accounts are split over slots, one per stripe and one for the account row,
+ * so that concurrent stripe writers never contend on the same checkpoint row.
+ * The balance at the end of a day is the current balance minus the movements of the following days.
+ *
+ * @author Mahmoud Shtayeh
+ */
+@Getter
+@Setter
+@Builder
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_daily_balance_checkpoint_account_day_slot",
+        columnNames = {"account_id", "day", "slot"}))
+public class DailyBalanceCheckpoint {
+    /**
+     * Random UUID, checkpoints being upserted by native statements
+     */
+    @Id
+    private UUID id;
+
+    /**
+     * The checkpoint account
+     */
+    @ToString.Exclude
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "account_id", nullable = false, updatable = false)
+    private Account account;
+
+    /**
+     * Day of the transactions moving the balance
+     */
+    @Column(nullable = false, updatable = false)
+    private LocalDate day;
+
+    /**
+     * Zero for movements of the account row, the stripe index plus one for movements of a stripe
+     */
+    @Column(nullable = false, updatable = false)
+    private int slot;
+
+    /**
+     * Credits minus debits of the day
+     */
+    @Column(nullable = false)
+    private BigDecimal net;
+}
@@ -0,0 +1,51 @@
+package com.axis.account.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Client supplied idempotency key of a money movement, bound to the transaction it produced
+ *
+ * @author Mahmoud Shtayeh
+ */
+@Getter
+@Setter
+@Builder
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(indexes = @Index(name = "idx_idempotency_key_created_date", columnList = "created_date"))
+public class IdempotencyKey {
+    /**
+     * Client supplied key
+     */
+    @Id
+    @Column(name = "idempotency_key")
+    private String key;
+
+    /**
+     * The unique identifier of the transaction produced by the first request carrying the key
+     */
+    @Column(nullable = false, updatable = false)
+    private UUID transactionId;
+
+    /**
+     * SHA-256 hash of the request first carrying the key
+     */
+    @Column(nullable = false, length = 64, updatable = false)
+    private String requestHash;
+
+    /**
+     * Key creation timestamp, driving its retention
+     */
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdDate;
+}
@@ -0,0 +1,18 @@
+package com.axis.account.model;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.*;
+
+/**
+ * Marks a {@link java.util.UUID} primary key to be generated as a time-ordered UUID version 7,
+ * keeping inserts appended to the right edge of the primary key B-tree.
+ *
+ * @author Mahmoud Shtayeh
+ */
+@Documented
+@Target({ElementType.FIELD, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@IdGeneratorType(TimeOrderedIdGenerator.class)
+public @interface TimeOrderedId {
+}
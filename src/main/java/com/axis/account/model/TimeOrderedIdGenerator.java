@@ -0,0 +1,42 @@
+package com.axis.account.model;
+
+import com.axis.account.util.UuidV7Generator;
+import lombok.NoArgsConstructor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+
+import java.util.EnumSet;
+
+/**
+ * Hibernate generator backing {@link TimeOrderedId}, delegating to the shared {@link UuidV7Generator}
+ *
+ * @author Mahmoud Shtayeh
+ */
+@NoArgsConstructor
+public class TimeOrderedIdGenerator implements BeforeExecutionGenerator {
+    /**
+     * Generate the identifier of an entity being inserted
+     *
+     * @param session      the session
+     * @param owner        the entity being inserted
+     * @param currentValue the current identifier value
+     * @param eventType    the event type, always insert
+     * @return time-ordered UUID version 7
+     */
+    @Override
+    public Object generate(final SharedSessionContractImplementor session, final Object owner,
+                           final Object currentValue, final EventType eventType) {
+        return UuidV7Generator.INSTANCE.generateId();
+    }
+
+    /**
+     * Identifiers are generated on insert only
+     *
+     * @return insert event type
+     */
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EnumSet.of(EventType.INSERT);
+    }
+}
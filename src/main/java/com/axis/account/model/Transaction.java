@@ -6,10 +6,11 @@ import jakarta.validation.constraints.Positive;
 import lombok.*;
 
 import java.math.BigDecimal;
+import java.util.Currency;
 import java.util.UUID;
 
 /**
- * Axis account transaction
+ * Axis account transaction, stored range partitioned by month on its creation date
  *
  * @author Mahmoud Shtayeh
  */
@@ -20,12 +21,13 @@ import java.util.UUID;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
+@Table(indexes = @Index(name = "idx_transaction_account_history", columnList = "account_id, createdDate, id"))
 public class Transaction extends Auditable {
     /**
-     * DB generated UUID
+     * Time-ordered UUID version 7
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedId
     private UUID id;
 
     /**
@@ -36,9 +38,15 @@ public class Transaction extends Auditable {
     @Positive(message = "error.account.invalidTransactionAmount")
     private BigDecimal amount;
 
+    /**
+     * Currency of the amount, that of the transaction account
+     */
+    @Column(nullable = false, updatable = false, length = 3)
+    private Currency currency;
+
     /**
      * The type of the transaction.
-     * This can be either a deposit or a withdrawal, defined by the {@code TransactionType} enum.
+     * This can be a deposit, a withdrawal, or either side of a transfer, defined by the {@code TransactionType} enum.
      */
     @NotNull(message = "error.transaction.missingType")
     @Enumerated(EnumType.STRING)
@@ -58,6 +66,6 @@ public class Transaction extends Auditable {
      * @author Mahmuod Shtayeh
      */
     public enum TransactionType {
-        DEPOSIT, WITHDRAWAL
+        DEPOSIT, WITHDRAWAL, TRANSFER_OUT, TRANSFER_IN
     }
 }
\ No newline at end of file
@@ -0,0 +1,143 @@
+package com.axis.account.money;
+
+import com.axis.account.config.FxRateProperties;
+import com.axis.account.exception.InvalidTransactionException;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.util.Currency;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * In-memory foreign exchange rates, converting the amounts of cross-currency transfers without a query.
+ * <p>
+ * Rates are loaded from the {@code fx_rate} table, or from the configured rates file, into an immutable snapshot
+ * swapped atomically on every refresh, so that conversions read a consistent snapshot without any lock. A failing
+ * refresh keeps the previous snapshot. A converted amount is the exact product of the amount and the rate,
+ * rounded once to the minor unit of the target currency with the configured rounding.
+ *
+ * @author Mahmoud Shtayeh
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FxRateTable {
+    /**
+     * Read all the rates
+     */
+    private static final String FIND_RATES = "SELECT base_currency, quote_currency, rate FROM fx_rate";
+
+    /**
+     * Separates the base and quote currencies of a rates file key
+     */
+    private static final char PAIR_SEPARATOR = '/';
+
+    /**
+     * Reads the {@code fx_rate} table
+     */
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Foreign exchange rates table configuration
+     */
+    private final FxRateProperties properties;
+
+    /**
+     * Rates snapshot, by base then quote currency
+     */
+    private volatile Map<Currency, Map<Currency, BigDecimal>> rates = Map.of();
+
+    /**
+     * Reload the rates, and swap them in whole
+     */
+    @PostConstruct
+    @Scheduled(fixedDelayString = "${axis.account.fx-rates.refresh-interval:PT1M}",
+            initialDelayString = "${axis.account.fx-rates.refresh-interval:PT1M}")
+    public void refresh() {
+        try {
+            final Map<Currency, Map<Currency, BigDecimal>> loadedRates = new HashMap<>();
+            if (properties.file() == null) {
+                jdbcTemplate.query(FIND_RATES, resultSet -> {
+                    put(loadedRates, resultSet.getString("base_currency"), resultSet.getString("quote_currency"),
+                            resultSet.getBigDecimal("rate"));
+                });
+            } else {
+                final Properties file = new Properties();
+                try (Reader reader = Files.newBufferedReader(properties.file())) {
+                    file.load(reader);
+                }
+                for (final String pair : file.stringPropertyNames()) {
+                    final int separator = pair.indexOf(PAIR_SEPARATOR);
+                    put(loadedRates, pair.substring(0, separator), pair.substring(separator + 1),
+                            new BigDecimal(file.getProperty(pair).trim()));
+                }
+            }
+            replaceRates(loadedRates);
+        } catch (final DataAccessException | IOException | IllegalArgumentException
+                       | IndexOutOfBoundsException exception) {
+            log.warn("FX rates: refresh failed, keeping the previous rates | {}", exception.getMessage());
+        }
+    }
+
+    /**
+     * Convert an amount to another currency
+     *
+     * @param amount the amount, in the source currency
+     * @param from   the source currency
+     * @param to     the target currency
+     * @return the amount in the target currency, rounded to its minor unit
+     * @throws InvalidTransactionException if no rate converts the source currency to the target one
+     */
+    public BigDecimal convert(final BigDecimal amount, final Currency from, final Currency to) {
+        if (from.equals(to)) {
+            return amount;
+        }
+        final Map<Currency, BigDecimal> quotes = rates.get(from);
+        final BigDecimal rate = quotes == null ? null : quotes.get(to);
+        if (rate == null) {
+            throw new InvalidTransactionException("error.transfer.unsupportedCurrencies");
+        }
+        return amount.multiply(rate).setScale(to.getDefaultFractionDigits(), properties.rounding());
+    }
+
+    /**
+     * Swap the rates snapshot
+     *
+     * @param loadedRates the new rates, by base then quote currency
+     */
+    void replaceRates(final Map<Currency, Map<Currency, BigDecimal>> loadedRates) {
+        final Map<Currency, Map<Currency, BigDecimal>> snapshot = new HashMap<>();
+        loadedRates.forEach((base, quotes) -> snapshot.put(base, Map.copyOf(quotes)));
+        rates = Map.copyOf(snapshot);
+        log.debug("FX rates: {} base currencies loaded", snapshot.size());
+    }
+
+    /**
+     * Add a rate to the rates being loaded
+     *
+     * @param loadedRates the rates being loaded
+     * @param base        the base currency code
+     * @param quote       the quote currency code
+     * @param rate        quote currency units worth one base currency unit
+     * @throws IllegalArgumentException if a currency code is unknown, or the rate is not positive
+     */
+    private static void put(final Map<Currency, Map<Currency, BigDecimal>> loadedRates, final String base,
+                            final String quote, final BigDecimal rate) {
+        if (rate.signum() <= 0) {
+            throw new IllegalArgumentException("Non-positive rate of " + base + PAIR_SEPARATOR + quote);
+        }
+        loadedRates.computeIfAbsent(Currency.getInstance(base.trim()), currency -> new HashMap<>())
+                .put(Currency.getInstance(quote.trim()), rate);
+    }
+}
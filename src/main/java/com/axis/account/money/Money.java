@@ -0,0 +1,184 @@
+package com.axis.account.money;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+import java.util.Objects;
+
+/**
+ * Fixed-point amount of money, held as a {@code long} number of minor units of its currency
+ * (cents for {@code USD}, fils for {@code BHD}, yen for {@code JPY}), the scale being the currency fraction digits.
+ * <p>
+ * Arithmetic allocates nothing beyond the result and fails on overflow instead of wrapping, so that amounts up to
+ * about {@code 9.2e16} units of a two-digits currency are exact. Conversions from {@link BigDecimal} are exact too,
+ * amounts with more fraction digits than their currency being rejected rather than rounded.
+ *
+ * @param minorUnits the amount, in minor units of its currency
+ * @param currency   the amount currency
+ * @author Mahmoud Shtayeh
+ */
+public record Money(
+        long minorUnits,
+        Currency currency
+) implements Comparable<Money> {
+    /**
+     * Powers of ten, by exponent, scaling minor units
+     */
+    private static final long[] POWERS_OF_TEN = {1L, 10L, 100L, 1_000L, 10_000L};
+
+    /**
+     * Validate the currency, which must have minor units
+     *
+     * @param minorUnits the amount, in minor units of its currency
+     * @param currency   the amount currency
+     * @throws IllegalArgumentException if the currency has no fraction digits defined
+     */
+    public Money {
+        Objects.requireNonNull(currency, "currency");
+        if (currency.getDefaultFractionDigits() < 0 || currency.getDefaultFractionDigits() >= POWERS_OF_TEN.length) {
+            throw new IllegalArgumentException("Currency without minor units: " + currency);
+        }
+    }
+
+    /**
+     * Zero in a currency
+     *
+     * @param currency the currency
+     * @return zero
+     */
+    public static Money zero(final Currency currency) {
+        return new Money(0L, currency);
+    }
+
+    /**
+     * Convert a decimal amount exactly
+     *
+     * @param amount   the decimal amount
+     * @param currency the amount currency
+     * @return the amount in minor units
+     * @throws ArithmeticException if the amount has more fraction digits than the currency, or overflows
+     */
+    public static Money of(final BigDecimal amount, final Currency currency) {
+        return new Money(amount.movePointRight(currency.getDefaultFractionDigits()).longValueExact(), currency);
+    }
+
+    /**
+     * Number of fraction digits of the amount, those of its currency
+     *
+     * @return the amount scale
+     */
+    public int scale() {
+        return currency.getDefaultFractionDigits();
+    }
+
+    /**
+     * Add an amount of the same currency
+     *
+     * @param other the added amount
+     * @return the sum
+     * @throws ArithmeticException      on overflow
+     * @throws IllegalArgumentException if the currencies differ
+     */
+    public Money plus(final Money other) {
+        return new Money(Math.addExact(minorUnits, sameCurrency(other).minorUnits), currency);
+    }
+
+    /**
+     * Subtract an amount of the same currency
+     *
+     * @param other the subtracted amount
+     * @return the difference
+     * @throws ArithmeticException      on overflow
+     * @throws IllegalArgumentException if the currencies differ
+     */
+    public Money minus(final Money other) {
+        return new Money(Math.subtractExact(minorUnits, sameCurrency(other).minorUnits), currency);
+    }
+
+    /**
+     * Negate the amount
+     *
+     * @return the opposite amount
+     * @throws ArithmeticException on overflow
+     */
+    public Money negate() {
+        return new Money(Math.negateExact(minorUnits), currency);
+    }
+
+    /**
+     * Whether the amount is below zero
+     *
+     * @return {@code true} when negative
+     */
+    public boolean isNegative() {
+        return minorUnits < 0;
+    }
+
+    /**
+     * Whether the amount is above zero
+     *
+     * @return {@code true} when positive
+     */
+    public boolean isPositive() {
+        return minorUnits > 0;
+    }
+
+    /**
+     * Convert to a decimal amount, at the currency scale
+     *
+     * @return the decimal amount
+     */
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minorUnits, scale());
+    }
+
+    /**
+     * Compare with an amount of the same currency
+     *
+     * @param other the compared amount
+     * @return negative, zero or positive when this amount is less than, equal to or greater than the other
+     * @throws IllegalArgumentException if the currencies differ
+     */
+    @Override
+    public int compareTo(final Money other) {
+        return Long.compare(minorUnits, sameCurrency(other).minorUnits);
+    }
+
+    /**
+     * Format as a plain decimal number, at the currency scale, without going through {@link BigDecimal}
+     *
+     * @return the plain decimal amount, such as {@code -12.05}
+     */
+    @Override
+    public String toString() {
+        final int scale = scale();
+        if (scale == 0) {
+            return Long.toString(minorUnits);
+        }
+        final long power = POWERS_OF_TEN[scale];
+        final long units = minorUnits / power;
+        final long fraction = Math.abs(minorUnits % power);
+        final StringBuilder plain = new StringBuilder(24);
+        if (minorUnits < 0 && units == 0) {
+            plain.append('-');
+        }
+        plain.append(units).append('.');
+        for (long digit = power / 10; digit > fraction && digit > 1; digit /= 10) {
+            plain.append('0');
+        }
+        return plain.append(fraction).toString();
+    }
+
+    /**
+     * Check that an amount has the same currency
+     *
+     * @param other the other amount
+     * @return the other amount
+     * @throws IllegalArgumentException if the currencies differ
+     */
+    private Money sameCurrency(final Money other) {
+        if (!currency.equals(other.currency)) {
+            throw new IllegalArgumentException("Currency mismatch: " + currency + " and " + other.currency);
+        }
+        return other;
+    }
+}
@@ -0,0 +1,35 @@
+package com.axis.account.partition;
+
+import com.axis.account.model.Transaction;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Currency;
+import java.util.UUID;
+
+/**
+ * Transaction row, as written to and read from the transaction archive
+ *
+ * @param id               the unique identifier of the transaction
+ * @param accountId        the unique identifier of the transaction account
+ * @param amount           the transaction amount
+ * @param currency         the transaction currency, that of its account
+ * @param type             the transaction type
+ * @param createdBy        the transaction auditor
+ * @param createdDate      the transaction timestamp
+ * @param lastModifiedBy   the last modification auditor
+ * @param lastModifiedDate the last modification timestamp
+ * @author Mahmoud Shtayeh
+ */
+public record ArchivedTransaction(
+        UUID id,
+        UUID accountId,
+        BigDecimal amount,
+        Currency currency,
+        Transaction.TransactionType type,
+        String createdBy,
+        LocalDateTime createdDate,
+        String lastModifiedBy,
+        LocalDateTime lastModifiedDate
+) {
+}
@@ -0,0 +1,769 @@
+package com.axis.account.partition;
+
+import com.axis.account.config.TransactionArchivingProperties;
+import com.axis.account.dto.TransactionCursor;
+import com.axis.account.dto.TransactionDTO;
+import com.axis.account.model.Transaction;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.*;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.stream.Stream;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Compressed columnar files of archived transactions, one per archived monthly partition.
+ * <p>
+ * A file holds the transactions of its month ordered by {@code (account_id, created_date, id)}, in blocks of
+ * {@code block-size} transactions. Every block is stored column by column, account IDs run-length encoded,
+ * timestamps delta encoded, currencies and auditors dictionary encoded, then deflated. A footer indexes every block
+ * with its account ID and timestamp bounds, so that reading the history of one account only inflates the blocks
+ * holding it.
+ * Writing and reading hold one block at a time in heap. Files are written aside, then atomically moved in place.
+ * <p>
+ * Layout: {@code magic, version, blocks..., block index..., block count, block index offset, magic}.
+ *
+ * @author Mahmoud Shtayeh
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TransactionArchive {
+    /**
+     * Leading and trailing file marker, {@code AXTA}
+     */
+    private static final int MAGIC = 0x41585441;
+
+    /**
+     * File layout version, {@code 2} adding the transactions currency
+     */
+    private static final int VERSION = 2;
+
+    /**
+     * Archive files extension
+     */
+    private static final String EXTENSION = ".axta";
+
+    /**
+     * Size of the trailer: block count, block index offset and magic
+     */
+    private static final int TRAILER_BYTES = Integer.BYTES + Long.BYTES + Integer.BYTES;
+
+    /**
+     * Microseconds per second, the database timestamps precision
+     */
+    private static final long MICROS_PER_SECOND = 1_000_000L;
+
+    /**
+     * UUIDs ordering of the database, comparing their bytes unsigned
+     */
+    private static final Comparator<UUID> UUID_ORDER = Comparator
+            .comparing(UUID::getMostSignificantBits, Long::compareUnsigned)
+            .thenComparing(UUID::getLeastSignificantBits, Long::compareUnsigned);
+
+    /**
+     * Ledger order of the history pages, newest first
+     */
+    private static final Comparator<TransactionDTO> NEWEST_FIRST = Comparator
+            .comparing(TransactionDTO::createdDate)
+            .thenComparing(TransactionDTO::id, UUID_ORDER)
+            .reversed();
+
+    /**
+     * Cold transactions archival configuration
+     */
+    private final TransactionArchivingProperties properties;
+
+    /**
+     * Indexes of the archive files, newest month first
+     */
+    private volatile List<ArchiveFile> files = List.of();
+
+    /**
+     * Load the block indexes of the archive files already written
+     */
+    @PostConstruct
+    public void loadIndexes() {
+        if (!Files.isDirectory(properties.directory())) {
+            return;
+        }
+        try (Stream<Path> paths = Files.list(properties.directory())) {
+            final List<ArchiveFile> loadedFiles = new ArrayList<>();
+            for (final Path path : paths.filter(path -> path.toString().endsWith(EXTENSION)).toList()) {
+                loadedFiles.add(readIndex(path));
+            }
+            loadedFiles.sort(Comparator.comparing(ArchiveFile::name).reversed());
+            files = List.copyOf(loadedFiles);
+            log.info("Transaction archive: {} files loaded", loadedFiles.size());
+        } catch (final IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    /**
+     * Whether a partition is already archived
+     *
+     * @param name the partition name
+     * @return {@code true} when its archive file exists
+     */
+    public boolean isArchived(final String name) {
+        return Files.exists(pathOf(name));
+    }
+
+    /**
+     * Open the writer of a partition archive, which becomes readable once committed
+     *
+     * @param name the partition name
+     * @return the archive writer, to be closed
+     * @throws UncheckedIOException if the archive file cannot be created
+     */
+    public Writer open(final String name) {
+        try {
+            Files.createDirectories(properties.directory());
+            return new Writer(name);
+        } catch (final IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    /**
+     * Merge the archived transactions of an account into a page of its live history,
+     * reading the archive only when the page may reach archived months
+     *
+     * @param accountId the unique identifier of the account
+     * @param position  the position the page starts after, {@code null} for the first page
+     * @param live      the live transactions of the page, newest first
+     * @param limit     maximum number of transactions in the page
+     * @return the page transactions, newest first
+     */
+    public List<TransactionDTO> mergeHistory(final UUID accountId, final TransactionCursor position,
+                                             final List<TransactionDTO> live, final int limit) {
+        final List<ArchiveFile> archiveFiles = files;
+        if (archiveFiles.isEmpty()) {
+            return live;
+        }
+        final long newestArchived = archiveFiles.stream().mapToLong(ArchiveFile::maxCreated).max().orElseThrow();
+        if (live.size() >= limit && toMicros(live.getLast().createdDate()) > newestArchived) {
+            return live;
+        }
+
+        final List<TransactionDTO> merged = new ArrayList<>(live);
+        merged.addAll(findHistoryBefore(archiveFiles, accountId, position, limit));
+        merged.sort(NEWEST_FIRST);
+        return merged.size() > limit ? new ArrayList<>(merged.subList(0, limit)) : merged;
+    }
+
+    /**
+     * Read the archived transactions of an account older than a position, newest first,
+     * inflating only the blocks whose bounds may hold them
+     *
+     * @param archiveFiles the archive files, newest month first
+     * @param accountId    the unique identifier of the account
+     * @param position     the position the transactions precede, {@code null} for the newest ones
+     * @param limit        maximum number of transactions
+     * @return the archived transactions, newest first
+     */
+    private static List<TransactionDTO> findHistoryBefore(final List<ArchiveFile> archiveFiles, final UUID accountId,
+                                                          final TransactionCursor position, final int limit) {
+        final long positionMicros = position == null ? Long.MAX_VALUE : toMicros(position.createdDate());
+        final List<TransactionDTO> transactions = new ArrayList<>();
+        for (final ArchiveFile file : archiveFiles) {
+            if (transactions.size() >= limit) {
+                break;
+            }
+            try (FileChannel channel = FileChannel.open(file.path(), StandardOpenOption.READ)) {
+                for (int index = file.blocks().size() - 1; index >= 0 && transactions.size() < limit; index--) {
+                    final BlockIndex block = file.blocks().get(index);
+                    if (UUID_ORDER.compare(accountId, block.minAccount()) < 0
+                            || UUID_ORDER.compare(accountId, block.maxAccount()) > 0
+                            || block.minCreated() > positionMicros) {
+                        continue;
+                    }
+                    final List<ArchivedTransaction> rows = readBlock(channel, block);
+                    for (int row = rows.size() - 1; row >= 0 && transactions.size() < limit; row--) {
+                        final ArchivedTransaction transaction = rows.get(row);
+                        if (transaction.accountId().equals(accountId) && isBefore(transaction, position)) {
+                            transactions.add(TransactionDTO.builder()
+                                    .id(transaction.id())
+                                    .type(transaction.type())
+                                    .amount(transaction.amount())
+                                    .createdDate(transaction.createdDate())
+                                    .build());
+                        }
+                    }
+                }
+            } catch (final IOException exception) {
+                throw new UncheckedIOException(exception);
+            }
+        }
+        return transactions;
+    }
+
+    /**
+     * Whether an archived transaction precedes a ledger position
+     *
+     * @param transaction the archived transaction
+     * @param position    the ledger position, {@code null} following every transaction
+     * @return {@code true} when the transaction comes first
+     */
+    private static boolean isBefore(final ArchivedTransaction transaction, final TransactionCursor position) {
+        if (position == null) {
+            return true;
+        }
+        final int dateOrder = transaction.createdDate().compareTo(position.createdDate());
+        return dateOrder < 0 || dateOrder == 0 && UUID_ORDER.compare(transaction.id(), position.id()) < 0;
+    }
+
+    /**
+     * Locate the archive file of a partition
+     *
+     * @param name the partition name
+     * @return the archive file path
+     */
+    private Path pathOf(final String name) {
+        return properties.directory().resolve(name + EXTENSION);
+    }
+
+    /**
+     * Publish a committed archive file to the readers
+     *
+     * @param file the committed archive file index
+     */
+    private synchronized void publish(final ArchiveFile file) {
+        final List<ArchiveFile> publishedFiles = new ArrayList<>(files);
+        publishedFiles.removeIf(published -> published.name().equals(file.name()));
+        publishedFiles.add(file);
+        publishedFiles.sort(Comparator.comparing(ArchiveFile::name).reversed());
+        files = List.copyOf(publishedFiles);
+    }
+
+    /**
+     * Read the block index of an archive file
+     *
+     * @param path the archive file path
+     * @return the archive file index
+     * @throws IOException if the file cannot be read, or is not an archive file
+     */
+    private static ArchiveFile readIndex(final Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final ByteBuffer trailer = read(channel, channel.size() - TRAILER_BYTES, TRAILER_BYTES);
+            final int blockCount = trailer.getInt();
+            final long indexOffset = trailer.getLong();
+            if (trailer.getInt() != MAGIC) {
+                throw new IOException("Not a transaction archive: " + path);
+            }
+            final ByteBuffer header = read(channel, 0, 2 * Integer.BYTES);
+            if (header.getInt() != MAGIC || header.getInt() != VERSION) {
+                throw new IOException("Unsupported transaction archive version: " + path);
+            }
+
+            final DataInputStream index = new DataInputStream(new ByteArrayInputStream(
+                    read(channel, indexOffset, (int) (channel.size() - TRAILER_BYTES - indexOffset)).array()));
+            final List<BlockIndex> blocks = new ArrayList<>(blockCount);
+            long maxCreated = Long.MIN_VALUE;
+            for (int block = 0; block < blockCount; block++) {
+                final BlockIndex blockIndex = new BlockIndex(index.readLong(), index.readInt(), index.readInt(),
+                        new UUID(index.readLong(), index.readLong()), new UUID(index.readLong(), index.readLong()),
+                        index.readLong(), index.readLong());
+                blocks.add(blockIndex);
+                maxCreated = Math.max(maxCreated, blockIndex.maxCreated());
+            }
+            final String fileName = path.getFileName().toString();
+            return new ArchiveFile(fileName.substring(0, fileName.length() - EXTENSION.length()), path,
+                    List.copyOf(blocks), maxCreated);
+        }
+    }
+
+    /**
+     * Read and decode one block
+     *
+     * @param channel the archive file channel
+     * @param block   the block index
+     * @return the block transactions, in archive order
+     * @throws IOException if the block cannot be read
+     */
+    private static List<ArchivedTransaction> readBlock(final FileChannel channel, final BlockIndex block)
+            throws IOException {
+        try (DataInputStream in = new DataInputStream(new InflaterInputStream(
+                new ByteArrayInputStream(read(channel, block.offset(), block.length()).array())))) {
+            final int rows = in.readInt();
+            final UUID[] accountIds = new UUID[rows];
+            for (int row = 0; row < rows; ) {
+                final UUID accountId = new UUID(in.readLong(), in.readLong());
+                final int runLength = in.readInt();
+                Arrays.fill(accountIds, row, row + runLength, accountId);
+                row += runLength;
+            }
+            final UUID[] ids = new UUID[rows];
+            for (int row = 0; row < rows; row++) {
+                ids[row] = new UUID(in.readLong(), in.readLong());
+            }
+            final long[] createdDates = new long[rows];
+            long previousCreated = 0;
+            for (int row = 0; row < rows; row++) {
+                previousCreated += readZigZag(in);
+                createdDates[row] = previousCreated;
+            }
+            final LocalDateTime[] lastModifiedDates = new LocalDateTime[rows];
+            for (int row = 0; row < rows; row++) {
+                final long delta = readVarLong(in);
+                lastModifiedDates[row] = delta == 0 ? null : fromMicros(createdDates[row] + unZigZag(delta - 1));
+            }
+            final Transaction.TransactionType[] types = new Transaction.TransactionType[rows];
+            for (int row = 0; row < rows; row++) {
+                types[row] = Transaction.TransactionType.values()[in.readUnsignedByte()];
+            }
+            final BigDecimal[] amounts = new BigDecimal[rows];
+            for (int row = 0; row < rows; row++) {
+                final int scale = in.readUnsignedByte();
+                final byte[] unscaled = new byte[in.readUnsignedByte()];
+                in.readFully(unscaled);
+                amounts[row] = new BigDecimal(new BigInteger(unscaled), scale);
+            }
+            final String[] currencies = readDictionaryColumn(in, rows);
+            final String[] createdBy = readDictionaryColumn(in, rows);
+            final String[] lastModifiedBy = readDictionaryColumn(in, rows);
+
+            final List<ArchivedTransaction> transactions = new ArrayList<>(rows);
+            for (int row = 0; row < rows; row++) {
+                transactions.add(new ArchivedTransaction(
+                        ids[row],
+                        accountIds[row],
+                        amounts[row],
+                        Currency.getInstance(currencies[row]),
+                        types[row],
+                        createdBy[row],
+                        fromMicros(createdDates[row]),
+                        lastModifiedBy[row],
+                        lastModifiedDates[row]));
+            }
+            return transactions;
+        }
+    }
+
+    /**
+     * Encode and deflate one block
+     *
+     * @param rows the block transactions, in archive order
+     * @return the compressed block
+     * @throws IOException never, writing to memory
+     */
+    private static byte[] encodeBlock(final List<ArchivedTransaction> rows) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(new DeflaterOutputStream(bytes))) {
+            out.writeInt(rows.size());
+            for (int row = 0; row < rows.size(); ) {
+                final UUID accountId = rows.get(row).accountId();
+                int runLength = 1;
+                while (row + runLength < rows.size() && rows.get(row + runLength).accountId().equals(accountId)) {
+                    runLength++;
+                }
+                out.writeLong(accountId.getMostSignificantBits());
+                out.writeLong(accountId.getLeastSignificantBits());
+                out.writeInt(runLength);
+                row += runLength;
+            }
+            for (final ArchivedTransaction transaction : rows) {
+                out.writeLong(transaction.id().getMostSignificantBits());
+                out.writeLong(transaction.id().getLeastSignificantBits());
+            }
+            long previousCreated = 0;
+            for (final ArchivedTransaction transaction : rows) {
+                final long created = toMicros(transaction.createdDate());
+                writeVarLong(out, zigZag(created - previousCreated));
+                previousCreated = created;
+            }
+            for (final ArchivedTransaction transaction : rows) {
+                writeVarLong(out, transaction.lastModifiedDate() == null ? 0
+                        : zigZag(toMicros(transaction.lastModifiedDate()) - toMicros(transaction.createdDate())) + 1);
+            }
+            for (final ArchivedTransaction transaction : rows) {
+                out.writeByte(transaction.type().ordinal());
+            }
+            for (final ArchivedTransaction transaction : rows) {
+                final byte[] unscaled = transaction.amount().unscaledValue().toByteArray();
+                out.writeByte(transaction.amount().scale());
+                out.writeByte(unscaled.length);
+                out.write(unscaled);
+            }
+            writeDictionaryColumn(out, rows.stream().map(row -> row.currency().getCurrencyCode()).toList());
+            writeDictionaryColumn(out, rows.stream().map(ArchivedTransaction::createdBy).toList());
+            writeDictionaryColumn(out, rows.stream().map(ArchivedTransaction::lastModifiedBy).toList());
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Write a strings column as a dictionary of its distinct values, then one dictionary reference per row
+     *
+     * @param out    the block output
+     * @param values the column values, {@code null} allowed
+     * @throws IOException never, writing to memory
+     */
+    private static void writeDictionaryColumn(final DataOutputStream out, final List<String> values)
+            throws IOException {
+        final Map<String, Integer> dictionary = new LinkedHashMap<>();
+        values.stream().filter(Objects::nonNull).forEach(value -> dictionary.putIfAbsent(value, dictionary.size()));
+        out.writeInt(dictionary.size());
+        for (final String value : dictionary.keySet()) {
+            out.writeUTF(value);
+        }
+        for (final String value : values) {
+            writeVarLong(out, value == null ? 0 : dictionary.get(value) + 1);
+        }
+    }
+
+    /**
+     * Read a dictionary encoded strings column
+     *
+     * @param in   the block input
+     * @param rows number of rows of the block
+     * @return the column values
+     * @throws IOException if the block is truncated
+     */
+    private static String[] readDictionaryColumn(final DataInputStream in, final int rows) throws IOException {
+        final String[] dictionary = new String[in.readInt()];
+        for (int entry = 0; entry < dictionary.length; entry++) {
+            dictionary[entry] = in.readUTF();
+        }
+        final String[] values = new String[rows];
+        for (int row = 0; row < rows; row++) {
+            final int reference = (int) readVarLong(in);
+            values[row] = reference == 0 ? null : dictionary[reference - 1];
+        }
+        return values;
+    }
+
+    /**
+     * Read a byte range of a file, whole
+     *
+     * @param channel the file channel
+     * @param offset  the range offset
+     * @param length  the range length
+     * @return the range bytes, ready to be read
+     * @throws IOException if the file is shorter
+     */
+    private static ByteBuffer read(final FileChannel channel, final long offset, final int length) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, offset + buffer.position()) < 0) {
+                throw new EOFException("Truncated transaction archive");
+            }
+        }
+        return buffer.flip();
+    }
+
+    /**
+     * Write an unsigned variable length long, seven bits per byte
+     *
+     * @param out   the output
+     * @param value the unsigned value
+     * @throws IOException never, writing to memory
+     */
+    private static void writeVarLong(final DataOutputStream out, final long value) throws IOException {
+        long remaining = value;
+        while ((remaining & ~0x7FL) != 0) {
+            out.writeByte((int) (remaining & 0x7F) | 0x80);
+            remaining >>>= 7;
+        }
+        out.writeByte((int) remaining);
+    }
+
+    /**
+     * Read an unsigned variable length long
+     *
+     * @param in the input
+     * @return the unsigned value
+     * @throws IOException if the input is truncated
+     */
+    private static long readVarLong(final DataInputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; ; shift += 7) {
+            final int current = in.readUnsignedByte();
+            value |= (long) (current & 0x7F) << shift;
+            if ((current & 0x80) == 0) {
+                return value;
+            }
+        }
+    }
+
+    /**
+     * Read a signed variable length long
+     *
+     * @param in the input
+     * @return the signed value
+     * @throws IOException if the input is truncated
+     */
+    private static long readZigZag(final DataInputStream in) throws IOException {
+        return unZigZag(readVarLong(in));
+    }
+
+    /**
+     * Map a signed long to an unsigned one, small magnitudes staying small
+     *
+     * @param value the signed value
+     * @return the unsigned value
+     */
+    private static long zigZag(final long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    /**
+     * Map back an unsigned long to its signed value
+     *
+     * @param value the unsigned value
+     * @return the signed value
+     */
+    private static long unZigZag(final long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * Convert a timestamp to microseconds since the epoch
+     *
+     * @param timestamp the timestamp
+     * @return the microseconds since the epoch
+     */
+    private static long toMicros(final LocalDateTime timestamp) {
+        return timestamp.toEpochSecond(ZoneOffset.UTC) * MICROS_PER_SECOND + timestamp.getNano() / 1_000;
+    }
+
+    /**
+     * Convert microseconds since the epoch to a timestamp
+     *
+     * @param micros the microseconds since the epoch
+     * @return the timestamp
+     */
+    private static LocalDateTime fromMicros(final long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, MICROS_PER_SECOND),
+                (int) Math.floorMod(micros, MICROS_PER_SECOND) * 1_000, ZoneOffset.UTC);
+    }
+
+    /**
+     * Streaming writer of one archive file, holding one block in heap
+     *
+     * @author Mahmoud Shtayeh
+     */
+    public final class Writer implements AutoCloseable {
+        /**
+         * The archived partition name
+         */
+        private final String name;
+
+        /**
+         * File written aside, until committed
+         */
+        private final Path temporaryPath;
+
+        /**
+         * The file channel, forced to disk on commit
+         */
+        private final FileChannel channel;
+
+        /**
+         * Buffered output over the file channel
+         */
+        private final DataOutputStream out;
+
+        /**
+         * Indexes of the written blocks
+         */
+        private final List<BlockIndex> blocks = new ArrayList<>();
+
+        /**
+         * Transactions of the block being filled
+         */
+        private final List<ArchivedTransaction> pending;
+
+        /**
+         * Number of bytes written so far
+         */
+        private long position;
+
+        /**
+         * The last appended transaction, checking the archive order
+         */
+        private ArchivedTransaction last;
+
+        /**
+         * Whether the file got committed
+         */
+        private boolean committed;
+
+        /**
+         * Create the file aside, and write its header
+         *
+         * @param name the archived partition name
+         * @throws IOException if the file cannot be created
+         */
+        private Writer(final String name) throws IOException {
+            this.name = name;
+            this.temporaryPath = properties.directory().resolve(name + EXTENSION + ".tmp");
+            this.channel = FileChannel.open(temporaryPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+            this.out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)));
+            this.pending = new ArrayList<>(properties.blockSize());
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            position = 2L * Integer.BYTES;
+        }
+
+        /**
+         * Append a transaction, writing the block once full
+         *
+         * @param transaction the transaction, following the previous one in {@code (account_id, created_date, id)}
+         *                    order
+         * @throws IllegalStateException if the transaction comes out of order
+         * @throws UncheckedIOException  if the block cannot be written
+         */
+        public void append(final ArchivedTransaction transaction) {
+            if (last != null && compareArchiveOrder(last, transaction) >= 0) {
+                throw new IllegalStateException(
+                        "Transactions must be archived in (account_id, created_date, id) order");
+            }
+            last = transaction;
+            pending.add(transaction);
+            if (pending.size() >= properties.blockSize()) {
+                writeBlock();
+            }
+        }
+
+        /**
+         * Write the last block and the block index, force the file to disk, then move it in place
+         * and publish it to the readers
+         *
+         * @throws UncheckedIOException if the file cannot be completed
+         */
+        public void commit() {
+            try {
+                if (!pending.isEmpty()) {
+                    writeBlock();
+                }
+                final long indexOffset = position;
+                for (final BlockIndex block : blocks) {
+                    out.writeLong(block.offset());
+                    out.writeInt(block.length());
+                    out.writeInt(block.rows());
+                    out.writeLong(block.minAccount().getMostSignificantBits());
+                    out.writeLong(block.minAccount().getLeastSignificantBits());
+                    out.writeLong(block.maxAccount().getMostSignificantBits());
+                    out.writeLong(block.maxAccount().getLeastSignificantBits());
+                    out.writeLong(block.minCreated());
+                    out.writeLong(block.maxCreated());
+                }
+                out.writeInt(blocks.size());
+                out.writeLong(indexOffset);
+                out.writeInt(MAGIC);
+                out.flush();
+                channel.force(true);
+                out.close();
+
+                final Path path = pathOf(name);
+                Files.move(temporaryPath, path, StandardCopyOption.ATOMIC_MOVE);
+                committed = true;
+                publish(readIndex(path));
+            } catch (final IOException exception) {
+                throw new UncheckedIOException(exception);
+            }
+        }
+
+        /**
+         * Close the file, deleting it unless committed
+         *
+         * @throws UncheckedIOException if the uncommitted file cannot be deleted
+         */
+        @Override
+        public void close() {
+            if (committed) {
+                return;
+            }
+            try {
+                out.close();
+                Files.deleteIfExists(temporaryPath);
+            } catch (final IOException exception) {
+                throw new UncheckedIOException(exception);
+            }
+        }
+
+        /**
+         * Encode, compress and write the pending block, and index it
+         */
+        private void writeBlock() {
+            try {
+                final byte[] block = encodeBlock(pending);
+                out.write(block);
+                long minCreated = Long.MAX_VALUE;
+                long maxCreated = Long.MIN_VALUE;
+                for (final ArchivedTransaction transaction : pending) {
+                    minCreated = Math.min(minCreated, toMicros(transaction.createdDate()));
+                    maxCreated = Math.max(maxCreated, toMicros(transaction.createdDate()));
+                }
+                blocks.add(new BlockIndex(position, block.length, pending.size(), pending.getFirst().accountId(),
+                        pending.getLast().accountId(), minCreated, maxCreated));
+                position += block.length;
+                pending.clear();
+            } catch (final IOException exception) {
+                throw new UncheckedIOException(exception);
+            }
+        }
+
+        /**
+         * Compare two transactions in archive order
+         *
+         * @param first  a transaction
+         * @param second another transaction
+         * @return negative when the first comes first
+         */
+        private static int compareArchiveOrder(final ArchivedTransaction first, final ArchivedTransaction second) {
+            final int accountOrder = UUID_ORDER.compare(first.accountId(), second.accountId());
+            if (accountOrder != 0) {
+                return accountOrder;
+            }
+            final int dateOrder = first.createdDate().compareTo(second.createdDate());
+            return dateOrder != 0 ? dateOrder : UUID_ORDER.compare(first.id(), second.id());
+        }
+    }
+
+    /**
+     * Index of one archive file
+     *
+     * @param name       the archived partition name
+     * @param path       the archive file path
+     * @param blocks     the block indexes, in archive order
+     * @param maxCreated newest transaction timestamp of the file, in microseconds since the epoch
+     * @author Mahmoud Shtayeh
+     */
+    private record ArchiveFile(String name, Path path, List<BlockIndex> blocks, long maxCreated) {
+    }
+
+    /**
+     * Index of one compressed block
+     *
+     * @param offset     the block offset within its file
+     * @param length     the compressed block length
+     * @param rows       number of transactions of the block
+     * @param minAccount account ID of the first transaction
+     * @param maxAccount account ID of the last transaction
+     * @param minCreated oldest transaction timestamp, in microseconds since the epoch
+     * @param maxCreated newest transaction timestamp, in microseconds since the epoch
+     * @author Mahmoud Shtayeh
+     */
+    private record BlockIndex(long offset, int length, int rows, UUID minAccount, UUID maxAccount,
+                              long minCreated, long maxCreated) {
+    }
+}
@@ -0,0 +1,168 @@
+package com.axis.account.partition;
+
+import com.axis.account.config.TransactionArchivingProperties;
+import com.axis.account.model.Transaction;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Currency;
+import java.util.UUID;
+
+/**
+ * Archival of the transactions partitions past the retention, to the compressed columnar {@link TransactionArchive}.
+ * <p>
+ * Partitions of the months older than {@code retention-months} are detached by the
+ * {@link TransactionPartitionManager}, then every detached monthly partition
+ * is streamed in {@code (account_id, created_date, id)} order into its archive file, and dropped once the file is
+ * durable. Account balances live in their account and stripe rows, so current balances are unaffected. With the
+ * {@code EVENT_SOURCED} strategy, every account of a partition is snapshotted before detaching it, so that its ledger
+ * stays whole without the archived transactions. Past balances within an archived day
+ * keep its closing balance, from the daily checkpoints, as their intra-day transactions leave the database.
+ * The partitioning {@code retention-months} is to be left at {@code 0}, the partitions being detached here.
+ *
+ * @author Mahmoud Shtayeh
+ */
+@Slf4j
+@Component
+public class TransactionArchiver {
+    /**
+     * Number of transactions fetched per round trip, while streaming a partition
+     */
+    private static final int FETCH_SIZE = 1_000;
+
+    /**
+     * List the monthly partitions detached from the transaction table, still standing as tables
+     */
+    private static final String FIND_DETACHED = """
+            SELECT c.relname
+            FROM pg_class c
+            WHERE c.relnamespace = current_schema()::regnamespace
+              AND c.relkind = 'r'
+              AND NOT c.relispartition
+              AND c.relname ~ '^transaction_y[0-9]{4}m[0-9]{2}$'
+            ORDER BY c.relname
+            """;
+
+    /**
+     * Transaction table monthly partitions maintenance, listing and detaching the attached partitions
+     */
+    private final TransactionPartitionManager partitionManager;
+
+    /**
+     * Archived transactions files
+     */
+    private final TransactionArchive transactionArchive;
+
+    /**
+     * Streams the partitions, and runs the partitions DDL
+     */
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Streams every partition within a transaction, for its rows to be fetched by pages
+     */
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Cold transactions archival configuration
+     */
+    private final TransactionArchivingProperties properties;
+
+    /**
+     * Build the archiver
+     *
+     * @param partitionManager   Transaction table monthly partitions maintenance
+     * @param transactionArchive Archived transactions files
+     * @param jdbcTemplate       JDBC template
+     * @param transactionManager Transaction manager
+     * @param properties         Cold transactions archival configuration
+     */
+    public TransactionArchiver(final TransactionPartitionManager partitionManager,
+                               final TransactionArchive transactionArchive,
+                               final JdbcTemplate jdbcTemplate,
+                               final PlatformTransactionManager transactionManager,
+                               final TransactionArchivingProperties properties) {
+        this.partitionManager = partitionManager;
+        this.transactionArchive = transactionArchive;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+    }
+
+    /**
+     * Detach the partitions of the months past the retention, then archive and drop every detached partition,
+     * oldest first, a partition failing to detach or to archive being retried on the next run
+     */
+    @Scheduled(fixedDelayString = "${axis.account.transaction-archiving.interval:PT1H}",
+            initialDelayString = "${axis.account.transaction-archiving.interval:PT1H}")
+    public void archivePartitions() {
+        if (!properties.enabled()) {
+            return;
+        }
+        final YearMonth oldestRetainedMonth = YearMonth.now().minusMonths(properties.retentionMonths());
+        partitionManager.findAttachedMonths().stream()
+                .filter(month -> month.isBefore(oldestRetainedMonth))
+                .forEach(month -> {
+                    try {
+                        partitionManager.detach(month);
+                    } catch (final DataAccessException exception) {
+                        log.warn("Transaction archival: {} detach | Failed: {}",
+                                TransactionPartitionManager.partitionName(month),
+                                exception.getMostSpecificCause().getMessage());
+                    }
+                });
+
+        for (final String partition : jdbcTemplate.queryForList(FIND_DETACHED, String.class)) {
+            try {
+                archive(partition);
+            } catch (final RuntimeException exception) {
+                log.warn("Transaction archival: {} | Failed: {}", partition, exception.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Stream a detached partition into its archive file, then drop it once the file is durable
+     *
+     * @param partition the partition name
+     */
+    private void archive(final String partition) {
+        if (!transactionArchive.isArchived(partition)) {
+            try (TransactionArchive.Writer writer = transactionArchive.open(partition)) {
+                transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(connection -> {
+                    final PreparedStatement statement = connection.prepareStatement("""
+                            SELECT id, account_id, amount, currency, type, created_by, created_date,
+                                   last_modified_by, last_modified_date
+                            FROM %s
+                            ORDER BY account_id, created_date, id
+                            """.formatted(partition));
+                    statement.setFetchSize(FETCH_SIZE);
+                    return statement;
+                }, resultSet -> {
+                    writer.append(new ArchivedTransaction(
+                            resultSet.getObject("id", UUID.class),
+                            resultSet.getObject("account_id", UUID.class),
+                            resultSet.getBigDecimal("amount"),
+                            Currency.getInstance(resultSet.getString("currency")),
+                            Transaction.TransactionType.valueOf(resultSet.getString("type")),
+                            resultSet.getString("created_by"),
+                            resultSet.getObject("created_date", LocalDateTime.class),
+                            resultSet.getString("last_modified_by"),
+                            resultSet.getObject("last_modified_date", LocalDateTime.class)));
+                }));
+                writer.commit();
+            }
+            log.info("Transaction archival: {} archived", partition);
+        }
+        jdbcTemplate.execute("DROP TABLE " + partition);
+        log.info("Transaction archival: {} dropped", partition);
+    }
+}
@@ -0,0 +1,199 @@
+package com.axis.account.partition;
+
+import com.axis.account.config.TransactionPartitioningProperties;
+import com.axis.account.ledger.EventSourcedLedger;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Maintenance of the monthly partitions of the transaction table.
+ * <p>
+ * Partitions of the current month and of the {@code premade-months} following ones are created in advance, so that
+ * new transactions never land in the default partition, which would then forbid creating their month partition.
+ * With a {@code retention-months}, partitions of older months are detached, staying as standalone tables for
+ * archival: their transactions leave the history and the intra-day part of past balances, while the daily balance
+ * checkpoints keep past balances of their days. With the {@code EVENT_SOURCED} strategy, every account of a partition
+ * is first snapshotted right after its last transaction there, so that its ledger stays whole without them.
+ * Every partition detaching, including the archival one, goes through {@link #detach(YearMonth)}.
+ * Runs once on startup, before serving any request, then periodically.
+ *
+ * @author Mahmoud Shtayeh
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TransactionPartitionManager {
+    /**
+     * Name of a monthly partition, holding its year and month
+     */
+    private static final Pattern PARTITION_NAME = Pattern.compile("transaction_y(\\d{4})m(\\d{2})");
+
+    /**
+     * Number of accounts snapshotted per database transaction, before detaching a partition
+     */
+    private static final int SNAPSHOT_PAGE_SIZE = 1_000;
+
+    /**
+     * List the partitions attached to the transaction table
+     */
+    private static final String FIND_PARTITIONS = """
+            SELECT c.relname
+            FROM pg_inherits i
+                     JOIN pg_class c ON c.oid = i.inhrelid
+            WHERE i.inhparent = 'transaction'::regclass
+            """;
+
+    /**
+     * Runs the partitions DDL
+     */
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Transaction table monthly partitions maintenance configuration
+     */
+    private final TransactionPartitioningProperties properties;
+
+    /**
+     * Transactions ledger, snapshotted at the detached partitions boundary with the {@code EVENT_SOURCED} strategy
+     */
+    private final EventSourcedLedger eventSourcedLedger;
+
+    /**
+     * Snapshots the accounts of a partition by pages, each within a transaction
+     */
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Create the missing partitions of the current and the premade months, and detach the partitions
+     * of the months past the retention, one statement each, a failing statement leaving the others applied
+     */
+    @PostConstruct
+    @Scheduled(fixedDelayString = "${axis.account.transaction-partitioning.maintenance-interval:PT1H}",
+            initialDelayString = "${axis.account.transaction-partitioning.maintenance-interval:PT1H}")
+    public void maintainPartitions() {
+        final YearMonth currentMonth = YearMonth.now();
+        final Set<YearMonth> attachedMonths = findAttachedMonths();
+        for (int ahead = 0; ahead <= properties.premadeMonths(); ahead++) {
+            final YearMonth month = currentMonth.plusMonths(ahead);
+            if (!attachedMonths.contains(month)) {
+                execute("CREATE TABLE IF NOT EXISTS " + partitionName(month) + " PARTITION OF transaction "
+                        + "FOR VALUES FROM ('" + month.atDay(1) + "') TO ('" + month.plusMonths(1).atDay(1) + "')");
+            }
+        }
+
+        if (properties.retentionMonths() > 0) {
+            final YearMonth oldestRetainedMonth = currentMonth.minusMonths(properties.retentionMonths());
+            attachedMonths.stream()
+                    .filter(month -> month.isBefore(oldestRetainedMonth))
+                    .forEach(month -> {
+                        try {
+                            detach(month);
+                        } catch (final DataAccessException exception) {
+                            log.warn("Transaction partitions: {} detach | Failed: {}", partitionName(month),
+                                    exception.getMostSpecificCause().getMessage());
+                        }
+                    });
+        }
+    }
+
+    /**
+     * Detach the partition of a month from the transaction table, snapshotting its accounts first with the
+     * {@code EVENT_SOURCED} strategy
+     *
+     * @param month the partition month
+     * @throws DataAccessException if the snapshots or the detaching fail, leaving the partition attached
+     */
+    public void detach(final YearMonth month) {
+        final String partition = partitionName(month);
+        if (eventSourcedLedger.isEnabled()) {
+            snapshotAccounts(partition);
+        }
+        jdbcTemplate.execute("ALTER TABLE transaction DETACH PARTITION " + partition);
+        log.info("Transaction partitions: {} detached", partition);
+    }
+
+    /**
+     * Snapshot every account of a partition right after its last transaction there, by pages of accounts
+     *
+     * @param partition the partition name
+     */
+    private void snapshotAccounts(final String partition) {
+        final String findLastTransactions = """
+                SELECT DISTINCT ON (account_id) account_id, id, created_date
+                FROM %s
+                WHERE account_id > ?
+                ORDER BY account_id, created_date DESC, id DESC
+                LIMIT ?
+                """.formatted(partition);
+        UUID after = new UUID(0L, 0L);
+        List<Map<String, Object>> lastTransactions;
+        do {
+            lastTransactions = jdbcTemplate.queryForList(findLastTransactions, after, SNAPSHOT_PAGE_SIZE);
+            final List<Map<String, Object>> page = lastTransactions;
+            transactionTemplate.executeWithoutResult(status -> page.forEach(lastTransaction ->
+                    eventSourcedLedger.snapshotAt((UUID) lastTransaction.get("account_id"),
+                            (UUID) lastTransaction.get("id"),
+                            ((Timestamp) lastTransaction.get("created_date")).toLocalDateTime())));
+            if (!page.isEmpty()) {
+                after = (UUID) page.getLast().get("account_id");
+            }
+        } while (lastTransactions.size() == SNAPSHOT_PAGE_SIZE);
+    }
+
+    /**
+     * Read the months of the partitions attached to the transaction table
+     *
+     * @return the attached months, oldest first, the default partition left out
+     */
+    Set<YearMonth> findAttachedMonths() {
+        final Set<YearMonth> months = new TreeSet<>();
+        for (final String partition : jdbcTemplate.queryForList(FIND_PARTITIONS, String.class)) {
+            final Matcher matcher = PARTITION_NAME.matcher(partition);
+            if (matcher.matches()) {
+                months.add(YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2))));
+            }
+        }
+        return months;
+    }
+
+    /**
+     * Run a partition statement, logging its failure instead of failing the others
+     *
+     * @param statement the partition DDL statement
+     */
+    private void execute(final String statement) {
+        try {
+            jdbcTemplate.execute(statement);
+            log.info("Transaction partitions: {}", statement);
+        } catch (final DataAccessException exception) {
+            log.warn("Transaction partitions: {} | Failed: {}", statement,
+                    exception.getMostSpecificCause().getMessage());
+        }
+    }
+
+    /**
+     * Name the partition of a month
+     *
+     * @param month the partition month
+     * @return the partition table name
+     */
+    static String partitionName(final YearMonth month) {
+        return "transaction_y%04dm%02d".formatted(month.getYear(), month.getMonthValue());
+    }
+}
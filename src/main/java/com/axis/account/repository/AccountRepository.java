@@ -1,9 +1,22 @@
 package com.axis.account.repository;
 
 import com.axis.account.model.Account;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Currency;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 /**
  * Axis accounts repository
@@ -11,4 +24,79 @@ import java.util.UUID;
  * @author Mahmoud Shtayeh
  */
 public interface AccountRepository extends JpaRepository<Account, UUID> {
-}
\ No newline at end of file
+    /**
+     * Load an account holding a row lock ({@code SELECT ... FOR NO KEY UPDATE}) until the transaction ends.
+     * The lock leaves the key share locks of the foreign key checks alone, so that statements recording transactions
+     * against the account, without touching its row, never wait on the lock holder.
+     *
+     * @param accountId the unique identifier of the account
+     * @return the locked account, if exists
+     */
+    @Query(nativeQuery = true, value = "SELECT * FROM account WHERE id = :accountId FOR NO KEY UPDATE")
+    Optional<Account> findByIdForUpdate(@Param("accountId") UUID accountId);
+
+    /**
+     * Load many accounts holding their row locks ({@code SELECT ... FOR NO KEY UPDATE}) until the transaction ends.
+     * Rows are locked in primary key order, so that concurrent lockers of overlapping sets never deadlock.
+     *
+     * @param accountIds the unique identifiers of the accounts
+     * @return the locked existing accounts, in primary key order
+     */
+    @Query(nativeQuery = true,
+            value = "SELECT * FROM account WHERE id IN (:accountIds) ORDER BY id FOR NO KEY UPDATE")
+    List<Account> findAllByIdForUpdate(@Param("accountIds") Collection<UUID> accountIds);
+
+    /**
+     * Retrieve the balance of an account without loading the whole entity,
+     * adding up its row balance and the balances of its stripes, if any, as of one snapshot
+     *
+     * @param accountId the unique identifier of the account
+     * @return the account balance, if the account exists
+     */
+    @Query("""
+            select a.balance + coalesce((select sum(s.balance) from BalanceStripe s where s.account.id = a.id), 0)
+            from Account a
+            where a.id = :accountId
+            """)
+    Optional<BigDecimal> findBalanceById(@Param("accountId") UUID accountId);
+
+    /**
+     * Retrieve the currency of an account without loading the whole entity
+     *
+     * @param accountId the unique identifier of the account
+     * @return the account currency, if the account exists
+     */
+    @Query("select a.currency from Account a where a.id = :accountId")
+    Optional<Currency> findCurrencyById(@Param("accountId") UUID accountId);
+
+    /**
+     * Stream the IDs of all the accounts through a server side cursor.
+     * Must be consumed within a transaction, and closed.
+     *
+     * @return the accounts IDs, fetched {@code 1000} at a time
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select a.id from Account a")
+    Stream<UUID> streamAllIds();
+
+    /**
+     * Credit the account balance in a single statement, without loading the account
+     *
+     * @param accountId the unique identifier of the account
+     * @param amount    the amount to be credited
+     * @param auditor   the name of the auditor performing the credit
+     * @param timestamp the credit timestamp
+     * @return number of credited accounts, zero when the account does not exist
+     */
+    @Modifying
+    @Query("""
+            update Account a
+            set a.balance = a.balance + :amount, a.version = a.version + 1,
+                a.lastModifiedBy = :auditor, a.lastModifiedDate = :timestamp
+            where a.id = :accountId
+            """)
+    int creditBalance(@Param("accountId") UUID accountId,
+                      @Param("amount") BigDecimal amount,
+                      @Param("auditor") String auditor,
+                      @Param("timestamp") LocalDateTime timestamp);
+}
@@ -0,0 +1,37 @@
+package com.axis.account.repository;
+
+import com.axis.account.model.BalanceSnapshot;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Event-sourced accounts balance snapshots repository
+ *
+ * @author Mahmoud Shtayeh
+ */
+public interface BalanceSnapshotRepository extends JpaRepository<BalanceSnapshot, UUID> {
+    /**
+     * Read the latest snapshots of an account taken up to a timestamp,
+     * seeking the {@code (account_id, last_transaction_date, last_transaction_id)} index
+     *
+     * @param accountId the unique identifier of the account
+     * @param asOf      latest last folded transaction timestamp
+     * @param limit     maximum number of snapshots
+     * @return the latest snapshots, latest first
+     */
+    @Query("""
+            select s
+            from BalanceSnapshot s
+            where s.account.id = :accountId and s.lastTransactionDate <= :asOf
+            order by s.lastTransactionDate desc, s.lastTransactionId desc
+            """)
+    List<BalanceSnapshot> findLatest(@Param("accountId") UUID accountId,
+                                     @Param("asOf") LocalDateTime asOf,
+                                     Limit limit);
+}
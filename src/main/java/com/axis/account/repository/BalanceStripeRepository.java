@@ -0,0 +1,110 @@
+package com.axis.account.repository;
+
+import com.axis.account.model.BalanceStripe;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Striped accounts balance stripes repository
+ *
+ * @author Mahmoud Shtayeh
+ */
+public interface BalanceStripeRepository extends JpaRepository<BalanceStripe, UUID> {
+    /**
+     * Load all the stripes of an account holding their row locks until the transaction ends.
+     * Stripes are locked in index order, so that concurrent sweepers never deadlock.
+     *
+     * @param accountId the unique identifier of the account
+     * @return the locked stripes, in index order
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from BalanceStripe s where s.account.id = :accountId order by s.stripe")
+    List<BalanceStripe> findAllByAccountIdForUpdate(@Param("accountId") UUID accountId);
+
+    /**
+     * Credit one stripe of the account, picked by the seed modulo the account number of stripes,
+     * and record the deposit transaction, and its stripe checkpoint movement, in a single statement,
+     * without touching the account row.
+     *
+     * @param transactionId the unique identifier of the recorded transaction
+     * @param accountId     the unique identifier of the account into which the amount is to be deposited
+     * @param seed          non-negative random seed picking the stripe
+     * @param amount        the amount to be deposited into the account
+     * @param auditor       the name of the auditor performing the deposit
+     * @param timestamp     the deposit timestamp
+     * @return number of recorded transactions, zero when the account does not exist or is not striped
+     */
+    @Modifying
+    @Query(nativeQuery = true, value = """
+            WITH credited AS (
+                UPDATE balance_stripe s
+                SET balance = s.balance + :amount
+                FROM account a
+                WHERE a.id = :accountId AND s.account_id = a.id AND s.stripe = :seed % a.stripes
+                RETURNING s.account_id, s.stripe, a.currency),
+            checkpointed AS (
+                INSERT INTO daily_balance_checkpoint (id, account_id, day, slot, net)
+                SELECT gen_random_uuid(), account_id, CAST(:timestamp AS date), stripe + 1, :amount
+                FROM credited
+                ON CONFLICT (account_id, day, slot) DO UPDATE SET net = daily_balance_checkpoint.net + EXCLUDED.net)
+            INSERT INTO transaction (id, account_id, amount, currency, type,
+                                     created_by, created_date, last_modified_by, last_modified_date)
+            SELECT :transactionId, account_id, :amount, currency, 'DEPOSIT', :auditor, :timestamp, :auditor, :timestamp
+            FROM credited
+            """)
+    int depositIntoStripe(@Param("transactionId") UUID transactionId,
+                          @Param("accountId") UUID accountId,
+                          @Param("seed") int seed,
+                          @Param("amount") BigDecimal amount,
+                          @Param("auditor") String auditor,
+                          @Param("timestamp") LocalDateTime timestamp);
+
+    /**
+     * Debit one stripe of the account, picked by the seed modulo the account number of stripes, only when it covers
+     * the amount, and record the withdrawal transaction, and its stripe checkpoint movement, in a single statement,
+     * without touching the account row.
+     *
+     * @param transactionId the unique identifier of the recorded transaction
+     * @param accountId     the unique identifier of the account from which the amount is to be withdrawn
+     * @param seed          non-negative random seed picking the stripe
+     * @param amount        the amount to be withdrawn from the account
+     * @param auditor       the name of the auditor performing the withdrawal
+     * @param timestamp     the withdrawal timestamp
+     * @return number of recorded transactions, zero when the account does not exist, is not striped,
+     * or the picked stripe falls short
+     */
+    @Modifying
+    @Query(nativeQuery = true, value = """
+            WITH debited AS (
+                UPDATE balance_stripe s
+                SET balance = s.balance - :amount
+                FROM account a
+                WHERE a.id = :accountId AND s.account_id = a.id AND s.stripe = :seed % a.stripes
+                  AND s.balance >= :amount
+                RETURNING s.account_id, s.stripe, a.currency),
+            checkpointed AS (
+                INSERT INTO daily_balance_checkpoint (id, account_id, day, slot, net)
+                SELECT gen_random_uuid(), account_id, CAST(:timestamp AS date), stripe + 1, -:amount
+                FROM debited
+                ON CONFLICT (account_id, day, slot) DO UPDATE SET net = daily_balance_checkpoint.net + EXCLUDED.net)
+            INSERT INTO transaction (id, account_id, amount, currency, type,
+                                     created_by, created_date, last_modified_by, last_modified_date)
+            SELECT :transactionId, account_id, :amount, currency, 'WITHDRAWAL', :auditor, :timestamp, :auditor, :timestamp
+            FROM debited
+            """)
+    int withdrawFromStripe(@Param("transactionId") UUID transactionId,
+                           @Param("accountId") UUID accountId,
+                           @Param("seed") int seed,
+                           @Param("amount") BigDecimal amount,
+                           @Param("auditor") String auditor,
+                           @Param("timestamp") LocalDateTime timestamp);
+}
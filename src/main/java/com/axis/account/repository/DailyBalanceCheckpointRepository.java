@@ -0,0 +1,64 @@
+package com.axis.account.repository;
+
+import com.axis.account.model.DailyBalanceCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Accounts daily balance checkpoints repository
+ *
+ * @author Mahmoud Shtayeh
+ */
+public interface DailyBalanceCheckpointRepository extends JpaRepository<DailyBalanceCheckpoint, UUID> {
+    /**
+     * Add recorded transactions to the account row checkpoints of their accounts and days, in a single statement.
+     * Must run within the recording transaction, after the transactions got flushed.
+     *
+     * @param transactionIds the unique identifiers of the recorded transactions
+     * @return number of upserted checkpoints
+     */
+    @Modifying
+    @Query(nativeQuery = true, value = """
+            INSERT INTO daily_balance_checkpoint (id, account_id, day, slot, net)
+            SELECT gen_random_uuid(), account_id, CAST(created_date AS date), 0,
+                   SUM(CASE WHEN type IN ('DEPOSIT', 'TRANSFER_IN') THEN amount ELSE -amount END)
+            FROM transaction
+            WHERE id IN (:transactionIds)
+            GROUP BY account_id, CAST(created_date AS date)
+            ORDER BY account_id
+            ON CONFLICT (account_id, day, slot) DO UPDATE SET net = daily_balance_checkpoint.net + EXCLUDED.net
+            """)
+    int recordTransactions(@Param("transactionIds") Collection<UUID> transactionIds);
+
+    /**
+     * Derive the balance of an account as of a timestamp, as one snapshot: the current balance, minus the checkpoints
+     * of the days following the timestamp, minus the transactions following the timestamp within its day.
+     * Reads one checkpoint per day and slot since the timestamp, and at most one day of transactions,
+     * whatever the account history length.
+     *
+     * @param accountId the unique identifier of the account
+     * @param asOf      latest transaction timestamp to account for
+     * @return the account balance as of the timestamp, zero before the account opening, if the account exists
+     */
+    @Query(nativeQuery = true, value = """
+            SELECT CASE WHEN a.created_date > :asOf THEN 0 ELSE a.balance
+                + COALESCE((SELECT SUM(s.balance) FROM balance_stripe s WHERE s.account_id = a.id), 0)
+                - COALESCE((SELECT SUM(c.net) FROM daily_balance_checkpoint c
+                            WHERE c.account_id = a.id AND c.day > CAST(:asOf AS date)), 0)
+                - COALESCE((SELECT SUM(CASE WHEN t.type IN ('DEPOSIT', 'TRANSFER_IN') THEN t.amount ELSE -t.amount END)
+                            FROM transaction t
+                            WHERE t.account_id = a.id AND t.created_date > :asOf
+                              AND t.created_date < CAST(:asOf AS date) + 1), 0) END
+            FROM account a
+            WHERE a.id = :accountId
+            """)
+    Optional<BigDecimal> findBalanceAsOf(@Param("accountId") UUID accountId, @Param("asOf") LocalDateTime asOf);
+}
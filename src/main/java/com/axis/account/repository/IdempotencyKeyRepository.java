@@ -0,0 +1,48 @@
+package com.axis.account.repository;
+
+import com.axis.account.model.IdempotencyKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Repository of money movements idempotency keys
+ *
+ * @author Mahmoud Shtayeh
+ */
+public interface IdempotencyKeyRepository extends JpaRepository<IdempotencyKey, String> {
+    /**
+     * Bind the key to its transaction, unless already bound. A concurrent insert of the same key
+     * waits for the other transaction to end, then reports the conflict without failing the current one.
+     *
+     * @param key           client supplied key
+     * @param transactionId the unique identifier of the transaction produced by the request
+     * @param requestHash   hash of the request carrying the key
+     * @param createdDate   key creation timestamp
+     * @return number of inserted keys, zero when the key is already bound
+     */
+    @Modifying
+    @Query(nativeQuery = true, value = """
+            INSERT INTO idempotency_key (idempotency_key, transaction_id, request_hash, created_date)
+            VALUES (:key, :transactionId, :requestHash, :createdDate)
+            ON CONFLICT DO NOTHING
+            """)
+    int insertIfAbsent(@Param("key") String key,
+                       @Param("transactionId") UUID transactionId,
+                       @Param("requestHash") String requestHash,
+                       @Param("createdDate") LocalDateTime createdDate);
+
+    /**
+     * Purge the keys created before the given timestamp
+     *
+     * @param createdDate retention limit
+     * @return number of purged keys
+     */
+    @Modifying
+    @Query("delete from IdempotencyKey k where k.createdDate < :createdDate")
+    int deleteCreatedBefore(@Param("createdDate") LocalDateTime createdDate);
+}
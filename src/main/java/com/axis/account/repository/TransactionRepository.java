@@ -1,13 +1,178 @@
 package com.axis.account.repository;
 
+import com.axis.account.dto.LedgerFold;
+import com.axis.account.dto.TransactionDTO;
 import com.axis.account.model.Transaction;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for managing {@code Transaction} entities.
  * Extends {@code JpaRepository} to provide common JPA database operations.
  */
 public interface TransactionRepository extends JpaRepository<Transaction, UUID> {
-}
\ No newline at end of file
+    /**
+     * Read the newest transactions of an account, seeking the {@code (account_id, created_date, id)} index
+     *
+     * @param accountId the unique identifier of the account
+     * @param limit     maximum number of transactions
+     * @return the newest transactions, newest first
+     */
+    @Query("""
+            select new com.axis.account.dto.TransactionDTO(t.id, t.type, t.amount, t.createdDate)
+            from Transaction t
+            where t.account.id = :accountId
+            order by t.createdDate desc, t.id desc
+            """)
+    List<TransactionDTO> findHistory(@Param("accountId") UUID accountId, Limit limit);
+
+    /**
+     * Read the transactions of an account older than a keyset position, seeking the
+     * {@code (account_id, created_date, id)} index, so the cost of a page does not depend on its depth.
+     * The position timestamp is repeated as a plain bound, pruning the partitions of the following months.
+     *
+     * @param accountId   the unique identifier of the account
+     * @param createdDate timestamp of the last transaction already read
+     * @param id          unique identifier of the last transaction already read
+     * @param limit       maximum number of transactions
+     * @return the transactions following the position, newest first
+     */
+    @Query("""
+            select new com.axis.account.dto.TransactionDTO(t.id, t.type, t.amount, t.createdDate)
+            from Transaction t
+            where t.account.id = :accountId and (t.createdDate, t.id) < (:createdDate, :id)
+                and t.createdDate <= :createdDate
+            order by t.createdDate desc, t.id desc
+            """)
+    List<TransactionDTO> findHistoryBefore(@Param("accountId") UUID accountId,
+                                           @Param("createdDate") LocalDateTime createdDate,
+                                           @Param("id") UUID id,
+                                           Limit limit);
+
+    /**
+     * Stream the whole ledger of an account, oldest first, through a server side cursor.
+     * Must be consumed within a transaction, and closed.
+     *
+     * @param accountId the unique identifier of the account
+     * @return the account transactions, fetched {@code 1000} at a time
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+            select new com.axis.account.dto.TransactionDTO(t.id, t.type, t.amount, t.createdDate)
+            from Transaction t
+            where t.account.id = :accountId
+            order by t.createdDate, t.id
+            """)
+    Stream<TransactionDTO> streamStatement(@Param("accountId") UUID accountId);
+
+    /**
+     * Fold the transactions of an account following a ledger position, up to a timestamp, into a balance,
+     * seeking the {@code (account_id, created_date, id)} index, so the cost only depends on the folded transactions.
+     * The position timestamp is repeated as a plain bound, pruning the partitions of the preceding months.
+     *
+     * @param accountId   the unique identifier of the account
+     * @param createdDate timestamp of the last transaction already folded
+     * @param id          unique identifier of the last transaction already folded
+     * @param asOf        latest transaction timestamp to fold
+     * @param creditTypes the transaction types adding to the balance, the others subtracting from it
+     * @return the number of folded transactions, and their sum
+     */
+    @Query("""
+            select new com.axis.account.dto.LedgerFold(count(t),
+                    sum(case when t.type in :creditTypes then t.amount else -t.amount end))
+            from Transaction t
+            where t.account.id = :accountId and (t.createdDate, t.id) > (:createdDate, :id)
+                and t.createdDate >= :createdDate and t.createdDate <= :asOf
+            """)
+    LedgerFold foldAfter(@Param("accountId") UUID accountId,
+                         @Param("createdDate") LocalDateTime createdDate,
+                         @Param("id") UUID id,
+                         @Param("asOf") LocalDateTime asOf,
+                         @Param("creditTypes") Collection<Transaction.TransactionType> creditTypes);
+
+    /**
+     * Credit the account balance and record the deposit transaction, and its daily checkpoint movement,
+     * in a single statement (one round-trip), without loading the account.
+     *
+     * @param transactionId the unique identifier of the recorded transaction
+     * @param accountId     the unique identifier of the account into which the amount is to be deposited
+     * @param amount        the amount to be deposited into the account
+     * @param auditor       the name of the auditor performing the deposit
+     * @param timestamp     the deposit timestamp
+     * @return number of recorded transactions, zero when the account does not exist
+     */
+    @Modifying
+    @Query(nativeQuery = true, value = """
+            WITH credited AS (
+                UPDATE account
+                SET balance = balance + :amount, version = version + 1,
+                    last_modified_by = :auditor, last_modified_date = :timestamp
+                WHERE id = :accountId
+                RETURNING id, currency),
+            checkpointed AS (
+                INSERT INTO daily_balance_checkpoint (id, account_id, day, slot, net)
+                SELECT gen_random_uuid(), id, CAST(:timestamp AS date), 0, :amount
+                FROM credited
+                ON CONFLICT (account_id, day, slot) DO UPDATE SET net = daily_balance_checkpoint.net + EXCLUDED.net)
+            INSERT INTO transaction (id, account_id, amount, currency, type,
+                                     created_by, created_date, last_modified_by, last_modified_date)
+            SELECT :transactionId, id, :amount, currency, 'DEPOSIT', :auditor, :timestamp, :auditor, :timestamp
+            FROM credited
+            """)
+    int depositAtomically(@Param("transactionId") UUID transactionId,
+                          @Param("accountId") UUID accountId,
+                          @Param("amount") BigDecimal amount,
+                          @Param("auditor") String auditor,
+                          @Param("timestamp") LocalDateTime timestamp);
+
+    /**
+     * Debit the account balance, only when it covers the amount, and record the withdrawal transaction,
+     * and its daily checkpoint movement, in a single statement (one round-trip), without loading the account.
+     *
+     * @param transactionId the unique identifier of the recorded transaction
+     * @param accountId     the unique identifier of the account from which the amount is to be withdrawn
+     * @param amount        the amount to be withdrawn from the account
+     * @param auditor       the name of the auditor performing the withdrawal
+     * @param timestamp     the withdrawal timestamp
+     * @return number of recorded transactions, zero when the account does not exist or has insufficient funds
+     */
+    @Modifying
+    @Query(nativeQuery = true, value = """
+            WITH debited AS (
+                UPDATE account
+                SET balance = balance - :amount, version = version + 1,
+                    last_modified_by = :auditor, last_modified_date = :timestamp
+                WHERE id = :accountId AND balance >= :amount
+                RETURNING id, currency),
+            checkpointed AS (
+                INSERT INTO daily_balance_checkpoint (id, account_id, day, slot, net)
+                SELECT gen_random_uuid(), id, CAST(:timestamp AS date), 0, -:amount
+                FROM debited
+                ON CONFLICT (account_id, day, slot) DO UPDATE SET net = daily_balance_checkpoint.net + EXCLUDED.net)
+            INSERT INTO transaction (id, account_id, amount, currency, type,
+                                     created_by, created_date, last_modified_by, last_modified_date)
+            SELECT :transactionId, id, :amount, currency, 'WITHDRAWAL', :auditor, :timestamp, :auditor, :timestamp
+            FROM debited
+            """)
+    int withdrawAtomically(@Param("transactionId") UUID transactionId,
+                           @Param("accountId") UUID accountId,
+                           @Param("amount") BigDecimal amount,
+                           @Param("auditor") String auditor,
+                           @Param("timestamp") LocalDateTime timestamp);
+}
@@ -1,10 +1,17 @@
 package com.axis.account.service;
 
 import com.axis.account.dto.AccountDTO;
+import com.axis.account.dto.BatchEntryDTO;
+import com.axis.account.dto.BatchEntryResult;
+import com.axis.account.dto.TransactionPage;
 import com.axis.account.exception.AccountNotFoundException;
 import com.axis.account.exception.DBFailureException;
+import com.axis.account.exception.InsufficientFundsException;
+import com.axis.account.exception.InvalidTransactionException;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -14,10 +21,11 @@ import java.util.UUID;
  */
 public interface AccountService {
     /**
-     * Open an account in Axis
+     * Open an account in Axis, in the requested currency or the default one
      *
      * @param accountDTO Account details to create
      * @return Created account ID
+     * @throws InvalidTransactionException if the currency is unknown or not supported
      */
     UUID openAccount(AccountDTO accountDTO);
 
@@ -29,6 +37,29 @@ public interface AccountService {
      */
     BigDecimal checkBalance(UUID accountId);
 
+    /**
+     * Retrieves the balance of a specific account as of a past timestamp, derived from its daily balance checkpoints,
+     * or its transactions ledger when authoritative.
+     *
+     * @param accountId the unique identifier of the account
+     * @param asOf      the timestamp the balance is derived as of
+     * @return the balance of the account as of the timestamp, zero before the account opening
+     * @throws AccountNotFoundException if the account with the specified ID does not exist
+     */
+    BigDecimal checkBalanceAsOf(UUID accountId, LocalDateTime asOf);
+
+    /**
+     * Spreads the balance of a hot account over the given number of stripes, so that concurrent deposits
+     * and withdrawals contend on different rows. The current balance stays on the account row, and stripes
+     * start empty. Striping can only grow.
+     *
+     * @param accountId the unique identifier of the account to be striped
+     * @param stripes   the number of stripes
+     * @throws AccountNotFoundException    if the account with the specified ID does not exist
+     * @throws InvalidTransactionException if the account already has as many stripes, or more
+     */
+    void stripeBalance(UUID accountId, int stripes);
+
     /**
      * Deposits a specified amount into the account with the given account ID.
      * Updates the account balance and records the transaction.
@@ -53,4 +84,41 @@ public interface AccountService {
      *                                  or the account has insufficient funds
      */
     UUID withdraw(UUID accountId, BigDecimal amount);
+
+    /**
+     * Transfers a specified amount from one account to another, atomically.
+     * Debits the source, credits the target, and records a transaction on each side.
+     * Between accounts of different currencies, the target is credited with the converted amount.
+     *
+     * @param sourceAccountId the unique identifier of the account to be debited
+     * @param targetAccountId the unique identifier of the account to be credited
+     * @param amount          the amount to be transferred, in the source account currency
+     * @return the unique identifier of the transaction debiting the source account
+     * @throws AccountNotFoundException     if either account does not exist
+     * @throws InsufficientFundsException   if the source account has insufficient funds
+     * @throws InvalidTransactionException if both accounts are the same, or no rate converts their currencies
+     */
+    UUID transfer(UUID sourceAccountId, UUID targetAccountId, BigDecimal amount);
+
+    /**
+     * Applies a batch of deposits and withdrawals, in order, within a single database transaction.
+     * Entries failing on a business rule are reported and skipped, without failing the whole batch.
+     *
+     * @param entries the deposits and withdrawals to apply
+     * @return the outcome of every entry, in the same order
+     * @throws DBFailureException if the transactions fail to save
+     */
+    List<BatchEntryResult> applyBatch(List<BatchEntryDTO> entries);
+
+    /**
+     * Reads a page of an account ledger, newest first, continuing from a cursor returned by the previous page.
+     *
+     * @param accountId the unique identifier of the account
+     * @param cursor    opaque position returned by the previous page, {@code null} for the first page
+     * @param limit     maximum number of transactions in the page
+     * @return the page transactions, with the cursor of the next page when more may follow
+     * @throws AccountNotFoundException    if the account does not exist
+     * @throws InvalidTransactionException if the cursor is malformed
+     */
+    TransactionPage history(UUID accountId, String cursor, int limit);
 }
\ No newline at end of file
@@ -0,0 +1,35 @@
+package com.axis.account.service;
+
+import com.axis.account.exception.IdempotencyKeyReusedException;
+import com.axis.account.exception.InvalidTransactionException;
+
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Money movements idempotency services declaration
+ *
+ * @author Mahmoud Shtayeh
+ */
+public interface IdempotencyService {
+    /**
+     * Maximum length of an idempotency key
+     */
+    int MAX_KEY_LENGTH = 255;
+
+    /**
+     * Executes a money movement at most once per idempotency key.
+     * Repeating a key, within its time to live, returns the transaction ID of the first successful execution.
+     * Failed executions are not remembered, so the same key can be retried.
+     * A key is bound to the request it is first used with, repeating it with another request is rejected.
+     *
+     * @param key       client supplied idempotency key
+     * @param request   description of the money movement, such as its operation, account and amount,
+     *                  equal for every retry of the same request
+     * @param operation money movement, returning the unique identifier of its transaction
+     * @return the unique identifier of the transaction produced by the first execution
+     * @throws InvalidTransactionException    if the key is blank or too long
+     * @throws IdempotencyKeyReusedException if the key is already bound to another request
+     */
+    UUID execute(String key, String request, Supplier<UUID> operation);
+}
@@ -0,0 +1,79 @@
+package com.axis.account.service;
+
+import com.axis.account.dto.AccountDTO;
+import com.axis.account.dto.TransactionPage;
+import com.axis.account.exception.AccountNotFoundException;
+import com.axis.account.exception.InsufficientFundsException;
+import com.axis.account.exception.InvalidTransactionException;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Axis accounts non-blocking services declaration, mirroring {@link AccountService}.
+ * Failures are signalled through the returned publishers, never thrown.
+ *
+ * @author Mahmoud Shtayeh
+ */
+public interface ReactiveAccountService {
+    /**
+     * Open an account in Axis
+     *
+     * @param accountDTO Account details to create
+     * @return Created account ID
+     */
+    Mono<UUID> openAccount(AccountDTO accountDTO);
+
+    /**
+     * Retrieves the current balance for a specific account.
+     *
+     * @param accountId the unique identifier of the account
+     * @return the current balance of the account, or {@link AccountNotFoundException}
+     */
+    Mono<BigDecimal> checkBalance(UUID accountId);
+
+    /**
+     * Deposits a specified amount into the account with the given account ID.
+     * Updates the account balance and records the transaction.
+     *
+     * @param accountId the unique identifier of the account into which the amount is to be deposited
+     * @param amount    the amount to be deposited into the account
+     * @return the unique identifier of the transaction created for the deposit, or {@link AccountNotFoundException}
+     */
+    Mono<UUID> deposit(UUID accountId, BigDecimal amount);
+
+    /**
+     * Withdraws a specified amount from the account with the given account ID.
+     * Updates the account balance and records the transaction.
+     *
+     * @param accountId the unique identifier of the account from which the amount is to be withdrawn
+     * @param amount    the amount to be withdrawn from the account
+     * @return the unique identifier of the transaction created for the withdrawal,
+     * or {@link AccountNotFoundException}, or {@link InsufficientFundsException}
+     */
+    Mono<UUID> withdraw(UUID accountId, BigDecimal amount);
+
+    /**
+     * Transfers a specified amount from one account to another, atomically.
+     *
+     * @param sourceAccountId the unique identifier of the account to be debited
+     * @param targetAccountId the unique identifier of the account to be credited
+     * @param amount          the amount to be transferred
+     * @return the unique identifier of the transaction debiting the source account,
+     * or {@link AccountNotFoundException}, or {@link InsufficientFundsException},
+     * or {@link InvalidTransactionException} if both accounts are the same
+     */
+    Mono<UUID> transfer(UUID sourceAccountId, UUID targetAccountId, BigDecimal amount);
+
+    /**
+     * Reads a page of an account ledger, newest first.
+     *
+     * @param accountId the unique identifier of the account
+     * @param cursor    opaque position returned by the previous page, {@code null} for the first page
+     * @param limit     maximum number of transactions in the page
+     * @return the page transactions, with the cursor of the next page when more follow,
+     * or {@link AccountNotFoundException}, or {@link InvalidTransactionException} if the cursor is invalid
+     */
+    Mono<TransactionPage> history(UUID accountId, String cursor, int limit);
+}
@@ -0,0 +1,43 @@
+package com.axis.account.service;
+
+import com.axis.account.dto.StatementFormat;
+import com.axis.account.exception.AccountNotFoundException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.UUID;
+
+/**
+ * Account statements services declaration
+ *
+ * @author Mahmoud Shtayeh
+ */
+public interface StatementService {
+    /**
+     * Writes the whole ledger of an account, oldest first, as it is read from the database.
+     * Memory use does not depend on the number of transactions.
+     *
+     * @param accountId the unique identifier of the account
+     * @param format    the statement format
+     * @param output    opens the statement destination, once the account is known to exist
+     * @throws AccountNotFoundException if the account does not exist, before the destination is opened
+     * @throws IOException              if writing to the destination fails
+     */
+    void export(UUID accountId, StatementFormat format, Destination output) throws IOException;
+
+    /**
+     * Lazily opened statement destination, so that a failure before any output leaves it untouched
+     *
+     * @author Mahmoud Shtayeh
+     */
+    @FunctionalInterface
+    interface Destination {
+        /**
+         * Open the destination
+         *
+         * @return the statement output stream, closed by its owner
+         * @throws IOException if the destination cannot be opened
+         */
+        OutputStream open() throws IOException;
+    }
+}
@@ -1,22 +1,51 @@
 package com.axis.account.service.impl;
 
+import com.axis.account.aspect.RetryOnConflict;
+import com.axis.account.cache.AccountCurrencyCache;
+import com.axis.account.cache.AccountIdFilter;
+import com.axis.account.cache.BalanceCache;
+import com.axis.account.config.BalanceStripingProperties;
+import com.axis.account.config.ConcurrencyProperties;
+import com.axis.account.config.MoneyProperties;
 import com.axis.account.dto.AccountDTO;
+import com.axis.account.dto.BatchEntryDTO;
+import com.axis.account.dto.BatchEntryResult;
+import com.axis.account.dto.LedgerFold;
+import com.axis.account.dto.TransactionCursor;
+import com.axis.account.dto.TransactionDTO;
+import com.axis.account.dto.TransactionPage;
 import com.axis.account.exception.AccountNotFoundException;
 import com.axis.account.exception.DBFailureException;
 import com.axis.account.exception.InsufficientFundsException;
+import com.axis.account.exception.InvalidTransactionException;
+import com.axis.account.ledger.EventSourcedLedger;
 import com.axis.account.mapper.AccountMapper;
 import com.axis.account.model.Account;
+import com.axis.account.model.BalanceStripe;
 import com.axis.account.model.Transaction;
+import com.axis.account.money.FxRateTable;
+import com.axis.account.partition.TransactionArchive;
 import com.axis.account.repository.AccountRepository;
+import com.axis.account.repository.BalanceStripeRepository;
+import com.axis.account.repository.DailyBalanceCheckpointRepository;
 import com.axis.account.repository.TransactionRepository;
 import com.axis.account.service.AccountService;
 import com.axis.account.util.AssertUtil;
+import com.axis.account.util.UuidV7Generator;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
-import java.util.UUID;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 /**
  * Axis accounts services
@@ -27,6 +56,16 @@ import java.util.UUID;
 @RequiredArgsConstructor
 @Service("accountService")
 public class AccountServiceImpl implements AccountService {
+    /**
+     * Mark the transaction before a single stripe debit
+     */
+    private static final String SAVEPOINT_STRIPE_DEBIT = "SAVEPOINT stripe_debit";
+
+    /**
+     * Undo a single stripe debit that fell short, releasing the stripe row lock it may hold
+     */
+    private static final String ROLLBACK_STRIPE_DEBIT = "ROLLBACK TO SAVEPOINT stripe_debit";
+
     /**
      * Axis accounts repository
      */
@@ -37,102 +76,661 @@ public class AccountServiceImpl implements AccountService {
      */
     private final TransactionRepository transactionRepository;
 
+    /**
+     * Striped accounts balance stripes repository
+     */
+    private final BalanceStripeRepository balanceStripeRepository;
+
+    /**
+     * Accounts daily balance checkpoints repository
+     */
+    private final DailyBalanceCheckpointRepository dailyBalanceCheckpointRepository;
+
     /**
      * Axis account POJOs mapper
      */
     private final AccountMapper accountMapper;
 
     /**
-     * Open an account in Axis
+     * Balance mutation concurrency configuration
+     */
+    private final ConcurrencyProperties concurrencyProperties;
+
+    /**
+     * Balance striping configuration
+     */
+    private final BalanceStripingProperties balanceStripingProperties;
+
+    /**
+     * Auditor provider, for statements bypassing the JPA auditing listener
+     */
+    private final AuditorAware<String> auditorAware;
+
+    /**
+     * Local accounts balance cache
+     */
+    private final BalanceCache balanceCache;
+
+    /**
+     * Existing accounts filter, rejecting unknown accounts without a query
+     */
+    private final AccountIdFilter accountIdFilter;
+
+    /**
+     * Transactions ledger, authoritative with the {@code EVENT_SOURCED} strategy
+     */
+    private final EventSourcedLedger eventSourcedLedger;
+
+    /**
+     * Archived transactions files, read past the transactions left in the database
+     */
+    private final TransactionArchive transactionArchive;
+
+    /**
+     * Accounts currencies configuration, holding the default account currency
+     */
+    private final MoneyProperties moneyProperties;
+
+    /**
+     * Foreign exchange rates, converting cross-currency transfers
+     */
+    private final FxRateTable fxRateTable;
+
+    /**
+     * Accounts currencies, checking amounts against their minor unit
+     */
+    private final AccountCurrencyCache accountCurrencyCache;
+
+    /**
+     * Runs the stripe debit savepoint statements, on the connection of the current transaction
+     */
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Open an account in Axis, in the requested currency or the default one.
+     * With the {@code EVENT_SOURCED} strategy, a non-zero opening balance is recorded as the first deposit.
      *
      * @param accountDTO Account details to create
      * @return Created account ID
+     * @throws InvalidTransactionException if the currency is unknown or not supported,
+     *                                     or the balance is finer than its minor unit
      */
     @Override
     public UUID openAccount(final AccountDTO accountDTO) {
         final Account account = accountMapper.toEntity(accountDTO);
+        account.setCurrency(moneyProperties.accountCurrency(accountDTO.currency()));
+        moneyProperties.checkAmount(account.getBalance(), account.getCurrency());
         final Account savedAccount = accountRepository.save(account);
 
         AssertUtil.notNull(savedAccount, () -> new DBFailureException("error.account.notSaved"));
         AssertUtil.notNull(savedAccount.getId(), () -> new DBFailureException("error.account.idNotGenerated"));
+        accountIdFilter.add(savedAccount.getId());
+        accountCurrencyCache.put(savedAccount.getId(), savedAccount.getCurrency());
+        if (isEventSourced() && savedAccount.getBalance().signum() > 0) {
+            recordTransaction(savedAccount, savedAccount.getBalance(), Transaction.TransactionType.DEPOSIT);
+        }
         return savedAccount.getId();
     }
 
     /**
-     * Retrieves the current balance for a specific account.
+     * Retrieves the current balance for a specific account, from the local balance cache when present.
+     * Accounts the existing accounts filter knows nothing of are rejected without a query.
+     * A cache hit opens no transaction, a miss reads within the repository's own read-only one.
+     * Striped accounts balances are re-read adding up the account row and its stripes as of one snapshot.
+     * With the {@code EVENT_SOURCED} strategy, balances are derived from the ledger instead.
      *
      * @param accountId the unique identifier of the account
      * @return the current balance of the account
      */
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public BigDecimal checkBalance(final UUID accountId) {
-        return accountRepository.findById(accountId)
-                .orElseThrow(() -> new AccountNotFoundException(accountId))
-                .getBalance();
+        return accountIdFilter.screen(accountId, () -> balanceCache.get(accountId, id -> {
+            if (isEventSourced()) {
+                return balanceFromLedger(id, LocalDateTime.now());
+            }
+            final Account account = accountRepository.findById(id)
+                    .orElseThrow(() -> new AccountNotFoundException(id));
+            if (account.getStripes() == null) {
+                return account.getBalance();
+            }
+            return accountRepository.findBalanceById(id)
+                    .orElseThrow(() -> new AccountNotFoundException(id));
+        }));
+    }
+
+    /**
+     * Derives the balance of an account as of a timestamp, from the current balance minus the daily checkpoints
+     * following the timestamp day, minus the transactions following the timestamp within its day.
+     * With the {@code EVENT_SOURCED} strategy, from the latest snapshot taken until then plus the transactions
+     * following it until then instead.
+     *
+     * @param accountId the unique identifier of the account
+     * @param asOf      the timestamp the balance is derived as of
+     * @return the balance of the account as of the timestamp, zero before the account opening
+     * @throws AccountNotFoundException if the account with the specified ID does not exist
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public BigDecimal checkBalanceAsOf(final UUID accountId, final LocalDateTime asOf) {
+        if (isEventSourced()) {
+            return balanceFromLedger(accountId, asOf);
+        }
+        return dailyBalanceCheckpointRepository.findBalanceAsOf(accountId, asOf)
+                .orElseThrow(() -> new AccountNotFoundException(accountId));
+    }
+
+    /**
+     * Spreads the balance of a hot account over the given number of stripes, creating the missing ones empty.
+     * The account row is locked, so that stripes never get swept while being added.
+     *
+     * @param accountId the unique identifier of the account to be striped
+     * @param stripes   the number of stripes
+     * @throws AccountNotFoundException    if the account with the specified ID does not exist
+     * @throws InvalidTransactionException if the account already has as many stripes, or more
+     */
+    @Override
+    public void stripeBalance(final UUID accountId, final int stripes) {
+        final Account account = lockAccount(accountId);
+        final int currentStripes = account.getStripes() == null ? 0 : account.getStripes();
+        AssertUtil.isTrue(stripes > currentStripes,
+                () -> new InvalidTransactionException("error.striping.cannotShrink"));
+
+        balanceStripeRepository.saveAll(IntStream.range(currentStripes, stripes)
+                .mapToObj(stripe -> BalanceStripe.builder()
+                        .account(account)
+                        .stripe(stripe)
+                        .balance(BigDecimal.ZERO)
+                        .build())
+                .toList());
+        account.setStripes(stripes);
     }
 
     /**
      * Deposits a specified amount into the account with the given account ID.
      * Updates the account balance and records the transaction.
+     * When striping is enabled, striped accounts are credited on a random stripe, leaving the account row alone.
+     * Accounts the existing accounts filter knows nothing of are rejected without a query.
      *
      * @param accountId the unique identifier of the account into which the amount is to be deposited
      * @param amount    the amount to be deposited into the account
      * @return the unique identifier of the transaction created for the deposit
-     * @throws AccountNotFoundException if the account with the specified ID does not exist
-     * @throws DBFailureException       if the transaction fails to save or its ID is not generated
+     * @throws AccountNotFoundException    if the account with the specified ID does not exist
+     * @throws DBFailureException          if the transaction fails to save or its ID is not generated
+     * @throws InvalidTransactionException if the amount is finer than the account currency minor unit
      */
     @Override
+    @RetryOnConflict
     public UUID deposit(final UUID accountId, final BigDecimal amount) {
-        final Account account = accountRepository.findById(accountId)
-                .orElseThrow(() -> new AccountNotFoundException(accountId));
-
-        account.setBalance(account.getBalance().add(amount));
-        final Transaction transientTransaction = Transaction.builder()
-                .account(account)
-                .amount(amount)
-                .type(Transaction.TransactionType.DEPOSIT)
-                .build();
-        final Transaction savedTransaction = transactionRepository.save(transientTransaction);
-
-        AssertUtil.notNull(savedTransaction, () -> new DBFailureException("error.transaction.notSaved"));
-        AssertUtil.notNull(savedTransaction.getId(), () -> new DBFailureException("error.transaction.idNotGenerated"));
-        return savedTransaction.getId();
+        return accountIdFilter.screen(accountId, () -> {
+            checkAmount(accountId, amount);
+            balanceCache.evictOnCompletion(accountId);
+            if (balanceStripingProperties.enabled() && !isEventSourced()) {
+                final Optional<UUID> transactionId = depositIntoStripe(accountId, amount);
+                if (transactionId.isPresent()) {
+                    return transactionId.get();
+                }
+            }
+            return switch (concurrencyProperties.strategy()) {
+                case ATOMIC -> depositAtomically(accountId, amount);
+                case PESSIMISTIC -> deposit(lockAccount(accountId), amount);
+                case OPTIMISTIC -> deposit(findAccount(accountId), amount);
+                case EVENT_SOURCED -> deposit(project(lockAccount(accountId)), amount);
+            };
+        });
     }
 
     /**
      * Withdraws a specified amount from the account with the given account ID.
      * Updates the account balance and records the transaction.
+     * When striping is enabled, striped accounts are first debited on a random stripe, then on the account row,
+     * swept from all the stripes when it falls short.
+     * Accounts the existing accounts filter knows nothing of are rejected without a query.
      *
      * @param accountId the unique identifier of the account from which the amount is to be withdrawn
      * @param amount    the amount to be withdrawn from the account
      * @return the unique identifier of the transaction created for the withdrawal
-     * @throws AccountNotFoundException if the account with the specified ID does not exist
-     * @throws DBFailureException       if the transaction fails to save, its ID is not generated,
-     *                                  or the account has insufficient funds
+     * @throws AccountNotFoundException    if the account with the specified ID does not exist
+     * @throws DBFailureException          if the transaction fails to save, its ID is not generated,
+     *                                     or the account has insufficient funds
+     * @throws InvalidTransactionException if the amount is finer than the account currency minor unit
      */
     @Override
+    @RetryOnConflict
     public UUID withdraw(final UUID accountId, final BigDecimal amount) {
-        final Account account = accountRepository.findById(accountId)
+        return accountIdFilter.screen(accountId, () -> {
+            checkAmount(accountId, amount);
+            balanceCache.evictOnCompletion(accountId);
+            if (balanceStripingProperties.enabled() && !isEventSourced()) {
+                final Optional<UUID> transactionId = withdrawFromStripe(accountId, amount);
+                if (transactionId.isPresent()) {
+                    return transactionId.get();
+                }
+            }
+            return switch (concurrencyProperties.strategy()) {
+                case ATOMIC -> withdrawAtomically(accountId, amount);
+                case PESSIMISTIC -> withdraw(lockAccount(accountId), amount);
+                case OPTIMISTIC -> withdraw(findAccount(accountId), amount);
+                case EVENT_SOURCED -> withdraw(project(lockAccount(accountId)), amount);
+            };
+        });
+    }
+
+    /**
+     * Transfers a specified amount from one account to another, atomically.
+     * Both accounts are locked with one statement in primary key order, whatever the transfer direction,
+     * so that concurrent opposite transfers between the same accounts never deadlock.
+     * Between accounts of different currencies, the target is credited with the amount converted at the cached rate.
+     *
+     * @param sourceAccountId the unique identifier of the account to be debited
+     * @param targetAccountId the unique identifier of the account to be credited
+     * @param amount          the amount to be transferred, in the source account currency
+     * @return the unique identifier of the transaction debiting the source account
+     * @throws AccountNotFoundException     if either account does not exist
+     * @throws InsufficientFundsException   if the source account has insufficient funds
+     * @throws InvalidTransactionException if both accounts are the same, the amount is finer than the source
+     *                                     currency minor unit, or no rate converts their currencies
+     */
+    @Override
+    @RetryOnConflict
+    public UUID transfer(final UUID sourceAccountId, final UUID targetAccountId, final BigDecimal amount) {
+        AssertUtil.isTrue(!sourceAccountId.equals(targetAccountId),
+                () -> new InvalidTransactionException("error.transfer.sameAccount"));
+        balanceCache.evictOnCompletion(List.of(sourceAccountId, targetAccountId));
+
+        final Map<UUID, Account> accounts = new HashMap<>();
+        accountRepository.findAllByIdForUpdate(List.of(sourceAccountId, targetAccountId))
+                .forEach(account -> accounts.put(account.getId(), project(account)));
+        final Account source = accounts.get(sourceAccountId);
+        final Account target = accounts.get(targetAccountId);
+        AssertUtil.notNull(source, () -> new AccountNotFoundException(sourceAccountId));
+        AssertUtil.notNull(target, () -> new AccountNotFoundException(targetAccountId));
+        moneyProperties.checkAmount(amount, source.getCurrency());
+        AssertUtil.isTrue(cover(source, amount),
+                () -> InsufficientFundsException.builder()
+                        .accountId(sourceAccountId)
+                        .balance(source.getBalance())
+                        .amount(amount)
+                        .build());
+
+        final BigDecimal credit = fxRateTable.convert(amount, source.getCurrency(), target.getCurrency());
+        source.setBalance(source.getBalance().subtract(amount));
+        target.setBalance(target.getBalance().add(credit));
+        final UUID debitTransactionId = recordTransaction(source, amount, Transaction.TransactionType.TRANSFER_OUT);
+        recordTransaction(target, credit, Transaction.TransactionType.TRANSFER_IN);
+        return debitTransactionId;
+    }
+
+    /**
+     * Applies a batch of deposits and withdrawals, in order, within a single database transaction.
+     * All the involved accounts are locked with one statement, balances are mutated in memory,
+     * then accounts updates and transactions inserts are flushed as JDBC batches.
+     *
+     * @param entries the deposits and withdrawals to apply
+     * @return the outcome of every entry, in the same order
+     * @throws DBFailureException if the transactions fail to save
+     */
+    @Override
+    @RetryOnConflict
+    public List<BatchEntryResult> applyBatch(final List<BatchEntryDTO> entries) {
+        final Map<UUID, Account> accounts = new HashMap<>();
+        final Set<UUID> accountIds = entries.stream()
+                .map(BatchEntryDTO::accountId)
+                .collect(Collectors.toSet());
+        balanceCache.evictOnCompletion(accountIds);
+        accountRepository.findAllByIdForUpdate(accountIds)
+                .forEach(account -> accounts.put(account.getId(), project(account)));
+
+        final Transaction[] transactions = new Transaction[entries.size()];
+        final BatchEntryResult.Status[] statuses = new BatchEntryResult.Status[entries.size()];
+        for (int index = 0; index < entries.size(); index++) {
+            final BatchEntryDTO entry = entries.get(index);
+            final Account account = accounts.get(entry.accountId());
+            if (entry.type() != Transaction.TransactionType.DEPOSIT
+                    && entry.type() != Transaction.TransactionType.WITHDRAWAL) {
+                statuses[index] = BatchEntryResult.Status.UNSUPPORTED_TYPE;
+            } else if (account == null) {
+                statuses[index] = BatchEntryResult.Status.ACCOUNT_NOT_FOUND;
+            } else if (!moneyProperties.fitsMinorUnit(entry.amount(), account.getCurrency())) {
+                statuses[index] = BatchEntryResult.Status.INVALID_AMOUNT;
+            } else if (entry.type() == Transaction.TransactionType.WITHDRAWAL && !cover(account, entry.amount())) {
+                statuses[index] = BatchEntryResult.Status.INSUFFICIENT_FUNDS;
+            } else {
+                account.setBalance(entry.type() == Transaction.TransactionType.WITHDRAWAL
+                        ? account.getBalance().subtract(entry.amount())
+                        : account.getBalance().add(entry.amount()));
+                transactions[index] = Transaction.builder()
+                        .account(account)
+                        .amount(entry.amount())
+                        .currency(account.getCurrency())
+                        .type(entry.type())
+                        .build();
+                statuses[index] = BatchEntryResult.Status.APPLIED;
+            }
+        }
+        final List<Transaction> appliedTransactions = transactionRepository.saveAll(Arrays.stream(transactions)
+                .filter(Objects::nonNull)
+                .toList());
+        if (!appliedTransactions.isEmpty()) {
+            dailyBalanceCheckpointRepository.recordTransactions(appliedTransactions.stream()
+                    .map(Transaction::getId)
+                    .toList());
+        }
+        if (isEventSourced()) {
+            final Map<UUID, Transaction> lastTransactions = new HashMap<>();
+            Arrays.stream(transactions)
+                    .filter(Objects::nonNull)
+                    .forEach(transaction -> lastTransactions.put(transaction.getAccount().getId(), transaction));
+            lastTransactions.values().forEach(eventSourcedLedger::snapshotIfDue);
+        }
+
+        final List<BatchEntryResult> results = new ArrayList<>(entries.size());
+        for (int index = 0; index < entries.size(); index++) {
+            final UUID transactionId = transactions[index] == null ? null : transactions[index].getId();
+            AssertUtil.isTrue(transactions[index] == null || transactionId != null,
+                    () -> new DBFailureException("error.transaction.idNotGenerated"));
+            results.add(BatchEntryResult.builder()
+                    .accountId(entries.get(index).accountId())
+                    .status(statuses[index])
+                    .transactionId(transactionId)
+                    .build());
+        }
+        return results;
+    }
+
+    /**
+     * Reads a page of an account ledger, newest first, seeking past the cursor position,
+     * continued into the archived transactions once the page reaches archived months.
+     * One extra transaction is read to tell whether a next page exists.
+     *
+     * @param accountId the unique identifier of the account
+     * @param cursor    opaque position returned by the previous page, {@code null} for the first page
+     * @param limit     maximum number of transactions in the page
+     * @return the page transactions, with the cursor of the next page when more follow
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public TransactionPage history(final UUID accountId, final String cursor, final int limit) {
+        final Limit lookahead = Limit.of(limit + 1);
+        final TransactionCursor position = cursor == null ? null : TransactionCursor.decode(cursor);
+        final List<TransactionDTO> live = position == null
+                ? transactionRepository.findHistory(accountId, lookahead)
+                : transactionRepository.findHistoryBefore(accountId, position.createdDate(), position.id(), lookahead);
+        final List<TransactionDTO> transactions =
+                transactionArchive.mergeHistory(accountId, position, live, lookahead.max());
+        AssertUtil.isTrue(!transactions.isEmpty() || accountRepository.existsById(accountId),
+                () -> new AccountNotFoundException(accountId));
+
+        if (transactions.size() <= limit) {
+            return TransactionPage.builder()
+                    .transactions(transactions)
+                    .build();
+        }
+        final List<TransactionDTO> page = transactions.subList(0, limit);
+        return TransactionPage.builder()
+                .transactions(page)
+                .nextCursor(TransactionCursor.after(page.getLast()).encode())
+                .build();
+    }
+
+    /**
+     * Load the account, without any lock, relying on its version to reject stale writes
+     *
+     * @param accountId the unique identifier of the account
+     * @return the account
+     * @throws AccountNotFoundException if the account with the specified ID does not exist
+     */
+    private Account findAccount(final UUID accountId) {
+        return accountRepository.findById(accountId)
+                .orElseThrow(() -> new AccountNotFoundException(accountId));
+    }
+
+    /**
+     * Load the account holding its row lock until the transaction ends
+     *
+     * @param accountId the unique identifier of the account
+     * @return the locked account
+     * @throws AccountNotFoundException if the account with the specified ID does not exist
+     */
+    private Account lockAccount(final UUID accountId) {
+        return accountRepository.findByIdForUpdate(accountId)
                 .orElseThrow(() -> new AccountNotFoundException(accountId));
+    }
+
+    /**
+     * Deposit into an already loaded account, and record the transaction
+     *
+     * @param account the account into which the amount is to be deposited
+     * @param amount  the amount to be deposited into the account
+     * @return the unique identifier of the transaction created for the deposit
+     */
+    private UUID deposit(final Account account, final BigDecimal amount) {
+        account.setBalance(account.getBalance().add(amount));
+        return recordTransaction(account, amount, Transaction.TransactionType.DEPOSIT);
+    }
 
-        AssertUtil.isTrue(account.getBalance().compareTo(amount) >= 0,
+    /**
+     * Withdraw from an already loaded account, sweeping its stripes when it falls short, and record the transaction
+     *
+     * @param account the account from which the amount is to be withdrawn
+     * @param amount  the amount to be withdrawn from the account
+     * @return the unique identifier of the transaction created for the withdrawal
+     * @throws InsufficientFundsException if the account has insufficient funds
+     */
+    private UUID withdraw(final Account account, final BigDecimal amount) {
+        AssertUtil.isTrue(cover(account, amount),
                 () -> InsufficientFundsException.builder()
-                        .accountId(accountId)
+                        .accountId(account.getId())
                         .balance(account.getBalance())
                         .amount(amount)
                         .build());
 
         account.setBalance(account.getBalance().subtract(amount));
+        return recordTransaction(account, amount, Transaction.TransactionType.WITHDRAWAL);
+    }
+
+    /**
+     * Deposit crediting the balance and recording the transaction in a single statement,
+     * without loading the account
+     *
+     * @param accountId the unique identifier of the account into which the amount is to be deposited
+     * @param amount    the amount to be deposited into the account
+     * @return the unique identifier of the transaction created for the deposit
+     * @throws AccountNotFoundException if the account with the specified ID does not exist
+     */
+    private UUID depositAtomically(final UUID accountId, final BigDecimal amount) {
+        final UUID transactionId = UuidV7Generator.INSTANCE.generateId();
+        final int recordedRows = transactionRepository.depositAtomically(transactionId, accountId, amount,
+                currentAuditor(), LocalDateTime.now());
+
+        AssertUtil.isTrue(recordedRows > 0, () -> new AccountNotFoundException(accountId));
+        return transactionId;
+    }
+
+    /**
+     * Withdraw debiting the balance, only when it covers the amount, and recording the transaction
+     * in a single statement, without loading the account.
+     * The balance is only read when the statement is rejected, to report the failure reason,
+     * or to fall back on sweeping the account stripes when they hold the missing funds.
+     *
+     * @param accountId the unique identifier of the account from which the amount is to be withdrawn
+     * @param amount    the amount to be withdrawn from the account
+     * @return the unique identifier of the transaction created for the withdrawal
+     * @throws AccountNotFoundException   if the account with the specified ID does not exist
+     * @throws InsufficientFundsException if the account has insufficient funds
+     */
+    private UUID withdrawAtomically(final UUID accountId, final BigDecimal amount) {
+        final UUID transactionId = UuidV7Generator.INSTANCE.generateId();
+        final int recordedRows = transactionRepository.withdrawAtomically(transactionId, accountId, amount,
+                currentAuditor(), LocalDateTime.now());
+
+        if (recordedRows == 0) {
+            final BigDecimal balance = accountRepository.findBalanceById(accountId)
+                    .orElseThrow(() -> new AccountNotFoundException(accountId));
+            if (balance.compareTo(amount) >= 0) {
+                return withdraw(lockAccount(accountId), amount);
+            }
+            throw InsufficientFundsException.builder()
+                    .accountId(accountId)
+                    .balance(balance)
+                    .amount(amount)
+                    .build();
+        }
+        return transactionId;
+    }
+
+    /**
+     * Deposit crediting a random stripe of a striped account, and recording the transaction in a single statement,
+     * without touching the account row
+     *
+     * @param accountId the unique identifier of the account into which the amount is to be deposited
+     * @param amount    the amount to be deposited into the account
+     * @return the unique identifier of the transaction created for the deposit, empty when the account is not striped
+     */
+    private Optional<UUID> depositIntoStripe(final UUID accountId, final BigDecimal amount) {
+        final UUID transactionId = UuidV7Generator.INSTANCE.generateId();
+        final int recordedRows = balanceStripeRepository.depositIntoStripe(transactionId, accountId,
+                ThreadLocalRandom.current().nextInt(Integer.MAX_VALUE), amount, currentAuditor(), LocalDateTime.now());
+        return recordedRows > 0 ? Optional.of(transactionId) : Optional.empty();
+    }
+
+    /**
+     * Withdraw debiting a random stripe of a striped account, only when it covers the amount,
+     * and recording the transaction in a single statement, without touching the account row.
+     * A debit waiting on a stripe concurrently swept still locks the stripe row when the swept stripe falls short,
+     * so a debit recording nothing is rolled back to a savepoint, releasing that lock before the account row gets
+     * locked, otherwise the sweeper holding the account row would wait on this stripe, and deadlock.
+     *
+     * @param accountId the unique identifier of the account from which the amount is to be withdrawn
+     * @param amount    the amount to be withdrawn from the account
+     * @return the unique identifier of the transaction created for the withdrawal,
+     * empty when the account is not striped or the picked stripe falls short
+     */
+    private Optional<UUID> withdrawFromStripe(final UUID accountId, final BigDecimal amount) {
+        final UUID transactionId = UuidV7Generator.INSTANCE.generateId();
+        jdbcTemplate.execute(SAVEPOINT_STRIPE_DEBIT);
+        final int recordedRows = balanceStripeRepository.withdrawFromStripe(transactionId, accountId,
+                ThreadLocalRandom.current().nextInt(Integer.MAX_VALUE), amount, currentAuditor(), LocalDateTime.now());
+        if (recordedRows > 0) {
+            return Optional.of(transactionId);
+        }
+        jdbcTemplate.execute(ROLLBACK_STRIPE_DEBIT);
+        return Optional.empty();
+    }
+
+    /**
+     * Check an amount against the minor unit of its account currency, read from the local cache,
+     * leaving unknown accounts to the operation itself
+     *
+     * @param accountId the unique identifier of the account
+     * @param amount    the amount to be moved
+     * @throws InvalidTransactionException if the amount is finer than the account currency minor unit
+     */
+    private void checkAmount(final UUID accountId, final BigDecimal amount) {
+        if (moneyProperties.requiresCurrencyCheck(amount)) {
+            accountCurrencyCache.get(accountId, accountRepository::findCurrencyById)
+                    .ifPresent(currency -> moneyProperties.checkAmount(amount, currency));
+        }
+    }
+
+    /**
+     * Check that a loaded account row covers the amount, sweeping the account stripes into it when it falls short.
+     * Stripes are locked in index order, always after the account row, so that sweepers never deadlock.
+     * The account row lock leaves its key share locks alone, so that single stripe statements holding a stripe
+     * still record their transactions against the account, and stripe debits falling short release their stripe
+     * before locking the account row, so that neither deadlocks with the sweeper.
+     *
+     * @param account the account to be debited
+     * @param amount  the amount to be debited
+     * @return {@code true} when the account row covers the amount, otherwise all stripes got swept into it
+     */
+    private boolean cover(final Account account, final BigDecimal amount) {
+        if (account.getStripes() != null && account.getBalance().compareTo(amount) < 0) {
+            for (final BalanceStripe stripe : balanceStripeRepository.findAllByAccountIdForUpdate(account.getId())) {
+                final BigDecimal shortfall = amount.subtract(account.getBalance());
+                if (shortfall.signum() <= 0) {
+                    break;
+                }
+                final BigDecimal swept = stripe.getBalance().min(shortfall);
+                stripe.setBalance(stripe.getBalance().subtract(swept));
+                account.setBalance(account.getBalance().add(swept));
+            }
+        }
+        return account.getBalance().compareTo(amount) >= 0;
+    }
+
+    /**
+     * Whether the transactions ledger is authoritative, with the {@code EVENT_SOURCED} strategy
+     *
+     * @return {@code true} when event-sourced
+     */
+    private boolean isEventSourced() {
+        return concurrencyProperties.strategy() == ConcurrencyProperties.Strategy.EVENT_SOURCED;
+    }
+
+    /**
+     * Project the balance of a locked account from its ledger, with the {@code EVENT_SOURCED} strategy,
+     * so that the checks and mutations of the loaded account apply to the authoritative balance
+     *
+     * @param account the account, holding its row lock
+     * @return the same account
+     */
+    private Account project(final Account account) {
+        if (isEventSourced()) {
+            account.setBalance(eventSourcedLedger.balanceAsOf(account.getId(), LocalDateTime.now()).balance());
+        }
+        return account;
+    }
+
+    /**
+     * Derive the balance of an account from its ledger, as of a timestamp
+     *
+     * @param accountId the unique identifier of the account
+     * @param asOf      latest transaction timestamp to account for
+     * @return the derived balance
+     * @throws AccountNotFoundException if the account with the specified ID does not exist
+     */
+    private BigDecimal balanceFromLedger(final UUID accountId, final LocalDateTime asOf) {
+        final LedgerFold ledger = eventSourcedLedger.balanceAsOf(accountId, asOf);
+        AssertUtil.isTrue(ledger.events() > 0 || accountRepository.existsById(accountId),
+                () -> new AccountNotFoundException(accountId));
+        return ledger.balance();
+    }
+
+    /**
+     * Resolve the auditor of statements bypassing the JPA auditing listener
+     *
+     * @return the current auditor name, if any
+     */
+    private String currentAuditor() {
+        return auditorAware.getCurrentAuditor().orElse(null);
+    }
+
+    /**
+     * Record a transaction against the account, and add it to the account daily checkpoint
+     *
+     * @param account the account of the transaction
+     * @param amount  the transaction amount
+     * @param type    the transaction type
+     * @return the unique identifier of the recorded transaction
+     * @throws DBFailureException if the transaction fails to save or its ID is not generated
+     */
+    private UUID recordTransaction(final Account account, final BigDecimal amount,
+                                   final Transaction.TransactionType type) {
         final Transaction transientTransaction = Transaction.builder()
                 .account(account)
                 .amount(amount)
-                .type(Transaction.TransactionType.WITHDRAWAL)
+                .currency(account.getCurrency())
+                .type(type)
                 .build();
         final Transaction savedTransaction = transactionRepository.save(transientTransaction);
 
         AssertUtil.notNull(savedTransaction, () -> new DBFailureException("error.transaction.notSaved"));
         AssertUtil.notNull(savedTransaction.getId(), () -> new DBFailureException("error.transaction.idNotGenerated"));
+        dailyBalanceCheckpointRepository.recordTransactions(List.of(savedTransaction.getId()));
+        if (isEventSourced()) {
+            eventSourcedLedger.snapshotIfDue(savedTransaction);
+        }
         return savedTransaction.getId();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,182 @@
+package com.axis.account.service.impl;
+
+import com.axis.account.aspect.RetryOnConflict;
+import com.axis.account.config.IdempotencyProperties;
+import com.axis.account.exception.DBFailureException;
+import com.axis.account.exception.IdempotencyKeyReusedException;
+import com.axis.account.exception.InvalidTransactionException;
+import com.axis.account.model.IdempotencyKey;
+import com.axis.account.repository.IdempotencyKeyRepository;
+import com.axis.account.service.IdempotencyService;
+import com.axis.account.util.AssertUtil;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Money movements idempotency services.
+ * <p>
+ * Keys are looked up in a bounded in-memory cache (Caffeine, hash based without a global lock, TTL evicted),
+ * then in the persisted keys table. A new key is persisted in the same database transaction as the money
+ * movement, so a concurrent duplicate either sees it committed, or rolls its own movement back on conflict.
+ * Every key is stored with the SHA-256 hash of its request, a retry carrying another request being rejected
+ * rather than answered with the transaction of the first one.
+ *
+ * @author Mahmoud Shtayeh
+ */
+@Slf4j
+@Service("idempotencyService")
+public class IdempotencyServiceImpl implements IdempotencyService {
+    /**
+     * Idempotency keys repository
+     */
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+
+    /**
+     * Programmatic transaction, binding the money movement and its key
+     */
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Idempotency configuration
+     */
+    private final IdempotencyProperties idempotencyProperties;
+
+    /**
+     * Recently used keys, in front of the persisted ones
+     */
+    private final Cache<String, IdempotencyKey> recentKeys;
+
+    /**
+     * Build the idempotency service with its bounded keys cache
+     *
+     * @param idempotencyKeyRepository Idempotency keys repository
+     * @param transactionTemplate      Programmatic transaction
+     * @param idempotencyProperties    Idempotency configuration
+     */
+    public IdempotencyServiceImpl(final IdempotencyKeyRepository idempotencyKeyRepository,
+                                  final TransactionTemplate transactionTemplate,
+                                  final IdempotencyProperties idempotencyProperties) {
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.idempotencyProperties = idempotencyProperties;
+        this.recentKeys = Caffeine.newBuilder()
+                .maximumSize(idempotencyProperties.cacheSize())
+                .expireAfterWrite(idempotencyProperties.ttl())
+                .build();
+    }
+
+    /**
+     * Executes a money movement at most once per idempotency key.
+     *
+     * @param key       client supplied idempotency key
+     * @param request   description of the money movement, equal for every retry of the same request
+     * @param operation money movement, returning the unique identifier of its transaction
+     * @return the unique identifier of the transaction produced by the first execution
+     * @throws InvalidTransactionException    if the key is blank or too long
+     * @throws IdempotencyKeyReusedException if the key is already bound to another request
+     */
+    @Override
+    @RetryOnConflict
+    public UUID execute(final String key, final String request, final Supplier<UUID> operation) {
+        AssertUtil.isTrue(key != null && !key.isBlank() && key.length() <= MAX_KEY_LENGTH,
+                () -> new InvalidTransactionException("error.idempotency.invalidKey"));
+        final String requestHash = hash(request);
+
+        final IdempotencyKey recentKey = recentKeys.getIfPresent(key);
+        if (recentKey != null) {
+            return transactionOf(recentKey, requestHash);
+        }
+
+        final IdempotencyKey boundKey = idempotencyKeyRepository.findById(key)
+                .orElseGet(() -> executeOnce(key, requestHash, operation));
+        recentKeys.put(key, boundKey);
+        return transactionOf(boundKey, requestHash);
+    }
+
+    /**
+     * Execute the money movement and persist its key within one database transaction.
+     * When a concurrent request committed the same key first, the movement is rolled back
+     * and the key bound by the first request is returned.
+     *
+     * @param key         client supplied idempotency key
+     * @param requestHash hash of the request carrying the key
+     * @param operation   money movement
+     * @return the key, bound to the unique identifier of its transaction
+     */
+    private IdempotencyKey executeOnce(final String key, final String requestHash, final Supplier<UUID> operation) {
+        final UUID transactionId = transactionTemplate.execute(status -> {
+            final UUID executedTransactionId = operation.get();
+            if (idempotencyKeyRepository.insertIfAbsent(key, executedTransactionId, requestHash,
+                    LocalDateTime.now()) == 0) {
+                status.setRollbackOnly();
+                return null;
+            }
+            return executedTransactionId;
+        });
+
+        if (transactionId != null) {
+            return IdempotencyKey.builder()
+                    .key(key)
+                    .transactionId(transactionId)
+                    .requestHash(requestHash)
+                    .build();
+        }
+        log.info("Idempotency key: {} | Concurrent duplicate rolled back", key);
+        return idempotencyKeyRepository.findById(key)
+                .orElseThrow(() -> new DBFailureException("error.transaction.notSaved"));
+    }
+
+    /**
+     * The transaction bound to the key, provided the key is repeated with the request it is bound to.
+     *
+     * @param boundKey    the idempotency key, bound to its first request
+     * @param requestHash hash of the request carrying the key now
+     * @return the unique identifier of the transaction bound to the key
+     * @throws IdempotencyKeyReusedException if the key is bound to another request
+     */
+    private static UUID transactionOf(final IdempotencyKey boundKey, final String requestHash) {
+        AssertUtil.isTrue(boundKey.getRequestHash().equals(requestHash),
+                () -> new IdempotencyKeyReusedException(boundKey.getKey()));
+        return boundKey.getTransactionId();
+    }
+
+    /**
+     * Hash the request description
+     *
+     * @param request description of the money movement
+     * @return hexadecimal SHA-256 hash of the request
+     */
+    private static String hash(final String request) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+                    .digest(Objects.requireNonNull(request).getBytes(StandardCharsets.UTF_8)));
+        } catch (final NoSuchAlgorithmException exception) {
+            throw new IllegalStateException("SHA-256 is not supported", exception);
+        }
+    }
+
+    /**
+     * Purge the persisted keys older than their time to live
+     */
+    @Transactional
+    @Scheduled(fixedDelayString = "${axis.account.idempotency.purge-interval:PT1H}")
+    public void purgeExpiredKeys() {
+        final int purgedKeys = idempotencyKeyRepository
+                .deleteCreatedBefore(LocalDateTime.now().minus(idempotencyProperties.ttl()));
+        log.info("Idempotency keys purged: {}", purgedKeys);
+    }
+}
@@ -0,0 +1,600 @@
+package com.axis.account.service.impl;
+
+import com.axis.account.cache.AccountCurrencyCache;
+import com.axis.account.cache.AccountIdFilter;
+import com.axis.account.config.MoneyProperties;
+import com.axis.account.dto.AccountDTO;
+import com.axis.account.dto.TransactionCursor;
+import com.axis.account.dto.TransactionDTO;
+import com.axis.account.dto.TransactionPage;
+import com.axis.account.exception.AccountNotFoundException;
+import com.axis.account.exception.InsufficientFundsException;
+import com.axis.account.exception.InvalidTransactionException;
+import com.axis.account.model.Transaction;
+import com.axis.account.money.FxRateTable;
+import com.axis.account.partition.TransactionArchive;
+import com.axis.account.service.ReactiveAccountService;
+import com.axis.account.util.UuidV7Generator;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Axis accounts non-blocking services, over R2DBC.
+ * Balances are mutated with the same conditional, single statement, updates as the {@code ATOMIC} strategy
+ * of {@link AccountServiceImpl}, so no account is ever loaded to be modified.
+ *
+ * @author Mahmoud Shtayeh
+ */
+@Profile("reactive")
+@RequiredArgsConstructor
+@Service("reactiveAccountService")
+public class ReactiveAccountServiceImpl implements ReactiveAccountService {
+    /**
+     * Insert a new account
+     */
+    private static final String OPEN_ACCOUNT = """
+            INSERT INTO account (id, username, balance, currency, version,
+                                 created_by, created_date, last_modified_by, last_modified_date)
+            VALUES (:accountId, :username, :balance, :currency, 0, :auditor, :timestamp, :auditor, :timestamp)
+            """;
+
+    /**
+     * Read an account balance, adding up its row balance and the balances of its stripes, if any
+     */
+    private static final String FIND_BALANCE = """
+            SELECT a.balance + COALESCE((SELECT SUM(s.balance) FROM balance_stripe s WHERE s.account_id = a.id), 0)
+                       AS balance
+            FROM account a
+            WHERE a.id = :accountId
+            """;
+
+    /**
+     * Read an account currency
+     */
+    private static final String FIND_CURRENCY = "SELECT currency FROM account WHERE id = :accountId";
+
+    /**
+     * Move the account balance by a signed delta, only when it stays non-negative,
+     * and record the transaction and its daily checkpoint movement, in a single statement
+     */
+    private static final String MOVE_BALANCE = """
+            WITH moved AS (
+                UPDATE account
+                SET balance = balance + :delta, version = version + 1,
+                    last_modified_by = :auditor, last_modified_date = :timestamp
+                WHERE id = :accountId AND balance + :delta >= 0
+                RETURNING id, currency),
+            checkpointed AS (
+                INSERT INTO daily_balance_checkpoint (id, account_id, day, slot, net)
+                SELECT gen_random_uuid(), id, CAST(:timestamp AS date), 0, :delta
+                FROM moved
+                ON CONFLICT (account_id, day, slot) DO UPDATE SET net = daily_balance_checkpoint.net + EXCLUDED.net)
+            INSERT INTO transaction (id, account_id, amount, currency, type,
+                                     created_by, created_date, last_modified_by, last_modified_date)
+            SELECT :transactionId, id, :amount, currency, :type, :auditor, :timestamp, :auditor, :timestamp
+            FROM moved
+            """;
+
+    /**
+     * Lock the balances of many accounts, in primary key order, until the transaction ends,
+     * leaving the key share locks of the foreign key checks alone
+     */
+    private static final String LOCK_BALANCES = "SELECT id, balance, currency, stripes FROM account "
+            + "WHERE id IN (:accountIds) ORDER BY id FOR NO KEY UPDATE";
+
+    /**
+     * Lock the balance stripes of an account, in index order, until the transaction ends
+     */
+    private static final String LOCK_STRIPES =
+            "SELECT id, balance FROM balance_stripe WHERE account_id = :accountId ORDER BY stripe FOR UPDATE";
+
+    /**
+     * Move funds out of a locked balance stripe
+     */
+    private static final String DEBIT_STRIPE = "UPDATE balance_stripe SET balance = balance - :swept WHERE id = :id";
+
+    /**
+     * Move the funds swept out of the stripes of a locked account into its row balance
+     */
+    private static final String CREDIT_SWEPT = """
+            UPDATE account
+            SET balance = balance + :swept, version = version + 1,
+                last_modified_by = :auditor, last_modified_date = :timestamp
+            WHERE id = :accountId
+            """;
+
+    /**
+     * Read the newest transactions of an account
+     */
+    private static final String FIND_HISTORY = """
+            SELECT id, type, amount, created_date
+            FROM transaction
+            WHERE account_id = :accountId
+            ORDER BY created_date DESC, id DESC
+            LIMIT :limit
+            """;
+
+    /**
+     * Read the transactions of an account older than a keyset position
+     */
+    private static final String FIND_HISTORY_BEFORE = """
+            SELECT id, type, amount, created_date
+            FROM transaction
+            WHERE account_id = :accountId AND (created_date, id) < (:createdDate, :id)
+            ORDER BY created_date DESC, id DESC
+            LIMIT :limit
+            """;
+
+    /**
+     * Non-blocking database client
+     */
+    private final DatabaseClient databaseClient;
+
+    /**
+     * Demarcates the non-blocking transactions
+     */
+    private final TransactionalOperator transactionalOperator;
+
+    /**
+     * Auditor provider, the statements bypass the JPA auditing listener
+     */
+    private final AuditorAware<String> auditorAware;
+
+    /**
+     * Archived transactions files, read past the transactions left in the database
+     */
+    private final TransactionArchive transactionArchive;
+
+    /**
+     * Accounts default currency, and the currencies accounts may be opened in
+     */
+    private final MoneyProperties moneyProperties;
+
+    /**
+     * Converts the amounts credited by cross-currency transfers
+     */
+    private final FxRateTable fxRateTable;
+
+    /**
+     * Existing accounts filter, rejecting unknown accounts without a query
+     */
+    private final AccountIdFilter accountIdFilter;
+
+    /**
+     * Accounts currencies, checking amounts against their minor unit
+     */
+    private final AccountCurrencyCache accountCurrencyCache;
+
+    /**
+     * Open an account in Axis
+     *
+     * @param accountDTO Account details to create, in the default currency when none is given
+     * @return Created account ID, or {@link InvalidTransactionException} if the currency is not supported,
+     * or the balance is finer than its minor unit
+     */
+    @Override
+    public Mono<UUID> openAccount(final AccountDTO accountDTO) {
+        final Currency currency;
+        try {
+            currency = moneyProperties.accountCurrency(accountDTO.currency());
+            moneyProperties.checkAmount(accountDTO.balance(), currency);
+        } catch (final InvalidTransactionException exception) {
+            return Mono.error(exception);
+        }
+        final UUID accountId = UuidV7Generator.INSTANCE.generateId();
+        accountIdFilter.add(accountId);
+        accountCurrencyCache.put(accountId, currency);
+        return databaseClient.sql(OPEN_ACCOUNT)
+                .bind("accountId", accountId)
+                .bind("username", accountDTO.username())
+                .bind("balance", accountDTO.balance())
+                .bind("currency", currency.getCurrencyCode())
+                .bind("auditor", currentAuditor())
+                .bind("timestamp", LocalDateTime.now())
+                .fetch()
+                .rowsUpdated()
+                .thenReturn(accountId);
+    }
+
+    /**
+     * Retrieves the current balance for a specific account.
+     * Accounts the existing accounts filter knows nothing of are rejected without a query.
+     *
+     * @param accountId the unique identifier of the account
+     * @return the current balance of the account, or {@link AccountNotFoundException}
+     */
+    @Override
+    public Mono<BigDecimal> checkBalance(final UUID accountId) {
+        return screen(accountId, () -> findBalance(accountId)
+                .switchIfEmpty(Mono.error(() -> new AccountNotFoundException(accountId))));
+    }
+
+    /**
+     * Deposits a specified amount into the account, crediting the balance and recording the transaction
+     * in a single statement.
+     * Accounts the existing accounts filter knows nothing of are rejected without a query.
+     *
+     * @param accountId the unique identifier of the account into which the amount is to be deposited
+     * @param amount    the amount to be deposited into the account
+     * @return the unique identifier of the transaction created for the deposit, or {@link AccountNotFoundException},
+     * or {@link InvalidTransactionException} if the amount is finer than the account currency minor unit
+     */
+    @Override
+    public Mono<UUID> deposit(final UUID accountId, final BigDecimal amount) {
+        return screen(accountId, () -> checkAmount(accountId, amount)
+                .then(moveBalance(accountId, amount, amount, Transaction.TransactionType.DEPOSIT))
+                .switchIfEmpty(Mono.error(() -> new AccountNotFoundException(accountId))));
+    }
+
+    /**
+     * Withdraws a specified amount from the account, debiting the balance, only when it covers the amount,
+     * and recording the transaction in a single statement.
+     * When the statement is rejected, the account row is locked, and swept from the account stripes when they hold
+     * the missing funds, before debiting it again, or reporting the whole balance as insufficient.
+     * Accounts the existing accounts filter knows nothing of are rejected without a query.
+     *
+     * @param accountId the unique identifier of the account from which the amount is to be withdrawn
+     * @param amount    the amount to be withdrawn from the account
+     * @return the unique identifier of the transaction created for the withdrawal,
+     * or {@link AccountNotFoundException}, or {@link InsufficientFundsException},
+     * or {@link InvalidTransactionException} if the amount is finer than the account currency minor unit
+     */
+    @Override
+    public Mono<UUID> withdraw(final UUID accountId, final BigDecimal amount) {
+        return screen(accountId, () -> checkAmount(accountId, amount)
+                .then(moveBalance(accountId, amount.negate(), amount, Transaction.TransactionType.WITHDRAWAL))
+                .switchIfEmpty(Mono.defer(() -> lockBalances(List.of(accountId))
+                        .flatMap(accounts -> {
+                            final LockedAccount account = accounts.get(accountId);
+                            if (account == null) {
+                                return Mono.error(new AccountNotFoundException(accountId));
+                            }
+                            return debit(account, amount, Transaction.TransactionType.WITHDRAWAL);
+                        })
+                        .as(transactionalOperator::transactional))));
+    }
+
+    /**
+     * Transfers a specified amount from one account to another, within a single transaction.
+     * Both accounts are locked with one statement in primary key order, whatever the transfer direction,
+     * so that concurrent opposite transfers between the same accounts never deadlock.
+     * The source account row is swept from its stripes when it falls short.
+     * The target account is credited with the amount converted to its currency.
+     *
+     * @param sourceAccountId the unique identifier of the account to be debited
+     * @param targetAccountId the unique identifier of the account to be credited
+     * @param amount          the amount to be transferred, in the source account currency
+     * @return the unique identifier of the transaction debiting the source account,
+     * or {@link AccountNotFoundException}, or {@link InsufficientFundsException},
+     * or {@link InvalidTransactionException} if both accounts are the same, the amount is finer than the source
+     * currency minor unit, or no rate converts their currencies
+     */
+    @Override
+    public Mono<UUID> transfer(final UUID sourceAccountId, final UUID targetAccountId, final BigDecimal amount) {
+        if (sourceAccountId.equals(targetAccountId)) {
+            return Mono.error(() -> new InvalidTransactionException("error.transfer.sameAccount"));
+        }
+
+        return lockBalances(List.of(sourceAccountId, targetAccountId))
+                .flatMap(accounts -> {
+                    final LockedAccount source = accounts.get(sourceAccountId);
+                    if (source == null) {
+                        return Mono.error(new AccountNotFoundException(sourceAccountId));
+                    }
+                    final LockedAccount target = accounts.get(targetAccountId);
+                    if (target == null) {
+                        return Mono.error(new AccountNotFoundException(targetAccountId));
+                    }
+                    final BigDecimal credit;
+                    try {
+                        moneyProperties.checkAmount(amount, source.currency());
+                        credit = fxRateTable.convert(amount, source.currency(), target.currency());
+                    } catch (final InvalidTransactionException exception) {
+                        return Mono.error(exception);
+                    }
+                    return debit(source, amount, Transaction.TransactionType.TRANSFER_OUT)
+                            .flatMap(debitTransactionId -> moveBalance(targetAccountId, credit, credit,
+                                    Transaction.TransactionType.TRANSFER_IN)
+                                    .thenReturn(debitTransactionId));
+                })
+                .as(transactionalOperator::transactional);
+    }
+
+    /**
+     * Reads a page of an account ledger, newest first, seeking past the cursor position,
+     * continued into the archived transactions once the page reaches archived months, off the event loop.
+     * One extra transaction is read to tell whether a next page exists.
+     *
+     * @param accountId the unique identifier of the account
+     * @param cursor    opaque position returned by the previous page, {@code null} for the first page
+     * @param limit     maximum number of transactions in the page
+     * @return the page transactions, with the cursor of the next page when more follow,
+     * or {@link AccountNotFoundException}, or {@link InvalidTransactionException} if the cursor is invalid
+     */
+    @Override
+    public Mono<TransactionPage> history(final UUID accountId, final String cursor, final int limit) {
+        return Mono.fromCallable(() -> cursor == null
+                        ? databaseClient.sql(FIND_HISTORY)
+                        : bindPosition(databaseClient.sql(FIND_HISTORY_BEFORE), TransactionCursor.decode(cursor)))
+                .flatMap(statement -> statement
+                        .bind("accountId", accountId)
+                        .bind("limit", limit + 1)
+                        .map(ReactiveAccountServiceImpl::toTransaction)
+                        .all()
+                        .collectList())
+                .flatMap(live -> Mono.fromCallable(() -> transactionArchive.mergeHistory(accountId,
+                                cursor == null ? null : TransactionCursor.decode(cursor), live, limit + 1))
+                        .subscribeOn(Schedulers.boundedElastic()))
+                .flatMap(transactions -> transactions.isEmpty()
+                        ? checkBalance(accountId).thenReturn(transactions)
+                        : Mono.just(transactions))
+                .map(transactions -> {
+                    if (transactions.size() <= limit) {
+                        return TransactionPage.builder()
+                                .transactions(transactions)
+                                .build();
+                    }
+                    final List<TransactionDTO> page = transactions.subList(0, limit);
+                    return TransactionPage.builder()
+                            .transactions(page)
+                            .nextCursor(TransactionCursor.after(page.getLast()).encode())
+                            .build();
+                });
+    }
+
+    /**
+     * Look an account up, unless its ID is definitely unknown, counting the lookups the filter failed to spare
+     *
+     * @param accountId the unique identifier of the account
+     * @param lookup    reads the account, failing with {@link AccountNotFoundException} if it does not exist
+     * @param <T>       the lookup result type
+     * @return the lookup result, or {@link AccountNotFoundException}
+     */
+    private <T> Mono<T> screen(final UUID accountId, final Supplier<Mono<T>> lookup) {
+        if (!accountIdFilter.mightContain(accountId)) {
+            return Mono.error(() -> new AccountNotFoundException(accountId));
+        }
+        return lookup.get()
+                .doOnError(AccountNotFoundException.class, exception -> accountIdFilter.recordFalsePositive());
+    }
+
+    /**
+     * Check an amount against the minor unit of its account currency, read from the local cache, or the database
+     * on a miss, leaving unknown accounts to the operation itself
+     *
+     * @param accountId the unique identifier of the account
+     * @param amount    the amount to be moved
+     * @return completion, or {@link InvalidTransactionException} if the amount is finer than the account currency
+     * minor unit
+     */
+    private Mono<Void> checkAmount(final UUID accountId, final BigDecimal amount) {
+        return Mono.fromCallable(() -> moneyProperties.requiresCurrencyCheck(amount))
+                .filter(Boolean::booleanValue)
+                .flatMap(required -> Mono.justOrEmpty(accountCurrencyCache.getIfPresent(accountId))
+                        .switchIfEmpty(Mono.defer(() -> findCurrency(accountId))))
+                .doOnNext(currency -> moneyProperties.checkAmount(amount, currency))
+                .then();
+    }
+
+    /**
+     * Read an account currency, caching it
+     *
+     * @param accountId the unique identifier of the account
+     * @return the account currency, empty when the account does not exist
+     */
+    private Mono<Currency> findCurrency(final UUID accountId) {
+        return databaseClient.sql(FIND_CURRENCY)
+                .bind("accountId", accountId)
+                .map(row -> Currency.getInstance(row.get("currency", String.class)))
+                .one()
+                .doOnNext(currency -> accountCurrencyCache.put(accountId, currency));
+    }
+
+    /**
+     * Lock the balances of many accounts, in primary key order, until the transaction ends
+     *
+     * @param accountIds the unique identifiers of the accounts
+     * @return the locked accounts by their IDs, missing the accounts that do not exist
+     */
+    private Mono<Map<UUID, LockedAccount>> lockBalances(final List<UUID> accountIds) {
+        return databaseClient.sql(LOCK_BALANCES)
+                .bind("accountIds", accountIds)
+                .map(row -> new LockedAccount(row.get("id", UUID.class), row.get("balance", BigDecimal.class),
+                        Currency.getInstance(row.get("currency", String.class)), row.get("stripes", Integer.class)))
+                .all()
+                .collectMap(LockedAccount::id);
+    }
+
+    /**
+     * Debit a locked account, sweeping its stripes into its row when it falls short, and record the transaction
+     *
+     * @param account the account to be debited, holding its row lock
+     * @param amount  the amount to be debited
+     * @param type    the transaction type
+     * @return the unique identifier of the recorded transaction, or {@link InsufficientFundsException}
+     */
+    private Mono<UUID> debit(final LockedAccount account, final BigDecimal amount,
+                             final Transaction.TransactionType type) {
+        return cover(account, amount)
+                .flatMap(balance -> {
+                    if (balance.compareTo(amount) < 0) {
+                        return Mono.error(InsufficientFundsException.builder()
+                                .accountId(account.id())
+                                .balance(balance)
+                                .amount(amount)
+                                .build());
+                    }
+                    return moveBalance(account.id(), amount.negate(), amount, type)
+                            .switchIfEmpty(Mono.error(() -> new AccountNotFoundException(account.id())));
+                });
+    }
+
+    /**
+     * Sweep the stripes of a locked account into its row when the row falls short of the amount,
+     * as {@link AccountServiceImpl} does. Stripes are locked in index order, always after the account row,
+     * so that sweepers never deadlock. The account row lock leaves its key share locks alone, so that single stripe
+     * statements holding a stripe still record their transactions against the account.
+     *
+     * @param account the account to be debited, holding its row lock
+     * @param amount  the amount to be debited
+     * @return the account row balance, covering the amount, otherwise all stripes got swept into it
+     */
+    private Mono<BigDecimal> cover(final LockedAccount account, final BigDecimal amount) {
+        if (account.stripes() == null || account.balance().compareTo(amount) >= 0) {
+            return Mono.just(account.balance());
+        }
+        return databaseClient.sql(LOCK_STRIPES)
+                .bind("accountId", account.id())
+                .map(row -> new LockedStripe(row.get("id", UUID.class), row.get("balance", BigDecimal.class)))
+                .all()
+                .collectList()
+                .flatMap(stripes -> {
+                    final List<Mono<Long>> sweeps = new ArrayList<>();
+                    BigDecimal balance = account.balance();
+                    for (final LockedStripe stripe : stripes) {
+                        final BigDecimal shortfall = amount.subtract(balance);
+                        if (shortfall.signum() <= 0) {
+                            break;
+                        }
+                        final BigDecimal swept = stripe.balance().min(shortfall);
+                        if (swept.signum() > 0) {
+                            sweeps.add(databaseClient.sql(DEBIT_STRIPE)
+                                    .bind("id", stripe.id())
+                                    .bind("swept", swept)
+                                    .fetch()
+                                    .rowsUpdated());
+                            balance = balance.add(swept);
+                        }
+                    }
+                    if (sweeps.isEmpty()) {
+                        return Mono.just(balance);
+                    }
+                    return Flux.concat(sweeps)
+                            .then(databaseClient.sql(CREDIT_SWEPT)
+                                    .bind("accountId", account.id())
+                                    .bind("swept", balance.subtract(account.balance()))
+                                    .bind("auditor", currentAuditor())
+                                    .bind("timestamp", LocalDateTime.now())
+                                    .fetch()
+                                    .rowsUpdated())
+                            .thenReturn(balance);
+                });
+    }
+
+    /**
+     * Read an account balance
+     *
+     * @param accountId the unique identifier of the account
+     * @return the account balance, empty when the account does not exist
+     */
+    private Mono<BigDecimal> findBalance(final UUID accountId) {
+        return databaseClient.sql(FIND_BALANCE)
+                .bind("accountId", accountId)
+                .map(row -> row.get("balance", BigDecimal.class))
+                .one();
+    }
+
+    /**
+     * Move the account balance, only when it stays non-negative, and record the transaction, in a single statement
+     *
+     * @param accountId the unique identifier of the account
+     * @param delta     signed balance change
+     * @param amount    the transaction amount
+     * @param type      the transaction type
+     * @return the unique identifier of the recorded transaction,
+     * empty when the account does not exist or the balance does not cover the delta
+     */
+    private Mono<UUID> moveBalance(final UUID accountId, final BigDecimal delta, final BigDecimal amount,
+                                   final Transaction.TransactionType type) {
+        final UUID transactionId = UuidV7Generator.INSTANCE.generateId();
+        return databaseClient.sql(MOVE_BALANCE)
+                .bind("transactionId", transactionId)
+                .bind("accountId", accountId)
+                .bind("delta", delta)
+                .bind("amount", amount)
+                .bind("type", type.name())
+                .bind("auditor", currentAuditor())
+                .bind("timestamp", LocalDateTime.now())
+                .fetch()
+                .rowsUpdated()
+                .filter(recordedRows -> recordedRows > 0)
+                .map(recordedRows -> transactionId);
+    }
+
+    /**
+     * Bind the keyset position of a history page
+     *
+     * @param statement history statement
+     * @param position  position of the last transaction already read
+     * @return the bound statement
+     */
+    private static DatabaseClient.GenericExecuteSpec bindPosition(final DatabaseClient.GenericExecuteSpec statement,
+                                                                  final TransactionCursor position) {
+        return statement
+                .bind("createdDate", position.createdDate())
+                .bind("id", position.id());
+    }
+
+    /**
+     * Map a history row to a transaction
+     *
+     * @param row history row
+     * @return the transaction
+     */
+    private static TransactionDTO toTransaction(final Readable row) {
+        return TransactionDTO.builder()
+                .id(row.get("id", UUID.class))
+                .type(Transaction.TransactionType.valueOf(row.get("type", String.class)))
+                .amount(row.get("amount", BigDecimal.class))
+                .createdDate(row.get("created_date", LocalDateTime.class))
+                .build();
+    }
+
+    /**
+     * Resolve the auditor of the statements
+     *
+     * @return the current auditor name
+     */
+    private String currentAuditor() {
+        return auditorAware.getCurrentAuditor().orElseThrow();
+    }
+
+    /**
+     * Account locked by a debit
+     *
+     * @param id       the unique identifier of the account
+     * @param balance  the account row balance
+     * @param currency the account currency
+     * @param stripes  the number of stripes of the account balance, null when not striped
+     * @author Mahmoud Shtayeh
+     */
+    private record LockedAccount(UUID id, BigDecimal balance, Currency currency, Integer stripes) {
+    }
+
+    /**
+     * Balance stripe locked by a sweep
+     *
+     * @param id      the unique identifier of the stripe
+     * @param balance the stripe balance
+     * @author Mahmoud Shtayeh
+     */
+    private record LockedStripe(UUID id, BigDecimal balance) {
+    }
+}
@@ -0,0 +1,122 @@
+package com.axis.account.service.impl;
+
+import com.axis.account.dto.StatementFormat;
+import com.axis.account.dto.TransactionDTO;
+import com.axis.account.exception.AccountNotFoundException;
+import com.axis.account.repository.AccountRepository;
+import com.axis.account.repository.TransactionRepository;
+import com.axis.account.service.StatementService;
+import com.axis.account.util.AssertUtil;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Account statements services.
+ * <p>
+ * Transactions are read through a server side cursor, a fetch size at a time, as DTO projections that are
+ * never attached to the persistence context, and written as they arrive through a fixed size buffer.
+ *
+ * @author Mahmoud Shtayeh
+ */
+@Service("statementService")
+@RequiredArgsConstructor
+public class StatementServiceImpl implements StatementService {
+    /**
+     * CSV statement header line
+     */
+    private static final String CSV_HEADER = "transactionId,type,amount,createdDate";
+
+    /**
+     * Size of the buffer in front of the destination
+     */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Axis accounts repository
+     */
+    private final AccountRepository accountRepository;
+
+    /**
+     * Transactions repository
+     */
+    private final TransactionRepository transactionRepository;
+
+    /**
+     * JSON serializer of the NDJSON lines
+     */
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Writes the whole ledger of an account, oldest first, in the requested format.
+     *
+     * @param accountId the unique identifier of the account
+     * @param format    the statement format
+     * @param output    opens the statement destination, once the account is known to exist
+     * @throws IOException if writing to the destination fails
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void export(final UUID accountId, final StatementFormat format, final Destination output)
+            throws IOException {
+        AssertUtil.isTrue(accountRepository.existsById(accountId), () -> new AccountNotFoundException(accountId));
+
+        final Writer writer = new BufferedWriter(
+                new OutputStreamWriter(output.open(), StandardCharsets.UTF_8), BUFFER_SIZE);
+        try (Stream<TransactionDTO> transactions = transactionRepository.streamStatement(accountId)) {
+            switch (format) {
+                case NDJSON -> writeNdjson(transactions.iterator(), writer);
+                case CSV -> writeCsv(transactions.iterator(), writer);
+            }
+        }
+        writer.flush();
+    }
+
+    /**
+     * Write a JSON object per transaction, one per line
+     *
+     * @param transactions the transactions to write
+     * @param writer       the statement destination
+     * @throws IOException if writing to the destination fails
+     */
+    private void writeNdjson(final Iterator<TransactionDTO> transactions, final Writer writer) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(writer)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+            while (transactions.hasNext()) {
+                generator.writeObject(transactions.next());
+                generator.writeRaw('\n');
+            }
+        }
+    }
+
+    /**
+     * Write a header line, then a comma separated line per transaction
+     *
+     * @param transactions the transactions to write
+     * @param writer       the statement destination
+     * @throws IOException if writing to the destination fails
+     */
+    private static void writeCsv(final Iterator<TransactionDTO> transactions, final Writer writer) throws IOException {
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        while (transactions.hasNext()) {
+            final TransactionDTO transaction = transactions.next();
+            writer.write(transaction.id().toString());
+            writer.write(',');
+            writer.write(transaction.type().name());
+            writer.write(',');
+            writer.write(transaction.amount().toPlainString());
+            writer.write(',');
+            writer.write(transaction.createdDate().toString());
+            writer.write('\n');
+        }
+    }
+}
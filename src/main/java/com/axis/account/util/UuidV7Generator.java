@@ -0,0 +1,92 @@
+package com.axis.account.util;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.springframework.util.IdGenerator;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Time-ordered UUID version 7 (RFC 9562) generator.
+ * <p>
+ * Layout: 48 bits Unix epoch milliseconds, 4 bits version, 12 bits sequence, 2 bits variant, 62 random bits.
+ * The timestamp and sequence share one atomic word advanced by CAS, so identifiers are strictly increasing
+ * across all threads, even within the same millisecond, without locks; a sequence overflow borrows the next
+ * millisecond. Random bits come from {@link ThreadLocalRandom}, so generation allocates nothing but the UUID.
+ *
+ * @author Mahmoud Shtayeh
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class UuidV7Generator implements IdGenerator {
+    /**
+     * Shared generator, monotonic across the whole JVM
+     */
+    public static final UuidV7Generator INSTANCE = new UuidV7Generator();
+
+    /**
+     * Number of bits of the per-millisecond sequence
+     */
+    private static final int SEQUENCE_BITS = 12;
+
+    /**
+     * A new millisecond starts its sequence at a random value below this bound,
+     * leaving at least half of the sequence space for same-millisecond identifiers
+     */
+    private static final int SEQUENCE_SEED_BOUND = 1 << (SEQUENCE_BITS - 1);
+
+    /**
+     * Version 7 marker, placed in the version nibble
+     */
+    private static final long VERSION = 0x7000L;
+
+    /**
+     * RFC 9562 variant marker, placed in the two most significant bits of the least significant half
+     */
+    private static final long VARIANT = 0x8000000000000000L;
+
+    /**
+     * Mask of the random bits of the least significant half
+     */
+    private static final long RANDOM_MASK = 0x3FFFFFFFFFFFFFFFL;
+
+    /**
+     * Last issued timestamp (milliseconds) and sequence, packed as {@code millis << 12 | sequence}
+     */
+    private final AtomicLong lastTimestampAndSequence = new AtomicLong();
+
+    /**
+     * Generate the next time-ordered identifier
+     *
+     * @return UUID version 7, greater than every identifier previously generated by this instance
+     */
+    @Override
+    public UUID generateId() {
+        final long timestampAndSequence = nextTimestampAndSequence();
+        final long mostSigBits = (timestampAndSequence >>> SEQUENCE_BITS) << 16
+                | VERSION
+                | (timestampAndSequence & ((1L << SEQUENCE_BITS) - 1));
+        final long leastSigBits = ThreadLocalRandom.current().nextLong() & RANDOM_MASK | VARIANT;
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+    /**
+     * Advance the packed timestamp and sequence: jump to the current millisecond when the clock moved forward,
+     * otherwise increment the sequence (tolerating clock going backwards).
+     *
+     * @return the packed timestamp and sequence of the next identifier
+     */
+    private long nextTimestampAndSequence() {
+        while (true) {
+            final long last = lastTimestampAndSequence.get();
+            final long now = System.currentTimeMillis() << SEQUENCE_BITS;
+            final long next = now > last
+                    ? now | ThreadLocalRandom.current().nextInt(SEQUENCE_SEED_BOUND)
+                    : last + 1;
+            if (lastTimestampAndSequence.compareAndSet(last, next)) {
+                return next;
+            }
+        }
+    }
+}
@@ -10,6 +10,7 @@ import java.math.BigDecimal;
  *
  * @param username Owner username
  * @param balance  Owner initial balance
+ * @param currency Currency of the account, ISO 4217 code, the default currency when missing
  * @author Mahmoud Shtayeh
  */
 @Schema(description = "REST API request for Axis account creation")
@@ -22,6 +23,10 @@ public record AccountCreationRequest(
         @Schema(description = "Owner initial balance", example = "1000.00")
         @NotNull(message = "error.account.missingBalance")
         @PositiveOrZero(message = "error.account.invalidBalance")
-        BigDecimal balance
+        BigDecimal balance,
+
+        @Schema(description = "Account currency, ISO 4217 code", example = "USD")
+        @Pattern(regexp = "[A-Z]{3}", message = "error.account.invalidCurrency")
+        String currency
 ) {
 }
\ No newline at end of file
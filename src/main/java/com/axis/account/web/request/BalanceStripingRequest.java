@@ -0,0 +1,21 @@
+package com.axis.account.web.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * Represents a balance striping request of a hot account in the Axis account management system.
+ *
+ * @param stripes Number of stripes to spread the account balance over
+ */
+@Schema(description = "REST API request params wrapper for account balance striping")
+public record BalanceStripingRequest(
+        @Schema(description = "Number of balance stripes", example = "16")
+        @NotNull(message = "error.striping.missingStripes")
+        @Min(value = 2, message = "error.striping.invalidStripes")
+        @Max(value = 256, message = "error.striping.invalidStripes")
+        Integer stripes
+) {
+}
@@ -0,0 +1,34 @@
+package com.axis.account.web.request;
+
+import com.axis.account.model.Transaction;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * A single deposit or withdrawal of a transactions batch request
+ *
+ * @param accountId the unique identifier of the account
+ * @param type      the transaction type, deposit or withdrawal (transfers are not supported)
+ * @param amount    the transaction amount
+ * @author Mahmoud Shtayeh
+ */
+@Schema(description = "REST API request params wrapper for a transactions batch entry")
+public record BatchEntryRequest(
+        @Schema(description = "Account ID")
+        @NotNull(message = "error.account.missingAccountId")
+        UUID accountId,
+
+        @Schema(description = "Transaction type", example = "DEPOSIT")
+        @NotNull(message = "error.transaction.missingType")
+        Transaction.TransactionType type,
+
+        @Schema(description = "Transaction amount", example = "1000.00")
+        @NotNull(message = "error.account.missingTransactionAmount")
+        @Positive(message = "error.account.invalidTransactionAmount")
+        BigDecimal amount
+) {
+}
@@ -0,0 +1,27 @@
+package com.axis.account.web.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * Transactions batch request, applying many deposits and withdrawals at once
+ *
+ * @param entries the deposits and withdrawals to apply, in order
+ * @author Mahmoud Shtayeh
+ */
+@Schema(description = "REST API request wrapper for a transactions batch")
+public record TransactionBatchRequest(
+        @Schema(description = "Deposits and withdrawals to apply, in order")
+        @NotEmpty(message = "error.batch.missingOrEmptyEntries")
+        @Size(max = TransactionBatchRequest.MAX_ENTRIES, message = "error.batch.tooManyEntries")
+        List<@Valid BatchEntryRequest> entries
+) {
+    /**
+     * Maximum number of entries of a single batch
+     */
+    public static final int MAX_ENTRIES = 50_000;
+}
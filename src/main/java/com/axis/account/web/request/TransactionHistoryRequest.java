@@ -0,0 +1,41 @@
+package com.axis.account.web.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+
+/**
+ * Represents a transaction history page request in the Axis account management system.
+ *
+ * @param cursor opaque position returned by the previous page, absent for the first (newest) page
+ * @param limit  maximum number of transactions in the page
+ */
+@Schema(description = "REST API request params wrapper for account transaction history")
+public record TransactionHistoryRequest(
+        @Schema(description = "Cursor returned by the previous page, absent for the first page")
+        String cursor,
+
+        @Schema(description = "Maximum number of transactions in the page", example = "50")
+        @Min(value = 1, message = "error.history.invalidLimit")
+        @Max(value = TransactionHistoryRequest.MAX_LIMIT, message = "error.history.invalidLimit")
+        Integer limit
+) {
+    /**
+     * Page size, when not requested
+     */
+    public static final int DEFAULT_LIMIT = 50;
+
+    /**
+     * Maximum page size
+     */
+    public static final int MAX_LIMIT = 500;
+
+    /**
+     * Requested page size, or the default one
+     *
+     * @return page size
+     */
+    public int limitOrDefault() {
+        return limit == null ? DEFAULT_LIMIT : limit;
+    }
+}
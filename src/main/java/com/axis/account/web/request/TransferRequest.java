@@ -0,0 +1,27 @@
+package com.axis.account.web.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Represents an account-to-account transfer request in the Axis account management system.
+ *
+ * @param targetAccountId the unique identifier of the account to be credited
+ * @param amount          Amount to be transferred
+ */
+@Schema(description = "REST API request params wrapper for account transfer")
+public record TransferRequest(
+        @Schema(description = "Target account ID")
+        @NotNull(message = "error.account.missingAccountId")
+        UUID targetAccountId,
+
+        @Schema(description = "Transfer amount", example = "1000.00")
+        @NotNull(message = "error.account.missingTransactionAmount")
+        @Positive(message = "error.account.invalidTransactionAmount")
+        BigDecimal amount
+) {
+}
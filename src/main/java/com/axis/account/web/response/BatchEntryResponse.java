@@ -0,0 +1,29 @@
+package com.axis.account.web.response;
+
+import com.axis.account.dto.BatchEntryResult;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+
+import java.util.UUID;
+
+/**
+ * Outcome of a single entry of a transactions batch
+ *
+ * @param accountId     the unique identifier of the account
+ * @param status        the entry outcome
+ * @param transactionId the unique identifier of the recorded transaction, when applied
+ * @author Mahmoud Shtayeh
+ */
+@Schema(description = "REST API response wrapper for a transactions batch entry")
+@Builder
+public record BatchEntryResponse(
+        @Schema(description = "Account ID")
+        UUID accountId,
+
+        @Schema(description = "Entry outcome", example = "APPLIED")
+        BatchEntryResult.Status status,
+
+        @Schema(description = "Recorded transaction ID, when applied")
+        UUID transactionId
+) {
+}
@@ -0,0 +1,20 @@
+package com.axis.account.web.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+
+import java.util.List;
+
+/**
+ * Transactions batch response
+ *
+ * @param entries the outcome of every entry, in request order
+ * @author Mahmoud Shtayeh
+ */
+@Schema(description = "REST API response wrapper for a transactions batch")
+@Builder
+public record TransactionBatchResponse(
+        @Schema(description = "Outcome of every entry, in request order")
+        List<BatchEntryResponse> entries
+) {
+}
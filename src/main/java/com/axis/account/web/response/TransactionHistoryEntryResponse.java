@@ -0,0 +1,35 @@
+package com.axis.account.web.response;
+
+import com.axis.account.model.Transaction;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Single transaction of an account history page
+ *
+ * @param transactionId the unique identifier of the transaction
+ * @param type          the transaction type
+ * @param amount        the transaction amount
+ * @param createdDate   the transaction timestamp
+ * @author Mahmoud Shtayeh
+ */
+@Schema(description = "REST API response wrapper for an account transaction history entry")
+@Builder
+public record TransactionHistoryEntryResponse(
+        @Schema(description = "Transaction ID")
+        UUID transactionId,
+
+        @Schema(description = "Transaction type", example = "DEPOSIT")
+        Transaction.TransactionType type,
+
+        @Schema(description = "Transaction amount", example = "1000.00")
+        BigDecimal amount,
+
+        @Schema(description = "Transaction timestamp")
+        LocalDateTime createdDate
+) {
+}
@@ -0,0 +1,24 @@
+package com.axis.account.web.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+
+import java.util.List;
+
+/**
+ * Account transaction history page response
+ *
+ * @param transactions the page transactions, newest first
+ * @param nextCursor   cursor of the next (older) page, absent on the last page
+ * @author Mahmoud Shtayeh
+ */
+@Schema(description = "REST API response wrapper for an account transaction history page")
+@Builder
+public record TransactionHistoryResponse(
+        @Schema(description = "Page transactions, newest first")
+        List<TransactionHistoryEntryResponse> transactions,
+
+        @Schema(description = "Cursor of the next page, absent on the last page")
+        String nextCursor
+) {
+}
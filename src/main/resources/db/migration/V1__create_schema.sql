@@ -0,0 +1,82 @@
+CREATE TABLE account
+(
+    id                 UUID           NOT NULL,
+    username           VARCHAR(255)   NOT NULL,
+    balance            NUMERIC(38, 2) NOT NULL,
+    stripes            INTEGER,
+    version            BIGINT,
+    created_by         VARCHAR(255),
+    created_date       TIMESTAMP(6),
+    last_modified_by   VARCHAR(255),
+    last_modified_date TIMESTAMP(6),
+    CONSTRAINT pk_account PRIMARY KEY (id)
+);
+
+-- Range partitioned by month on created_date, so that queries bounded in time only scan the matching months,
+-- and old months get detached as whole tables. Rows outside the created months land in the default partition.
+CREATE TABLE transaction
+(
+    id                 UUID           NOT NULL,
+    account_id         UUID           NOT NULL,
+    amount             NUMERIC(38, 2) NOT NULL,
+    type               VARCHAR(255)   NOT NULL,
+    created_by         VARCHAR(255),
+    created_date       TIMESTAMP(6)   NOT NULL,
+    last_modified_by   VARCHAR(255),
+    last_modified_date TIMESTAMP(6),
+    CONSTRAINT pk_transaction PRIMARY KEY (id, created_date),
+    CONSTRAINT fk_transaction_account FOREIGN KEY (account_id) REFERENCES account (id),
+    CONSTRAINT ck_transaction_type CHECK (type IN ('DEPOSIT', 'WITHDRAWAL', 'TRANSFER_OUT', 'TRANSFER_IN'))
+) PARTITION BY RANGE (created_date);
+
+CREATE TABLE transaction_default PARTITION OF transaction DEFAULT;
+
+CREATE INDEX idx_transaction_account_history ON transaction (account_id, created_date, id);
+
+CREATE TABLE balance_stripe
+(
+    id         UUID           NOT NULL,
+    account_id UUID           NOT NULL,
+    stripe     INTEGER        NOT NULL,
+    balance    NUMERIC(38, 2) NOT NULL,
+    CONSTRAINT pk_balance_stripe PRIMARY KEY (id),
+    CONSTRAINT fk_balance_stripe_account FOREIGN KEY (account_id) REFERENCES account (id),
+    CONSTRAINT uk_balance_stripe_account_stripe UNIQUE (account_id, stripe)
+);
+
+CREATE TABLE balance_snapshot
+(
+    id                    UUID           NOT NULL,
+    account_id            UUID           NOT NULL,
+    balance               NUMERIC(38, 2) NOT NULL,
+    events                BIGINT         NOT NULL,
+    last_transaction_id   UUID           NOT NULL,
+    last_transaction_date TIMESTAMP(6)   NOT NULL,
+    CONSTRAINT pk_balance_snapshot PRIMARY KEY (id),
+    CONSTRAINT fk_balance_snapshot_account FOREIGN KEY (account_id) REFERENCES account (id)
+);
+
+CREATE INDEX idx_balance_snapshot_account_position
+    ON balance_snapshot (account_id, last_transaction_date, last_transaction_id);
+
+CREATE TABLE daily_balance_checkpoint
+(
+    id         UUID           NOT NULL,
+    account_id UUID           NOT NULL,
+    day        DATE           NOT NULL,
+    slot       INTEGER        NOT NULL,
+    net        NUMERIC(38, 2) NOT NULL,
+    CONSTRAINT pk_daily_balance_checkpoint PRIMARY KEY (id),
+    CONSTRAINT fk_daily_balance_checkpoint_account FOREIGN KEY (account_id) REFERENCES account (id),
+    CONSTRAINT uk_daily_balance_checkpoint_account_day_slot UNIQUE (account_id, day, slot)
+);
+
+CREATE TABLE idempotency_key
+(
+    idempotency_key VARCHAR(255) NOT NULL,
+    transaction_id  UUID         NOT NULL,
+    created_date    TIMESTAMP(6) NOT NULL,
+    CONSTRAINT pk_idempotency_key PRIMARY KEY (idempotency_key)
+);
+
+CREATE INDEX idx_idempotency_key_created_date ON idempotency_key (created_date);
@@ -0,0 +1,17 @@
+-- Every amount is in the currency of its account, set on opening. Accounts and transactions created before were all
+-- in the default currency, which new rows no longer fall back to.
+ALTER TABLE account ADD COLUMN currency VARCHAR(3) NOT NULL DEFAULT 'USD';
+ALTER TABLE account ALTER COLUMN currency DROP DEFAULT;
+
+ALTER TABLE transaction ADD COLUMN currency VARCHAR(3) NOT NULL DEFAULT 'USD';
+ALTER TABLE transaction ALTER COLUMN currency DROP DEFAULT;
+
+-- Conversion rates of the cross-currency transfers: one base currency unit is worth rate quote currency units.
+CREATE TABLE fx_rate
+(
+    base_currency  VARCHAR(3)      NOT NULL,
+    quote_currency VARCHAR(3)      NOT NULL,
+    rate           NUMERIC(19, 10) NOT NULL,
+    CONSTRAINT pk_fx_rate PRIMARY KEY (base_currency, quote_currency),
+    CONSTRAINT ck_fx_rate_positive CHECK (rate > 0)
+);
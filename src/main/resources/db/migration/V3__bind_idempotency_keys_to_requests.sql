@@ -0,0 +1,5 @@
+-- Every key is bound to the hash of the request it was first used with, so repeating it with another request is
+-- rejected. Keys created before cannot be matched to their request, so they are bound to an empty hash, and repeating
+-- them is rejected rather than executed again, until they expire.
+ALTER TABLE idempotency_key ADD COLUMN request_hash VARCHAR(64) NOT NULL DEFAULT '';
+ALTER TABLE idempotency_key ALTER COLUMN request_hash DROP DEFAULT;
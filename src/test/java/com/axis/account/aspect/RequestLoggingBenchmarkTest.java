@@ -0,0 +1,182 @@
+package com.axis.account.aspect;
+
+import com.axis.account.dto.AccountDTO;
+import com.axis.account.service.AccountService;
+import com.axis.account.util.LatencyRecorder;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * HTTP requests throughput and latency with request logging off, written on the request thread, and handed over to
+ * the logging thread. Every request is sampled. Run with {@code mvn test -Pbenchmark}.
+ *
+ * @author Mahmoud Shtayeh
+ */
+@Slf4j
+@Tag("benchmark")
+@NoArgsConstructor
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.jpa.show-sql=false",
+        "axis.account.request-logging.sample-rate=1.0",
+        "axis.account.request-logging.endpoint-rates.checkBalance=1.0"
+})
+class RequestLoggingBenchmarkTest {
+    /**
+     * Number of concurrent clients.
+     */
+    private static final int THREADS = 16;
+
+    /**
+     * Number of requests sent by every client, per run.
+     */
+    private static final int REQUESTS_PER_THREAD = 2_000;
+
+    /**
+     * Opens a hot account, warms the server up, then sends balance checks from {@code THREADS} clients,
+     * reporting requests per second and latency percentiles.
+     *
+     * @param accountService service opening the account
+     * @param port           server port
+     * @param mode           request logging mode, for reporting
+     */
+    private static void balanceChecks_reportRequestsPerSecond(final AccountService accountService, final int port,
+                                                              final String mode) throws Exception {
+        final UUID accountId = accountService.openAccount(AccountDTO.builder()
+                .username("logging@axis.com")
+                .balance(BigDecimal.TEN)
+                .build());
+        final HttpRequest request = HttpRequest.newBuilder(
+                URI.create("http://localhost:" + port + "/api/v1/accounts/" + accountId + "/balance")).build();
+
+        try (HttpClient client = HttpClient.newHttpClient();
+             ExecutorService executor = Executors.newFixedThreadPool(THREADS)) {
+            send(client, request, executor);
+            final LatencyRecorder run = send(client, request, executor);
+            log.info("Request logging: {} | Requests: {} | {}", mode, run.operations(),
+                    run.summary(TimeUnit.MICROSECONDS));
+        }
+    }
+
+    /**
+     * Send {@code REQUESTS_PER_THREAD} requests from each of {@code THREADS} clients, verifying every response
+     *
+     * @param client   HTTP client
+     * @param request  sent request
+     * @param executor clients executor
+     * @return the requests run
+     */
+    private static LatencyRecorder send(final HttpClient client, final HttpRequest request,
+                                        final ExecutorService executor) throws Exception {
+        return LatencyRecorder.runConcurrently(executor, THREADS, REQUESTS_PER_THREAD, (thread, index) ->
+                assertThat(client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode()).isEqualTo(200));
+    }
+
+    /**
+     * Throughput without request logging.
+     *
+     * @author Mahmoud Shtayeh
+     */
+    @Nested
+    @NoArgsConstructor
+    @TestPropertySource(properties = "axis.account.request-logging.mode=OFF")
+    class OffTests {
+        /**
+         * Service opening the account
+         */
+        @Autowired
+        private AccountService accountService;
+
+        /**
+         * Server port
+         */
+        @LocalServerPort
+        private int port;
+
+        /**
+         * Reports the balance checks throughput.
+         */
+        @Test
+        void balanceChecks_reportRequestsPerSecond() throws Exception {
+            RequestLoggingBenchmarkTest.balanceChecks_reportRequestsPerSecond(accountService, port, "OFF");
+        }
+    }
+
+    /**
+     * Throughput with request logs written on the request thread.
+     *
+     * @author Mahmoud Shtayeh
+     */
+    @Nested
+    @NoArgsConstructor
+    @TestPropertySource(properties = "axis.account.request-logging.mode=SYNC")
+    class SyncTests {
+        /**
+         * Service opening the account
+         */
+        @Autowired
+        private AccountService accountService;
+
+        /**
+         * Server port
+         */
+        @LocalServerPort
+        private int port;
+
+        /**
+         * Reports the balance checks throughput.
+         */
+        @Test
+        void balanceChecks_reportRequestsPerSecond() throws Exception {
+            RequestLoggingBenchmarkTest.balanceChecks_reportRequestsPerSecond(accountService, port, "SYNC");
+        }
+    }
+
+    /**
+     * Throughput with request logs handed over to the logging thread.
+     *
+     * @author Mahmoud Shtayeh
+     */
+    @Nested
+    @NoArgsConstructor
+    @TestPropertySource(properties = "axis.account.request-logging.mode=ASYNC")
+    class AsyncTests {
+        /**
+         * Service opening the account
+         */
+        @Autowired
+        private AccountService accountService;
+
+        /**
+         * Server port
+         */
+        @LocalServerPort
+        private int port;
+
+        /**
+         * Reports the balance checks throughput.
+         */
+        @Test
+        void balanceChecks_reportRequestsPerSecond() throws Exception {
+            RequestLoggingBenchmarkTest.balanceChecks_reportRequestsPerSecond(accountService, port, "ASYNC");
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.axis.account.cache;
+
+import com.axis.account.config.AccountFilterProperties;
+import com.axis.account.exception.AccountNotFoundException;
+import com.axis.account.repository.AccountRepository;
+import com.axis.account.util.UuidV7Generator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.NoArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+/**
+ * Existing accounts filter tests: no false negatives, bounded false positives, and accounts kept across rebuilds.
+ *
+ * @author Mahmoud Shtayeh
+ */
+@NoArgsConstructor
+@ExtendWith(MockitoExtension.class)
+class AccountIdFilterTest {
+    /**
+     * Number of existing accounts, the filter being sized for them
+     */
+    private static final int ACCOUNTS = 10_000;
+
+    /**
+     * Accounts repository mock, streaming the existing accounts IDs
+     */
+    @Mock
+    private AccountRepository accountRepository;
+
+    /**
+     * Transaction manager mock, the rebuild streaming within a transaction
+     */
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    /**
+     * Metrics registry, holding the filter metrics
+     */
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    /**
+     * Tests that every existing account passes, and that about the target rate of unknown accounts do too.
+     */
+    @Test
+    void mightContain_afterRebuild_rejectsUnknownAccounts() {
+        final List<UUID> accountIds = randomIds(ACCOUNTS);
+        when(accountRepository.streamAllIds()).thenReturn(accountIds.stream());
+        final AccountIdFilter accountIdFilter = accountIdFilter();
+
+        accountIdFilter.rebuild();
+
+        assertThat(accountIds).allMatch(accountIdFilter::mightContain);
+        final long passedUnknownIds = randomIds(ACCOUNTS * 10).stream().filter(accountIdFilter::mightContain).count();
+        assertThat(passedUnknownIds).isLessThan(ACCOUNTS * 10 / 50);
+        assertThat(meterRegistry.get("axis.account.filter.rejections").counter().count())
+                .isEqualTo(ACCOUNTS * 10 - passedUnknownIds);
+        assertThat(meterRegistry.get("axis.account.filter.fpp").gauge().value()).isBetween(0.005, 0.015);
+        assertThat(meterRegistry.get("axis.account.filter.memory").gauge().value()).isLessThan(16 * 1024);
+    }
+
+    /**
+     * Tests that nothing is rejected before the first rebuild, and that accounts opened before or while rebuilding
+     * are kept, whether or not the rebuild streamed them.
+     */
+    @Test
+    void add_beforeOrWhileRebuilding_isKept() {
+        final AccountIdFilter accountIdFilter = accountIdFilter();
+        final UUID openedBefore = UUID.randomUUID();
+        final UUID openedWhileRebuilding = UUID.randomUUID();
+        assertThat(accountIdFilter.mightContain(UUID.randomUUID())).isTrue();
+        accountIdFilter.add(openedBefore);
+        when(accountRepository.streamAllIds()).thenReturn(randomIds(ACCOUNTS).stream()
+                .peek(accountId -> accountIdFilter.add(openedWhileRebuilding)));
+
+        accountIdFilter.rebuild();
+
+        assertThat(accountIdFilter.mightContain(openedBefore)).isTrue();
+        assertThat(accountIdFilter.mightContain(openedWhileRebuilding)).isTrue();
+    }
+
+    /**
+     * Tests that IDs generated since the rebuild started, possibly by other instances, are never rejected,
+     * while IDs older than the clock skew margin are left to the filter.
+     */
+    @Test
+    void mightContain_idsGeneratedSinceRebuild_arePassed() {
+        when(accountRepository.streamAllIds()).thenReturn(randomIds(ACCOUNTS).stream());
+        final AccountIdFilter accountIdFilter = accountIdFilter();
+        accountIdFilter.rebuild();
+        final long hourMillisShifted = Duration.ofHours(1).toMillis() << 16;
+
+        final List<UUID> openedElsewhere = IntStream.range(0, ACCOUNTS)
+                .mapToObj(index -> UuidV7Generator.INSTANCE.generateId())
+                .toList();
+        final long passedOldIds = openedElsewhere.stream()
+                .map(accountId -> new UUID(accountId.getMostSignificantBits() - hourMillisShifted,
+                        accountId.getLeastSignificantBits()))
+                .filter(accountIdFilter::mightContain)
+                .count();
+
+        assertThat(openedElsewhere).allMatch(accountIdFilter::mightContain);
+        assertThat(passedOldIds).isLessThan(ACCOUNTS / 50);
+    }
+
+    /**
+     * Tests that a screened lookup of an unknown account fails without being executed.
+     */
+    @Test
+    void screen_unknownAccount_throwsWithoutLookup() {
+        when(accountRepository.streamAllIds()).thenReturn(randomIds(ACCOUNTS).stream());
+        final AccountIdFilter accountIdFilter = accountIdFilter();
+        accountIdFilter.rebuild();
+        final UUID unknownId = randomIds(ACCOUNTS).stream()
+                .filter(accountId -> !accountIdFilter.mightContain(accountId))
+                .findFirst()
+                .orElseThrow();
+
+        assertThatThrownBy(() -> accountIdFilter.screen(unknownId, () -> {
+            throw new AssertionError("Unknown account looked up");
+        })).isInstanceOf(AccountNotFoundException.class);
+    }
+
+    /**
+     * Build a filter sized for the existing accounts, at a 1% false positive rate
+     *
+     * @return the filter, not built yet
+     */
+    private AccountIdFilter accountIdFilter() {
+        return new AccountIdFilter(new AccountFilterProperties(true, ACCOUNTS, 0.01, Duration.ofMinutes(5),
+                Duration.ofMinutes(1)),
+                accountRepository, transactionManager, meterRegistry);
+    }
+
+    /**
+     * Generate random account IDs
+     *
+     * @param count number of IDs
+     * @return the IDs
+     */
+    private static List<UUID> randomIds(final int count) {
+        return IntStream.range(0, count).mapToObj(index -> UUID.randomUUID()).toList();
+    }
+}
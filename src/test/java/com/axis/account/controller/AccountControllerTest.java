@@ -1,11 +1,22 @@
 package com.axis.account.controller;
 
+import com.axis.account.dto.BatchEntryResult;
+import com.axis.account.metrics.ApiLatencyMetrics;
+import com.axis.account.model.Transaction;
+import com.axis.account.util.UuidV7Generator;
 import com.axis.account.web.RestResponse;
 import com.axis.account.web.request.AccountCreationRequest;
+import com.axis.account.web.request.BatchEntryRequest;
+import com.axis.account.web.request.TransactionBatchRequest;
 import com.axis.account.web.response.AccountBalanceResponse;
 import com.axis.account.web.response.AccountCreationResponse;
+import com.axis.account.web.response.BatchEntryResponse;
+import com.axis.account.web.response.TransactionBatchResponse;
+import com.axis.account.web.response.TransactionHistoryEntryResponse;
+import com.axis.account.web.response.TransactionHistoryResponse;
 import com.axis.account.web.response.TransactionResponse;
 import lombok.NoArgsConstructor;
+import org.assertj.core.api.InstanceOfAssertFactories;
 import org.junit.jupiter.api.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -13,13 +24,23 @@ import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.boot.test.web.server.LocalServerPort;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.web.client.RestTemplate;
 
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
 import java.math.BigDecimal;
 import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -30,7 +51,8 @@ import static org.assertj.core.api.Assertions.assertThat;
  * @author Mahmoud Shtayeh
  */
 @NoArgsConstructor
-@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+// JMX is disabled by default in tests, but it is where the messages reload is exposed
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "spring.jmx.enabled=true")
 @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
 class AccountControllerTest {
     /**
@@ -46,6 +68,12 @@ class AccountControllerTest {
     @Autowired
     private TestRestTemplate restTemplate;
 
+    /**
+     * Database access, opening accounts behind the existing accounts filter
+     */
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     /**
      * Unique identifier for an account used in integration tests.
      */
@@ -78,7 +106,8 @@ class AccountControllerTest {
     @Test
     @Order(1)
     void openAccount_withValidDetails_returnsAccountId() {
-        final AccountCreationRequest accountCreationRequest = new AccountCreationRequest(TEST_USERNAME, TEST_BALANCE);
+        final AccountCreationRequest accountCreationRequest =
+                new AccountCreationRequest(TEST_USERNAME, TEST_BALANCE, null);
 
         final ResponseEntity<RestResponse<AccountCreationResponse>> response = restTemplate.exchange(
                 BASE_URL + port + ACCOUNTS_API,
@@ -107,7 +136,7 @@ class AccountControllerTest {
     @Test
     @Order(2)
     void openAccount_withInvalidEmail_returnsBadRequest() {
-        final AccountCreationRequest invalidRequest = new AccountCreationRequest("invalid-email", TEST_BALANCE);
+        final AccountCreationRequest invalidRequest = new AccountCreationRequest("invalid-email", TEST_BALANCE, null);
 
         final ResponseEntity<RestResponse<AccountCreationResponse>> response = restTemplate.exchange(
                 BASE_URL + port + ACCOUNTS_API,
@@ -140,7 +169,8 @@ class AccountControllerTest {
     @Test
     @Order(3)
     void openAccount_withInvalidBalance_returnsBadRequest() {
-        final AccountCreationRequest invalidRequest = new AccountCreationRequest(TEST_USERNAME, BigDecimal.valueOf(-1000));
+        final AccountCreationRequest invalidRequest =
+                new AccountCreationRequest(TEST_USERNAME, BigDecimal.valueOf(-1000), null);
 
         final ResponseEntity<RestResponse<AccountCreationResponse>> response = restTemplate.exchange(
                 BASE_URL + port + ACCOUNTS_API,
@@ -275,4 +305,337 @@ class AccountControllerTest {
                     assertThat(body.getPayload().transactionId()).isNotNull();
                 });
     }
-}
\ No newline at end of file
+
+    /**
+     * Tests that a transactions batch applies its valid entries in order,
+     * and reports the entries failing on business rules without failing the whole batch.
+     */
+    @Test
+    @Order(8)
+    void applyBatch_withMixedEntries_returnsEntriesOutcome() {
+        final TransactionBatchRequest batchRequest = new TransactionBatchRequest(List.of(
+                new BatchEntryRequest(accountId, Transaction.TransactionType.DEPOSIT, new BigDecimal("500.00")),
+                new BatchEntryRequest(accountId, Transaction.TransactionType.WITHDRAWAL, new BigDecimal("5000.00")),
+                new BatchEntryRequest(UUID.randomUUID(), Transaction.TransactionType.DEPOSIT, BigDecimal.TEN),
+                new BatchEntryRequest(accountId, Transaction.TransactionType.WITHDRAWAL, new BigDecimal("1500.00"))));
+
+        final ResponseEntity<RestResponse<TransactionBatchResponse>> response = restTemplate.exchange(
+                BASE_URL + port + ACCOUNTS_API + "/transactions/batch",
+                HttpMethod.POST,
+                new HttpEntity<>(batchRequest),
+                new ParameterizedTypeReference<>() {
+                });
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+
+        final RestResponse<TransactionBatchResponse> responseBody = response.getBody();
+        assertThat(responseBody).isNotNull();
+        assertThat(responseBody.getPayload().entries())
+                .extracting(BatchEntryResponse::status)
+                .containsExactly(BatchEntryResult.Status.APPLIED, BatchEntryResult.Status.INSUFFICIENT_FUNDS,
+                        BatchEntryResult.Status.ACCOUNT_NOT_FOUND, BatchEntryResult.Status.APPLIED);
+        assertThat(responseBody.getPayload().entries())
+                .extracting(BatchEntryResponse::transactionId)
+                .satisfies(ids -> {
+                    assertThat(ids.get(0)).isNotNull();
+                    assertThat(ids.get(1)).isNull();
+                    assertThat(ids.get(2)).isNull();
+                    assertThat(ids.get(3)).isNotNull();
+                });
+    }
+
+    /**
+     * Tests that a transfer to the same account is rejected with a {@code BAD_REQUEST} HTTP status.
+     */
+    @Test
+    @Order(9)
+    void transfer_toSameAccount_returnsBadRequest() {
+        final ResponseEntity<RestResponse<TransactionResponse>> response = restTemplate.exchange(
+                BASE_URL + port + ACCOUNTS_API + "/{accountId}/transfers?targetAccountId={accountId}&amount=10.00",
+                HttpMethod.POST,
+                null,
+                new ParameterizedTypeReference<>() {
+                },
+                accountId, accountId);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(response.getBody())
+                .isNotNull()
+                .satisfies(body -> assertThat(body.getErrors())
+                        .isNotNull()
+                        .hasSize(1)
+                        .satisfies(errors -> assertThat(errors.getFirst().message()).isEqualTo(
+                                "Source and target accounts are the same, enter a different target account")));
+    }
+
+    /**
+     * Tests that a transfer between two valid accounts returns the debit transaction ID
+     * with an HTTP status of {@code CREATED}, moving the money between both balances.
+     */
+    @Test
+    @Order(10)
+    void transfer_withValidDetails_returnsTransactionId() {
+        final UUID targetAccountId = restTemplate.exchange(
+                        BASE_URL + port + ACCOUNTS_API,
+                        HttpMethod.POST,
+                        new HttpEntity<>(new AccountCreationRequest(TEST_USERNAME, TEST_BALANCE, null)),
+                        new ParameterizedTypeReference<RestResponse<AccountCreationResponse>>() {
+                        })
+                .getBody().getPayload().accountId();
+
+        final ResponseEntity<RestResponse<TransactionResponse>> response = restTemplate.exchange(
+                BASE_URL + port + ACCOUNTS_API + "/{accountId}/transfers?targetAccountId={targetAccountId}&amount=250.00",
+                HttpMethod.POST,
+                null,
+                new ParameterizedTypeReference<>() {
+                },
+                targetAccountId, accountId);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(response.getBody())
+                .isNotNull()
+                .satisfies(body -> assertThat(body.getPayload().transactionId()).isNotNull());
+
+        final ResponseEntity<RestResponse<AccountBalanceResponse>> balance = restTemplate.exchange(
+                BASE_URL + port + ACCOUNTS_API + "/{accountId}/balance",
+                HttpMethod.GET,
+                null,
+                new ParameterizedTypeReference<>() {
+                },
+                targetAccountId);
+        assertThat(balance.getBody().getPayload().balance())
+                .isEqualByComparingTo(TEST_BALANCE.subtract(new BigDecimal("250.00")));
+    }
+
+    /**
+     * Tests that repeating a deposit with the same idempotency key returns the original transaction ID
+     * without depositing twice.
+     */
+    @Test
+    @Order(11)
+    void deposit_withRepeatedIdempotencyKey_depositsOnce() {
+        final BigDecimal balanceBefore = restTemplate.exchange(
+                        BASE_URL + port + ACCOUNTS_API + "/{accountId}/balance",
+                        HttpMethod.GET,
+                        null,
+                        new ParameterizedTypeReference<RestResponse<AccountBalanceResponse>>() {
+                        },
+                        accountId)
+                .getBody().getPayload().balance();
+        final HttpHeaders headers = new HttpHeaders();
+        headers.set(AccountController.IDEMPOTENCY_KEY_HEADER, UUID.randomUUID().toString());
+
+        final List<UUID> transactionIds = new ArrayList<>();
+        for (int attempt = 0; attempt < 3; attempt++) {
+            final ResponseEntity<RestResponse<TransactionResponse>> response = restTemplate.exchange(
+                    BASE_URL + port + ACCOUNTS_API + "/{accountId}/deposits?amount=100.00",
+                    HttpMethod.POST,
+                    new HttpEntity<>(headers),
+                    new ParameterizedTypeReference<>() {
+                    },
+                    accountId);
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+            transactionIds.add(response.getBody().getPayload().transactionId());
+        }
+
+        assertThat(transactionIds).doesNotContainNull().containsOnly(transactionIds.getFirst());
+        final BigDecimal balanceAfter = restTemplate.exchange(
+                        BASE_URL + port + ACCOUNTS_API + "/{accountId}/balance",
+                        HttpMethod.GET,
+                        null,
+                        new ParameterizedTypeReference<RestResponse<AccountBalanceResponse>>() {
+                        },
+                        accountId)
+                .getBody().getPayload().balance();
+        assertThat(balanceAfter).isEqualByComparingTo(balanceBefore.add(new BigDecimal("100.00")));
+    }
+
+    /**
+     * Tests that paging through the account history with cursors visits every transaction once, newest first,
+     * and that the last page carries no cursor.
+     */
+    @Test
+    @Order(12)
+    void history_pagedWithCursor_returnsEveryTransactionOnceNewestFirst() {
+        final List<TransactionHistoryEntryResponse> transactions = new ArrayList<>();
+        String cursor = null;
+        do {
+            final ResponseEntity<RestResponse<TransactionHistoryResponse>> response = restTemplate.exchange(
+                    BASE_URL + port + ACCOUNTS_API + "/{accountId}/transactions?limit=2"
+                            + (cursor == null ? "" : "&cursor=" + cursor),
+                    HttpMethod.GET,
+                    null,
+                    new ParameterizedTypeReference<>() {
+                    },
+                    accountId);
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+            assertThat(response.getBody().getPayload().transactions()).hasSizeLessThanOrEqualTo(2);
+            transactions.addAll(response.getBody().getPayload().transactions());
+            cursor = response.getBody().getPayload().nextCursor();
+        } while (cursor != null);
+
+        assertThat(transactions).hasSizeGreaterThan(2)
+                .extracting(TransactionHistoryEntryResponse::transactionId)
+                .doesNotHaveDuplicates();
+        assertThat(transactions)
+                .extracting(TransactionHistoryEntryResponse::createdDate)
+                .isSortedAccordingTo(Comparator.reverseOrder());
+    }
+
+    /**
+     * Tests that the CSV statement lists every transaction of the account after a header line,
+     * matching the paged history, and that the statement of an unknown account is not found.
+     */
+    @Test
+    @Order(13)
+    void exportStatement_asCsv_streamsEveryTransaction() {
+        final ResponseEntity<String> response = restTemplate.getForEntity(
+                BASE_URL + port + ACCOUNTS_API + "/{accountId}/statement?format=CSV", String.class, accountId);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getContentType()).hasToString("text/csv");
+        final List<String> lines = response.getBody().lines().toList();
+        assertThat(lines.getFirst()).isEqualTo("transactionId,type,amount,createdDate");
+        final int transactions = restTemplate.exchange(
+                        BASE_URL + port + ACCOUNTS_API + "/{accountId}/transactions?limit=500",
+                        HttpMethod.GET,
+                        null,
+                        new ParameterizedTypeReference<RestResponse<TransactionHistoryResponse>>() {
+                        },
+                        accountId)
+                .getBody().getPayload().transactions().size();
+        assertThat(lines).hasSize(transactions + 1);
+
+        final ResponseEntity<String> notFound = restTemplate.getForEntity(
+                BASE_URL + port + ACCOUNTS_API + "/{accountId}/statement", String.class, UUID.randomUUID());
+        assertThat(notFound.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+    }
+
+    /**
+     * Tests that the deposits latency percentiles, recorded by the earlier deposits, are exposed as metrics.
+     */
+    @Test
+    @Order(14)
+    void metrics_afterDeposits_exposeDepositLatencyPercentiles() {
+        final ResponseEntity<Map<String, Object>> response = restTemplate.exchange(
+                BASE_URL + port + "/actuator/metrics/{metric}?tag=method:deposit&tag=outcome:SUCCESS&tag=phi:0.99",
+                HttpMethod.GET,
+                null,
+                new ParameterizedTypeReference<>() {
+                },
+                ApiLatencyMetrics.METRIC_NAME + ".percentile");
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).containsKey("measurements");
+    }
+
+    /**
+     * Tests that repeating an idempotency key with another amount, or on another endpoint, is rejected
+     * instead of returning the transaction of the first request.
+     */
+    @Test
+    @Order(15)
+    void moneyMovement_withIdempotencyKeyOfAnotherRequest_isUnprocessable() {
+        final HttpHeaders headers = new HttpHeaders();
+        headers.set(AccountController.IDEMPOTENCY_KEY_HEADER, UUID.randomUUID().toString());
+        final ResponseEntity<RestResponse<TransactionResponse>> deposit = restTemplate.exchange(
+                BASE_URL + port + ACCOUNTS_API + "/{accountId}/deposits?amount=10.00",
+                HttpMethod.POST,
+                new HttpEntity<>(headers),
+                new ParameterizedTypeReference<>() {
+                },
+                accountId);
+        assertThat(deposit.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+
+        final ResponseEntity<RestResponse<TransactionResponse>> otherAmount = restTemplate.exchange(
+                BASE_URL + port + ACCOUNTS_API + "/{accountId}/deposits?amount=20.00",
+                HttpMethod.POST,
+                new HttpEntity<>(headers),
+                new ParameterizedTypeReference<>() {
+                },
+                accountId);
+        assertThat(otherAmount.getStatusCode()).isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY);
+
+        final ResponseEntity<RestResponse<TransactionResponse>> otherEndpoint = restTemplate.exchange(
+                BASE_URL + port + ACCOUNTS_API + "/{accountId}/withdraws?amount=10.00",
+                HttpMethod.POST,
+                new HttpEntity<>(headers),
+                new ParameterizedTypeReference<>() {
+                },
+                accountId);
+        assertThat(otherEndpoint.getStatusCode()).isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY);
+
+        final ResponseEntity<RestResponse<TransactionResponse>> sameRequest = restTemplate.exchange(
+                BASE_URL + port + ACCOUNTS_API + "/{accountId}/deposits?amount=10",
+                HttpMethod.POST,
+                new HttpEntity<>(headers),
+                new ParameterizedTypeReference<>() {
+                },
+                accountId);
+        assertThat(sameRequest.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(sameRequest.getBody().getPayload().transactionId())
+                .isEqualTo(deposit.getBody().getPayload().transactionId());
+    }
+
+    /**
+     * Tests that an account opened behind the existing accounts filter, as by another instance
+     * or the reactive API, is found before the next filter rebuild.
+     */
+    @Test
+    @Order(16)
+    void moneyMovements_onAccountOpenedElsewhere_areNotRejected() {
+        final UUID openedElsewhere = UuidV7Generator.INSTANCE.generateId();
+        jdbcTemplate.update("INSERT INTO account (id, username, balance, currency, version) "
+                + "VALUES (?, ?, ?, 'USD', 0)", openedElsewhere, TEST_USERNAME, TEST_BALANCE);
+
+        final ResponseEntity<RestResponse<TransactionResponse>> deposit = restTemplate.exchange(
+                BASE_URL + port + ACCOUNTS_API + "/{accountId}/deposits?amount=100.00",
+                HttpMethod.POST,
+                null,
+                new ParameterizedTypeReference<>() {
+                },
+                openedElsewhere);
+        assertThat(deposit.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+
+        final ResponseEntity<RestResponse<TransactionResponse>> withdrawal = restTemplate.exchange(
+                BASE_URL + port + ACCOUNTS_API + "/{accountId}/withdraws?amount=50.00",
+                HttpMethod.POST,
+                null,
+                new ParameterizedTypeReference<>() {
+                },
+                openedElsewhere);
+        assertThat(withdrawal.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+
+        final ResponseEntity<RestResponse<AccountBalanceResponse>> balance = restTemplate.exchange(
+                BASE_URL + port + ACCOUNTS_API + "/{accountId}/balance",
+                HttpMethod.GET,
+                null,
+                new ParameterizedTypeReference<>() {
+                },
+                openedElsewhere);
+        assertThat(balance.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(balance.getBody().getPayload().balance()).isEqualByComparingTo("1050.00");
+    }
+
+    /**
+     * Tests that the messages reload is not exposed over HTTP, and is over JMX.
+     */
+    @Test
+    @Order(17)
+    void messagesReload_overHttpOrJmx_isExposedOverJmxOnly() throws Exception {
+        final ResponseEntity<String> response = restTemplate.exchange(
+                BASE_URL + port + "/actuator/messages",
+                HttpMethod.POST,
+                null,
+                String.class);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+
+        final MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+        final Set<ObjectName> endpoints = mBeanServer.queryNames(
+                new ObjectName("org.springframework.boot:type=Endpoint,name=Messages,*"), null);
+        assertThat(endpoints).hasSize(1);
+        assertThat(mBeanServer.invoke(endpoints.iterator().next(), "reload", new Object[0], new String[0]))
+                .asInstanceOf(InstanceOfAssertFactories.LIST)
+                .contains("ar");
+    }
+}
@@ -0,0 +1,288 @@
+package com.axis.account.controller;
+
+import com.axis.account.web.RestResponse;
+import com.axis.account.web.request.AccountCreationRequest;
+import com.axis.account.web.response.AccountBalanceResponse;
+import com.axis.account.web.response.AccountCreationResponse;
+import com.axis.account.web.response.TransactionHistoryResponse;
+import com.axis.account.web.response.TransactionResponse;
+import lombok.NoArgsConstructor;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * ReactiveAccountController integration tests, over R2DBC.
+ *
+ * @author Mahmoud Shtayeh
+ */
+@NoArgsConstructor
+@ActiveProfiles("reactive")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class ReactiveAccountControllerTest {
+    /**
+     * The base API endpoint for managing account-related operations.
+     */
+    private static final String ACCOUNTS_API = "/api/v1/accounts";
+
+    /**
+     * Simulation of a valid account username.
+     */
+    private static final String TEST_USERNAME = "reactive@axis.com";
+
+    /**
+     * Balance value used in the account-related test cases.
+     */
+    private static final BigDecimal TEST_BALANCE = new BigDecimal("1000.00");
+
+    /**
+     * Unique identifier of the source account used in the tests.
+     */
+    private static UUID accountId;
+
+    /**
+     * Unique identifier of the target account used in the transfer tests.
+     */
+    private static UUID targetAccountId;
+
+    /**
+     * Non-blocking client bound to the test server
+     */
+    @Autowired
+    private WebTestClient webTestClient;
+
+    /**
+     * Non-blocking database client, striping accounts behind the API
+     */
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    /**
+     * Open an account through the non-blocking API
+     *
+     * @return the account ID
+     */
+    private UUID openAccount() {
+        return openAccount(null);
+    }
+
+    /**
+     * Open an account through the non-blocking API, in the given currency
+     *
+     * @param currency ISO 4217 currency code, {@code null} for the default currency
+     * @return the account ID
+     */
+    private UUID openAccount(final String currency) {
+        final RestResponse<AccountCreationResponse> response = webTestClient.post()
+                .uri(ACCOUNTS_API)
+                .bodyValue(new AccountCreationRequest(TEST_USERNAME, TEST_BALANCE, currency))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(new ParameterizedTypeReference<RestResponse<AccountCreationResponse>>() {
+                })
+                .returnResult()
+                .getResponseBody();
+
+        assertThat(response).isNotNull();
+        return response.getPayload().accountId();
+    }
+
+    /**
+     * Tests that accounts are opened, and their initial balance is read back.
+     */
+    @Test
+    @Order(1)
+    void openAccount_withValidDetails_returnsAccountId() {
+        accountId = openAccount();
+        targetAccountId = openAccount();
+
+        webTestClient.get()
+                .uri(ACCOUNTS_API + "/{accountId}/balance", accountId)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(new ParameterizedTypeReference<RestResponse<AccountBalanceResponse>>() {
+                })
+                .value(body -> assertThat(body.getPayload().balance()).isEqualByComparingTo(TEST_BALANCE));
+    }
+
+    /**
+     * Tests that an invalid account is rejected with the same messages as the blocking API.
+     */
+    @Test
+    @Order(2)
+    void openAccount_withInvalidEmail_returnsBadRequest() {
+        webTestClient.post()
+                .uri(ACCOUNTS_API)
+                .bodyValue(new AccountCreationRequest("invalid-email", TEST_BALANCE, null))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.errors[0].message").isEqualTo("Invalid username, must be a valid email");
+    }
+
+    /**
+     * Tests that deposits, withdrawals and transfers move the balances, and are listed in the history.
+     */
+    @Test
+    @Order(3)
+    void moneyMovements_withSufficientFunds_updateBalancesAndHistory() {
+        webTestClient.post()
+                .uri(ACCOUNTS_API + "/{accountId}/deposits?amount=500", accountId)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(new ParameterizedTypeReference<RestResponse<TransactionResponse>>() {
+                })
+                .value(body -> assertThat(body.getPayload().transactionId()).isNotNull());
+        webTestClient.post()
+                .uri(ACCOUNTS_API + "/{accountId}/withdraws?amount=200", accountId)
+                .exchange()
+                .expectStatus().isCreated();
+        webTestClient.post()
+                .uri(ACCOUNTS_API + "/{accountId}/transfers?targetAccountId={targetAccountId}&amount=300",
+                        accountId, targetAccountId)
+                .exchange()
+                .expectStatus().isCreated();
+
+        webTestClient.get()
+                .uri(ACCOUNTS_API + "/{accountId}/balance", accountId)
+                .exchange()
+                .expectBody(new ParameterizedTypeReference<RestResponse<AccountBalanceResponse>>() {
+                })
+                .value(body -> assertThat(body.getPayload().balance()).isEqualByComparingTo("1000.00"));
+        webTestClient.get()
+                .uri(ACCOUNTS_API + "/{accountId}/balance", targetAccountId)
+                .exchange()
+                .expectBody(new ParameterizedTypeReference<RestResponse<AccountBalanceResponse>>() {
+                })
+                .value(body -> assertThat(body.getPayload().balance()).isEqualByComparingTo("1300.00"));
+        webTestClient.get()
+                .uri(ACCOUNTS_API + "/{accountId}/transactions?limit=2", accountId)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(new ParameterizedTypeReference<RestResponse<TransactionHistoryResponse>>() {
+                })
+                .value(body -> {
+                    assertThat(body.getPayload().transactions()).hasSize(2);
+                    assertThat(body.getPayload().nextCursor()).isNotNull();
+                });
+    }
+
+    /**
+     * Tests that a withdrawal exceeding the balance is rejected, leaving the balance untouched.
+     */
+    @Test
+    @Order(4)
+    void withdraw_withInsufficientFunds_returnsBadRequest() {
+        webTestClient.post()
+                .uri(ACCOUNTS_API + "/{accountId}/withdraws?amount=5000", accountId)
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        webTestClient.get()
+                .uri(ACCOUNTS_API + "/{accountId}/balance", accountId)
+                .exchange()
+                .expectBody(new ParameterizedTypeReference<RestResponse<AccountBalanceResponse>>() {
+                })
+                .value(body -> assertThat(body.getPayload().balance()).isEqualByComparingTo("1000.00"));
+    }
+
+    /**
+     * Tests that operations on a missing account return {@code NOT_FOUND}.
+     */
+    @Test
+    @Order(5)
+    void deposit_withUnknownAccount_returnsNotFound() {
+        webTestClient.post()
+                .uri(ACCOUNTS_API + "/{accountId}/deposits?amount=1", UUID.randomUUID())
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    /**
+     * Tests that withdrawals and transfers from a striped account are covered by the funds of its stripes,
+     * and that the whole striped balance is reported once exhausted.
+     */
+    @Test
+    @Order(6)
+    void moneyMovements_fromStripedAccount_sweepStripes() {
+        final UUID stripedAccountId = openAccount();
+        databaseClient.sql("UPDATE account SET balance = 0, stripes = 2 WHERE id = :accountId")
+                .bind("accountId", stripedAccountId)
+                .then()
+                .block();
+        for (int stripe = 0; stripe < 2; stripe++) {
+            databaseClient.sql("INSERT INTO balance_stripe (id, account_id, stripe, balance) "
+                            + "VALUES (gen_random_uuid(), :accountId, :stripe, 500)")
+                    .bind("accountId", stripedAccountId)
+                    .bind("stripe", stripe)
+                    .then()
+                    .block();
+        }
+
+        webTestClient.post()
+                .uri(ACCOUNTS_API + "/{accountId}/withdraws?amount=800", stripedAccountId)
+                .exchange()
+                .expectStatus().isCreated();
+        webTestClient.post()
+                .uri(ACCOUNTS_API + "/{accountId}/transfers?targetAccountId={targetAccountId}&amount=150",
+                        stripedAccountId, targetAccountId)
+                .exchange()
+                .expectStatus().isCreated();
+        webTestClient.get()
+                .uri(ACCOUNTS_API + "/{accountId}/balance", stripedAccountId)
+                .exchange()
+                .expectBody(new ParameterizedTypeReference<RestResponse<AccountBalanceResponse>>() {
+                })
+                .value(body -> assertThat(body.getPayload().balance()).isEqualByComparingTo("50.00"));
+
+        webTestClient.post()
+                .uri(ACCOUNTS_API + "/{accountId}/withdraws?amount=60", stripedAccountId)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.errors[0].message").value(message -> assertThat((String) message).contains("funds: 50$"));
+    }
+
+    /**
+     * Tests that amounts finer than the account currency minor unit are rejected on every money movement,
+     * while whole minor units with trailing zeros are accepted.
+     */
+    @Test
+    @Order(7)
+    void moneyMovements_finerThanCurrencyMinorUnit_returnBadRequest() {
+        final UUID yenAccountId = openAccount("JPY");
+
+        for (final String operation : new String[]{"deposits", "withdraws"}) {
+            webTestClient.post()
+                    .uri(ACCOUNTS_API + "/{accountId}/{operation}?amount=10.55", yenAccountId, operation)
+                    .exchange()
+                    .expectStatus().isBadRequest();
+        }
+        webTestClient.post()
+                .uri(ACCOUNTS_API + "/{accountId}/transfers?targetAccountId={targetAccountId}&amount=10.55",
+                        yenAccountId, targetAccountId)
+                .exchange()
+                .expectStatus().isBadRequest();
+        webTestClient.post()
+                .uri(ACCOUNTS_API + "/{accountId}/deposits?amount=10.00", yenAccountId)
+                .exchange()
+                .expectStatus().isCreated();
+
+        webTestClient.get()
+                .uri(ACCOUNTS_API + "/{accountId}/balance", yenAccountId)
+                .exchange()
+                .expectBody(new ParameterizedTypeReference<RestResponse<AccountBalanceResponse>>() {
+                })
+                .value(body -> assertThat(body.getPayload().balance()).isEqualByComparingTo("1010"));
+    }
+}
@@ -0,0 +1,183 @@
+package com.axis.account.controller;
+
+import com.axis.account.util.LatencyRecorder;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Deposits tail latency, threads and heap of the blocking (MVC, JPA) vs the non-blocking (WebFlux, R2DBC) APIs,
+ * under thousands of concurrent clients, each on its own connection. Every API context is closed after its run,
+ * so the two never share the heap. Run with {@code mvn test -Pbenchmark}.
+ *
+ * @author Mahmoud Shtayeh
+ */
+@Slf4j
+@Tag("benchmark")
+@NoArgsConstructor
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.jpa.show-sql=false",
+        "axis.account.request-logging.mode=OFF"
+})
+class ReactiveApiBenchmarkTest {
+    /**
+     * Number of concurrent clients, within what one process holding both connection ends can drive.
+     */
+    private static final int CLIENTS = 2_000;
+
+    /**
+     * Number of deposits sent by every client.
+     */
+    private static final int DEPOSITS_PER_CLIENT = 5;
+
+    /**
+     * Account ID within an account creation response
+     */
+    private static final Pattern ACCOUNT_ID = Pattern.compile("\"accountId\":\"([0-9a-f-]{36})\"");
+
+    /**
+     * Opens {@code CLIENTS} accounts, then sends deposits from as many concurrent clients, each to its own account,
+     * reporting deposits per second, latency percentiles, peak threads and peak heap growth per client.
+     *
+     * @param port  server port
+     * @param stack API stack, for reporting
+     */
+    private static void deposits_reportLatencyAndFootprint(final int port, final String stack) throws Exception {
+        final String accountsUri = "http://localhost:" + port + "/api/v1/accounts";
+        final AtomicInteger failures = new AtomicInteger();
+        final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+        try (HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+             ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            final List<Future<String>> accounts = new ArrayList<>(CLIENTS);
+            for (int client = 0; client < CLIENTS; client++) {
+                final HttpRequest request = HttpRequest.newBuilder(URI.create(accountsUri))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(
+                                "{\"username\":\"client" + client + "@axis.com\",\"balance\":0}"))
+                        .build();
+                accounts.add(clients.submit(() -> {
+                    final Matcher matcher = ACCOUNT_ID.matcher(
+                            httpClient.send(request, HttpResponse.BodyHandlers.ofString()).body());
+                    return matcher.find() ? matcher.group(1) : null;
+                }));
+            }
+            final List<String> accountIds = new ArrayList<>(CLIENTS);
+            for (final Future<String> account : accounts) {
+                accountIds.add(account.get(10, TimeUnit.MINUTES));
+            }
+
+            System.gc();
+            final long baselineHeap = memory.getHeapMemoryUsage().getUsed();
+            final AtomicLong peakHeap = new AtomicLong(baselineHeap);
+            threads.resetPeakThreadCount();
+            final Thread heapSampler = Thread.ofPlatform().daemon().start(() -> {
+                while (!Thread.currentThread().isInterrupted()) {
+                    peakHeap.accumulateAndGet(memory.getHeapMemoryUsage().getUsed(), Math::max);
+                    try {
+                        TimeUnit.MILLISECONDS.sleep(50);
+                    } catch (final InterruptedException exception) {
+                        return;
+                    }
+                }
+            });
+
+            final List<HttpRequest> requests = new ArrayList<>(CLIENTS);
+            for (final String accountId : accountIds) {
+                requests.add(HttpRequest.newBuilder(URI.create(accountsUri + "/" + accountId + "/deposits?amount=1"))
+                        .POST(HttpRequest.BodyPublishers.noBody())
+                        .build());
+            }
+            final LatencyRecorder run = LatencyRecorder.runConcurrently(clients, CLIENTS, DEPOSITS_PER_CLIENT,
+                    (client, deposit) -> {
+                        if (httpClient.send(requests.get(client), HttpResponse.BodyHandlers.discarding())
+                                .statusCode() != 201) {
+                            failures.incrementAndGet();
+                        }
+                    });
+            heapSampler.interrupt();
+
+            log.info("Stack: {} | Clients: {} | Deposits: {} | {} | p99.9: {} ms | Peak threads: {}"
+                            + " | Peak heap growth: {} KiB/client | Failures: {}",
+                    stack, CLIENTS, run.operations(), run.summary(TimeUnit.MILLISECONDS),
+                    run.percentile(99.9, TimeUnit.MILLISECONDS), threads.getPeakThreadCount(),
+                    (peakHeap.get() - baselineHeap) / 1024 / CLIENTS, failures.get());
+        }
+    }
+
+    /**
+     * Deposits through the blocking MVC controller and JPA service.
+     *
+     * @author Mahmoud Shtayeh
+     */
+    @Nested
+    @NoArgsConstructor
+    class BlockingApiTests {
+        /**
+         * Server port
+         */
+        @LocalServerPort
+        private int port;
+
+        /**
+         * Reports the deposits latency and footprint.
+         */
+        @Test
+        void deposits_reportLatencyAndFootprint() throws Exception {
+            ReactiveApiBenchmarkTest.deposits_reportLatencyAndFootprint(port, "MVC/JPA");
+        }
+    }
+
+    /**
+     * Deposits through the non-blocking WebFlux controller and R2DBC service.
+     *
+     * @author Mahmoud Shtayeh
+     */
+    @Nested
+    @NoArgsConstructor
+    @ActiveProfiles("reactive")
+    class ReactiveApiTests {
+        /**
+         * Server port
+         */
+        @LocalServerPort
+        private int port;
+
+        /**
+         * Reports the deposits latency and footprint.
+         */
+        @Test
+        void deposits_reportLatencyAndFootprint() throws Exception {
+            ReactiveApiBenchmarkTest.deposits_reportLatencyAndFootprint(port, "WebFlux/R2DBC");
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.axis.account.exception;
+
+import com.axis.account.config.MessageSourceConfig;
+import lombok.NoArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.MessageSource;
+import org.springframework.context.NoSuchMessageException;
+
+import java.math.BigDecimal;
+import java.text.MessageFormat;
+import java.util.Locale;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Errors renderer tests: cached templates render exactly as the messages formatted on every error did.
+ *
+ * @author Mahmoud Shtayeh
+ */
+@NoArgsConstructor
+class ErrorRendererTest {
+    /**
+     * Arabic locale
+     */
+    private static final Locale ARABIC = Locale.forLanguageTag("ar");
+
+    /**
+     * Messages source, as configured for the application
+     */
+    private final MessageSource messageSource = new MessageSourceConfig().messageSource();
+
+    /**
+     * Renderer under test
+     */
+    private final ErrorRenderer errorRenderer = new ErrorRenderer(messageSource);
+
+    /**
+     * Tests that formatted messages, rendered repeatedly in every locale, match a fresh {@link MessageFormat}.
+     */
+    @Test
+    void message_withArguments_matchesMessageFormat() {
+        final Object[] arguments = {UUID.randomUUID(), new BigDecimal("1234567.50"), new BigDecimal("0.05")};
+
+        for (final Locale locale : new Locale[]{Locale.US, ARABIC, Locale.US}) {
+            final String expected = MessageFormat.format(
+                    messageSource.getMessage("error.transaction.insufficientFunds", null, locale), arguments);
+
+            assertThat(errorRenderer.message("error.transaction.insufficientFunds", locale, arguments))
+                    .isEqualTo(expected);
+        }
+    }
+
+    /**
+     * Tests that number arguments changing type are still formatted as {@link MessageFormat} does.
+     */
+    @Test
+    void message_argumentChangingType_matchesMessageFormat() {
+        final UUID accountId = UUID.randomUUID();
+        final String pattern = messageSource.getMessage("error.transaction.insufficientFunds", null, Locale.US);
+        errorRenderer.message("error.transaction.insufficientFunds", Locale.US, accountId, BigDecimal.TEN, 1);
+
+        assertThat(errorRenderer.message("error.transaction.insufficientFunds", Locale.US, accountId, "ten", "one"))
+                .isEqualTo(MessageFormat.format(pattern, accountId, "ten", "one"));
+    }
+
+    /**
+     * Tests that messages without arguments are rendered as resolved, and that unknown keys are not cached.
+     */
+    @Test
+    void message_withoutArguments_isRenderedAsResolved() {
+        assertThat(errorRenderer.message("error.transfer.sameAccount", Locale.US))
+                .isEqualTo(messageSource.getMessage("error.transfer.sameAccount", null, Locale.US));
+        assertThatThrownBy(() -> errorRenderer.message("error.unknown", Locale.US))
+                .isInstanceOf(NoSuchMessageException.class);
+        assertThatThrownBy(() -> errorRenderer.message("error.unknown", Locale.US))
+                .isInstanceOf(NoSuchMessageException.class);
+    }
+}
@@ -0,0 +1,87 @@
+package com.axis.account.i18n;
+
+import com.axis.account.config.MessageSourceConfig;
+import lombok.NoArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.context.NoSuchMessageException;
+import org.springframework.context.support.ReloadableResourceBundleMessageSource;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Messages catalog tests: messages resolved as the resource bundles did, and reloads swapping the catalog.
+ *
+ * @author Mahmoud Shtayeh
+ */
+@NoArgsConstructor
+class MessageCatalogTest {
+    /**
+     * Tests that every locale gets the message of its bundle, of its language, or of the default bundle, as the
+     * resource bundles message source did.
+     */
+    @Test
+    void getMessage_byLocale_fallsBackAsResourceBundles() {
+        final MessageCatalog messageCatalog = new MessageSourceConfig().messageSource();
+        final ReloadableResourceBundleMessageSource bundles = new ReloadableResourceBundleMessageSource();
+        bundles.setBasename(MessageSourceConfig.BASE_NAME);
+        bundles.setDefaultEncoding(MessageSourceConfig.DEFAULT_ENCODING);
+        bundles.setFallbackToSystemLocale(false);
+
+        for (final Locale locale : new Locale[]{Locale.US, Locale.forLanguageTag("ar"),
+                Locale.forLanguageTag("ar-JO"), Locale.FRANCE}) {
+            assertThat(messageCatalog.getMessage("error.transfer.sameAccount", null, locale))
+                    .isEqualTo(bundles.getMessage("error.transfer.sameAccount", null, locale));
+        }
+        assertThat(messageCatalog.getMessage("error.transfer.sameAccount", null, Locale.forLanguageTag("ar-JO")))
+                .isNotEqualTo(messageCatalog.getMessage("error.transfer.sameAccount", null, Locale.US));
+        assertThatThrownBy(() -> messageCatalog.getMessage("error.unknown", null, Locale.US))
+                .isInstanceOf(NoSuchMessageException.class);
+        assertThat(messageCatalog.getMessage("error.unknown", null, "Unknown", Locale.US)).isEqualTo("Unknown");
+    }
+
+    /**
+     * Tests that messages with arguments are formatted in the requested locale.
+     */
+    @Test
+    void getMessage_withArguments_isFormatted(@TempDir final Path directory) throws IOException {
+        Files.writeString(directory.resolve("messages.properties"), "greeting=Hello {0}", StandardCharsets.UTF_8);
+        final MessageCatalog messageCatalog = catalog(directory);
+
+        assertThat(messageCatalog.getMessage("greeting", new Object[]{"Axis"}, Locale.US)).isEqualTo("Hello Axis");
+    }
+
+    /**
+     * Tests that a reload picks the added bundles up, the other locales keeping their messages.
+     */
+    @Test
+    void reload_changedBundles_swapsCatalog(@TempDir final Path directory) throws IOException {
+        Files.writeString(directory.resolve("messages.properties"), "greeting=Hello", StandardCharsets.UTF_8);
+        final MessageCatalog messageCatalog = catalog(directory);
+        final Locale arabic = Locale.forLanguageTag("ar");
+        assertThat(messageCatalog.getMessage("greeting", null, arabic)).isEqualTo("Hello");
+
+        Files.writeString(directory.resolve("messages_ar.properties"), "greeting=مرحبا", StandardCharsets.UTF_8);
+
+        assertThat(messageCatalog.reload()).containsExactly(Locale.ROOT, arabic);
+        assertThat(messageCatalog.getMessage("greeting", null, arabic)).isEqualTo("مرحبا");
+        assertThat(messageCatalog.getMessage("greeting", null, Locale.US)).isEqualTo("Hello");
+    }
+
+    /**
+     * Build a catalog of the bundles of a directory
+     *
+     * @param directory bundles directory
+     * @return the loaded catalog
+     */
+    private static MessageCatalog catalog(final Path directory) {
+        return new MessageCatalog(directory.toUri() + "messages", StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,60 @@
+package com.axis.account.logging;
+
+import com.axis.account.config.RequestLoggingProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.NoArgsConstructor;
+import org.assertj.core.api.InstanceOfAssertFactories;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Request logger tests: every event, successful or failed, is rendered on a single line.
+ *
+ * @author Mahmoud Shtayeh
+ */
+@NoArgsConstructor
+@ExtendWith(OutputCaptureExtension.class)
+class RequestLoggerTest {
+    /**
+     * Logger under test, writing on the request thread
+     */
+    private final RequestLogger requestLogger = new RequestLogger(
+            new RequestLoggingProperties(RequestLoggingProperties.Mode.SYNC, 1, 1.0, Map.of()),
+            new SimpleMeterRegistry());
+
+    /**
+     * Tests that a failed request renders its failure as the response, without its stack trace.
+     */
+    @Test
+    void log_failedRequest_rendersErrorOnOneLine(final CapturedOutput output) {
+        final UUID accountId = UUID.randomUUID();
+        final IllegalStateException failure = new IllegalStateException("Connection refused");
+
+        requestLogger.log(new RequestLogEvent("POST", "/api/v1/accounts/" + accountId + "/withdraw", "withdraw",
+                new Object[]{accountId}, failure, false, 1_000_000));
+
+        assertThat(output.getOut().lines().filter(line -> line.contains("endpoint=withdraw")))
+                .singleElement(InstanceOfAssertFactories.STRING)
+                .contains("outcome=ERROR", "elapsedMs=1", "response=" + failure);
+        assertThat(output.getOut()).doesNotContain("\tat ");
+    }
+
+    /**
+     * Tests that a successful request renders its response.
+     */
+    @Test
+    void log_successfulRequest_rendersResponse(final CapturedOutput output) {
+        requestLogger.log(new RequestLogEvent("GET", "/api/v1/accounts/balance", "checkBalance",
+                new Object[0], 10, true, 0));
+
+        assertThat(output.getOut()).contains("endpoint=checkBalance outcome=SUCCESS elapsedMs=0 arguments=[] "
+                + "response=10");
+    }
+}
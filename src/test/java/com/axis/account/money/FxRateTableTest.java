@@ -0,0 +1,110 @@
+package com.axis.account.money;
+
+import com.axis.account.config.FxRateProperties;
+import com.axis.account.exception.InvalidTransactionException;
+import lombok.NoArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Currency;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Foreign exchange rates table tests: single rounding to the target minor unit, missing pairs, and refreshes.
+ *
+ * @author Mahmoud Shtayeh
+ */
+@NoArgsConstructor
+class FxRateTableTest {
+    /**
+     * Two fraction digits currency
+     */
+    private static final Currency USD = Currency.getInstance("USD");
+
+    /**
+     * Two fraction digits currency
+     */
+    private static final Currency EUR = Currency.getInstance("EUR");
+
+    /**
+     * Two fraction digits currency
+     */
+    private static final Currency GBP = Currency.getInstance("GBP");
+
+    /**
+     * No fraction digits currency
+     */
+    private static final Currency JPY = Currency.getInstance("JPY");
+
+    /**
+     * Rates file directory
+     */
+    @TempDir
+    private Path directory;
+
+    /**
+     * Tests that converted amounts are rounded once, half to even, to the minor unit of the target currency.
+     */
+    @Test
+    void convert_crossCurrency_roundsToTargetMinorUnit() throws IOException {
+        final FxRateTable fxRateTable = fxRateTable("USD/EUR=0.9215\nUSD/GBP=0.925\nUSD/JPY=151.505\n");
+
+        assertThat(fxRateTable.convert(new BigDecimal("10.00"), USD, EUR)).isEqualTo(new BigDecimal("9.22"));
+        assertThat(fxRateTable.convert(new BigDecimal("1.00"), USD, GBP)).isEqualTo(new BigDecimal("0.92"));
+        assertThat(fxRateTable.convert(new BigDecimal("0.10"), USD, JPY)).isEqualTo(new BigDecimal("15"));
+        assertThat(fxRateTable.convert(new BigDecimal("0.30"), USD, JPY)).isEqualTo(new BigDecimal("45"));
+        assertThat(fxRateTable.convert(new BigDecimal("10.00"), EUR, EUR)).isEqualTo(new BigDecimal("10.00"));
+    }
+
+    /**
+     * Tests that a pair without a rate is rejected, the reverse pair being no rate.
+     */
+    @Test
+    void convert_missingPair_throwsInvalidTransactionException() throws IOException {
+        final FxRateTable fxRateTable = fxRateTable("USD/EUR=0.9215\n");
+
+        assertThatThrownBy(() -> fxRateTable.convert(BigDecimal.TEN, EUR, USD))
+                .isInstanceOf(InvalidTransactionException.class)
+                .hasMessage("error.transfer.unsupportedCurrencies");
+    }
+
+    /**
+     * Tests that a refresh swaps the rates in whole, and that a failing refresh keeps the previous rates.
+     */
+    @Test
+    void refresh_changedOrInvalidFile_swapsOrKeepsRates() throws IOException {
+        final FxRateTable fxRateTable = fxRateTable("USD/EUR=0.9215\n");
+
+        Files.writeString(directory.resolve("fx-rates.properties"), "USD/EUR=0.5\nEUR/USD=2\n");
+        fxRateTable.refresh();
+        assertThat(fxRateTable.convert(BigDecimal.TEN, USD, EUR)).isEqualTo(new BigDecimal("5.00"));
+        assertThat(fxRateTable.convert(BigDecimal.TEN, EUR, USD)).isEqualTo(new BigDecimal("20.00"));
+
+        Files.writeString(directory.resolve("fx-rates.properties"), "USD/EUR=-1\n");
+        fxRateTable.refresh();
+        assertThat(fxRateTable.convert(BigDecimal.TEN, USD, EUR)).isEqualTo(new BigDecimal("5.00"));
+    }
+
+    /**
+     * Build a rates table loaded from a rates file
+     *
+     * @param rates the rates file content
+     * @return the loaded rates table
+     * @throws IOException if the rates file cannot be written
+     */
+    private FxRateTable fxRateTable(final String rates) throws IOException {
+        final Path file = Files.writeString(directory.resolve("fx-rates.properties"), rates);
+        final FxRateTable fxRateTable = new FxRateTable(null,
+                new FxRateProperties(file, Duration.ofMinutes(1), RoundingMode.HALF_EVEN));
+        fxRateTable.refresh();
+        return fxRateTable;
+    }
+}
@@ -0,0 +1,69 @@
+package com.axis.account.money;
+
+import lombok.NoArgsConstructor;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Fixed-point money tests: exact conversions at the currency scale, and checked arithmetic.
+ *
+ * @author Mahmoud Shtayeh
+ */
+@NoArgsConstructor
+class MoneyTest {
+    /**
+     * Two fraction digits currency
+     */
+    private static final Currency USD = Currency.getInstance("USD");
+
+    /**
+     * Three fraction digits currency
+     */
+    private static final Currency BHD = Currency.getInstance("BHD");
+
+    /**
+     * No fraction digits currency
+     */
+    private static final Currency JPY = Currency.getInstance("JPY");
+
+    /**
+     * Tests that decimal amounts convert to minor units at their currency scale, and back, exactly.
+     */
+    @Test
+    void of_perCurrencyScale_convertsExactly() {
+        assertThat(Money.of(new BigDecimal("12.05"), USD).minorUnits()).isEqualTo(1_205L);
+        assertThat(Money.of(new BigDecimal("12.050"), BHD).minorUnits()).isEqualTo(12_050L);
+        assertThat(Money.of(new BigDecimal("1200"), JPY).minorUnits()).isEqualTo(1_200L);
+        assertThat(Money.of(new BigDecimal("-0.05"), USD).toBigDecimal()).isEqualTo(new BigDecimal("-0.05"));
+        assertThat(Money.of(new BigDecimal("-0.05"), USD)).hasToString("-0.05");
+        assertThat(new Money(-1_205L, USD)).hasToString("-12.05");
+        assertThat(new Money(12_050L, BHD)).hasToString("12.050");
+    }
+
+    /**
+     * Tests that amounts finer than their currency, or beyond a {@code long}, are rejected rather than rounded.
+     */
+    @Test
+    void of_inexactAmount_isRejected() {
+        assertThatThrownBy(() -> Money.of(new BigDecimal("12.005"), USD)).isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> Money.of(new BigDecimal("0.5"), JPY)).isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> Money.of(new BigDecimal("1e17"), USD)).isInstanceOf(ArithmeticException.class);
+    }
+
+    /**
+     * Tests that arithmetic fails on overflow and on mixed currencies, instead of producing a wrong amount.
+     */
+    @Test
+    void plus_overflowOrMixedCurrencies_isRejected() {
+        final Money max = new Money(Long.MAX_VALUE, USD);
+
+        assertThat(max.minus(new Money(1L, USD)).plus(new Money(1L, USD))).isEqualTo(max);
+        assertThatThrownBy(() -> max.plus(new Money(1L, USD))).isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> max.compareTo(new Money(1L, BHD))).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,179 @@
+package com.axis.account.partition;
+
+import com.axis.account.config.TransactionArchivingProperties;
+import com.axis.account.dto.TransactionCursor;
+import com.axis.account.dto.TransactionDTO;
+import com.axis.account.model.Transaction;
+import lombok.NoArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Transaction archive files tests: the block format round trip, and history pages continued into the archive.
+ *
+ * @author Mahmoud Shtayeh
+ */
+@NoArgsConstructor
+class TransactionArchiveTest {
+    /**
+     * Transactions per block, small for the accounts to span several blocks
+     */
+    private static final int BLOCK_SIZE = 4;
+
+    /**
+     * Number of archived transactions per account
+     */
+    private static final int TRANSACTIONS_PER_ACCOUNT = 10;
+
+    /**
+     * First archived transaction timestamp, with microseconds
+     */
+    private static final LocalDateTime MONTH_START = LocalDateTime.of(2000, 1, 1, 0, 0, 0, 123_456_000);
+
+    /**
+     * Archive files directory, per test
+     */
+    @TempDir
+    private Path directory;
+
+    /**
+     * Tests that the transactions of an account, archived among other accounts over several blocks,
+     * are read back whole, newest first, by a freshly loaded archive.
+     */
+    @Test
+    void mergeHistory_archivedAccount_readsBackWholeNewestFirst() {
+        final List<UUID> accountIds = List.of(new UUID(1L, 0L), new UUID(2L, 0L), new UUID(-1L, 0L));
+        writeArchive(accountIds);
+
+        final TransactionArchive archive = new TransactionArchive(properties());
+        archive.loadIndexes();
+        final List<TransactionDTO> history = archive.mergeHistory(accountIds.get(1), null, List.of(), 100);
+
+        assertThat(history).hasSize(TRANSACTIONS_PER_ACCOUNT);
+        assertThat(history.getFirst().createdDate()).isEqualTo(MONTH_START.plusHours(TRANSACTIONS_PER_ACCOUNT - 1));
+        assertThat(history.getFirst().amount()).isEqualByComparingTo("10.25");
+        assertThat(history.getLast().createdDate()).isEqualTo(MONTH_START);
+        assertThat(history.getLast().type()).isEqualTo(Transaction.TransactionType.DEPOSIT);
+        assertThat(archive.mergeHistory(accountIds.getLast(), null, List.of(), 100))
+                .hasSize(TRANSACTIONS_PER_ACCOUNT);
+    }
+
+    /**
+     * Tests that paging through an account history walks its live transactions, then its archived ones, each once.
+     */
+    @Test
+    void mergeHistory_pagingPastLiveTransactions_continuesIntoArchive() {
+        final UUID accountId = new UUID(1L, 0L);
+        final TransactionArchive archive = writeArchive(List.of(accountId));
+        final List<TransactionDTO> live = List.of(
+                transaction(LocalDateTime.of(2000, 3, 2, 0, 0)),
+                transaction(LocalDateTime.of(2000, 3, 1, 0, 0)));
+
+        final List<TransactionDTO> walked = new ArrayList<>();
+        TransactionCursor position = null;
+        List<TransactionDTO> page;
+        do {
+            final TransactionCursor after = position;
+            page = archive.mergeHistory(accountId, after, live.stream()
+                    .filter(transaction -> after == null || transaction.createdDate().isBefore(after.createdDate()))
+                    .limit(3)
+                    .toList(), 3);
+            walked.addAll(page);
+            position = page.isEmpty() ? null : TransactionCursor.after(page.getLast());
+        } while (page.size() == 3);
+
+        assertThat(walked).hasSize(live.size() + TRANSACTIONS_PER_ACCOUNT)
+                .startsWith(live.toArray(TransactionDTO[]::new))
+                .extracting(TransactionDTO::id)
+                .doesNotHaveDuplicates();
+    }
+
+    /**
+     * Tests that transactions appended out of order are rejected, and that an uncommitted archive leaves no file.
+     */
+    @Test
+    void append_outOfOrder_isRejectedWithoutFile() throws Exception {
+        final TransactionArchive archive = new TransactionArchive(properties());
+        try (TransactionArchive.Writer writer = archive.open("transaction_y2000m01")) {
+            writer.append(archived(new UUID(2L, 0L), 0));
+            assertThatThrownBy(() -> writer.append(archived(new UUID(1L, 0L), 0)))
+                    .isInstanceOf(IllegalStateException.class);
+        }
+
+        assertThat(archive.isArchived("transaction_y2000m01")).isFalse();
+        try (var files = Files.list(directory)) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    /**
+     * Archive the transactions of the given accounts, in account order, one per hour
+     *
+     * @param accountIds the accounts unique identifiers, in archive order
+     * @return the archive, holding the committed file
+     */
+    private TransactionArchive writeArchive(final List<UUID> accountIds) {
+        final TransactionArchive archive = new TransactionArchive(properties());
+        try (TransactionArchive.Writer writer = archive.open("transaction_y2000m01")) {
+            for (final UUID accountId : accountIds) {
+                for (int hour = 0; hour < TRANSACTIONS_PER_ACCOUNT; hour++) {
+                    writer.append(archived(accountId, hour));
+                }
+            }
+            writer.commit();
+        }
+        return archive;
+    }
+
+    /**
+     * Build an archived transaction, the latest of an account withdrawing with cents
+     *
+     * @param accountId the account unique identifier
+     * @param hour      hours since the month start
+     * @return the archived transaction
+     */
+    private static ArchivedTransaction archived(final UUID accountId, final int hour) {
+        final boolean latest = hour == TRANSACTIONS_PER_ACCOUNT - 1;
+        return new ArchivedTransaction(new UUID(hour, accountId.getMostSignificantBits()), accountId,
+                latest ? new BigDecimal("10.25") : BigDecimal.TEN, Currency.getInstance("USD"),
+                latest ? Transaction.TransactionType.WITHDRAWAL : Transaction.TransactionType.DEPOSIT,
+                "archive@axis.com", MONTH_START.plusHours(hour), latest ? null : "archive@axis.com",
+                latest ? null : MONTH_START.plusHours(hour));
+    }
+
+    /**
+     * Build a live transaction
+     *
+     * @param createdDate the transaction timestamp
+     * @return the live transaction
+     */
+    private static TransactionDTO transaction(final LocalDateTime createdDate) {
+        return TransactionDTO.builder()
+                .id(UUID.randomUUID())
+                .type(Transaction.TransactionType.DEPOSIT)
+                .amount(BigDecimal.ONE)
+                .createdDate(createdDate)
+                .build();
+    }
+
+    /**
+     * Archival configuration of the test directory
+     *
+     * @return the archival configuration
+     */
+    private TransactionArchivingProperties properties() {
+        return new TransactionArchivingProperties(true, 12, directory, BLOCK_SIZE);
+    }
+}
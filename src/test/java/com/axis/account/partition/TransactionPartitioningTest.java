@@ -0,0 +1,345 @@
+package com.axis.account.partition;
+
+import com.axis.account.config.ConcurrencyProperties;
+import com.axis.account.config.EventSourcingProperties;
+import com.axis.account.config.TransactionArchivingProperties;
+import com.axis.account.config.TransactionPartitioningProperties;
+import com.axis.account.dto.TransactionDTO;
+import com.axis.account.ledger.EventSourcedLedger;
+import com.axis.account.model.Transaction;
+import com.axis.account.repository.AccountRepository;
+import com.axis.account.repository.BalanceSnapshotRepository;
+import com.axis.account.repository.DailyBalanceCheckpointRepository;
+import com.axis.account.repository.TransactionRepository;
+import lombok.NoArgsConstructor;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Transaction table partitions maintenance, and partition pruning of the statements bounded in time,
+ * checked on the plans of the very statements issued by the repositories.
+ *
+ * @author Mahmoud Shtayeh
+ */
+@NoArgsConstructor
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties =
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.axis.account.partition.TransactionPartitioningTest$CapturingStatementInspector")
+class TransactionPartitioningTest {
+    /**
+     * List the partitions attached to the transaction table
+     */
+    private static final String FIND_PARTITIONS = """
+            SELECT c.relname
+            FROM pg_inherits i
+                     JOIN pg_class c ON c.oid = i.inhrelid
+            WHERE i.inhparent = 'transaction'::regclass
+            """;
+
+    /**
+     * Axis accounts' Transactions repository
+     */
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    /**
+     * Accounts daily balance checkpoints repository
+     */
+    @Autowired
+    private DailyBalanceCheckpointRepository dailyBalanceCheckpointRepository;
+
+    /**
+     * Axis accounts repository, read by the event-sourced ledger
+     */
+    @Autowired
+    private AccountRepository accountRepository;
+
+    /**
+     * Balance snapshots repository, written by the event-sourced ledger
+     */
+    @Autowired
+    private BalanceSnapshotRepository balanceSnapshotRepository;
+
+    /**
+     * Transactions ledger, snapshotted before detaching with the {@code EVENT_SOURCED} strategy
+     */
+    @Autowired
+    private EventSourcedLedger eventSourcedLedger;
+
+    /**
+     * Transaction manager, streaming the archived partitions
+     */
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    /**
+     * Reads the partitions and the plans
+     */
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Tests that the partitions of the current month and of the premade months are attached on startup.
+     */
+    @Test
+    void startup_attachesCurrentAndPremadeMonths() {
+        final YearMonth currentMonth = YearMonth.now();
+
+        assertThat(jdbcTemplate.queryForList(FIND_PARTITIONS, String.class)).contains(
+                "transaction_default",
+                TransactionPartitionManager.partitionName(currentMonth),
+                TransactionPartitionManager.partitionName(currentMonth.plusMonths(1)),
+                TransactionPartitionManager.partitionName(currentMonth.plusMonths(3)));
+    }
+
+    /**
+     * Tests that the partitions of the months past the retention get detached, and stay as standalone tables.
+     */
+    @Test
+    void maintainPartitions_pastRetention_detachesOldMonths() {
+        final YearMonth oldMonth = YearMonth.of(2000, 1);
+        final String oldPartition = TransactionPartitionManager.partitionName(oldMonth);
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + oldPartition);
+        jdbcTemplate.execute("CREATE TABLE " + oldPartition + " PARTITION OF transaction "
+                + "FOR VALUES FROM ('2000-01-01') TO ('2000-02-01')");
+
+        new TransactionPartitionManager(jdbcTemplate, new TransactionPartitioningProperties(3, 240),
+                eventSourcedLedger, new TransactionTemplate(transactionManager))
+                .maintainPartitions();
+
+        assertThat(jdbcTemplate.queryForList(FIND_PARTITIONS, String.class))
+                .doesNotContain(oldPartition)
+                .contains(TransactionPartitionManager.partitionName(YearMonth.now()));
+        assertThat(jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, oldPartition))
+                .isTrue();
+        jdbcTemplate.execute("DROP TABLE " + oldPartition);
+    }
+
+    /**
+     * Tests that, with the {@code EVENT_SOURCED} strategy, the partitions past the retention get their accounts
+     * snapshotted before being detached, so that the derived balances keep their transactions.
+     */
+    @Test
+    void maintainPartitions_pastRetentionEventSourced_snapshotsAccountsBeforeDetaching() {
+        final String oldPartition = TransactionPartitionManager.partitionName(YearMonth.of(2000, 1));
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + oldPartition);
+        jdbcTemplate.execute("CREATE TABLE " + oldPartition + " PARTITION OF transaction "
+                + "FOR VALUES FROM ('2000-01-01') TO ('2000-02-01')");
+        final UUID accountId = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO account (id, username, balance, currency, version) "
+                + "VALUES (?, 'retention@axis.com', 3, 'USD', 0)", accountId);
+        for (int day = 1; day <= 3; day++) {
+            jdbcTemplate.update("INSERT INTO transaction (id, account_id, amount, currency, type, created_date) "
+                    + "VALUES (?, ?, 1, 'USD', 'DEPOSIT', ?)", UUID.randomUUID(), accountId,
+                    LocalDateTime.of(2000, 1, day, 0, 0));
+        }
+        final EventSourcedLedger ledger = new EventSourcedLedger(accountRepository, transactionRepository,
+                balanceSnapshotRepository, new ConcurrencyProperties(ConcurrencyProperties.Strategy.EVENT_SOURCED, 5),
+                new EventSourcingProperties(100));
+
+        new TransactionPartitionManager(jdbcTemplate, new TransactionPartitioningProperties(3, 240), ledger,
+                new TransactionTemplate(transactionManager))
+                .maintainPartitions();
+
+        assertThat(jdbcTemplate.queryForList(FIND_PARTITIONS, String.class)).doesNotContain(oldPartition);
+        assertThat(ledger.balanceAsOf(accountId, LocalDateTime.now()))
+                .satisfies(fold -> {
+                    assertThat(fold.events()).isEqualTo(3);
+                    assertThat(fold.balance()).isEqualByComparingTo("3");
+                });
+        jdbcTemplate.execute("DROP TABLE " + oldPartition);
+    }
+
+    /**
+     * Tests that the partitions past the archival retention get archived to a file, then dropped,
+     * their transactions staying readable from the archive.
+     *
+     * @param directory the archive files directory
+     */
+    @Test
+    void archivePartitions_pastRetention_archivesThenDropsOldMonths(@TempDir final Path directory) {
+        final String oldPartition = TransactionPartitionManager.partitionName(YearMonth.of(2000, 1));
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + oldPartition);
+        jdbcTemplate.execute("CREATE TABLE " + oldPartition + " PARTITION OF transaction "
+                + "FOR VALUES FROM ('2000-01-01') TO ('2000-02-01')");
+        final UUID accountId = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO account (id, username, balance, currency, version) "
+                + "VALUES (?, 'archive@axis.com', 3, 'USD', 0)", accountId);
+        for (int day = 1; day <= 3; day++) {
+            jdbcTemplate.update("INSERT INTO transaction (id, account_id, amount, currency, type, created_date) "
+                    + "VALUES (?, ?, 1, 'USD', 'DEPOSIT', ?)", UUID.randomUUID(), accountId,
+                    LocalDateTime.of(2000, 1, day, 0, 0));
+        }
+        final TransactionArchivingProperties properties = new TransactionArchivingProperties(true, 240, directory,
+                4096);
+        final TransactionArchive archive = new TransactionArchive(properties);
+
+        new TransactionArchiver(new TransactionPartitionManager(jdbcTemplate,
+                new TransactionPartitioningProperties(3, 0), eventSourcedLedger,
+                new TransactionTemplate(transactionManager)), archive, jdbcTemplate, transactionManager, properties)
+                .archivePartitions();
+
+        assertThat(jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, oldPartition))
+                .isFalse();
+        assertThat(archive.isArchived(oldPartition)).isTrue();
+        assertThat(archive.mergeHistory(accountId, null, List.of(), 10))
+                .extracting(TransactionDTO::createdDate)
+                .containsExactly(LocalDateTime.of(2000, 1, 3, 0, 0), LocalDateTime.of(2000, 1, 2, 0, 0),
+                        LocalDateTime.of(2000, 1, 1, 0, 0));
+    }
+
+    /**
+     * Tests that a partition failing to detach is left attached, for the next run, while the other partitions past
+     * the archival retention still get archived then dropped.
+     *
+     * @param directory the archive files directory
+     */
+    @Test
+    void archivePartitions_detachFailing_archivesOtherOldMonths(@TempDir final Path directory) {
+        final YearMonth failingMonth = YearMonth.of(2000, 1);
+        final String failingPartition = TransactionPartitionManager.partitionName(failingMonth);
+        final String oldPartition = TransactionPartitionManager.partitionName(YearMonth.of(2000, 2));
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + failingPartition);
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + oldPartition);
+        jdbcTemplate.execute("CREATE TABLE " + failingPartition + " PARTITION OF transaction "
+                + "FOR VALUES FROM ('2000-01-01') TO ('2000-02-01')");
+        jdbcTemplate.execute("CREATE TABLE " + oldPartition + " PARTITION OF transaction "
+                + "FOR VALUES FROM ('2000-02-01') TO ('2000-03-01')");
+        final TransactionArchivingProperties properties = new TransactionArchivingProperties(true, 240, directory,
+                4096);
+        final TransactionArchive archive = new TransactionArchive(properties);
+        final TransactionPartitionManager partitionManager = new TransactionPartitionManager(jdbcTemplate,
+                new TransactionPartitioningProperties(3, 0), eventSourcedLedger,
+                new TransactionTemplate(transactionManager)) {
+            @Override
+            public void detach(final YearMonth month) {
+                if (month.equals(failingMonth)) {
+                    throw new CannotAcquireLockException("lock timeout on " + failingPartition);
+                }
+                super.detach(month);
+            }
+        };
+
+        new TransactionArchiver(partitionManager, archive, jdbcTemplate, transactionManager, properties)
+                .archivePartitions();
+
+        assertThat(jdbcTemplate.queryForList(FIND_PARTITIONS, String.class))
+                .contains(failingPartition)
+                .doesNotContain(oldPartition);
+        assertThat(jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, oldPartition))
+                .isFalse();
+        assertThat(archive.isArchived(oldPartition)).isTrue();
+        assertThat(archive.isArchived(failingPartition)).isFalse();
+        jdbcTemplate.execute("DROP TABLE " + failingPartition);
+    }
+
+    /**
+     * Tests that a history page, bounded by its keyset position, never scans the following months.
+     */
+    @Test
+    void findHistoryBefore_positionInCurrentMonth_prunesFollowingMonths() {
+        final UUID accountId = UUID.randomUUID();
+        final LocalDateTime position = LocalDateTime.now();
+        final UUID positionId = new UUID(-1L, -1L);
+        transactionRepository.findHistoryBefore(accountId, position, positionId, Limit.of(20));
+
+        final String plan = explainCapturedStatement(accountId, position, positionId, position, 20);
+
+        assertThat(plan)
+                .contains(TransactionPartitionManager.partitionName(YearMonth.now()))
+                .doesNotContain(TransactionPartitionManager.partitionName(YearMonth.now().plusMonths(1)));
+    }
+
+    /**
+     * Tests that a ledger fold within the current month only scans the current month partition.
+     */
+    @Test
+    void foldAfter_withinCurrentMonth_scansCurrentMonthOnly() {
+        final UUID accountId = UUID.randomUUID();
+        final LocalDateTime monthStart = YearMonth.now().atDay(1).atStartOfDay();
+        final LocalDateTime asOf = LocalDateTime.now();
+        final UUID positionId = new UUID(0L, 0L);
+        transactionRepository.foldAfter(accountId, monthStart, positionId, asOf,
+                EnumSet.of(Transaction.TransactionType.DEPOSIT, Transaction.TransactionType.TRANSFER_IN));
+
+        final String plan = explainCapturedStatement(Transaction.TransactionType.DEPOSIT.name(),
+                Transaction.TransactionType.TRANSFER_IN.name(), accountId, monthStart, positionId, monthStart, asOf);
+
+        assertThat(plan)
+                .contains(TransactionPartitionManager.partitionName(YearMonth.now()))
+                .doesNotContain("transaction_default")
+                .doesNotContain(TransactionPartitionManager.partitionName(YearMonth.now().plusMonths(1)));
+    }
+
+    /**
+     * Tests that a past balance only scans the transactions partition of its day.
+     */
+    @Test
+    void findBalanceAsOf_today_scansCurrentMonthOnly() {
+        final UUID accountId = UUID.randomUUID();
+        final LocalDateTime asOf = LocalDateTime.now();
+        dailyBalanceCheckpointRepository.findBalanceAsOf(accountId, asOf);
+
+        final String plan = explainCapturedStatement(asOf, asOf, asOf, asOf, accountId);
+
+        assertThat(plan)
+                .contains(TransactionPartitionManager.partitionName(YearMonth.now()))
+                .doesNotContain("transaction_default")
+                .doesNotContain(TransactionPartitionManager.partitionName(YearMonth.now().plusMonths(1)));
+    }
+
+    /**
+     * Explain the last statement issued through Hibernate, bound with the same parameters
+     *
+     * @param parameters the statement parameters, in order
+     * @return the statement plan
+     */
+    private String explainCapturedStatement(final Object... parameters) {
+        final List<String> plan = jdbcTemplate.queryForList("EXPLAIN " + CapturingStatementInspector.LAST_SQL.get(),
+                String.class, parameters);
+        return String.join("\n", plan);
+    }
+
+    /**
+     * Captures the last statement issued through Hibernate, as is
+     *
+     * @author Mahmoud Shtayeh
+     */
+    @NoArgsConstructor
+    public static class CapturingStatementInspector implements StatementInspector {
+        /**
+         * The last issued statement
+         */
+        private static final AtomicReference<String> LAST_SQL = new AtomicReference<>();
+
+        /**
+         * Capture the statement
+         *
+         * @param sql the statement
+         * @return the same statement
+         */
+        @Override
+        public String inspect(final String sql) {
+            LAST_SQL.set(sql);
+            return sql;
+        }
+    }
+}
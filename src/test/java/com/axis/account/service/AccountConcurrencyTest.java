@@ -0,0 +1,645 @@
+package com.axis.account.service;
+
+import com.axis.account.dto.AccountDTO;
+import com.axis.account.exception.AccountNotFoundException;
+import com.axis.account.exception.InsufficientFundsException;
+import com.axis.account.repository.BalanceStripeRepository;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Multi-threaded contention tests of the balance mutation strategies,
+ * hammering a single hot account and verifying no update is lost.
+ *
+ * @author Mahmoud Shtayeh
+ */
+@Slf4j
+@NoArgsConstructor
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class AccountConcurrencyTest {
+    /**
+     * Simulation of a valid account username.
+     */
+    private static final String TEST_USERNAME = "contention@axis.com";
+
+    /**
+     * Number of concurrent clients hitting the same account.
+     */
+    private static final int THREADS = 16;
+
+    /**
+     * Number of operations executed by every client.
+     */
+    private static final int OPERATIONS_PER_THREAD = 50;
+
+    /**
+     * Runs {@code THREADS} clients, each alternating deposits and withdrawals of one unit on the same account,
+     * then verifies the final balance equals the initial one.
+     *
+     * @param accountService service under test
+     * @param strategy       strategy name, for reporting
+     */
+    private static void depositsAndWithdrawals_onHotAccount_loseNoUpdate(final AccountService accountService,
+                                                                        final String strategy) throws Exception {
+        final BigDecimal initialBalance = BigDecimal.valueOf(THREADS * OPERATIONS_PER_THREAD);
+        final UUID accountId = accountService.openAccount(AccountDTO.builder()
+                .username(TEST_USERNAME)
+                .balance(initialBalance)
+                .build());
+
+        final long startNanos = System.nanoTime();
+        runConcurrently(index -> {
+            if (index % 2 == 0) {
+                accountService.deposit(accountId, BigDecimal.ONE);
+            } else {
+                accountService.withdraw(accountId, BigDecimal.ONE);
+            }
+        });
+        final long elapsedNanos = System.nanoTime() - startNanos;
+
+        log.info("Strategy: {} | Operations: {} | Throughput: {} ops/s", strategy, THREADS * OPERATIONS_PER_THREAD,
+                THREADS * OPERATIONS_PER_THREAD * TimeUnit.SECONDS.toNanos(1) / elapsedNanos);
+        assertThat(accountService.checkBalance(accountId)).isEqualByComparingTo(initialBalance);
+    }
+
+    /**
+     * Runs concurrent withdrawals of one unit exceeding the balance of a single account,
+     * verifying exactly the covered withdrawals succeed and the balance never goes negative.
+     *
+     * @param accountService service under test
+     */
+    private static void withdrawals_exceedingBalance_neverOverdraw(final AccountService accountService) throws Exception {
+        final int balance = THREADS * OPERATIONS_PER_THREAD / 2;
+        final UUID accountId = accountService.openAccount(AccountDTO.builder()
+                .username(TEST_USERNAME)
+                .balance(BigDecimal.valueOf(balance))
+                .build());
+
+        final AtomicInteger rejected = new AtomicInteger();
+        runConcurrently(index -> {
+            try {
+                accountService.withdraw(accountId, BigDecimal.ONE);
+            } catch (final InsufficientFundsException exception) {
+                rejected.incrementAndGet();
+            }
+        });
+
+        assertThat(rejected.get()).isEqualTo(THREADS * OPERATIONS_PER_THREAD - balance);
+        assertThat(accountService.checkBalance(accountId)).isEqualByComparingTo(BigDecimal.ZERO);
+    }
+
+    /**
+     * Execute the operation {@code OPERATIONS_PER_THREAD} times on each of {@code THREADS} threads,
+     * released at once, failing on any unexpected exception.
+     *
+     * @param operation operation receiving its global index
+     */
+    private static void runConcurrently(final IntConsumer operation) throws Exception {
+        final CountDownLatch start = new CountDownLatch(1);
+        try (ExecutorService executor = Executors.newFixedThreadPool(THREADS)) {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < THREADS; thread++) {
+                final int offset = thread * OPERATIONS_PER_THREAD;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int operationIndex = 0; operationIndex < OPERATIONS_PER_THREAD; operationIndex++) {
+                        operation.accept(offset + operationIndex);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (final Future<?> future : futures) {
+                future.get(2, TimeUnit.MINUTES);
+            }
+        }
+    }
+
+    /**
+     * Contention tests of the optimistic, version based, strategy.
+     *
+     * @author Mahmoud Shtayeh
+     */
+    @Nested
+    @NoArgsConstructor
+    @TestPropertySource(properties = {
+            "axis.account.concurrency.strategy=OPTIMISTIC",
+            "axis.account.concurrency.max-attempts=100"
+    })
+    class OptimisticStrategyTests {
+        /**
+         * Service under test
+         */
+        @Autowired
+        private AccountService accountService;
+
+        /**
+         * Tests that concurrent deposits and withdrawals on the same account lose no update.
+         */
+        @Test
+        void depositsAndWithdrawals_onHotAccount_loseNoUpdate() throws Exception {
+            AccountConcurrencyTest.depositsAndWithdrawals_onHotAccount_loseNoUpdate(accountService, "OPTIMISTIC");
+        }
+
+        /**
+         * Tests that concurrent withdrawals exceeding the balance never overdraw the account.
+         */
+        @Test
+        void withdrawals_exceedingBalance_neverOverdraw() throws Exception {
+            AccountConcurrencyTest.withdrawals_exceedingBalance_neverOverdraw(accountService);
+        }
+    }
+
+    /**
+     * Contention tests of the pessimistic, row lock based, strategy.
+     *
+     * @author Mahmoud Shtayeh
+     */
+    @Nested
+    @NoArgsConstructor
+    @TestPropertySource(properties = "axis.account.concurrency.strategy=PESSIMISTIC")
+    class PessimisticStrategyTests {
+        /**
+         * Service under test
+         */
+        @Autowired
+        private AccountService accountService;
+
+        /**
+         * Tests that concurrent deposits and withdrawals on the same account lose no update.
+         */
+        @Test
+        void depositsAndWithdrawals_onHotAccount_loseNoUpdate() throws Exception {
+            AccountConcurrencyTest.depositsAndWithdrawals_onHotAccount_loseNoUpdate(accountService, "PESSIMISTIC");
+        }
+
+        /**
+         * Tests that concurrent withdrawals exceeding the balance never overdraw the account.
+         */
+        @Test
+        void withdrawals_exceedingBalance_neverOverdraw() throws Exception {
+            AccountConcurrencyTest.withdrawals_exceedingBalance_neverOverdraw(accountService);
+        }
+    }
+
+    /**
+     * Contention tests of the atomic, conditional update based, strategy.
+     *
+     * @author Mahmoud Shtayeh
+     */
+    @Nested
+    @NoArgsConstructor
+    @TestPropertySource(properties = "axis.account.concurrency.strategy=ATOMIC")
+    class AtomicStrategyTests {
+        /**
+         * Service under test
+         */
+        @Autowired
+        private AccountService accountService;
+
+        /**
+         * Tests that concurrent deposits and withdrawals on the same account lose no update.
+         */
+        @Test
+        void depositsAndWithdrawals_onHotAccount_loseNoUpdate() throws Exception {
+            AccountConcurrencyTest.depositsAndWithdrawals_onHotAccount_loseNoUpdate(accountService, "ATOMIC");
+        }
+
+        /**
+         * Tests that concurrent withdrawals exceeding the balance never overdraw the account.
+         */
+        @Test
+        void withdrawals_exceedingBalance_neverOverdraw() throws Exception {
+            AccountConcurrencyTest.withdrawals_exceedingBalance_neverOverdraw(accountService);
+        }
+    }
+
+    /**
+     * Contention tests of the event-sourced, ledger based, strategy.
+     *
+     * @author Mahmoud Shtayeh
+     */
+    @Nested
+    @NoArgsConstructor
+    @TestPropertySource(properties = {
+            "axis.account.concurrency.strategy=EVENT_SOURCED",
+            "axis.account.event-sourcing.snapshot-interval=10"
+    })
+    class EventSourcedStrategyTests {
+        /**
+         * Service under test
+         */
+        @Autowired
+        private AccountService accountService;
+
+        /**
+         * Tests that concurrent deposits and withdrawals on the same account lose no update.
+         */
+        @Test
+        void depositsAndWithdrawals_onHotAccount_loseNoUpdate() throws Exception {
+            AccountConcurrencyTest.depositsAndWithdrawals_onHotAccount_loseNoUpdate(accountService, "EVENT_SOURCED");
+        }
+
+        /**
+         * Tests that concurrent withdrawals exceeding the balance never overdraw the account.
+         */
+        @Test
+        void withdrawals_exceedingBalance_neverOverdraw() throws Exception {
+            AccountConcurrencyTest.withdrawals_exceedingBalance_neverOverdraw(accountService);
+        }
+
+        /**
+         * Tests that the balance as of a past timestamp, spanning many snapshots, leaves out the later transactions.
+         */
+        @Test
+        void balanceAsOf_pastTimestamp_excludesLaterTransactions() throws Exception {
+            final UUID accountId = accountService.openAccount(AccountDTO.builder()
+                    .username(TEST_USERNAME)
+                    .balance(BigDecimal.TEN)
+                    .build());
+            runConcurrently(index -> accountService.deposit(accountId, BigDecimal.ONE));
+            final LocalDateTime asOf = LocalDateTime.now();
+            TimeUnit.MILLISECONDS.sleep(10);
+            runConcurrently(index -> accountService.withdraw(accountId, BigDecimal.ONE));
+
+            final BigDecimal pastBalance = BigDecimal.valueOf(10 + THREADS * OPERATIONS_PER_THREAD);
+            assertThat(accountService.checkBalanceAsOf(accountId, asOf)).isEqualByComparingTo(pastBalance);
+            assertThat(accountService.checkBalance(accountId)).isEqualByComparingTo(BigDecimal.TEN);
+        }
+    }
+
+    /**
+     * Contention tests of deposits coalesced into group commits.
+     *
+     * @author Mahmoud Shtayeh
+     */
+    @Nested
+    @NoArgsConstructor
+    @TestPropertySource(properties = {
+            "axis.account.deposit-coalescing.enabled=true",
+            "axis.account.deposit-coalescing.window=PT0.1S"
+    })
+    class CoalescedDepositsTests {
+        /**
+         * Coalescing window, long enough for a lone deposit never to be mistaken for one waiting for it.
+         */
+        private static final Duration WINDOW = Duration.ofMillis(100);
+
+        /**
+         * Service under test
+         */
+        @Autowired
+        private AccountService accountService;
+
+        /**
+         * Tests that concurrent deposits on the same account, written by group commits,
+         * lose no update and each get a transaction of their own.
+         */
+        @Test
+        void deposits_onHotAccount_loseNoUpdateAndGetOwnTransactions() throws Exception {
+            final UUID accountId = accountService.openAccount(AccountDTO.builder()
+                    .username(TEST_USERNAME)
+                    .balance(BigDecimal.ZERO)
+                    .build());
+
+            final Set<UUID> transactionIds = ConcurrentHashMap.newKeySet();
+            runConcurrently(index -> transactionIds.add(accountService.deposit(accountId, BigDecimal.ONE)));
+
+            assertThat(transactionIds).hasSize(THREADS * OPERATIONS_PER_THREAD);
+            assertThat(accountService.checkBalance(accountId))
+                    .isEqualByComparingTo(BigDecimal.valueOf(THREADS * OPERATIONS_PER_THREAD));
+        }
+
+        /**
+         * Tests that a deposit into an account with no group committing commits at once, without waiting for the
+         * window.
+         */
+        @Test
+        void deposit_withNoGroupCommitting_commitsWithoutWindow() {
+            final UUID accountId = accountService.openAccount(AccountDTO.builder()
+                    .username(TEST_USERNAME)
+                    .balance(BigDecimal.ZERO)
+                    .build());
+            accountService.deposit(accountId, BigDecimal.ONE);
+
+            final long startNanos = System.nanoTime();
+            accountService.deposit(accountId, BigDecimal.ONE);
+
+            assertThat(Duration.ofNanos(System.nanoTime() - startNanos)).isLessThan(WINDOW);
+            assertThat(accountService.checkBalance(accountId)).isEqualByComparingTo(BigDecimal.TWO);
+        }
+
+        /**
+         * Tests that a coalesced deposit into a missing account fails as a plain deposit would.
+         */
+        @Test
+        void deposit_intoMissingAccount_throwsAccountNotFound() {
+            assertThatThrownBy(() -> accountService.deposit(UUID.randomUUID(), BigDecimal.ONE))
+                    .isInstanceOf(AccountNotFoundException.class);
+        }
+    }
+
+    /**
+     * Contention tests of accounts whose balance is striped over many rows, with no retry,
+     * so that any deadlock fails the operation.
+     *
+     * @author Mahmoud Shtayeh
+     */
+    @Nested
+    @NoArgsConstructor
+    @TestPropertySource(properties = {
+            "axis.account.balance-striping.enabled=true",
+            "axis.account.concurrency.max-attempts=1"
+    })
+    class StripedBalanceTests {
+        /**
+         * Number of balance stripes.
+         */
+        private static final int STRIPES = 8;
+
+        /**
+         * Initial balance of every stripe, the account row being empty.
+         */
+        private static final int STRIPE_BALANCE = 20;
+
+        /**
+         * Withdrawn amount a single stripe usually covers, debited by a single stripe statement.
+         */
+        private static final int STRIPE_WITHDRAWAL = 5;
+
+        /**
+         * Withdrawn amount, more than any stripe initially holds, so that withdrawals sweep the stripes.
+         */
+        private static final int SWEEPING_WITHDRAWAL = 30;
+
+        /**
+         * Service under test
+         */
+        @Autowired
+        private AccountService accountService;
+
+        /**
+         * Balance stripes repository
+         */
+        @Autowired
+        private BalanceStripeRepository balanceStripeRepository;
+
+        /**
+         * Moves the account history one day back, and funds the stripes behind the service
+         */
+        @Autowired
+        private JdbcTemplate jdbcTemplate;
+
+        /**
+         * Tests that concurrent deposits and withdrawals on a striped account lose no update.
+         */
+        @Test
+        void depositsAndWithdrawals_onStripedAccount_loseNoUpdate() throws Exception {
+            final BigDecimal initialBalance = BigDecimal.valueOf(THREADS * OPERATIONS_PER_THREAD);
+            final UUID accountId = accountService.openAccount(AccountDTO.builder()
+                    .username(TEST_USERNAME)
+                    .balance(initialBalance)
+                    .build());
+            accountService.stripeBalance(accountId, STRIPES);
+
+            runConcurrently(index -> {
+                if (index % 2 == 0) {
+                    accountService.deposit(accountId, BigDecimal.ONE);
+                } else {
+                    accountService.withdraw(accountId, BigDecimal.ONE);
+                }
+            });
+
+            assertThat(accountService.checkBalance(accountId)).isEqualByComparingTo(initialBalance);
+        }
+
+        /**
+         * Tests that the balance as of past timestamps, one day back through the daily checkpoints of the account row
+         * and its stripes, and earlier within the current day, leaves out the later transactions.
+         */
+        @Test
+        void balanceAsOf_pastTimestamps_excludeLaterTransactions() throws Exception {
+            final UUID accountId = accountService.openAccount(AccountDTO.builder()
+                    .username(TEST_USERNAME)
+                    .balance(BigDecimal.TEN)
+                    .build());
+            accountService.stripeBalance(accountId, STRIPES);
+            runConcurrently(index -> accountService.deposit(accountId, BigDecimal.ONE));
+            jdbcTemplate.update("UPDATE account SET created_date = created_date - INTERVAL '1 day' WHERE id = ?",
+                    accountId);
+            jdbcTemplate.update("UPDATE transaction SET created_date = created_date - INTERVAL '1 day' "
+                    + "WHERE account_id = ?", accountId);
+            jdbcTemplate.update("UPDATE daily_balance_checkpoint SET day = day - 1 WHERE account_id = ?", accountId);
+
+            final LocalDateTime yesterday = LocalDateTime.now().minusDays(1);
+            for (int withdrawal = 0; withdrawal < 5; withdrawal++) {
+                accountService.withdraw(accountId, BigDecimal.ONE);
+            }
+            final LocalDateTime today = LocalDateTime.now();
+            TimeUnit.MILLISECONDS.sleep(10);
+            runConcurrently(index -> accountService.withdraw(accountId, BigDecimal.ONE));
+
+            final int deposits = THREADS * OPERATIONS_PER_THREAD;
+            assertThat(accountService.checkBalanceAsOf(accountId, yesterday.minusDays(1)))
+                    .isEqualByComparingTo(BigDecimal.ZERO);
+            assertThat(accountService.checkBalanceAsOf(accountId, yesterday))
+                    .isEqualByComparingTo(BigDecimal.valueOf(10 + deposits));
+            assertThat(accountService.checkBalanceAsOf(accountId, today))
+                    .isEqualByComparingTo(BigDecimal.valueOf(5 + deposits));
+            assertThat(accountService.checkBalance(accountId)).isEqualByComparingTo(BigDecimal.valueOf(5));
+        }
+
+        /**
+         * Tests that concurrent withdrawals exceeding the balance spread over the stripes succeed exactly
+         * as far as the summed balance covers them, leaving no stripe negative.
+         */
+        @Test
+        void withdrawals_exceedingStripedBalance_neverOverdraw() throws Exception {
+            final int balance = THREADS * OPERATIONS_PER_THREAD / 2;
+            final UUID accountId = accountService.openAccount(AccountDTO.builder()
+                    .username(TEST_USERNAME)
+                    .balance(BigDecimal.ZERO)
+                    .build());
+            accountService.stripeBalance(accountId, STRIPES);
+            for (int deposit = 0; deposit < balance; deposit++) {
+                accountService.deposit(accountId, BigDecimal.ONE);
+            }
+
+            final AtomicInteger rejected = new AtomicInteger();
+            runConcurrently(index -> {
+                try {
+                    accountService.withdraw(accountId, BigDecimal.ONE);
+                } catch (final InsufficientFundsException exception) {
+                    rejected.incrementAndGet();
+                }
+            });
+
+            assertThat(rejected.get()).isEqualTo(THREADS * OPERATIONS_PER_THREAD - balance);
+            assertThat(accountService.checkBalance(accountId)).isEqualByComparingTo(BigDecimal.ZERO);
+            assertThat(balanceStripeRepository.findAll())
+                    .filteredOn(stripe -> stripe.getAccount().getId().equals(accountId))
+                    .hasSize(STRIPES)
+                    .allSatisfy(stripe -> assertThat(stripe.getBalance()).isNotNegative());
+        }
+
+        /**
+         * Tests that withdrawals sweeping the stripes, interleaved with deposits into and withdrawals from single
+         * stripes, never deadlock, every operation succeeding at its first attempt or failing on insufficient funds.
+         */
+        @Test
+        void sweepsAndStripeStatements_onStripedAccount_neverDeadlock() throws Exception {
+            final UUID accountId = accountService.openAccount(AccountDTO.builder()
+                    .username(TEST_USERNAME)
+                    .balance(BigDecimal.ZERO)
+                    .build());
+            accountService.stripeBalance(accountId, STRIPES);
+            jdbcTemplate.update("UPDATE balance_stripe SET balance = ? WHERE account_id = ?", STRIPE_BALANCE,
+                    accountId);
+
+            final AtomicInteger withdrawn = new AtomicInteger();
+            final AtomicInteger deposits = new AtomicInteger();
+            runConcurrently(index -> {
+                if (index % 3 == 0) {
+                    accountService.deposit(accountId, BigDecimal.TEN);
+                    deposits.incrementAndGet();
+                    return;
+                }
+                final int amount = index % 3 == 1 ? STRIPE_WITHDRAWAL : SWEEPING_WITHDRAWAL;
+                try {
+                    accountService.withdraw(accountId, BigDecimal.valueOf(amount));
+                    withdrawn.addAndGet(amount);
+                } catch (final InsufficientFundsException exception) {
+                    // Expected once the swept stripes fall short, nothing is moved
+                }
+            });
+
+            assertThat(withdrawn.get()).isPositive();
+            assertThat(accountService.checkBalance(accountId)).isEqualByComparingTo(BigDecimal.valueOf(
+                    STRIPES * STRIPE_BALANCE + 10L * deposits.get() - withdrawn.get()));
+        }
+    }
+
+    /**
+     * Stress tests of transfers between overlapping pairs of accounts, in both directions.
+     *
+     * @author Mahmoud Shtayeh
+     */
+    @Nested
+    @NoArgsConstructor
+    class TransferTests {
+        /**
+         * Number of accounts transferring between each other.
+         */
+        private static final int ACCOUNTS = 4;
+
+        /**
+         * Initial balance of every account.
+         */
+        private static final BigDecimal INITIAL_BALANCE = BigDecimal.valueOf(100);
+
+        /**
+         * Service under test
+         */
+        @Autowired
+        private AccountService accountService;
+
+        /**
+         * Tests that concurrent transfers between overlapping pairs of accounts, in both directions,
+         * never deadlock, never overdraw, and conserve the total money.
+         */
+        @Test
+        void transfers_betweenOverlappingPairs_conserveTotalMoney() throws Exception {
+            final List<UUID> accountIds = new ArrayList<>();
+            for (int index = 0; index < ACCOUNTS; index++) {
+                accountIds.add(accountService.openAccount(AccountDTO.builder()
+                        .username(TEST_USERNAME)
+                        .balance(INITIAL_BALANCE)
+                        .build()));
+            }
+
+            final long startNanos = System.nanoTime();
+            runConcurrently(index -> {
+                final int source = ThreadLocalRandom.current().nextInt(ACCOUNTS);
+                final int target = (source + 1 + ThreadLocalRandom.current().nextInt(ACCOUNTS - 1)) % ACCOUNTS;
+                try {
+                    accountService.transfer(accountIds.get(source), accountIds.get(target),
+                            BigDecimal.valueOf(ThreadLocalRandom.current().nextInt(1, 20)));
+                } catch (final InsufficientFundsException exception) {
+                    // Expected once an account is drained, the transfer is rejected as a whole
+                }
+            });
+            final long elapsedNanos = System.nanoTime() - startNanos;
+
+            log.info("Transfers | Operations: {} | Throughput: {} ops/s", THREADS * OPERATIONS_PER_THREAD,
+                    THREADS * OPERATIONS_PER_THREAD * TimeUnit.SECONDS.toNanos(1) / elapsedNanos);
+            BigDecimal total = BigDecimal.ZERO;
+            for (final UUID accountId : accountIds) {
+                final BigDecimal balance = accountService.checkBalance(accountId);
+                assertThat(balance).isNotNegative();
+                total = total.add(balance);
+            }
+            assertThat(total).isEqualByComparingTo(INITIAL_BALANCE.multiply(BigDecimal.valueOf(ACCOUNTS)));
+        }
+    }
+
+    /**
+     * Contention tests of money movements repeated concurrently with the same idempotency key.
+     *
+     * @author Mahmoud Shtayeh
+     */
+    @Nested
+    @NoArgsConstructor
+    class IdempotencyTests {
+        /**
+         * Service under test
+         */
+        @Autowired
+        private AccountService accountService;
+
+        /**
+         * Idempotency service under test
+         */
+        @Autowired
+        private IdempotencyService idempotencyService;
+
+        /**
+         * Tests that concurrent retries of the same deposit, sharing one idempotency key,
+         * deposit once and all return the same transaction ID.
+         */
+        @Test
+        void deposits_withSameIdempotencyKey_depositOnce() throws Exception {
+            final UUID accountId = accountService.openAccount(AccountDTO.builder()
+                    .username(TEST_USERNAME)
+                    .balance(BigDecimal.ZERO)
+                    .build());
+            final String idempotencyKey = UUID.randomUUID().toString();
+
+            final Set<UUID> transactionIds = ConcurrentHashMap.newKeySet();
+            runConcurrently(index -> transactionIds.add(idempotencyService.execute(idempotencyKey,
+                    "deposit|" + accountId + "|1", () -> accountService.deposit(accountId, BigDecimal.ONE))));
+
+            assertThat(transactionIds).hasSize(1);
+            assertThat(accountService.checkBalance(accountId)).isEqualByComparingTo(BigDecimal.ONE);
+        }
+    }
+}
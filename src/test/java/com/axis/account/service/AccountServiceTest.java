@@ -1,13 +1,29 @@
 package com.axis.account.service;
 
+import com.axis.account.cache.AccountCurrencyCache;
+import com.axis.account.cache.AccountIdFilter;
+import com.axis.account.cache.BalanceCache;
+import com.axis.account.config.AccountFilterProperties;
+import com.axis.account.config.BalanceCacheProperties;
+import com.axis.account.config.BalanceStripingProperties;
+import com.axis.account.config.ConcurrencyProperties;
+import com.axis.account.config.MoneyProperties;
 import com.axis.account.dto.AccountDTO;
+import com.axis.account.dto.BatchEntryDTO;
+import com.axis.account.dto.BatchEntryResult;
 import com.axis.account.exception.AccountNotFoundException;
+import com.axis.account.exception.InsufficientFundsException;
+import com.axis.account.exception.InvalidTransactionException;
 import com.axis.account.mapper.AccountMapper;
 import com.axis.account.model.Account;
 import com.axis.account.model.Transaction;
+import com.axis.account.money.FxRateTable;
 import com.axis.account.repository.AccountRepository;
+import com.axis.account.repository.BalanceStripeRepository;
+import com.axis.account.repository.DailyBalanceCheckpointRepository;
 import com.axis.account.repository.TransactionRepository;
 import com.axis.account.service.impl.AccountServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import lombok.NoArgsConstructor;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Nested;
@@ -15,9 +31,15 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
+import org.springframework.data.domain.AuditorAware;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Currency;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -25,6 +47,10 @@ import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -48,12 +74,76 @@ class AccountServiceTest {
     @Mock
     private TransactionRepository transactionRepository;
 
+    /**
+     * Balance stripes repository mock, never reached by unstriped accounts
+     */
+    @Mock
+    private BalanceStripeRepository balanceStripeRepository;
+
+    /**
+     * Daily balance checkpoints repository mock
+     */
+    @Mock
+    private DailyBalanceCheckpointRepository dailyBalanceCheckpointRepository;
+
     /**
      * Axis accounts POJOs mapper
      */
     @Mock
     private AccountMapper accountMapper;
 
+    /**
+     * Auditor provider mock, used by the statements bypassing the JPA auditing listener
+     */
+    @Mock
+    private AuditorAware<String> auditorAware;
+
+    /**
+     * Local balance cache, backed by the mocked repository
+     */
+    @Spy
+    private BalanceCache balanceCache = new BalanceCache(
+            new BalanceCacheProperties(true, 100, Duration.ofMinutes(1)), new SimpleMeterRegistry());
+
+    /**
+     * Existing accounts filter, disabled so that every account reaches the mocked repository
+     */
+    @Spy
+    private AccountIdFilter accountIdFilter = new AccountIdFilter(
+            new AccountFilterProperties(false, 1_000, 0.01, Duration.ofMinutes(5), Duration.ofMinutes(1)), null, null,
+            new SimpleMeterRegistry());
+
+    /**
+     * Accounts currencies cache, backed by the mocked repository
+     */
+    @Spy
+    private AccountCurrencyCache accountCurrencyCache = new AccountCurrencyCache();
+
+    /**
+     * Concurrency configuration, exercising the entity loading (optimistic) write path
+     */
+    @Spy
+    private ConcurrencyProperties concurrencyProperties =
+            new ConcurrencyProperties(ConcurrencyProperties.Strategy.OPTIMISTIC, 1);
+
+    /**
+     * Balance striping configuration, routing every mutation to the account row
+     */
+    @Spy
+    private BalanceStripingProperties balanceStripingProperties = new BalanceStripingProperties(false);
+
+    /**
+     * Money configuration, opening accounts in US dollars by default
+     */
+    @Spy
+    private MoneyProperties moneyProperties = new MoneyProperties(Currency.getInstance("USD"));
+
+    /**
+     * Foreign exchange rates mock, converting the cross-currency transfers
+     */
+    @Mock
+    private FxRateTable fxRateTable;
+
     /**
      * AccountService being tested.
      * Injected with mocked dependencies.
@@ -66,6 +156,11 @@ class AccountServiceTest {
      */
     private static final String TEST_USERNAME = "test@axis.com";
 
+    /**
+     * Simulation of the auditor performing the operations.
+     */
+    private static final String TEST_AUDITOR = "Axis";
+
     /**
      * Balance value used in the account-related test cases.
      */
@@ -76,12 +171,18 @@ class AccountServiceTest {
      */
     private static final UUID TEST_ACCOUNT_ID = UUID.randomUUID();
 
+    /**
+     * Currency of the test accounts.
+     */
+    private static final Currency USD = Currency.getInstance("USD");
+
     /**
      * A transient `Account` instance used for testing purposes.
      * This account does not have an ID and represents an unsaved entity.
      */
     private static final Account TRANSIENT_ACCOUNT = Account.builder()
             .balance(TEST_BALANCE)
+            .currency(USD)
             .build();
 
     /**
@@ -92,6 +193,7 @@ class AccountServiceTest {
     private static final Account SAVED_ACCOUNT = Account.builder()
             .id(TEST_ACCOUNT_ID)
             .balance(TEST_BALANCE)
+            .currency(USD)
             .build();
 
     /**
@@ -158,6 +260,7 @@ class AccountServiceTest {
             verify(accountMapper).toEntity(argThat(argument ->
                     TEST_USERNAME.equals(argument.username()) && TEST_BALANCE.equals(argument.balance())));
             verify(accountRepository).save(TRANSIENT_ACCOUNT);
+            assertThat(TRANSIENT_ACCOUNT.getCurrency()).isEqualTo(USD);
             assertThat(generatedAccountId).isEqualTo(TEST_ACCOUNT_ID);
         }
     }
@@ -198,6 +301,27 @@ class AccountServiceTest {
                     .extracting("accountId")
                     .isEqualTo(TEST_ACCOUNT_ID);
         }
+
+        /**
+         * Tests that repeated balance checks are served from the cache,
+         * and that a deposit evicts the cached balance so the next check reloads it.
+         */
+        @Test
+        void checkBalance_afterDeposit_reloadsEvictedBalance() {
+            final Account account = Account.builder().id(TEST_ACCOUNT_ID).balance(TEST_BALANCE).build();
+            when(accountRepository.findById(TEST_ACCOUNT_ID)).thenReturn(Optional.of(account));
+            when(transactionRepository.save(any(Transaction.class))).thenReturn(SAVED_DEPOSIT);
+
+            accountService.checkBalance(TEST_ACCOUNT_ID);
+            accountService.checkBalance(TEST_ACCOUNT_ID);
+            verify(accountRepository, times(1)).findById(TEST_ACCOUNT_ID);
+
+            accountService.deposit(TEST_ACCOUNT_ID, TEST_TRANSACTION_AMOUNT);
+            final BigDecimal currentBalance = accountService.checkBalance(TEST_ACCOUNT_ID);
+
+            verify(balanceCache).evictOnCompletion(TEST_ACCOUNT_ID);
+            assertThat(currentBalance).isEqualTo(TEST_BALANCE.add(TEST_TRANSACTION_AMOUNT));
+        }
     }
 
     /**
@@ -223,6 +347,23 @@ class AccountServiceTest {
             assertThat(transactionId).isEqualTo(TEST_DEPOSIT_ID);
             assertThat(SAVED_ACCOUNT.getBalance()).isEqualTo(TEST_BALANCE.add(TEST_TRANSACTION_AMOUNT));
         }
+
+        /**
+         * Tests that an amount finer than the account currency minor unit is rejected before touching the account,
+         * while the same whole amount with trailing zeros is accepted.
+         */
+        @Test
+        void deposit_finerThanCurrencyMinorUnit_throwsInvalidTransactionException() {
+            final UUID accountId = UUID.randomUUID();
+            when(accountRepository.findCurrencyById(accountId)).thenReturn(Optional.of(Currency.getInstance("JPY")));
+
+            assertThatThrownBy(() -> accountService.deposit(accountId, new BigDecimal("10.55")))
+                    .isInstanceOf(InvalidTransactionException.class)
+                    .hasMessage("error.transaction.invalidAmountScale");
+            verify(accountRepository, never()).findById(any());
+            assertThat(moneyProperties.fitsMinorUnit(new BigDecimal("10.00"), Currency.getInstance("JPY")))
+                    .isTrue();
+        }
     }
 
     /**
@@ -252,6 +393,243 @@ class AccountServiceTest {
         }
     }
 
+    /**
+     * A nested test class validating the single statement (atomic) balance mutation path,
+     * which never loads the account entity.
+     *
+     * @author Mahmoud Shtayeh
+     */
+    @Nested
+    @NoArgsConstructor
+    class AtomicStrategyTests {
+        /**
+         * Tests that an atomic deposit credits the balance and records the transaction in a single statement.
+         */
+        @Test
+        void deposit_withAtomicStrategy_updatesWithoutLoadingAccount() {
+            doReturn(ConcurrencyProperties.Strategy.ATOMIC).when(concurrencyProperties).strategy();
+            when(auditorAware.getCurrentAuditor()).thenReturn(Optional.of(TEST_AUDITOR));
+            when(transactionRepository.depositAtomically(any(UUID.class), eq(TEST_ACCOUNT_ID),
+                    eq(TEST_TRANSACTION_AMOUNT), eq(TEST_AUDITOR), any(LocalDateTime.class))).thenReturn(1);
+
+            final UUID transactionId = accountService.deposit(TEST_ACCOUNT_ID, TEST_TRANSACTION_AMOUNT);
+
+            verify(transactionRepository).depositAtomically(eq(transactionId), eq(TEST_ACCOUNT_ID),
+                    eq(TEST_TRANSACTION_AMOUNT), eq(TEST_AUDITOR), any(LocalDateTime.class));
+            verify(accountRepository, never()).findById(TEST_ACCOUNT_ID);
+            verify(transactionRepository, never()).save(any(Transaction.class));
+        }
+
+        /**
+         * Tests that a rejected atomic withdrawal reports the insufficient funds along with the current balance.
+         */
+        @Test
+        void withdraw_withAtomicStrategyAndInsufficientFunds_throwsInsufficientFundsException() {
+            doReturn(ConcurrencyProperties.Strategy.ATOMIC).when(concurrencyProperties).strategy();
+            final BigDecimal amount = TEST_BALANCE.add(BigDecimal.ONE);
+            when(transactionRepository.withdrawAtomically(any(UUID.class), eq(TEST_ACCOUNT_ID), eq(amount),
+                    any(), any(LocalDateTime.class))).thenReturn(0);
+            when(accountRepository.findBalanceById(TEST_ACCOUNT_ID)).thenReturn(Optional.of(TEST_BALANCE));
+
+            assertThatThrownBy(() -> accountService.withdraw(TEST_ACCOUNT_ID, amount))
+                    .isInstanceOf(InsufficientFundsException.class)
+                    .extracting("balance")
+                    .isEqualTo(TEST_BALANCE);
+            verify(transactionRepository, never()).save(any(Transaction.class));
+        }
+
+        /**
+         * Tests that a rejected atomic withdrawal on an unknown account reports the account as not found.
+         */
+        @Test
+        void withdraw_withAtomicStrategyAndInvalidAccountId_throwsNotFoundException() {
+            doReturn(ConcurrencyProperties.Strategy.ATOMIC).when(concurrencyProperties).strategy();
+            when(transactionRepository.withdrawAtomically(any(UUID.class), eq(TEST_ACCOUNT_ID),
+                    eq(TEST_TRANSACTION_AMOUNT), any(), any(LocalDateTime.class))).thenReturn(0);
+            when(accountRepository.findBalanceById(TEST_ACCOUNT_ID)).thenReturn(Optional.empty());
+
+            assertThatThrownBy(() -> accountService.withdraw(TEST_ACCOUNT_ID, TEST_TRANSACTION_AMOUNT))
+                    .isInstanceOf(AccountNotFoundException.class)
+                    .extracting("accountId")
+                    .isEqualTo(TEST_ACCOUNT_ID);
+        }
+    }
+
+    /**
+     * A nested test class validating the pessimistic balance mutation path, which locks the account row.
+     *
+     * @author Mahmoud Shtayeh
+     */
+    @Nested
+    @NoArgsConstructor
+    class PessimisticStrategyTests {
+        /**
+         * Tests that a pessimistic withdrawal loads the account through the locking query.
+         */
+        @Test
+        void withdraw_withPessimisticStrategy_locksAccount() {
+            doReturn(ConcurrencyProperties.Strategy.PESSIMISTIC).when(concurrencyProperties).strategy();
+            when(accountRepository.findByIdForUpdate(TEST_ACCOUNT_ID)).thenReturn(Optional.of(SAVED_ACCOUNT));
+            when(transactionRepository.save(any(Transaction.class))).thenReturn(SAVED_WITHDRAWAL);
+
+            final UUID transactionId = accountService.withdraw(TEST_ACCOUNT_ID, TEST_TRANSACTION_AMOUNT);
+
+            verify(accountRepository, never()).findById(TEST_ACCOUNT_ID);
+            assertThat(transactionId).isEqualTo(TEST_WITHDRAWAL_ID);
+            assertThat(SAVED_ACCOUNT.getBalance()).isEqualTo(TEST_BALANCE.subtract(TEST_TRANSACTION_AMOUNT));
+        }
+    }
+
+    /**
+     * A nested test class validating account-to-account transfers.
+     *
+     * @author Mahmoud Shtayeh
+     */
+    @Nested
+    @NoArgsConstructor
+    class TransferTests {
+        /**
+         * Tests that a transfer debits the source, credits the target, and records both sides.
+         */
+        @Test
+        void transfer_withValidDetails_movesMoneyBetweenAccounts() {
+            final Account target = Account.builder()
+                    .id(UUID.randomUUID())
+                    .balance(BigDecimal.ZERO)
+                    .currency(USD)
+                    .build();
+            when(accountRepository.findAllByIdForUpdate(any())).thenReturn(List.of(SAVED_ACCOUNT, target));
+            when(fxRateTable.convert(TEST_TRANSACTION_AMOUNT, USD, USD)).thenReturn(TEST_TRANSACTION_AMOUNT);
+            when(transactionRepository.save(any(Transaction.class))).thenReturn(SAVED_WITHDRAWAL);
+
+            final UUID transactionId = accountService.transfer(TEST_ACCOUNT_ID, target.getId(), TEST_TRANSACTION_AMOUNT);
+
+            verify(transactionRepository).save(argThat(transaction ->
+                    transaction.getType() == Transaction.TransactionType.TRANSFER_OUT
+                            && transaction.getAccount() == SAVED_ACCOUNT));
+            verify(transactionRepository).save(argThat(transaction ->
+                    transaction.getType() == Transaction.TransactionType.TRANSFER_IN
+                            && transaction.getAccount() == target));
+            assertThat(transactionId).isEqualTo(TEST_WITHDRAWAL_ID);
+            assertThat(SAVED_ACCOUNT.getBalance()).isEqualTo(TEST_BALANCE.subtract(TEST_TRANSACTION_AMOUNT));
+            assertThat(target.getBalance()).isEqualTo(TEST_TRANSACTION_AMOUNT);
+        }
+
+        /**
+         * Tests that a cross-currency transfer debits the source amount, and credits the converted amount.
+         */
+        @Test
+        void transfer_acrossCurrencies_creditsConvertedAmount() {
+            final Currency eur = Currency.getInstance("EUR");
+            final BigDecimal converted = new BigDecimal("921.37");
+            final Account source = Account.builder()
+                    .id(UUID.randomUUID())
+                    .balance(TEST_BALANCE)
+                    .currency(USD)
+                    .build();
+            final Account target = Account.builder()
+                    .id(UUID.randomUUID())
+                    .balance(BigDecimal.ZERO)
+                    .currency(eur)
+                    .build();
+            when(accountRepository.findAllByIdForUpdate(any())).thenReturn(List.of(source, target));
+            when(fxRateTable.convert(TEST_TRANSACTION_AMOUNT, USD, eur)).thenReturn(converted);
+            when(transactionRepository.save(any(Transaction.class))).thenReturn(SAVED_WITHDRAWAL);
+
+            accountService.transfer(source.getId(), target.getId(), TEST_TRANSACTION_AMOUNT);
+
+            verify(transactionRepository).save(argThat(transaction ->
+                    transaction.getType() == Transaction.TransactionType.TRANSFER_IN
+                            && converted.equals(transaction.getAmount()) && eur.equals(transaction.getCurrency())));
+            assertThat(source.getBalance()).isEqualTo(TEST_BALANCE.subtract(TEST_TRANSACTION_AMOUNT));
+            assertThat(target.getBalance()).isEqualTo(converted);
+        }
+
+        /**
+         * Tests that a transfer finer than the source currency minor unit is rejected, leaving both balances alone.
+         */
+        @Test
+        void transfer_finerThanSourceCurrencyMinorUnit_throwsInvalidTransactionException() {
+            final Account source = Account.builder()
+                    .id(UUID.randomUUID())
+                    .balance(TEST_BALANCE)
+                    .currency(Currency.getInstance("JPY"))
+                    .build();
+            when(accountRepository.findAllByIdForUpdate(any())).thenReturn(List.of(source, SAVED_ACCOUNT));
+
+            assertThatThrownBy(() -> accountService.transfer(source.getId(), TEST_ACCOUNT_ID, new BigDecimal("10.55")))
+                    .isInstanceOf(InvalidTransactionException.class)
+                    .hasMessage("error.transaction.invalidAmountScale");
+            assertThat(source.getBalance()).isEqualTo(TEST_BALANCE);
+            assertThat(SAVED_ACCOUNT.getBalance()).isEqualTo(TEST_BALANCE);
+        }
+
+        /**
+         * Tests that a transfer to the same account is rejected before touching the database.
+         */
+        @Test
+        void transfer_toSameAccount_throwsInvalidTransactionException() {
+            assertThatThrownBy(() -> accountService.transfer(TEST_ACCOUNT_ID, TEST_ACCOUNT_ID, TEST_TRANSACTION_AMOUNT))
+                    .isInstanceOf(InvalidTransactionException.class)
+                    .hasMessage("error.transfer.sameAccount");
+            verify(accountRepository, never()).findAllByIdForUpdate(any());
+        }
+    }
+
+    /**
+     * A nested test class validating transactions batches, applied in order with per-entry outcome.
+     *
+     * @author Mahmoud Shtayeh
+     */
+    @Nested
+    @NoArgsConstructor
+    class BatchTests {
+        /**
+         * Tests that a batch applies its entries in order against the locked accounts,
+         * skipping and reporting the entries failing on business rules.
+         */
+        @Test
+        void applyBatch_withMixedEntries_reportsEveryEntryOutcome() {
+            final UUID unknownAccountId = UUID.randomUUID();
+            when(accountRepository.findAllByIdForUpdate(any())).thenReturn(List.of(SAVED_ACCOUNT));
+            when(transactionRepository.saveAll(any())).thenAnswer(invocation -> {
+                final List<Transaction> transactions = invocation.getArgument(0);
+                transactions.forEach(transaction -> transaction.setId(UUID.randomUUID()));
+                return transactions;
+            });
+
+            final List<BatchEntryResult> results = accountService.applyBatch(List.of(
+                    batchEntry(TEST_ACCOUNT_ID, Transaction.TransactionType.WITHDRAWAL, TEST_BALANCE),
+                    batchEntry(TEST_ACCOUNT_ID, Transaction.TransactionType.WITHDRAWAL, BigDecimal.ONE),
+                    batchEntry(unknownAccountId, Transaction.TransactionType.DEPOSIT, BigDecimal.ONE),
+                    batchEntry(TEST_ACCOUNT_ID, Transaction.TransactionType.DEPOSIT, TEST_TRANSACTION_AMOUNT)));
+
+            assertThat(results.stream().map(BatchEntryResult::status).toList()).isEqualTo(List.of(
+                    BatchEntryResult.Status.APPLIED, BatchEntryResult.Status.INSUFFICIENT_FUNDS,
+                    BatchEntryResult.Status.ACCOUNT_NOT_FOUND, BatchEntryResult.Status.APPLIED));
+            assertThat(results.get(1).transactionId()).isNull();
+            assertThat(results.get(3).transactionId()).isNotNull();
+            assertThat(SAVED_ACCOUNT.getBalance()).isEqualTo(TEST_TRANSACTION_AMOUNT);
+        }
+
+        /**
+         * Build a batch entry
+         *
+         * @param accountId the unique identifier of the account
+         * @param type      the transaction type
+         * @param amount    the transaction amount
+         * @return the batch entry
+         */
+        private static BatchEntryDTO batchEntry(final UUID accountId, final Transaction.TransactionType type,
+                                                final BigDecimal amount) {
+            return BatchEntryDTO.builder()
+                    .accountId(accountId)
+                    .type(type)
+                    .amount(amount)
+                    .build();
+        }
+    }
+
     /**
      * This implementation specifically resets the balance of the {@code SAVED_ACCOUNT} object
      * to the predefined test balance value, {@code TEST_BALANCE}.
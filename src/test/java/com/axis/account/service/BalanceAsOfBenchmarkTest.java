@@ -0,0 +1,158 @@
+package com.axis.account.service;
+
+import com.axis.account.dto.AccountDTO;
+import com.axis.account.dto.BatchEntryDTO;
+import com.axis.account.model.Transaction;
+import com.axis.account.util.LatencyRecorder;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Point-in-time balance latency by account history length, spread over a year, through the daily checkpoints
+ * vs summing all the transactions following the timestamp.
+ * Run with {@code mvn test -Pbenchmark}.
+ *
+ * @author Mahmoud Shtayeh
+ */
+@Slf4j
+@Tag("benchmark")
+@NoArgsConstructor
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.jpa.show-sql=false",
+        "axis.account.balance-cache.enabled=false"
+})
+class BalanceAsOfBenchmarkTest {
+    /**
+     * Account history lengths compared.
+     */
+    private static final int[] HISTORY_LENGTHS = {1_000, 10_000, 40_000};
+
+    /**
+     * Number of days the account history is spread over.
+     */
+    private static final int HISTORY_DAYS = 365;
+
+    /**
+     * Number of deposits recorded by every batch, while building a history.
+     */
+    private static final int BATCH_SIZE = 100;
+
+    /**
+     * Number of measured balance queries per history length and method.
+     */
+    private static final int READS = 200;
+
+    /**
+     * Sums all the transactions of an account following a timestamp.
+     */
+    private static final String SUM_AFTER = """
+            SELECT a.balance - COALESCE((SELECT SUM(CASE WHEN t.type IN ('DEPOSIT', 'TRANSFER_IN')
+                                                         THEN t.amount ELSE -t.amount END)
+                                         FROM transaction t WHERE t.account_id = a.id AND t.created_date > ?), 0)
+            FROM account a
+            WHERE a.id = ?
+            """;
+
+    /**
+     * Service under test
+     */
+    @Autowired
+    private AccountService accountService;
+
+    /**
+     * Spreads the account history over past days, and runs the baseline query
+     */
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * For every history length, records as many deposits of one unit into a new account, spread evenly over the
+     * past year with their checkpoints, then reports the latency percentiles of its balance half a year ago.
+     */
+    @Test
+    void checkBalanceAsOf_reportLatencyByHistoryLength() throws Exception {
+        for (final int historyLength : HISTORY_LENGTHS) {
+            final UUID accountId = accountService.openAccount(AccountDTO.builder()
+                    .username("history@axis.com")
+                    .balance(BigDecimal.ZERO)
+                    .build());
+            final List<BatchEntryDTO> batch = new ArrayList<>(BATCH_SIZE);
+            for (int entry = 0; entry < BATCH_SIZE; entry++) {
+                batch.add(BatchEntryDTO.builder()
+                        .accountId(accountId)
+                        .type(Transaction.TransactionType.DEPOSIT)
+                        .amount(BigDecimal.ONE)
+                        .build());
+            }
+            for (int recorded = 0; recorded < historyLength; recorded += BATCH_SIZE) {
+                accountService.applyBatch(batch);
+            }
+            spreadOverPastYear(accountId, historyLength);
+
+            final LocalDateTime asOf = LocalDateTime.now().minusDays(HISTORY_DAYS / 2);
+            final BigDecimal expected = jdbcTemplate.queryForObject(SUM_AFTER, BigDecimal.class, asOf, accountId);
+            report(historyLength, "CHECKPOINTS", expected, () -> accountService.checkBalanceAsOf(accountId, asOf));
+            report(historyLength, "SUM_AFTER", expected,
+                    () -> jdbcTemplate.queryForObject(SUM_AFTER, BigDecimal.class, asOf, accountId));
+        }
+    }
+
+    /**
+     * Move the account opening a year back, and its transactions evenly over the past year,
+     * then rebuild its daily checkpoints from the moved transactions
+     *
+     * @param accountId     the unique identifier of the account
+     * @param historyLength number of transactions of the account
+     */
+    private void spreadOverPastYear(final UUID accountId, final int historyLength) {
+        jdbcTemplate.update("UPDATE account SET created_date = created_date - INTERVAL '" + (HISTORY_DAYS + 1)
+                + " days' WHERE id = ?", accountId);
+        jdbcTemplate.update("""
+                UPDATE transaction t
+                SET created_date = t.created_date - INTERVAL '1 day' * (? - ordered.position * ? / ?)
+                FROM (SELECT id, ROW_NUMBER() OVER (ORDER BY created_date, id) AS position
+                      FROM transaction WHERE account_id = ?) ordered
+                WHERE t.id = ordered.id
+                """, HISTORY_DAYS, HISTORY_DAYS, historyLength, accountId);
+        jdbcTemplate.update("DELETE FROM daily_balance_checkpoint WHERE account_id = ?", accountId);
+        jdbcTemplate.update("""
+                INSERT INTO daily_balance_checkpoint (id, account_id, day, slot, net)
+                SELECT gen_random_uuid(), account_id, CAST(created_date AS date), 0, SUM(amount)
+                FROM transaction
+                WHERE account_id = ?
+                GROUP BY account_id, CAST(created_date AS date)
+                """, accountId);
+    }
+
+    /**
+     * Measure a balance query, and report its latency percentiles
+     *
+     * @param historyLength number of transactions of the account, for reporting
+     * @param method        query method, for reporting
+     * @param expected      the expected balance
+     * @param query         the balance query
+     */
+    private static void report(final int historyLength, final String method, final BigDecimal expected,
+                               final Supplier<BigDecimal> query) throws Exception {
+        final LatencyRecorder run = LatencyRecorder.runSequentially(READS, (client, read) ->
+                assertThat(query.get()).isEqualByComparingTo(expected));
+
+        log.info("Method: {} | History: {} transactions over {} days | {}", method, historyLength, HISTORY_DAYS,
+                run.summary(TimeUnit.MICROSECONDS));
+    }
+}
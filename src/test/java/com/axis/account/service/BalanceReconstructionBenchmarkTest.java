@@ -0,0 +1,136 @@
+package com.axis.account.service;
+
+import com.axis.account.dto.AccountDTO;
+import com.axis.account.dto.BatchEntryDTO;
+import com.axis.account.model.Transaction;
+import com.axis.account.util.LatencyRecorder;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Event-sourced balance reconstruction latency by account history length, with and without snapshots.
+ * Run with {@code mvn test -Pbenchmark}.
+ *
+ * @author Mahmoud Shtayeh
+ */
+@Slf4j
+@Tag("benchmark")
+@NoArgsConstructor
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.jpa.show-sql=false",
+        "axis.account.balance-cache.enabled=false",
+        "axis.account.concurrency.strategy=EVENT_SOURCED"
+})
+class BalanceReconstructionBenchmarkTest {
+    /**
+     * Account history lengths compared.
+     */
+    private static final int[] HISTORY_LENGTHS = {1_000, 10_000, 40_000};
+
+    /**
+     * Number of deposits recorded by every batch, while building a history.
+     */
+    private static final int BATCH_SIZE = 100;
+
+    /**
+     * Number of measured balance reconstructions per history length.
+     */
+    private static final int READS = 200;
+
+    /**
+     * For every history length, records as many deposits of one unit into a new account,
+     * then reports the latency percentiles of reconstructing its balance.
+     *
+     * @param accountService service under test
+     * @param snapshots      snapshots mode, for reporting
+     */
+    private static void checkBalance_reportLatencyByHistoryLength(final AccountService accountService,
+                                                                  final String snapshots) throws Exception {
+        for (final int historyLength : HISTORY_LENGTHS) {
+            final UUID accountId = accountService.openAccount(AccountDTO.builder()
+                    .username("history@axis.com")
+                    .balance(BigDecimal.ZERO)
+                    .build());
+            final List<BatchEntryDTO> batch = new ArrayList<>(BATCH_SIZE);
+            for (int entry = 0; entry < BATCH_SIZE; entry++) {
+                batch.add(BatchEntryDTO.builder()
+                        .accountId(accountId)
+                        .type(Transaction.TransactionType.DEPOSIT)
+                        .amount(BigDecimal.ONE)
+                        .build());
+            }
+            for (int recorded = 0; recorded < historyLength; recorded += BATCH_SIZE) {
+                accountService.applyBatch(batch);
+            }
+
+            final LatencyRecorder run = LatencyRecorder.runSequentially(READS, (client, read) ->
+                    assertThat(accountService.checkBalance(accountId))
+                            .isEqualByComparingTo(BigDecimal.valueOf(historyLength)));
+
+            log.info("Snapshots: {} | History: {} transactions | {}", snapshots, historyLength,
+                    run.summary(TimeUnit.MICROSECONDS));
+        }
+    }
+
+    /**
+     * Balances folded from a snapshot every hundred transactions.
+     *
+     * @author Mahmoud Shtayeh
+     */
+    @Nested
+    @NoArgsConstructor
+    @TestPropertySource(properties = "axis.account.event-sourcing.snapshot-interval=100")
+    class SnapshotsTests {
+        /**
+         * Service under test
+         */
+        @Autowired
+        private AccountService accountService;
+
+        /**
+         * Reports the balance reconstruction latency.
+         */
+        @Test
+        void checkBalance_reportLatencyByHistoryLength() throws Exception {
+            BalanceReconstructionBenchmarkTest.checkBalance_reportLatencyByHistoryLength(accountService, "EVERY 100");
+        }
+    }
+
+    /**
+     * Balances folded from the whole history, snapshots being never due.
+     *
+     * @author Mahmoud Shtayeh
+     */
+    @Nested
+    @NoArgsConstructor
+    @TestPropertySource(properties = "axis.account.event-sourcing.snapshot-interval=" + Integer.MAX_VALUE)
+    class NoSnapshotsTests {
+        /**
+         * Service under test
+         */
+        @Autowired
+        private AccountService accountService;
+
+        /**
+         * Reports the balance reconstruction latency.
+         */
+        @Test
+        void checkBalance_reportLatencyByHistoryLength() throws Exception {
+            BalanceReconstructionBenchmarkTest.checkBalance_reportLatencyByHistoryLength(accountService, "NONE");
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.axis.account.service;
+
+import com.axis.account.dto.AccountDTO;
+import com.axis.account.util.LatencyRecorder;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Deposits and withdrawals throughput and latency on a single hot account, by number of balance stripes.
+ * Run with {@code mvn test -Pbenchmark}.
+ *
+ * @author Mahmoud Shtayeh
+ */
+@Slf4j
+@Tag("benchmark")
+@NoArgsConstructor
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.jpa.show-sql=false",
+        "axis.account.balance-cache.enabled=false",
+        "axis.account.balance-striping.enabled=true"
+})
+class BalanceStripingBenchmarkTest {
+    /**
+     * Numbers of stripes compared, one standing for the unstriped account row.
+     */
+    private static final int[] STRIPES = {1, 4, 16, 64};
+
+    /**
+     * Number of concurrent clients, all hitting the same account.
+     */
+    private static final int CLIENTS = 64;
+
+    /**
+     * Number of operations sent by every client, alternating deposits and withdrawals.
+     */
+    private static final int OPERATIONS_PER_CLIENT = 50;
+
+    /**
+     * Service under test
+     */
+    @Autowired
+    private AccountService accountService;
+
+    /**
+     * For every number of stripes, opens one account, then sends deposits and withdrawals of one unit into it from
+     * {@code CLIENTS} concurrent clients, reporting operations per second and latency percentiles,
+     * and verifying the summed balance ends where it started.
+     */
+    @Test
+    void depositsAndWithdrawals_onHotAccount_reportThroughputByStripes() throws Exception {
+        for (final int stripes : STRIPES) {
+            final BigDecimal initialBalance = BigDecimal.valueOf(CLIENTS * OPERATIONS_PER_CLIENT);
+            final UUID accountId = accountService.openAccount(AccountDTO.builder()
+                    .username("hot@axis.com")
+                    .balance(initialBalance)
+                    .build());
+            if (stripes > 1) {
+                accountService.stripeBalance(accountId, stripes);
+            }
+
+            final LatencyRecorder run;
+            try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+                run = LatencyRecorder.runConcurrently(clients, CLIENTS, OPERATIONS_PER_CLIENT, (client, operation) -> {
+                    if (operation % 2 == 0) {
+                        accountService.deposit(accountId, BigDecimal.ONE);
+                    } else {
+                        accountService.withdraw(accountId, BigDecimal.ONE);
+                    }
+                });
+            }
+
+            log.info("Stripes: {} | Operations: {} | {}", stripes, run.operations(),
+                    run.summary(TimeUnit.MILLISECONDS));
+            assertThat(accountService.checkBalance(accountId)).isEqualByComparingTo(initialBalance);
+        }
+    }
+}
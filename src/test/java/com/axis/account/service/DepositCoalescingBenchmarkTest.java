@@ -0,0 +1,139 @@
+package com.axis.account.service;
+
+import com.axis.account.coalescing.DepositCoalescer;
+import com.axis.account.dto.AccountDTO;
+import com.axis.account.util.LatencyRecorder;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Deposits throughput and latency on a single hot account, written one by one vs coalesced into group commits.
+ * Run with {@code mvn test -Pbenchmark}.
+ *
+ * @author Mahmoud Shtayeh
+ */
+@Slf4j
+@Tag("benchmark")
+@NoArgsConstructor
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.jpa.show-sql=false",
+        "axis.account.balance-cache.enabled=false"
+})
+class DepositCoalescingBenchmarkTest {
+    /**
+     * Number of concurrent clients, all depositing into the same account.
+     */
+    private static final int CLIENTS = 200;
+
+    /**
+     * Number of deposits sent by every client.
+     */
+    private static final int DEPOSITS_PER_CLIENT = 25;
+
+    /**
+     * Opens one account, then sends deposits into it from {@code CLIENTS} concurrent clients,
+     * reporting deposits per second, latency percentiles and the mean group size.
+     *
+     * @param accountService service under test
+     * @param meterRegistry  metrics registry, holding the group sizes
+     * @param mode           write mode, for reporting
+     */
+    private static void deposits_onHotAccount_reportThroughputAndLatency(final AccountService accountService,
+                                                                         final MeterRegistry meterRegistry,
+                                                                         final String mode) throws Exception {
+        final UUID accountId = accountService.openAccount(AccountDTO.builder()
+                .username("hot@axis.com")
+                .balance(BigDecimal.ZERO)
+                .build());
+
+        final LatencyRecorder run;
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            run = LatencyRecorder.runConcurrently(clients, CLIENTS, DEPOSITS_PER_CLIENT,
+                    (client, deposit) -> accountService.deposit(accountId, BigDecimal.ONE));
+        }
+
+        final DistributionSummary groupSizes = meterRegistry.find(DepositCoalescer.METRIC_NAME).summary();
+        log.info("Mode: {} | Deposits: {} | {} | Mean group size: {}", mode, run.operations(),
+                run.summary(TimeUnit.MILLISECONDS), groupSizes.count() == 0 ? 1.0 : groupSizes.mean());
+        assertThat(accountService.checkBalance(accountId))
+                .isEqualByComparingTo(BigDecimal.valueOf(run.operations()));
+    }
+
+    /**
+     * Deposits written one by one, each with its own balance update.
+     *
+     * @author Mahmoud Shtayeh
+     */
+    @Nested
+    @NoArgsConstructor
+    @TestPropertySource(properties = "axis.account.deposit-coalescing.enabled=false")
+    class SingleWritesTests {
+        /**
+         * Service under test
+         */
+        @Autowired
+        private AccountService accountService;
+
+        /**
+         * Metrics registry
+         */
+        @Autowired
+        private MeterRegistry meterRegistry;
+
+        /**
+         * Reports the hot account deposits throughput and latency.
+         */
+        @Test
+        void deposits_onHotAccount_reportThroughputAndLatency() throws Exception {
+            DepositCoalescingBenchmarkTest.deposits_onHotAccount_reportThroughputAndLatency(accountService,
+                    meterRegistry, "SINGLE");
+        }
+    }
+
+    /**
+     * Deposits coalesced into group commits.
+     *
+     * @author Mahmoud Shtayeh
+     */
+    @Nested
+    @NoArgsConstructor
+    @TestPropertySource(properties = "axis.account.deposit-coalescing.enabled=true")
+    class CoalescedWritesTests {
+        /**
+         * Service under test
+         */
+        @Autowired
+        private AccountService accountService;
+
+        /**
+         * Metrics registry
+         */
+        @Autowired
+        private MeterRegistry meterRegistry;
+
+        /**
+         * Reports the hot account deposits throughput and latency.
+         */
+        @Test
+        void deposits_onHotAccount_reportThroughputAndLatency() throws Exception {
+            DepositCoalescingBenchmarkTest.deposits_onHotAccount_reportThroughputAndLatency(accountService,
+                    meterRegistry, "COALESCED");
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.axis.account.service;
+
+import com.axis.account.dto.AccountDTO;
+import com.axis.account.dto.StatementFormat;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.math.BigDecimal;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Statement export of an account with millions of transactions, within the small heap
+ * the {@code benchmark} profile runs the tests with ({@code -Xmx256m}).
+ * Run with {@code mvn test -Pbenchmark}.
+ *
+ * @author Mahmoud Shtayeh
+ */
+@Slf4j
+@Tag("benchmark")
+@NoArgsConstructor
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = "spring.jpa.show-sql=false")
+class StatementExportBenchmarkTest {
+    /**
+     * Number of transactions of the exported account.
+     */
+    private static final int TRANSACTIONS = 3_000_000;
+
+    /**
+     * Account service, opening the exported account
+     */
+    @Autowired
+    private AccountService accountService;
+
+    /**
+     * Service under benchmark
+     */
+    @Autowired
+    private StatementService statementService;
+
+    /**
+     * Generates the ledger
+     */
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Exports the whole ledger as NDJSON into a discarding destination, verifying every transaction is written,
+     * and reporting the throughput and the peak heap usage.
+     */
+    @Test
+    void export_millionsOfTransactions_streamsInBoundedMemory() throws Exception {
+        final UUID accountId = accountService.openAccount(AccountDTO.builder()
+                .username("merchant@axis.com")
+                .balance(BigDecimal.ZERO)
+                .build());
+        jdbcTemplate.update("""
+                INSERT INTO transaction (id, account_id, amount, currency, type, created_by, created_date)
+                SELECT gen_random_uuid(), ?, 1, 'USD', 'DEPOSIT', 'benchmark', now() - make_interval(secs => n)
+                FROM generate_series(1, ?) AS n
+                """, accountId, TRANSACTIONS);
+        System.gc();
+        ManagementFactory.getMemoryPoolMXBeans().forEach(MemoryPoolMXBean::resetPeakUsage);
+
+        final AtomicLong lines = new AtomicLong();
+        final long startNanos = System.nanoTime();
+        statementService.export(accountId, StatementFormat.NDJSON, () -> new OutputStream() {
+            @Override
+            public void write(final int value) {
+                if (value == '\n') {
+                    lines.incrementAndGet();
+                }
+            }
+
+            @Override
+            public void write(final byte[] bytes, final int offset, final int length) {
+                for (int index = offset; index < offset + length; index++) {
+                    write(bytes[index]);
+                }
+            }
+        });
+        final long elapsedNanos = System.nanoTime() - startNanos;
+
+        final long peakHeapBytes = ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP)
+                .mapToLong(pool -> pool.getPeakUsage().getUsed())
+                .sum();
+        log.info("Statement: {} rows | Throughput: {} rows/s | Peak heap: {} MB | Max heap: {} MB", lines.get(),
+                lines.get() * TimeUnit.SECONDS.toNanos(1) / elapsedNanos, peakHeapBytes >> 20,
+                Runtime.getRuntime().maxMemory() >> 20);
+        assertThat(lines.get()).isEqualTo(TRANSACTIONS);
+    }
+}
@@ -0,0 +1,82 @@
+package com.axis.account.service;
+
+import com.axis.account.dto.AccountDTO;
+import com.axis.account.dto.BatchEntryDTO;
+import com.axis.account.model.Transaction;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ledger lines per second of single deposits vs a transactions batch, over a payroll-like set of accounts.
+ * Run with {@code mvn test -Pbenchmark}.
+ *
+ * @author Mahmoud Shtayeh
+ */
+@Slf4j
+@Tag("benchmark")
+@NoArgsConstructor
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = "spring.jpa.show-sql=false")
+class TransactionBatchBenchmarkTest {
+    /**
+     * Number of payroll accounts.
+     */
+    private static final int ACCOUNTS = 1_000;
+
+    /**
+     * Number of ledger lines per run.
+     */
+    private static final int LINES = 20_000;
+
+    /**
+     * Service under benchmark
+     */
+    @Autowired
+    private AccountService accountService;
+
+    /**
+     * Applies {@code LINES} deposits one call at a time, then as a single batch after a smaller warm-up batch,
+     * reporting lines per second.
+     */
+    @Test
+    void deposits_singleVsBatch_reportsLinesPerSecond() {
+        final List<UUID> accountIds = new ArrayList<>(ACCOUNTS);
+        for (int index = 0; index < ACCOUNTS; index++) {
+            accountIds.add(accountService.openAccount(AccountDTO.builder()
+                    .username("payroll" + index + "@axis.com")
+                    .balance(BigDecimal.ZERO)
+                    .build()));
+        }
+
+        final long singleStartNanos = System.nanoTime();
+        for (int line = 0; line < LINES; line++) {
+            accountService.deposit(accountIds.get(line % ACCOUNTS), BigDecimal.TEN);
+        }
+        final long singleNanos = System.nanoTime() - singleStartNanos;
+
+        final List<BatchEntryDTO> entries = new ArrayList<>(LINES);
+        for (int line = 0; line < LINES; line++) {
+            entries.add(BatchEntryDTO.builder()
+                    .accountId(accountIds.get(line % ACCOUNTS))
+                    .type(Transaction.TransactionType.DEPOSIT)
+                    .amount(BigDecimal.TEN)
+                    .build());
+        }
+        accountService.applyBatch(entries.subList(0, LINES / 10));
+        final long batchStartNanos = System.nanoTime();
+        accountService.applyBatch(entries);
+        final long batchNanos = System.nanoTime() - batchStartNanos;
+
+        log.info("Single deposits: {} lines/s | Batch: {} lines/s",
+                LINES * TimeUnit.SECONDS.toNanos(1) / singleNanos, LINES * TimeUnit.SECONDS.toNanos(1) / batchNanos);
+    }
+}
@@ -0,0 +1,88 @@
+package com.axis.account.service;
+
+import com.axis.account.dto.AccountDTO;
+import com.axis.account.dto.TransactionCursor;
+import com.axis.account.util.LatencyRecorder;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * History page latency by page depth, on an account with a million transactions.
+ * Run with {@code mvn test -Pbenchmark}.
+ *
+ * @author Mahmoud Shtayeh
+ */
+@Slf4j
+@Tag("benchmark")
+@NoArgsConstructor
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = "spring.jpa.show-sql=false")
+class TransactionHistoryBenchmarkTest {
+    /**
+     * Number of transactions of the benchmarked account.
+     */
+    private static final int TRANSACTIONS = 1_000_000;
+
+    /**
+     * History page size.
+     */
+    private static final int PAGE_SIZE = 50;
+
+    /**
+     * Number of page reads per measured depth.
+     */
+    private static final int READS = 200;
+
+    /**
+     * Service under benchmark
+     */
+    @Autowired
+    private AccountService accountService;
+
+    /**
+     * Generates the ledger
+     */
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Reads a page at increasing depths of the ledger, reporting the latency percentiles of each depth.
+     */
+    @Test
+    void history_atIncreasingDepth_reportsPageLatency() throws Exception {
+        final UUID accountId = accountService.openAccount(AccountDTO.builder()
+                .username("merchant@axis.com")
+                .balance(BigDecimal.ZERO)
+                .build());
+        jdbcTemplate.update("""
+                INSERT INTO transaction (id, account_id, amount, currency, type, created_by, created_date)
+                SELECT gen_random_uuid(), ?, 1, 'USD', 'DEPOSIT', 'benchmark', now() - make_interval(secs => n)
+                FROM generate_series(1, ?) AS n
+                """, accountId, TRANSACTIONS);
+        jdbcTemplate.execute("ANALYZE transaction");
+
+        for (final int depth : new int[]{0, 10_000, 100_000, TRANSACTIONS - PAGE_SIZE}) {
+            final String cursor = depth == 0 ? null : jdbcTemplate.queryForObject("""
+                            SELECT created_date, id FROM transaction WHERE account_id = ?
+                            ORDER BY created_date DESC, id DESC OFFSET ? LIMIT 1
+                            """,
+                    (row, index) -> new TransactionCursor(row.getObject(1, LocalDateTime.class),
+                            row.getObject(2, UUID.class)).encode(),
+                    accountId, depth - 1);
+            accountService.history(accountId, cursor, PAGE_SIZE);
+
+            final LatencyRecorder run = LatencyRecorder.runSequentially(READS,
+                    (client, read) -> accountService.history(accountId, cursor, PAGE_SIZE));
+            log.info("History depth: {} | {}", depth, run.summary(TimeUnit.MICROSECONDS));
+        }
+    }
+}
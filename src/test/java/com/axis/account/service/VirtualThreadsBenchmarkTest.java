@@ -0,0 +1,151 @@
+package com.axis.account.service;
+
+import com.axis.account.dto.AccountDTO;
+import com.axis.account.util.LatencyRecorder;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Deposits throughput and latency of platform vs virtual request threads, under many more concurrent clients
+ * than database connections. Run with {@code mvn test -Pbenchmark}.
+ *
+ * @author Mahmoud Shtayeh
+ */
+@Slf4j
+@Tag("benchmark")
+@NoArgsConstructor
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.jpa.show-sql=false",
+        "axis.account.request-logging.mode=OFF"
+})
+class VirtualThreadsBenchmarkTest {
+    /**
+     * Number of concurrent clients.
+     */
+    private static final int CLIENTS = 1_000;
+
+    /**
+     * Number of deposits sent by every client.
+     */
+    private static final int DEPOSITS_PER_CLIENT = 10;
+
+    /**
+     * Opens {@code CLIENTS} accounts, then sends deposits from as many concurrent clients, each to its own account,
+     * reporting deposits per second, latency percentiles and failures.
+     *
+     * @param accountService service opening the accounts
+     * @param port           server port
+     * @param threads        request threads kind, for reporting
+     */
+    private static void deposits_reportThroughputAndLatency(final AccountService accountService, final int port,
+                                                            final String threads) throws Exception {
+        final List<HttpRequest> requests = new ArrayList<>(CLIENTS);
+        for (int client = 0; client < CLIENTS; client++) {
+            final UUID accountId = accountService.openAccount(AccountDTO.builder()
+                    .username("client" + client + "@axis.com")
+                    .balance(BigDecimal.ZERO)
+                    .build());
+            requests.add(HttpRequest.newBuilder(URI.create("http://localhost:" + port
+                            + "/api/v1/accounts/" + accountId + "/deposits?amount=1"))
+                    .POST(HttpRequest.BodyPublishers.noBody())
+                    .build());
+        }
+
+        final AtomicInteger failures = new AtomicInteger();
+        final LatencyRecorder run;
+        try (HttpClient httpClient = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+             ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            run = LatencyRecorder.runConcurrently(clients, CLIENTS, DEPOSITS_PER_CLIENT, (client, deposit) -> {
+                if (httpClient.send(requests.get(client), HttpResponse.BodyHandlers.discarding())
+                        .statusCode() != 201) {
+                    failures.incrementAndGet();
+                }
+            });
+        }
+
+        log.info("Threads: {} | Deposits: {} | {} | Failures: {}", threads, run.operations(),
+                run.summary(TimeUnit.MILLISECONDS), failures.get());
+    }
+
+    /**
+     * Deposits on the default Tomcat platform threads pool.
+     *
+     * @author Mahmoud Shtayeh
+     */
+    @Nested
+    @NoArgsConstructor
+    @TestPropertySource(properties = "spring.threads.virtual.enabled=false")
+    class PlatformThreadsTests {
+        /**
+         * Service opening the accounts
+         */
+        @Autowired
+        private AccountService accountService;
+
+        /**
+         * Server port
+         */
+        @LocalServerPort
+        private int port;
+
+        /**
+         * Reports the deposits throughput and latency.
+         */
+        @Test
+        void deposits_reportThroughputAndLatency() throws Exception {
+            VirtualThreadsBenchmarkTest.deposits_reportThroughputAndLatency(accountService, port, "PLATFORM");
+        }
+    }
+
+    /**
+     * Deposits on a virtual thread per request.
+     *
+     * @author Mahmoud Shtayeh
+     */
+    @Nested
+    @NoArgsConstructor
+    @TestPropertySource(properties = "spring.threads.virtual.enabled=true")
+    class VirtualThreadsTests {
+        /**
+         * Service opening the accounts
+         */
+        @Autowired
+        private AccountService accountService;
+
+        /**
+         * Server port
+         */
+        @LocalServerPort
+        private int port;
+
+        /**
+         * Reports the deposits throughput and latency.
+         */
+        @Test
+        void deposits_reportThroughputAndLatency() throws Exception {
+            VirtualThreadsBenchmarkTest.deposits_reportThroughputAndLatency(accountService, port, "VIRTUAL");
+        }
+    }
+}
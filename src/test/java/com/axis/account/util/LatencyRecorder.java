@@ -0,0 +1,210 @@
+package com.axis.account.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks harness, timing every operation of a run, then reporting its throughput and latency percentiles.
+ *
+ * @author Mahmoud Shtayeh
+ */
+public final class LatencyRecorder {
+    /**
+     * Longest wait for the clients of a run
+     */
+    private static final long TIMEOUT_MINUTES = 10;
+
+    /**
+     * Latency of every operation, in nanoseconds, sorted once the run stopped
+     */
+    private final long[] latencies;
+
+    /**
+     * Run start timestamp
+     */
+    private final long startNanos;
+
+    /**
+     * Run duration, once stopped
+     */
+    private long elapsedNanos;
+
+    /**
+     * Start a run
+     *
+     * @param operations number of operations of the run
+     */
+    private LatencyRecorder(final int operations) {
+        this.latencies = new long[operations];
+        this.startNanos = System.nanoTime();
+    }
+
+    /**
+     * Run operations one after the other, timing each of them
+     *
+     * @param operations number of operations
+     * @param operation  the timed operation, given its index
+     * @return the stopped run
+     * @throws Exception if an operation fails
+     */
+    public static LatencyRecorder runSequentially(final int operations, final Operation operation) throws Exception {
+        final LatencyRecorder recorder = new LatencyRecorder(operations);
+        for (int index = 0; index < operations; index++) {
+            final int operationIndex = index;
+            recorder.time(index, () -> operation.run(0, operationIndex));
+        }
+        return recorder.stop();
+    }
+
+    /**
+     * Run concurrent clients, each running its operations one after the other, timing each of them
+     *
+     * @param executor            runs the clients
+     * @param clients             number of concurrent clients
+     * @param operationsPerClient number of operations of every client
+     * @param operation           the timed operation, given its client and its index within the client
+     * @return the stopped run
+     * @throws Exception if an operation fails, or the clients time out
+     */
+    public static LatencyRecorder runConcurrently(final ExecutorService executor, final int clients,
+                                                  final int operationsPerClient, final Operation operation)
+            throws Exception {
+        final LatencyRecorder recorder = new LatencyRecorder(clients * operationsPerClient);
+        final List<Future<?>> futures = new ArrayList<>(clients);
+        for (int client = 0; client < clients; client++) {
+            final int clientIndex = client;
+            futures.add(executor.submit(() -> {
+                for (int index = 0; index < operationsPerClient; index++) {
+                    final int operationIndex = index;
+                    recorder.time(clientIndex * operationsPerClient + index,
+                            () -> operation.run(clientIndex, operationIndex));
+                }
+                return null;
+            }));
+        }
+        for (final Future<?> future : futures) {
+            future.get(TIMEOUT_MINUTES, TimeUnit.MINUTES);
+        }
+        return recorder.stop();
+    }
+
+    /**
+     * Number of operations of the run
+     *
+     * @return the number of timed operations
+     */
+    public int operations() {
+        return latencies.length;
+    }
+
+    /**
+     * Operations per second over the whole run
+     *
+     * @return the run throughput
+     */
+    public long throughput() {
+        return latencies.length * TimeUnit.SECONDS.toNanos(1) / Math.max(elapsedNanos, 1);
+    }
+
+    /**
+     * Latency percentile of the run
+     *
+     * @param percentile the percentile, such as {@code 99.9}
+     * @param unit       the reported unit
+     * @return the latency below which the percentile of the operations completed
+     */
+    public long percentile(final double percentile, final TimeUnit unit) {
+        final int index = Math.min(latencies.length - 1, (int) (latencies.length * percentile / 100));
+        return unit.convert(latencies[index], TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Report of the run throughput, median and 99th percentile latencies
+     *
+     * @param unit the latencies reported unit
+     * @return {@code Throughput: <n> ops/s | p50: <n> <unit> | p99: <n> <unit>}
+     */
+    public String summary(final TimeUnit unit) {
+        final String symbol = symbol(unit);
+        return "Throughput: " + throughput() + " ops/s | p50: " + percentile(50, unit) + " " + symbol
+                + " | p99: " + percentile(99, unit) + " " + symbol;
+    }
+
+    /**
+     * Symbol of a time unit
+     *
+     * @param unit the time unit
+     * @return the unit symbol
+     */
+    public static String symbol(final TimeUnit unit) {
+        return switch (unit) {
+            case NANOSECONDS -> "ns";
+            case MICROSECONDS -> "us";
+            case MILLISECONDS -> "ms";
+            case SECONDS -> "s";
+            case MINUTES -> "min";
+            case HOURS -> "h";
+            case DAYS -> "d";
+        };
+    }
+
+    /**
+     * Time an operation
+     *
+     * @param index     the operation index within the run
+     * @param operation the timed operation
+     * @throws Exception if the operation fails
+     */
+    private void time(final int index, final Timed operation) throws Exception {
+        final long operationNanos = System.nanoTime();
+        operation.run();
+        latencies[index] = System.nanoTime() - operationNanos;
+    }
+
+    /**
+     * Stop the run, sorting its latencies
+     *
+     * @return the stopped run
+     */
+    private LatencyRecorder stop() {
+        elapsedNanos = System.nanoTime() - startNanos;
+        Arrays.sort(latencies);
+        return this;
+    }
+
+    /**
+     * A timed benchmark operation
+     *
+     * @author Mahmoud Shtayeh
+     */
+    @FunctionalInterface
+    public interface Operation {
+        /**
+         * Run the operation
+         *
+         * @param client the client running the operation, {@code 0} when run sequentially
+         * @param index  the operation index within its client
+         * @throws Exception if the operation fails
+         */
+        void run(int client, int index) throws Exception;
+    }
+
+    /**
+     * An operation bound to its client and index
+     *
+     * @author Mahmoud Shtayeh
+     */
+    @FunctionalInterface
+    private interface Timed {
+        /**
+         * Run the operation
+         *
+         * @throws Exception if the operation fails
+         */
+        void run() throws Exception;
+    }
+}
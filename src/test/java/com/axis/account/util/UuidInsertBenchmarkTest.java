@@ -0,0 +1,78 @@
+package com.axis.account.util;
+
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Insert throughput and primary key index size of random (v4) vs time-ordered (v7) UUIDs,
+ * on a generated ledger shaped like the transaction table.
+ * Run with {@code mvn test -Pbenchmark}.
+ *
+ * @author Mahmoud Shtayeh
+ */
+@Slf4j
+@Tag("benchmark")
+@NoArgsConstructor
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class UuidInsertBenchmarkTest {
+    /**
+     * Number of ledger rows inserted per run.
+     */
+    private static final int ROWS = 2_000_000;
+
+    /**
+     * Number of rows per JDBC batch.
+     */
+    private static final int BATCH_SIZE = 10_000;
+
+    /**
+     * JDBC access to the local database
+     */
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Insert {@code ROWS} ledger rows keyed by the given UUID version, reporting throughput and index size.
+     *
+     * @param version UUID version, 4 or 7
+     */
+    @ParameterizedTest
+    @ValueSource(ints = {4, 7})
+    void insertLedger_byUuidVersion_reportsThroughputAndIndexSize(final int version) {
+        final Supplier<UUID> ids = version == 7 ? UuidV7Generator.INSTANCE::generateId : UUID::randomUUID;
+        final String table = "uuid_v" + version + "_ledger";
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + table);
+        jdbcTemplate.execute("CREATE TABLE " + table
+                + " (id uuid PRIMARY KEY, account_id uuid NOT NULL, amount numeric(38, 2) NOT NULL)");
+
+        final UUID accountId = UUID.randomUUID();
+        final long startNanos = System.nanoTime();
+        for (int offset = 0; offset < ROWS; offset += BATCH_SIZE) {
+            final List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+            for (int index = 0; index < BATCH_SIZE; index++) {
+                batch.add(new Object[]{ids.get(), accountId, ThreadLocalRandom.current().nextInt(1, 10_000)});
+            }
+            jdbcTemplate.batchUpdate("INSERT INTO " + table + " (id, account_id, amount) VALUES (?, ?, ?)", batch);
+        }
+        final long elapsedNanos = System.nanoTime() - startNanos;
+
+        final Long indexBytes = jdbcTemplate.queryForObject(
+                "SELECT pg_relation_size('" + table + "_pkey')", Long.class);
+        log.info("UUID v{} | Rows: {} | Throughput: {} rows/s | PK index size: {} MB", version, ROWS,
+                ROWS * TimeUnit.SECONDS.toNanos(1) / elapsedNanos, indexBytes / (1024 * 1024));
+        jdbcTemplate.execute("DROP TABLE " + table);
+    }
+}
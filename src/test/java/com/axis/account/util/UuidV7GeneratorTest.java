@@ -0,0 +1,78 @@
+package com.axis.account.util;
+
+import lombok.NoArgsConstructor;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * UUID version 7 generator tests
+ *
+ * @author Mahmoud Shtayeh
+ */
+@NoArgsConstructor
+class UuidV7GeneratorTest {
+    /**
+     * Number of identifiers generated per test.
+     */
+    private static final int IDS = 100_000;
+
+    /**
+     * Tests that generated identifiers carry the version 7 and RFC 9562 variant markers,
+     * and a timestamp of the generation time.
+     */
+    @Test
+    void generateId_always_returnsVersion7WithCurrentTimestamp() {
+        final long before = System.currentTimeMillis();
+        final UUID id = UuidV7Generator.INSTANCE.generateId();
+
+        assertThat(id.version()).isEqualTo(7);
+        assertThat(id.variant()).isEqualTo(2);
+        assertThat(id.getMostSignificantBits() >>> 16).isGreaterThanOrEqualTo(before);
+    }
+
+    /**
+     * Tests that identifiers generated in a tight loop, mostly within the same millisecond, are strictly increasing.
+     */
+    @Test
+    void generateId_withinSameMillisecond_isStrictlyIncreasing() {
+        UUID previous = UuidV7Generator.INSTANCE.generateId();
+        for (int index = 0; index < IDS; index++) {
+            final UUID next = UuidV7Generator.INSTANCE.generateId();
+            assertThat(Long.compareUnsigned(next.getMostSignificantBits(), previous.getMostSignificantBits()))
+                    .isPositive();
+            previous = next;
+        }
+    }
+
+    /**
+     * Tests that identifiers generated concurrently by many threads are all unique.
+     */
+    @Test
+    void generateId_acrossThreads_isUnique() throws Exception {
+        final int threads = 8;
+        final List<Future<List<UUID>>> futures = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            for (int thread = 0; thread < threads; thread++) {
+                futures.add(executor.submit(() -> {
+                    final List<UUID> ids = new ArrayList<>(IDS);
+                    for (int index = 0; index < IDS; index++) {
+                        ids.add(UuidV7Generator.INSTANCE.generateId());
+                    }
+                    return ids;
+                }));
+            }
+        }
+
+        final ConcurrentMap<UUID, Boolean> unique = new ConcurrentHashMap<>();
+        for (final Future<List<UUID>> future : futures) {
+            future.get().forEach(id -> unique.put(id, Boolean.TRUE));
+        }
+        assertThat(unique).hasSize(threads * IDS);
+    }
+}